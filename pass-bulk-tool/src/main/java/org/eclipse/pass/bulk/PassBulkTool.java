@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.bulk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.bulk.PassExporter;
+import org.eclipse.pass.support.client.bulk.PassImporter;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command line tool to export objects of a type from PASS to NDJSON and to import them again.
+ * <p>
+ * Files ending in .gz are compressed. PASS is configured by the system properties read by
+ * {@link PassClient#newInstance()}. The system properties bulk.pageSize, bulk.batchSize and bulk.parallelism
+ * tune the transfer, bulk.parallelism only for imports.
+ * </p>
+ * <pre>
+ * export TYPE FILE [FILTER]
+ * import TYPE FILE [IDMAP]
+ * </pre>
+ */
+public class PassBulkTool {
+    private static final Logger LOG = LoggerFactory.getLogger(PassBulkTool.class);
+
+    private static final String USAGE = "Usage: export TYPE FILE [FILTER] | import TYPE FILE [IDMAP]\n"
+            + "  TYPE is a PASS model class such as Grant. FILE is NDJSON, compressed if it ends in .gz.\n"
+            + "  IDMAP is a properties file mapping exported ids to imported ids.";
+
+    private PassBulkTool() {
+        //never called
+    }
+
+    /**
+     * Entry point for the command line tool.
+     *
+     * @param args the command line arguments
+     * @throws Exception on error
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        Class<? extends PassEntity> type = get_type(args[1]);
+        Path file = Path.of(args[2]);
+        PassClient client = PassClient.newInstance();
+        long start = System.currentTimeMillis();
+        long count;
+
+        switch (args[0]) {
+            case "export":
+                PassExporter exporter = new PassExporter(client);
+                exporter.setPageSize(Integer.getInteger("bulk.pageSize", 500));
+
+                try (OutputStream out = open_output(file)) {
+                    count = exporter.export(type, args.length == 4 ? args[3] : null, out);
+                }
+                break;
+
+            case "import":
+                PassImporter importer = args.length == 4 ? new PassImporter(client, Path.of(args[3]))
+                        : new PassImporter(client);
+                importer.setBatchSize(Integer.getInteger("bulk.batchSize", 100));
+                importer.setParallelism(Integer.getInteger("bulk.parallelism", 4));
+
+                try (InputStream in = open_input(file)) {
+                    count = importer.importObjects(type, in);
+                }
+                break;
+
+            default:
+                System.err.println(USAGE);
+                System.exit(1);
+                return;
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        LOG.info("Transferred {} {} objects in {} ms ({} objects/s)", count, type.getSimpleName(), elapsed,
+                count * 1000 / elapsed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends PassEntity> get_type(String name) throws ClassNotFoundException {
+        Class<?> type = Class.forName("org.eclipse.pass.support.client.model." + name);
+
+        if (!PassEntity.class.isAssignableFrom(type) || type.isInterface()) {
+            throw new IllegalArgumentException("Not a PASS model type: " + name);
+        }
+
+        return (Class<? extends PassEntity>) type;
+    }
+
+    private static OutputStream open_output(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+
+        return file.toString().endsWith(".gz") ? new GZIPOutputStream(out, 1 << 16)
+                : new BufferedOutputStream(out, 1 << 16);
+    }
+
+    private static InputStream open_input(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+
+        return file.toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16)
+                : new BufferedInputStream(in, 1 << 16);
+    }
+}
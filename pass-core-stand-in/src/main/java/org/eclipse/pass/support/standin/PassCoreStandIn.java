@@ -0,0 +1,272 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PassCoreStandIn is an in-process HTTP server which answers the subset of the pass-core API that
+ * JsonApiPassClient uses, so services and loaders can be load and soak tested without a pass-core container.
+ * <p>
+ * Objects of the 12 PASS types can be created, read, updated and deleted under /data. Selects support RSQL
+ * filters including paths through relationships, sorting, paging, totals and includes. Submissions and deposits
+ * are versioned and a stale update fails with 409 as in pass-core. Binaries can be uploaded, downloaded and
+ * deleted under /file. Everything is kept in memory. Authentication and CSRF tokens are accepted but not checked,
+ * and relationship targets are not required to exist.
+ * </p>
+ * <p>
+ * Latency and failures can be injected. Every request is delayed by the latency plus a random amount up to the
+ * jitter. A fraction of the requests selected by the fault filter are answered with the failure status instead
+ * of being handled.
+ * </p>
+ * <p>
+ * It can also be run on its own, with an optional port argument, as a target for services in other processes.
+ * Small responses are delayed by Nagle's algorithm unless the JVM is started with
+ * {@code -Dsun.net.httpserver.nodelay=true}, which benchmarks should set.
+ * </p>
+ */
+public class PassCoreStandIn implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PassCoreStandIn.class);
+
+    private final StandInStore store = new StandInStore();
+    private final StandInHandler handler = new StandInHandler(store);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile long latencyNanos;
+    private volatile long latencyJitterNanos;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+    private volatile BiPredicate<String, String> faultFilter = (method, path) -> true;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Start the server on a free port of the loopback address.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    public void start() throws IOException {
+        start(0);
+    }
+
+    /**
+     * Start the server on the loopback address.
+     *
+     * @param port to listen on or 0 for a free port
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Already started");
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "pass-core-stand-in-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+
+        LOG.info("PASS core stand-in listening at {}", getUrl());
+    }
+
+    /**
+     * Stop the server. The objects are kept and the server may be started again.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * @return base URL of the server to pass to JsonApiPassClient
+     */
+    public synchronized String getUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Not started");
+        }
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * @param latency added to every request
+     */
+    public void setLatency(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    /**
+     * @param jitter maximum random latency added to every request on top of the fixed latency
+     */
+    public void setLatencyJitter(Duration jitter) {
+        this.latencyJitterNanos = jitter.toNanos();
+    }
+
+    /**
+     * @param failureRate fraction of requests selected by the fault filter which fail, between 0 and 1
+     */
+    public void setFailureRate(double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("failureRate must be between 0 and 1");
+        }
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * @param failureStatus HTTP status of failed requests, 503 by default
+     */
+    public void setFailureStatus(int failureStatus) {
+        this.failureStatus = failureStatus;
+    }
+
+    /**
+     * @param faultFilter tests the method and path of a request to decide whether it may fail, all may by default
+     */
+    public void setFaultFilter(BiPredicate<String, String> faultFilter) {
+        this.faultFilter = Objects.requireNonNull(faultFilter, "faultFilter cannot be null");
+    }
+
+    /**
+     * @return number of requests received
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of requests answered with an injected failure
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * @param type JSON API type of objects such as submission
+     * @return number of objects of the type
+     */
+    public int getObjectCount(String type) {
+        if (!StandInStore.TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+
+        return store.count(type);
+    }
+
+    /**
+     * Store the objects of a JSON API document, such as a page returned by pass-core, with their ids. Both data
+     * and included objects are stored, replacing objects with the same type and id. Objects created afterward get
+     * greater ids.
+     *
+     * @param document JSON API document
+     * @return number of objects stored
+     * @throws IOException if the document cannot be parsed
+     */
+    public int load(String document) throws IOException {
+        try {
+            return handler.load(document);
+        } catch (StandInException | ClassCastException | NumberFormatException e) {
+            throw new IOException("Invalid document: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Remove all objects and files.
+     */
+    public void clear() {
+        store.clear();
+        handler.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+
+        long delay = latencyNanos;
+        long jitter = latencyJitterNanos;
+
+        if (jitter > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitter);
+        }
+
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+                return;
+            }
+        }
+
+        double rate = failureRate;
+
+        if (rate > 0 && faultFilter.test(exchange.getRequestMethod(), exchange.getRequestURI().getPath())
+                && ThreadLocalRandom.current().nextDouble() < rate) {
+            failureCount.incrementAndGet();
+
+            try {
+                exchange.getRequestBody().readAllBytes();
+                handler.send_error(exchange, failureStatus, "Injected failure");
+            } finally {
+                exchange.close();
+            }
+
+            return;
+        }
+
+        handler.handle(exchange);
+    }
+
+    /**
+     * Run a stand-in until the process is killed.
+     *
+     * @param args optional port, 8080 by default
+     * @throws IOException if the server cannot be started
+     * @throws InterruptedException if interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        PassCoreStandIn standIn = new PassCoreStandIn();
+        standIn.start(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+
+        Thread.currentThread().join();
+    }
+}
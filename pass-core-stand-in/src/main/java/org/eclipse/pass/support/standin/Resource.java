@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An object stored by the stand-in. A resource is never modified after it is stored, an update stores a copy.
+ * Relationship values are a {@link Ref} for a to one relationship, a list of them for a to many relationship or
+ * null.
+ */
+final class Resource {
+    final String type;
+    final long id;
+    final Map<String, Object> attributes;
+    final Map<String, Object> relationships;
+
+    Resource(String type, long id, Map<String, Object> attributes, Map<String, Object> relationships) {
+        this.type = type;
+        this.id = id;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.relationships = Collections.unmodifiableMap(new LinkedHashMap<>(relationships));
+    }
+
+    String getId() {
+        return String.valueOf(id);
+    }
+
+    /**
+     * @param name of relationship
+     * @return targets of the relationship, empty if it is not set
+     */
+    @SuppressWarnings("unchecked")
+    List<Ref> targets(String name) {
+        Object value = relationships.get(name);
+
+        if (value instanceof Ref ref) {
+            return List.of(ref);
+        } else if (value instanceof List) {
+            return (List<Ref>) value;
+        }
+
+        return List.of();
+    }
+
+    /**
+     * A reference to a resource.
+     */
+    static final class Ref {
+        final String type;
+        final String id;
+
+        Ref(String type, String id) {
+            this.type = Objects.requireNonNull(type, "type cannot be null");
+            this.id = Objects.requireNonNull(id, "id cannot be null");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Ref)) {
+                return false;
+            }
+            Ref other = (Ref) o;
+            return type.equals(other.type) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parser for the RSQL filters that pass-core accepts. Both the symbolic and the FIQL form of the comparison
+ * operators are accepted and the FIQL form is kept, so {@code >=} becomes {@code =ge=}. Logical operators are
+ * {@code ;} for and and {@code ,} for or, with and binding tighter. Values may be quoted with single or double
+ * quotes and use a backslash to escape.
+ */
+final class Rsql {
+    static final Set<String> OPERATORS = Set.of("==", "!=", "=in=", "=out=", "=gt=", "=ge=", "=lt=", "=le=",
+            "=hasmember=", "=hasnomember=", "=isnull=", "=ini=");
+
+    private final String input;
+    private int pos;
+
+    private Rsql(String input) {
+        this.input = input;
+    }
+
+    /**
+     * A parsed filter.
+     */
+    interface Node {
+    }
+
+    /**
+     * Matches when all children match.
+     */
+    static final class And implements Node {
+        final List<Node> children;
+
+        And(List<Node> children) {
+            this.children = children;
+        }
+    }
+
+    /**
+     * Matches when any child matches.
+     */
+    static final class Or implements Node {
+        final List<Node> children;
+
+        Or(List<Node> children) {
+            this.children = children;
+        }
+    }
+
+    /**
+     * Compares the values at the end of a path of attributes and relationships with arguments.
+     */
+    static final class Comparison implements Node {
+        final String selector;
+        final String[] path;
+        final String op;
+        final List<String> args;
+
+        Comparison(String selector, String op, List<String> args) {
+            this.selector = selector;
+            this.path = selector.split("\\.");
+            this.op = op;
+            this.args = args;
+        }
+    }
+
+    /**
+     * @param filter RSQL expression
+     * @return parsed filter
+     * @throws StandInException if the filter cannot be parsed
+     */
+    static Node parse(String filter) {
+        Rsql parser = new Rsql(filter);
+        Node result = parser.parse_or();
+        parser.skip_whitespace();
+
+        if (parser.pos != filter.length()) {
+            throw parser.error("Unexpected character");
+        }
+
+        return result;
+    }
+
+    private Node parse_or() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(parse_and());
+
+        while (next_is(',')) {
+            pos++;
+            nodes.add(parse_and());
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new Or(nodes);
+    }
+
+    private Node parse_and() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(parse_constraint());
+
+        while (next_is(';')) {
+            pos++;
+            nodes.add(parse_constraint());
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new And(nodes);
+    }
+
+    private Node parse_constraint() {
+        if (next_is('(')) {
+            pos++;
+            Node result = parse_or();
+
+            if (!next_is(')')) {
+                throw error("Expected )");
+            }
+            pos++;
+
+            return result;
+        }
+
+        return parse_comparison();
+    }
+
+    private Node parse_comparison() {
+        skip_whitespace();
+        int start = pos;
+
+        while (pos < input.length() && "=!<>();,'\" ".indexOf(input.charAt(pos)) == -1) {
+            pos++;
+        }
+
+        if (pos == start) {
+            throw error("Expected selector");
+        }
+
+        String selector = input.substring(start, pos);
+        skip_whitespace();
+        String op = parse_operator();
+
+        if (!OPERATORS.contains(op)) {
+            throw error("Unknown operator " + op);
+        }
+
+        List<String> args = new ArrayList<>();
+
+        if (next_is('(')) {
+            pos++;
+            args.add(parse_value());
+
+            while (next_is(',')) {
+                pos++;
+                args.add(parse_value());
+            }
+
+            if (!next_is(')')) {
+                throw error("Expected )");
+            }
+            pos++;
+        } else {
+            args.add(parse_value());
+        }
+
+        return new Comparison(selector, op, args);
+    }
+
+    private String parse_operator() {
+        String rest = input.substring(pos);
+
+        for (String symbol : List.of("==", "!=", ">=", "<=")) {
+            if (rest.startsWith(symbol)) {
+                pos += 2;
+                return fiql(symbol);
+            }
+        }
+
+        if (rest.startsWith(">") || rest.startsWith("<")) {
+            pos++;
+            return fiql(rest.substring(0, 1));
+        }
+
+        if (rest.startsWith("=")) {
+            int end = rest.indexOf('=', 1);
+
+            if (end > 1) {
+                pos += end + 1;
+                return rest.substring(0, end + 1);
+            }
+        }
+
+        throw error("Expected operator");
+    }
+
+    private static String fiql(String symbol) {
+        switch (symbol) {
+            case ">=":
+                return "=ge=";
+            case "<=":
+                return "=le=";
+            case ">":
+                return "=gt=";
+            case "<":
+                return "=lt=";
+            default:
+                return symbol;
+        }
+    }
+
+    private String parse_value() {
+        skip_whitespace();
+
+        if (pos < input.length() && (input.charAt(pos) == '\'' || input.charAt(pos) == '"')) {
+            char quote = input.charAt(pos++);
+            StringBuilder value = new StringBuilder();
+
+            while (pos < input.length() && input.charAt(pos) != quote) {
+                char c = input.charAt(pos++);
+
+                if (c == '\\' && pos < input.length()) {
+                    c = input.charAt(pos++);
+                }
+
+                value.append(c);
+            }
+
+            if (pos == input.length()) {
+                throw error("Unterminated quoted value");
+            }
+            pos++;
+
+            return value.toString();
+        }
+
+        int start = pos;
+
+        while (pos < input.length() && "();,'\" ".indexOf(input.charAt(pos)) == -1) {
+            pos++;
+        }
+
+        if (pos == start) {
+            throw error("Expected value");
+        }
+
+        return input.substring(start, pos);
+    }
+
+    private boolean next_is(char c) {
+        skip_whitespace();
+        return pos < input.length() && input.charAt(pos) == c;
+    }
+
+    private void skip_whitespace() {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private StandInException error(String message) {
+        return new StandInException(400, "Invalid filter: " + message + " at " + pos + " in " + input);
+    }
+}
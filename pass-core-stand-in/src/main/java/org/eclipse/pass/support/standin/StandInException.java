@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+/**
+ * A request the stand-in cannot satisfy. The message is returned as the detail of a JSON API error.
+ */
+class StandInException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    StandInException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return HTTP status of the response
+     */
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.Moshi;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * Answers the requests JsonApiPassClient makes of pass-core: JSON API requests under /data and binary uploads,
+ * downloads and deletes under /file.
+ */
+class StandInHandler implements HttpHandler {
+    private static final String JSON_API_CONTENT_TYPE = "application/vnd.api+json";
+    private static final int DEFAULT_PAGE_LIMIT = 500;
+
+    private final StandInStore store;
+    private final Map<String, StoredFile> files = new ConcurrentHashMap<>();
+    private final JsonAdapter<Object> json = new Moshi.Builder().build().adapter(Object.class).serializeNulls();
+
+    StandInHandler(StandInStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Binary content of an uploaded file.
+     */
+    private static final class StoredFile {
+        final byte[] data;
+        final String mimeType;
+
+        StoredFile(byte[] data, String mimeType) {
+            this.data = data;
+            this.mimeType = mimeType;
+        }
+    }
+
+    void clear() {
+        files.clear();
+    }
+
+    /**
+     * Store the objects of a JSON API document, both data and included, with their ids.
+     *
+     * @param document JSON API document
+     * @return number of objects stored
+     * @throws IOException if the document cannot be parsed
+     */
+    @SuppressWarnings("unchecked")
+    int load(String document) throws IOException {
+        Object doc = json.fromJson(document);
+
+        if (!(doc instanceof Map)) {
+            throw new StandInException(400, "Expected a JSON API document");
+        }
+
+        List<Object> resources = new ArrayList<>();
+        Object data = ((Map<String, Object>) doc).get("data");
+        Object included = ((Map<String, Object>) doc).get("included");
+
+        if (data instanceof List) {
+            resources.addAll((List<Object>) data);
+        } else if (data != null) {
+            resources.add(data);
+        }
+
+        if (included instanceof List) {
+            resources.addAll((List<Object>) included);
+        }
+
+        for (Object resource : resources) {
+            Map<String, Object> r = (Map<String, Object>) resource;
+            String type = (String) r.get("type");
+
+            if (!StandInStore.TYPES.contains(type)) {
+                throw new StandInException(400, "Unknown type: " + type);
+            }
+
+            store.put(type, Long.parseLong((String) r.get("id")), attributes(r), relationships(r));
+        }
+
+        return resources.size();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            try {
+                String path = exchange.getRequestURI().getPath();
+
+                if (path.startsWith("/data/")) {
+                    handle_data(exchange, path.substring("/data/".length()));
+                } else if (path.equals("/file") || path.startsWith("/file/")) {
+                    handle_file(exchange, path.substring("/file".length()));
+                } else {
+                    throw new StandInException(404, "Not found: " + path);
+                }
+            } catch (StandInException e) {
+                send_error(exchange, e.getStatus(), e.getMessage());
+            } catch (IOException | JsonDataException | ClassCastException e) {
+                send_error(exchange, 400, "Invalid request: " + e.getMessage());
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Respond with a JSON API error document.
+     *
+     * @param exchange to respond to
+     * @param status HTTP status
+     * @param detail of error
+     * @throws IOException if sending fails
+     */
+    void send_error(HttpExchange exchange, int status, String detail) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("detail", detail);
+        send_json(exchange, status, Map.of("errors", List.of(error)));
+    }
+
+    private void handle_data(HttpExchange exchange, String path) throws IOException {
+        String[] parts = path.split("/");
+        String type = parts[0];
+
+        if (!StandInStore.TYPES.contains(type) || parts.length > 2) {
+            throw new StandInException(404, "Unknown type or path: " + path);
+        }
+
+        String method = exchange.getRequestMethod();
+        Map<String, String> params = query_params(exchange.getRequestURI().getRawQuery());
+
+        if (parts.length == 1) {
+            if (method.equals("GET")) {
+                select(exchange, type, params);
+            } else if (method.equals("POST")) {
+                Map<String, Object> data = read_data(exchange, type);
+                Resource created = store.create(type, attributes(data), relationships(data));
+                send_json(exchange, 201, Map.of("data", to_json(created)));
+            } else {
+                throw new StandInException(405, "Method not allowed: " + method);
+            }
+
+            return;
+        }
+
+        String id = parts[1];
+
+        switch (method) {
+            case "GET": {
+                Resource r = store.get(type, id);
+
+                if (r == null) {
+                    throw new StandInException(404, "Unknown identifier " + id + " for " + type);
+                }
+
+                Map<String, Object> doc = new LinkedHashMap<>();
+                doc.put("data", to_json(r));
+                add_included(doc, List.of(r), params);
+                send_json(exchange, 200, doc);
+                break;
+            }
+            case "PATCH": {
+                Map<String, Object> data = read_data(exchange, type);
+                Resource updated = store.update(type, id, attributes(data), relationships(data));
+                send_json(exchange, 200, Map.of("data", to_json(updated)));
+                break;
+            }
+            case "DELETE":
+                if (!store.delete(type, id)) {
+                    throw new StandInException(404, "Unknown identifier " + id + " for " + type);
+                }
+
+                exchange.sendResponseHeaders(204, -1);
+                break;
+            default:
+                throw new StandInException(405, "Method not allowed: " + method);
+        }
+    }
+
+    private void select(HttpExchange exchange, String type, Map<String, String> params) throws IOException {
+        String filter = params.get("filter");
+        List<StandInStore.SortKey> sort = new ArrayList<>();
+
+        if (params.get("sort") != null) {
+            for (String key : params.get("sort").split(",")) {
+                if (key.startsWith("-")) {
+                    sort.add(new StandInStore.SortKey(key.substring(1), true));
+                } else {
+                    sort.add(new StandInStore.SortKey(key.startsWith("+") ? key.substring(1) : key, false));
+                }
+            }
+        }
+
+        int offset = int_param(params, "page[offset]", 0);
+        int limit = int_param(params, "page[limit]", DEFAULT_PAGE_LIMIT);
+
+        StandInStore.Page page = store.select(type, filter == null || filter.isBlank() ? null : Rsql.parse(filter),
+                sort, offset, limit);
+
+        Map<String, Object> doc = new LinkedHashMap<>();
+        List<Object> data = new ArrayList<>(page.objects.size());
+        page.objects.forEach(r -> data.add(to_json(r)));
+        doc.put("data", data);
+        add_included(doc, page.objects, params);
+
+        if (params.containsKey("page[totals]")) {
+            doc.put("meta", Map.of("page", Map.of("totalRecords", page.total)));
+        }
+
+        send_json(exchange, 200, doc);
+    }
+
+    private void add_included(Map<String, Object> doc, List<Resource> data, Map<String, String> params) {
+        String include = params.get("include");
+
+        if (include != null && !include.isBlank()) {
+            List<Object> included = new ArrayList<>();
+            store.included(data, Arrays.asList(include.split(","))).forEach(r -> included.add(to_json(r)));
+            doc.put("included", included);
+        }
+    }
+
+    private static int int_param(Map<String, String> params, String name, int default_value) {
+        String value = params.get(name);
+
+        if (value == null) {
+            return default_value;
+        }
+
+        try {
+            int result = Integer.parseInt(value);
+
+            if (result < 0) {
+                throw new StandInException(400, "Negative " + name);
+            }
+
+            return result;
+        } catch (NumberFormatException e) {
+            throw new StandInException(400, "Invalid " + name + ": " + value);
+        }
+    }
+
+    // Keys without a value, such as page[totals], map to an empty string
+    private static Map<String, String> query_params(String raw_query) {
+        Map<String, String> result = new HashMap<>();
+
+        if (raw_query == null) {
+            return result;
+        }
+
+        for (String param : raw_query.split("&")) {
+            int i = param.indexOf('=');
+            String key = i == -1 ? param : param.substring(0, i);
+            String value = i == -1 ? "" : param.substring(i + 1);
+
+            result.put(URLDecoder.decode(key, UTF_8), URLDecoder.decode(value, UTF_8));
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read_data(HttpExchange exchange, String type) throws IOException {
+        Object doc = json.fromJson(new String(exchange.getRequestBody().readAllBytes(), UTF_8));
+
+        if (!(doc instanceof Map) || !(((Map<String, Object>) doc).get("data") instanceof Map)) {
+            throw new StandInException(400, "Expected a JSON API document with data");
+        }
+
+        Map<String, Object> data = (Map<String, Object>) ((Map<String, Object>) doc).get("data");
+
+        if (!type.equals(data.get("type"))) {
+            throw new StandInException(409, "Type of data " + data.get("type") + " does not match " + type);
+        }
+
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> attributes(Map<String, Object> data) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Object attributes = data.get("attributes");
+
+        if (attributes instanceof Map) {
+            ((Map<String, Object>) attributes).forEach((name, value) -> result.put(name, normalize(value)));
+        }
+
+        return result;
+    }
+
+    // Moshi reads all numbers as doubles, keep whole numbers as longs so they are written back the same way
+    private static Object normalize(Object value) {
+        if (value instanceof Double d && d == Math.rint(d) && !d.isInfinite() && Math.abs(d) < 1e15) {
+            return d.longValue();
+        } else if (value instanceof List<?> list) {
+            List<Object> result = new ArrayList<>(list.size());
+            list.forEach(o -> result.add(normalize(o)));
+            return result;
+        }
+
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> relationships(Map<String, Object> data) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Object relationships = data.get("relationships");
+
+        if (!(relationships instanceof Map)) {
+            return result;
+        }
+
+        ((Map<String, Object>) relationships).forEach((name, rel) -> {
+            if (!(rel instanceof Map) || !((Map<String, Object>) rel).containsKey("data")) {
+                return;
+            }
+
+            Object target = ((Map<String, Object>) rel).get("data");
+
+            if (target instanceof List) {
+                List<Resource.Ref> refs = new ArrayList<>();
+                ((List<Object>) target).forEach(t -> refs.add(ref((Map<String, Object>) t)));
+                result.put(name, refs);
+            } else if (target == null) {
+                result.put(name, null);
+            } else {
+                result.put(name, ref((Map<String, Object>) target));
+            }
+        });
+
+        return result;
+    }
+
+    private static Resource.Ref ref(Map<String, Object> target) {
+        Object type = target.get("type");
+        Object id = target.get("id");
+
+        if (!(type instanceof String) || id == null) {
+            throw new StandInException(400, "Relationship target must have a type and id");
+        }
+
+        return new Resource.Ref((String) type, id.toString());
+    }
+
+    private static Map<String, Object> to_json(Resource r) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", r.getId());
+        result.put("type", r.type);
+        result.put("attributes", r.attributes);
+
+        Map<String, Object> rels = new LinkedHashMap<>();
+
+        r.relationships.forEach((name, value) -> {
+            Object data;
+
+            if (value instanceof Resource.Ref ref) {
+                data = ref_json(ref);
+            } else if (value instanceof List<?> list) {
+                List<Object> refs = new ArrayList<>(list.size());
+                list.forEach(o -> refs.add(ref_json((Resource.Ref) o)));
+                data = refs;
+            } else {
+                data = null;
+            }
+
+            Map<String, Object> rel = new HashMap<>();
+            rel.put("data", data);
+            rels.put(name, rel);
+        });
+
+        result.put("relationships", rels);
+
+        return result;
+    }
+
+    private static Map<String, Object> ref_json(Resource.Ref ref) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", ref.type);
+        result.put("id", ref.id);
+        return result;
+    }
+
+    private void handle_file(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+
+        if (path.isEmpty()) {
+            if (!method.equals("POST")) {
+                throw new StandInException(405, "Method not allowed: " + method);
+            }
+
+            upload(exchange);
+            return;
+        }
+
+        String key = path.substring(1);
+
+        if (method.equals("GET")) {
+            StoredFile file = files.get(key);
+
+            if (file == null) {
+                throw new StandInException(404, "Unknown file " + key);
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", file.mimeType);
+            send(exchange, 200, file.data);
+        } else if (method.equals("DELETE")) {
+            if (files.remove(key) == null) {
+                throw new StandInException(404, "Unknown file " + key);
+            }
+
+            exchange.sendResponseHeaders(204, -1);
+        } else {
+            throw new StandInException(405, "Method not allowed: " + method);
+        }
+    }
+
+    // Store the first part of a multipart form upload
+    private void upload(HttpExchange exchange) throws IOException {
+        String content_type = exchange.getRequestHeaders().getFirst("Content-Type");
+        int boundary_index = content_type == null ? -1 : content_type.indexOf("boundary=");
+
+        if (boundary_index == -1) {
+            throw new StandInException(400, "Expected multipart/form-data");
+        }
+
+        String boundary = content_type.substring(boundary_index + "boundary=".length()).replace("\"", "");
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        byte[] delimiter = ("--" + boundary).getBytes(UTF_8);
+
+        int part_start = index_of(body, delimiter, 0);
+        int headers_end = index_of(body, "\r\n\r\n".getBytes(UTF_8), part_start);
+        int part_end = index_of(body, ("\r\n--" + boundary).getBytes(UTF_8), headers_end);
+
+        if (part_start == -1 || headers_end == -1 || part_end == -1) {
+            throw new StandInException(400, "Malformed multipart body");
+        }
+
+        String name = "file";
+        String mime_type = "application/octet-stream";
+
+        for (String header : new String(body, part_start, headers_end - part_start, UTF_8).split("\r\n")) {
+            String lower = header.toLowerCase();
+
+            if (lower.startsWith("content-disposition:") && header.contains("filename=\"")) {
+                int start = header.indexOf("filename=\"") + "filename=\"".length();
+                name = header.substring(start, header.indexOf('"', start));
+            } else if (lower.startsWith("content-type:")) {
+                mime_type = header.substring("content-type:".length()).trim();
+            }
+        }
+
+        byte[] data = Arrays.copyOfRange(body, headers_end + 4, part_end);
+        String id = UUID.randomUUID() + "/" + name;
+        files.put(id, new StoredFile(data, mime_type));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("fileName", name);
+        result.put("mimeType", mime_type);
+        result.put("size", data.length);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        send(exchange, 200, json.toJson(result).getBytes(UTF_8));
+    }
+
+    private static int index_of(byte[] data, byte[] target, int from) {
+        if (from < 0) {
+            return -1;
+        }
+
+        outer:
+        for (int i = from; i <= data.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (data[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    private void send_json(HttpExchange exchange, int status, Object doc) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_API_CONTENT_TYPE);
+        send(exchange, status, json.toJson(doc).getBytes(UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,657 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.standin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory store of the objects of the stand-in.
+ * <p>
+ * Objects of each type are kept in order of id. Equality indexes are built on first use for filters on an
+ * attribute or on the id of a relationship target, and are kept up to date by writes. Other filters, including
+ * those which follow relationships, are evaluated against every object of the type.
+ * </p>
+ */
+final class StandInStore {
+    static final List<String> TYPES = List.of("deposit", "file", "funder", "grant", "journal", "policy",
+            "publication", "repository", "repositoryCopy", "submission", "submissionEvent", "user");
+
+    private static final Set<String> VERSIONED_TYPES = Set.of("deposit", "submission");
+    private static final String VERSION = "version";
+
+    private static final int INCOMPARABLE = Integer.MIN_VALUE;
+
+    // Marks a selector whose values are not all strings
+    private static final Map<String, Set<Long>> UNINDEXABLE = Map.of();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TreeMap<Long, Resource>> objects = new HashMap<>();
+    private final Map<String, Map<String, Map<String, Set<Long>>>> indexes = new HashMap<>();
+    private long next_id = 1;
+
+    StandInStore() {
+        for (String type : TYPES) {
+            objects.put(type, new TreeMap<>());
+            indexes.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * A page of objects matching a select.
+     */
+    static final class Page {
+        final List<Resource> objects;
+        final int total;
+
+        Page(List<Resource> objects, int total) {
+            this.objects = objects;
+            this.total = total;
+        }
+    }
+
+    /**
+     * A key to sort by.
+     */
+    static final class SortKey {
+        final String[] path;
+        final boolean descending;
+
+        SortKey(String selector, boolean descending) {
+            this.path = selector.split("\\.");
+            this.descending = descending;
+        }
+    }
+
+    Resource create(String type, Map<String, Object> attributes, Map<String, Object> relationships) {
+        lock.writeLock().lock();
+
+        try {
+            Map<String, Object> attrs = new LinkedHashMap<>(attributes);
+
+            if (VERSIONED_TYPES.contains(type)) {
+                attrs.put(VERSION, 0L);
+            }
+
+            Resource result = new Resource(type, next_id++, attrs, relationships);
+            objects.get(type).put(result.id, result);
+            update_indexes(null, result);
+
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Store an object with the given id, replacing any object of the type with that id. Objects created later
+     * get greater ids.
+     *
+     * @return stored object
+     */
+    Resource put(String type, long id, Map<String, Object> attributes, Map<String, Object> relationships) {
+        lock.writeLock().lock();
+
+        try {
+            Map<String, Object> attrs = new LinkedHashMap<>(attributes);
+
+            if (VERSIONED_TYPES.contains(type)) {
+                attrs.putIfAbsent(VERSION, 0L);
+            }
+
+            Resource result = new Resource(type, id, attrs, relationships);
+            Resource old = objects.get(type).put(id, result);
+            update_indexes(old, result);
+            next_id = Math.max(next_id, id + 1);
+
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set the given attributes and relationships of an object. Versioned objects fail if the version does not
+     * match the stored version and otherwise have it incremented.
+     *
+     * @return updated object
+     * @throws StandInException if the object does not exist or the version does not match
+     */
+    Resource update(String type, String id, Map<String, Object> attributes, Map<String, Object> relationships) {
+        lock.writeLock().lock();
+
+        try {
+            Resource old = get_unlocked(type, id);
+
+            if (old == null) {
+                throw new StandInException(404, "Unknown identifier " + id + " for " + type);
+            }
+
+            Map<String, Object> attrs = new LinkedHashMap<>(old.attributes);
+            attrs.putAll(attributes);
+
+            if (VERSIONED_TYPES.contains(type)) {
+                long stored = ((Number) old.attributes.get(VERSION)).longValue();
+                Object requested = attributes.get(VERSION);
+
+                if (requested instanceof Number && ((Number) requested).longValue() != stored) {
+                    throw new StandInException(409, "Optimistic lock check failed for "
+                            + Character.toUpperCase(type.charAt(0)) + type.substring(1) + " [ID=" + id
+                            + "]. Request version: " + ((Number) requested).longValue() + ", Stored version: "
+                            + stored);
+                }
+
+                attrs.put(VERSION, stored + 1);
+            }
+
+            Map<String, Object> rels = new LinkedHashMap<>(old.relationships);
+            rels.putAll(relationships);
+
+            Resource result = new Resource(type, old.id, attrs, rels);
+            objects.get(type).put(result.id, result);
+            update_indexes(old, result);
+
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Resource get(String type, String id) {
+        lock.readLock().lock();
+
+        try {
+            return get_unlocked(type, id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean delete(String type, String id) {
+        lock.writeLock().lock();
+
+        try {
+            Resource old = get_unlocked(type, id);
+
+            if (old == null) {
+                return false;
+            }
+
+            objects.get(type).remove(old.id);
+            update_indexes(old, null);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int count(String type) {
+        lock.readLock().lock();
+
+        try {
+            return objects.get(type).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+
+        try {
+            objects.values().forEach(Map::clear);
+            indexes.values().forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param type of objects
+     * @param filter or null to select all
+     * @param sort keys to sort by, objects are in order of id otherwise
+     * @param offset of first object to return
+     * @param limit maximum number of objects to return
+     * @return page of matching objects and the total number of matches
+     */
+    Page select(String type, Rsql.Node filter, List<SortKey> sort, int offset, int limit) {
+        lock.readLock().lock();
+
+        try {
+            TreeMap<Long, Resource> all = objects.get(type);
+            Set<Long> candidates = filter == null ? null : candidates(type, filter);
+            Collection<Resource> scan = all.values();
+
+            if (candidates != null) {
+                scan = new ArrayList<>(candidates.size());
+
+                for (Long id : new TreeSet<>(candidates)) {
+                    scan.add(all.get(id));
+                }
+            }
+
+            List<Resource> matches = new ArrayList<>();
+
+            for (Resource r : scan) {
+                if (filter == null || matches(r, filter)) {
+                    matches.add(r);
+                }
+            }
+
+            if (!sort.isEmpty()) {
+                matches.sort(comparator(sort));
+            }
+
+            int from = Math.min(offset, matches.size());
+            int to = (int) Math.min((long) from + limit, matches.size());
+
+            return new Page(new ArrayList<>(matches.subList(from, to)), matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the targets of the include paths of the objects which are not themselves in the list.
+     *
+     * @param data objects being returned
+     * @param include paths of relationships to include
+     * @return included objects
+     */
+    List<Resource> included(List<Resource> data, List<String> include) {
+        lock.readLock().lock();
+
+        try {
+            Map<String, Resource> result = new LinkedHashMap<>();
+            Set<String> returned = new HashSet<>();
+            data.forEach(r -> returned.add(r.type + "_" + r.id));
+
+            for (String path : include) {
+                String[] names = path.split("\\.");
+
+                for (Resource r : data) {
+                    include(r, names, 0, result);
+                }
+            }
+
+            result.keySet().removeAll(returned);
+
+            return new ArrayList<>(result.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void include(Resource r, String[] names, int i, Map<String, Resource> result) {
+        for (Resource.Ref ref : r.targets(names[i])) {
+            Resource target = get_unlocked(ref.type, ref.id);
+
+            if (target != null) {
+                result.putIfAbsent(target.type + "_" + target.id, target);
+
+                if (i + 1 < names.length) {
+                    include(target, names, i + 1, result);
+                }
+            }
+        }
+    }
+
+    private Resource get_unlocked(String type, String id) {
+        TreeMap<Long, Resource> all = objects.get(type);
+
+        if (all == null) {
+            return null;
+        }
+
+        try {
+            return all.get(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Collect the values at the end of a path of attributes and relationships, flattening lists
+    private void values(Resource r, String[] path, int i, List<Object> result) {
+        String name = path[i];
+        boolean last = i == path.length - 1;
+
+        if (name.equals("id")) {
+            if (last) {
+                // Ids are numbers in pass-core
+                result.add(r.id);
+            }
+        } else if (r.relationships.containsKey(name)) {
+            for (Resource.Ref ref : r.targets(name)) {
+                if (last) {
+                    result.add(ref.id);
+                } else if (i + 2 == path.length && path[i + 1].equals("id")) {
+                    // Avoid looking up the target for its id
+                    result.add(ref.id);
+                } else {
+                    Resource target = get_unlocked(ref.type, ref.id);
+
+                    if (target != null) {
+                        values(target, path, i + 1, result);
+                    }
+                }
+            }
+        } else if (last) {
+            Object value = r.attributes.get(name);
+
+            if (value instanceof List) {
+                for (Object o : (List<?>) value) {
+                    if (o != null) {
+                        result.add(o);
+                    }
+                }
+            } else if (value != null) {
+                result.add(value);
+            }
+        }
+    }
+
+    private boolean matches(Resource r, Rsql.Node node) {
+        if (node instanceof Rsql.And and) {
+            return and.children.stream().allMatch(child -> matches(r, child));
+        } else if (node instanceof Rsql.Or or) {
+            return or.children.stream().anyMatch(child -> matches(r, child));
+        }
+
+        Rsql.Comparison c = (Rsql.Comparison) node;
+        List<Object> values = new ArrayList<>(2);
+        values(r, c.path, 0, values);
+        String arg = c.args.get(0);
+
+        switch (c.op) {
+            case "==":
+            case "=hasmember=":
+                return any(values, v -> equal(v, arg));
+            case "!=":
+            case "=hasnomember=":
+                return !any(values, v -> equal(v, arg));
+            case "=in=":
+                return any(values, v -> c.args.stream().anyMatch(a -> equal(v, a)));
+            case "=out=":
+                return !any(values, v -> c.args.stream().anyMatch(a -> equal(v, a)));
+            case "=ini=":
+                return any(values, v -> c.args.stream().anyMatch(a -> v.toString().equalsIgnoreCase(a)));
+            case "=isnull=":
+                return values.isEmpty() == Boolean.parseBoolean(arg);
+            case "=gt=":
+                return any(values, v -> compares(v, arg, cmp -> cmp > 0));
+            case "=ge=":
+                return any(values, v -> compares(v, arg, cmp -> cmp >= 0));
+            case "=lt=":
+                return any(values, v -> compares(v, arg, cmp -> cmp < 0));
+            case "=le=":
+                return any(values, v -> compares(v, arg, cmp -> cmp <= 0));
+            default:
+                throw new StandInException(400, "Unsupported operator " + c.op);
+        }
+    }
+
+    private static boolean any(List<Object> values, Predicate<Object> test) {
+        for (Object v : values) {
+            if (test.test(v)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean compares(Object value, String arg, IntPredicate test) {
+        int c = compare(value, arg);
+        return c != INCOMPARABLE && test.test(c);
+    }
+
+    // A * in the argument matches any characters of a string
+    private static boolean equal(Object value, String arg) {
+        if (value instanceof String s && arg.indexOf('*') != -1) {
+            StringBuilder regex = new StringBuilder();
+
+            for (String part : arg.split("\\*", -1)) {
+                if (regex.length() > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+
+            return s.matches(regex.toString());
+        }
+
+        return compare(value, arg) == 0;
+    }
+
+    // Compare a stored value with an argument, values which cannot be compared are treated as different
+    private static int compare(Object value, String arg) {
+        if (value instanceof Number n) {
+            try {
+                return Double.compare(n.doubleValue(), Double.parseDouble(arg));
+            } catch (NumberFormatException e) {
+                return INCOMPARABLE;
+            }
+        } else if (value instanceof Boolean b) {
+            String lower = arg.toLowerCase(Locale.ROOT);
+
+            if (!lower.equals("true") && !lower.equals("false")) {
+                return INCOMPARABLE;
+            }
+
+            return Boolean.compare(b, Boolean.parseBoolean(lower));
+        }
+
+        return value.toString().compareTo(arg);
+    }
+
+    private Comparator<Resource> comparator(List<SortKey> sort) {
+        Comparator<Resource> result = null;
+
+        for (SortKey key : sort) {
+            Comparator<Resource> next = (a, b) -> compare_values(first_value(a, key.path), first_value(b, key.path));
+
+            if (key.path.length == 1 && key.path[0].equals("id")) {
+                next = Comparator.comparingLong(r -> r.id);
+            }
+
+            if (key.descending) {
+                next = next.reversed();
+            }
+
+            result = result == null ? next : result.thenComparing(next);
+        }
+
+        return result;
+    }
+
+    private Object first_value(Resource r, String[] path) {
+        List<Object> values = new ArrayList<>(1);
+        values(r, path, 0, values);
+
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    // Nulls sort first
+    @SuppressWarnings("unchecked")
+    private static int compare_values(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        } else if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        } else if (a.getClass() == b.getClass() && a instanceof Comparable) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+
+        return a.toString().compareTo(b.toString());
+    }
+
+    // Return ids of the objects which may match or null if every object must be checked
+    private Set<Long> candidates(String type, Rsql.Node node) {
+        if (node instanceof Rsql.And and) {
+            Set<Long> best = null;
+
+            for (Rsql.Node child : and.children) {
+                Set<Long> ids = candidates(type, child);
+
+                if (ids != null && (best == null || ids.size() < best.size())) {
+                    best = ids;
+                }
+            }
+
+            return best;
+        } else if (node instanceof Rsql.Or or) {
+            Set<Long> result = new HashSet<>();
+
+            for (Rsql.Node child : or.children) {
+                Set<Long> ids = candidates(type, child);
+
+                if (ids == null) {
+                    return null;
+                }
+
+                result.addAll(ids);
+            }
+
+            return result;
+        }
+
+        Rsql.Comparison c = (Rsql.Comparison) node;
+
+        if (!c.op.equals("==") && !c.op.equals("=in=") && !c.op.equals("=hasmember=")
+                || c.args.stream().anyMatch(a -> a.indexOf('*') != -1)) {
+            return null;
+        }
+
+        Set<Long> result = new HashSet<>();
+
+        if (c.path.length == 1 && c.path[0].equals("id")) {
+            for (String arg : c.args) {
+                Resource r = get_unlocked(type, arg);
+
+                if (r != null) {
+                    result.add(r.id);
+                }
+            }
+
+            return result;
+        }
+
+        Map<String, Set<Long>> index = index(type, c);
+
+        if (index == null) {
+            return null;
+        }
+
+        for (String arg : c.args) {
+            result.addAll(index.getOrDefault(arg, Set.of()));
+        }
+
+        return result;
+    }
+
+    // Only paths which do not leave the object are indexed, so an index only changes when its type is written
+    private Map<String, Set<Long>> index(String type, Rsql.Comparison c) {
+        if (c.path.length > 2 || (c.path.length == 2 && !c.path[1].equals("id"))) {
+            return null;
+        }
+
+        Map<String, Set<Long>> index = indexes.get(type).computeIfAbsent(c.selector, selector -> {
+            Map<String, Set<Long>> result = new HashMap<>();
+
+            for (Resource r : objects.get(type).values()) {
+                if (!index_add(result, c.path, r)) {
+                    return UNINDEXABLE;
+                }
+            }
+
+            return result;
+        });
+
+        return index == UNINDEXABLE ? null : index;
+    }
+
+    private boolean index_add(Map<String, Set<Long>> index, String[] path, Resource r) {
+        List<Object> values = new ArrayList<>(2);
+        values(r, path, 0, values);
+
+        for (Object v : values) {
+            if (!(v instanceof String)) {
+                return false;
+            }
+
+            index.computeIfAbsent((String) v, k -> new HashSet<>()).add(r.id);
+        }
+
+        return true;
+    }
+
+    private void index_remove(Map<String, Set<Long>> index, String[] path, Resource r) {
+        List<Object> values = new ArrayList<>(2);
+        values(r, path, 0, values);
+
+        for (Object v : values) {
+            Set<Long> ids = index.get(v.toString());
+
+            if (ids != null) {
+                ids.remove(r.id);
+
+                if (ids.isEmpty()) {
+                    index.remove(v.toString());
+                }
+            }
+        }
+    }
+
+    // Called with the write lock held
+    private void update_indexes(Resource old, Resource updated) {
+        Map<String, Map<String, Set<Long>>> type_indexes = indexes.get(old == null ? updated.type : old.type);
+
+        for (Map.Entry<String, Map<String, Set<Long>>> entry : type_indexes.entrySet()) {
+            Map<String, Set<Long>> index = entry.getValue();
+
+            if (index == UNINDEXABLE) {
+                continue;
+            }
+
+            String[] path = entry.getKey().split("\\.");
+
+            if (old != null) {
+                index_remove(index, path, old);
+            }
+
+            if (updated != null && !index_add(index, path, updated)) {
+                entry.setValue(UNINDEXABLE);
+            }
+        }
+    }
+}
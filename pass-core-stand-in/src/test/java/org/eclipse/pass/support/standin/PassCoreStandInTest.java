@@ -0,0 +1,250 @@
+package org.eclipse.pass.support.standin;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+public class PassCoreStandInTest {
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final JsonAdapter<Object> json = new Moshi.Builder().build().adapter(Object.class);
+    private PassCoreStandIn standIn;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        standIn = new PassCoreStandIn();
+        standIn.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        standIn.close();
+    }
+
+    @Test
+    public void testCrud() throws Exception {
+        String grantId = create("grant", "{\"awardNumber\":\"R01AB123456\"}", null);
+        String submissionId = create("submission", "{\"submitterName\":\"Name\",\"submitted\":false}",
+                "{\"grants\":{\"data\":[{\"type\":\"grant\",\"id\":\"" + grantId + "\"}]},"
+                + "\"submitter\":{\"data\":null}}");
+
+        Map<String, Object> data = data(get("/data/submission/" + submissionId));
+        assertEquals("Name", attributes(data).get("submitterName"));
+        assertEquals(0.0, attributes(data).get("version"));
+        assertEquals(List.of(Map.of("type", "grant", "id", grantId)),
+                ((Map<String, Object>) ((Map<String, Object>) data.get("relationships")).get("grants")).get("data"));
+
+        HttpResponse<String> response = send("PATCH", "/data/submission/" + submissionId,
+                doc("submission", submissionId, "{\"submitterName\":\"Other\",\"version\":0}", null));
+        assertEquals(200, response.statusCode());
+        assertEquals(1.0, attributes(data(response)).get("version"));
+
+        // Stale version is rejected
+        response = send("PATCH", "/data/submission/" + submissionId,
+                doc("submission", submissionId, "{\"submitterName\":\"Stale\",\"version\":0}", null));
+        assertEquals(409, response.statusCode());
+        assertTrue(response.body().contains("Optimistic lock check failed for Submission [ID=" + submissionId
+                + "]. Request version: 0, Stored version: 1"));
+        assertEquals("Other", attributes(data(get("/data/submission/" + submissionId))).get("submitterName"));
+
+        assertEquals(204, send("DELETE", "/data/submission/" + submissionId, null).statusCode());
+        assertEquals(404, get("/data/submission/" + submissionId).statusCode());
+        assertEquals(404, send("DELETE", "/data/submission/" + submissionId, null).statusCode());
+        assertEquals(1, standIn.getObjectCount("grant"));
+        assertEquals(0, standIn.getObjectCount("submission"));
+    }
+
+    @Test
+    public void testSelect() throws Exception {
+        String funderId = create("funder", "{\"name\":\"NIH\"}", null);
+
+        for (int i = 1; i <= 10; i++) {
+            create("grant", "{\"awardNumber\":\"A" + i + "\",\"startDate\":\"2024-01-" + (10 + i)
+                    + "T00:00:00.000Z\",\"awardStatus\":\"" + (i % 2 == 0 ? "active" : "terminated") + "\"}",
+                    i <= 3 ? "{\"primaryFunder\":{\"data\":{\"type\":\"funder\",\"id\":\"" + funderId + "\"}}}"
+                            : null);
+        }
+
+        Map<String, Object> doc = select("grant", "awardStatus=='active'", "-startDate", 1, 2, null);
+        assertEquals(List.of("A8", "A6"), award_numbers(doc));
+        assertEquals(5.0, ((Map<String, Object>) ((Map<String, Object>) doc.get("meta")).get("page"))
+                .get("totalRecords"));
+
+        assertEquals(List.of("A2", "A5"), award_numbers(select("grant",
+                "awardNumber=in=('A2','A5','B1')", null, 0, 10, null)));
+        assertEquals(List.of("A9", "A10"), award_numbers(select("grant",
+                "startDate>='2024-01-19T00:00:00.000Z'", null, 0, 10, null)));
+        assertEquals(List.of("A1", "A10"), award_numbers(select("grant", "awardNumber=='A1*'", null, 0, 10, null)));
+
+        // Ids compare as numbers, as they do in pass-core, so pages can be selected after an id
+        assertEquals(List.of("A9", "A10"), award_numbers(select("grant", "id>='9'", "id", 1, 10, null)));
+        assertEquals(List.of("A1", "A2", "A3"), award_numbers(select("grant",
+                "primaryFunder.id==" + funderId, null, 0, 10, null)));
+        assertEquals(List.of("A1", "A3"), award_numbers(select("grant",
+                "primaryFunder.name=='NIH';awardStatus!='active'", null, 0, 10, null)));
+        assertEquals(7, award_numbers(select("grant", "primaryFunder=isnull=true", null, 0, 10, null)).size());
+        assertEquals(List.of("A4"), award_numbers(select("grant",
+                "(awardNumber=='A1',awardNumber=='A4');awardStatus=out=('terminated','x')", null, 0, 10, null)));
+
+        // Included funder is returned once
+        doc = select("grant", "primaryFunder.id=in=(" + funderId + ")", null, 0, 10, "primaryFunder");
+        assertEquals(1, ((List<Object>) doc.get("included")).size());
+
+        assertEquals(400, get("/data/grant?filter=" + URLEncoder.encode("awardNumber=~'x'", UTF_8)).statusCode());
+        assertEquals(404, get("/data/nothing").statusCode());
+    }
+
+    @Test
+    public void testIndexFollowsWrites() throws Exception {
+        String id = create("journal", "{\"journalName\":\"One\",\"issns\":[\"Print:1\",\"Online:2\"]}", null);
+
+        assertEquals(1, ((List<Object>) select("journal", "journalName=='One'", null, 0, 10, null).get("data"))
+                .size());
+        assertEquals(1, ((List<Object>) select("journal", "issns=hasmember='Online:2'", null, 0, 10, null)
+                .get("data")).size());
+
+        send("PATCH", "/data/journal/" + id, doc("journal", id, "{\"journalName\":\"Two\"}", null));
+        create("journal", "{\"journalName\":\"One\"}", null);
+
+        List<Object> data = (List<Object>) select("journal", "journalName=='One'", null, 0, 10, null).get("data");
+        assertEquals(1, data.size());
+        assertNotEquals(id, ((Map<String, Object>) data.get(0)).get("id"));
+        assertEquals(1, ((List<Object>) select("journal", "journalName=in=('Two','Three')", null, 0, 10, null)
+                .get("data")).size());
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        String page = "{\"data\":[{\"id\":\"20\",\"type\":\"grant\",\"attributes\":{\"awardNumber\":\"A1\"},"
+                + "\"relationships\":{\"primaryFunder\":{\"data\":{\"type\":\"funder\",\"id\":\"5\"}}}}],"
+                + "\"included\":[{\"id\":\"5\",\"type\":\"funder\",\"attributes\":{\"name\":\"NIH\"}}]}";
+
+        assertEquals(2, standIn.load(page));
+        assertEquals(List.of("A1"), award_numbers(select("grant", "primaryFunder.name=='NIH'", null, 0, 10, null)));
+        assertEquals("NIH", attributes(data(get("/data/funder/5"))).get("name"));
+
+        // Created objects do not reuse the loaded ids
+        assertEquals("21", create("grant", "{\"awardNumber\":\"A2\"}", null));
+
+        assertThrows(IOException.class, () -> standIn.load("{\"data\":[{\"id\":\"1\",\"type\":\"x\"}]}"));
+    }
+
+    @Test
+    public void testFiles() throws Exception {
+        byte[] content = "binary content".getBytes(UTF_8);
+        String boundary = "boundary123";
+        String body = "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"test.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n" + new String(content, UTF_8) + "\r\n--" + boundary + "--\r\n";
+
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(standIn.getUrl() + "file"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+
+        String id = (String) ((Map<String, Object>) json.fromJson(response.body())).get("id");
+        assertTrue(id.endsWith("/test.txt"));
+
+        HttpResponse<byte[]> download = http.send(HttpRequest.newBuilder(URI.create(standIn.getUrl() + "file/" + id))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, download.statusCode());
+        assertArrayEquals(content, download.body());
+        assertEquals("text/plain", download.headers().firstValue("Content-Type").get());
+
+        assertEquals(204, send("DELETE", "/file/" + id, null).statusCode());
+        assertEquals(404, get("/file/" + id).statusCode());
+    }
+
+    @Test
+    public void testInjectedFaults() throws Exception {
+        String id = create("policy", "{\"title\":\"Policy\"}", null);
+
+        standIn.setFailureRate(1);
+        standIn.setFaultFilter((method, path) -> method.equals("PATCH"));
+
+        assertEquals(503, send("PATCH", "/data/policy/" + id, doc("policy", id, "{\"title\":\"New\"}", null))
+                .statusCode());
+        assertEquals("Policy", attributes(data(get("/data/policy/" + id))).get("title"));
+        assertEquals(1, standIn.getFailureCount());
+
+        standIn.setFailureRate(0);
+        standIn.setLatency(Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        assertEquals(200, get("/data/policy/" + id).statusCode());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(100).toNanos());
+        assertEquals(4, standIn.getRequestCount());
+
+        standIn.clear();
+        assertEquals(0, standIn.getObjectCount("policy"));
+    }
+
+    private String create(String type, String attributes, String relationships) throws Exception {
+        HttpResponse<String> response = send("POST", "/data/" + type, doc(type, null, attributes, relationships));
+        assertEquals(201, response.statusCode(), response.body());
+
+        return (String) data(response).get("id");
+    }
+
+    private Map<String, Object> select(String type, String filter, String sort, int offset, int limit,
+            String include) throws Exception {
+        String url = "/data/" + type + "?filter=" + URLEncoder.encode(filter, UTF_8)
+                + (sort == null ? "" : "&sort=" + sort) + (include == null ? "" : "&include=" + include)
+                + "&page%5Boffset%5D=" + offset + "&page%5Blimit%5D=" + limit + "&page%5Btotals%5D";
+        HttpResponse<String> response = get(url);
+        assertEquals(200, response.statusCode(), response.body());
+
+        return (Map<String, Object>) json.fromJson(response.body());
+    }
+
+    private static List<Object> award_numbers(Map<String, Object> doc) {
+        return ((List<Map<String, Object>>) doc.get("data")).stream().map(d -> attributes(d).get("awardNumber"))
+                .collect(Collectors.toList());
+    }
+
+    private static String doc(String type, String id, String attributes, String relationships) {
+        return "{\"data\":{" + (id == null ? "" : "\"id\":\"" + id + "\",") + "\"type\":\"" + type
+                + "\",\"attributes\":" + attributes
+                + (relationships == null ? "" : ",\"relationships\":" + relationships) + "}}";
+    }
+
+    private Map<String, Object> data(HttpResponse<String> response) throws IOException {
+        return (Map<String, Object>) ((Map<String, Object>) json.fromJson(response.body())).get("data");
+    }
+
+    private static Map<String, Object> attributes(Map<String, Object> data) {
+        return (Map<String, Object>) data.get("attributes");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send("GET", path, null);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(standIn.getUrl() + path.substring(1)))
+                .header("Content-Type", "application/vnd.api+json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure award number normalization and query generation, done for every NIHMS row and every grant loaded.
+ * The regex benchmark is the normalization as it was written with String.matches and replaceAll, which compile
+ * their patterns on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AwardNumberBenchmark {
+    @Param({" 1R01 AB123456-01 ", "W81XWH-17-1-0630"})
+    private String awardNumber;
+
+    @Benchmark
+    public String normalize() {
+        return ModelUtil.normalizeAwardNumber(awardNumber);
+    }
+
+    @Benchmark
+    public String normalizeRegex() {
+        String result = awardNumber.trim();
+
+        if (result.toUpperCase().matches("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}[A-Z]? *[A-Z]{2}[A-Z0-9]{6}-*[A-Z0-9]*")) {
+            result = result.replaceFirst("^0+-*(?!$)", "").replaceAll("\\s", "").toUpperCase();
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public String createQuery() {
+        return ModelUtil.createAwardNumberQuery(awardNumber, "awardNumber");
+    }
+
+    @Benchmark
+    public AwardNumber parse() {
+        return AwardNumber.parse(awardNumber);
+    }
+}
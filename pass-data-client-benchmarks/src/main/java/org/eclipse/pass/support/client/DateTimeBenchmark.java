@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure parsing and formatting the date times found in a fixture page, comparing the fast path in
+ * {@link ModelUtil} with the formatter it falls back to. Each benchmark handles every date time of the page once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeBenchmark {
+    private static final Pattern DATE_TIME = Pattern.compile("\"(\\d{4}-\\d{2}-\\d{2}T[^\"]+)\"");
+
+    @Param({"submission", "grant"})
+    private String fixture;
+
+    private String[] values;
+    private ZonedDateTime[] dateTimes;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> found = new ArrayList<>();
+        Matcher matcher = DATE_TIME.matcher(Fixtures.page(fixture));
+
+        while (matcher.find()) {
+            found.add(matcher.group(1));
+        }
+
+        values = found.toArray(new String[0]);
+        dateTimes = found.stream().map(ModelUtil::parseDateTime).toArray(ZonedDateTime[]::new);
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(ModelUtil.parseDateTime(value));
+        }
+    }
+
+    @Benchmark
+    public void parseFormatter(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(ZonedDateTime.parse(value, ModelUtil.dateTimeFormatter()));
+        }
+    }
+
+    @Benchmark
+    public void format(Blackhole bh) {
+        for (ZonedDateTime value : dateTimes) {
+            bh.consume(ModelUtil.formatDateTime(value));
+        }
+    }
+
+    @Benchmark
+    public void formatFormatter(Blackhole bh) {
+        for (ZonedDateTime value : dateTimes) {
+            bh.consume(value.format(ModelUtil.dateTimeFormatter()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.pass.support.client.model.Grant;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.eclipse.pass.support.client.model.Submission;
+
+/**
+ * Pages of PASS objects in the form pass-core returns them, used as payloads by the benchmarks.
+ * <ul>
+ * <li>submission: 50 submissions with metadata and to one and to many relationships</li>
+ * <li>grant: 50 grants with their primary and direct funders included</li>
+ * <li>journal: 100 journals without relationships</li>
+ * </ul>
+ */
+public final class Fixtures {
+    private Fixtures() {
+        //never called
+    }
+
+    /**
+     * @param name fixture name
+     * @return type of the objects in the fixture
+     */
+    public static Class<? extends PassEntity> type(String name) {
+        switch (name) {
+            case "submission":
+                return Submission.class;
+            case "grant":
+                return Grant.class;
+            case "journal":
+                return Journal.class;
+            default:
+                throw new IllegalArgumentException("Unknown fixture: " + name);
+        }
+    }
+
+    /**
+     * @param name fixture name
+     * @return JSON API document with a page of objects
+     * @throws IOException if the fixture cannot be read
+     */
+    public static String page(String name) throws IOException {
+        type(name);
+
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name + "s.json")) {
+            if (in == null) {
+                throw new IOException("Missing fixture: " + name);
+            }
+
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the conversion of PASS objects to and from JSON API documents done by JsonApiPassClient for every
+ * request. The page benchmarks decode a whole select response and the object benchmarks work on the first object
+ * of the page. Run with {@code -prof gc} to see allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonApiCodecBenchmark {
+    @Param({"submission", "grant", "journal"})
+    private String fixture;
+
+    private final JsonApiCodec codec = new JsonApiCodec();
+
+    private Class<? extends PassEntity> type;
+    private String page;
+    private List<PassEntity> objects;
+    private PassEntity object;
+    private String document;
+    private List<String> nullRelationships;
+
+    @Setup
+    public void setup() throws IOException {
+        type = Fixtures.type(fixture);
+        page = Fixtures.page(fixture);
+        objects = codec.<PassEntity>decodeList(type, page).getObjects();
+        object = objects.get(0);
+        document = codec.encode(object);
+        nullRelationships = codec.get_null_relationships(object);
+    }
+
+    /**
+     * @return page of objects decoded as by selectObjects
+     * @throws IOException on error
+     */
+    @Benchmark
+    public PassClientResult<PassEntity> decodePage() throws IOException {
+        return codec.decodeList(type, page);
+    }
+
+    /**
+     * @return object decoded as by getObject
+     * @throws IOException on error
+     */
+    @Benchmark
+    public PassEntity decodeObject() throws IOException {
+        return codec.decode(type, document);
+    }
+
+    /**
+     * @param bh consumes the documents
+     */
+    @Benchmark
+    public void encodePage(Blackhole bh) {
+        for (PassEntity obj : objects) {
+            bh.consume(codec.encode(obj));
+        }
+    }
+
+    /**
+     * @return document as sent by createObject
+     */
+    @Benchmark
+    public String encodeObject() {
+        return codec.encode(object);
+    }
+
+    /**
+     * @return document as sent by updateObject
+     * @throws IOException on error
+     */
+    @Benchmark
+    public String encodeUpdate() throws IOException {
+        return codec.encodeUpdate(object);
+    }
+
+    /**
+     * @return relationships of the objects in a page
+     * @throws IOException on error
+     */
+    @Benchmark
+    public Map<String, ?> getRelationships() throws IOException {
+        return codec.get_relationships(page);
+    }
+
+    /**
+     * @return null to one relationships found by reflection
+     */
+    @Benchmark
+    public List<String> getNullRelationships() {
+        return codec.get_null_relationships(object);
+    }
+
+    /**
+     * @return document rewritten with the null to one relationships
+     * @throws IOException on error
+     */
+    @Benchmark
+    public String addNullRelationships() throws IOException {
+        return codec.add_null_relationships(document, nullRelationships);
+    }
+}
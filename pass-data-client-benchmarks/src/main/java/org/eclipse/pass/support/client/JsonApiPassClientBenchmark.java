@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.eclipse.pass.support.standin.PassCoreStandIn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure JsonApiPassClient requests end to end against a {@link PassCoreStandIn} loaded with the fixtures. The
+ * select returns the whole fixture page, with the funders of grants included. Compared with
+ * {@link JsonApiCodecBenchmark} this shows how much of a request is spent outside of decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class JsonApiPassClientBenchmark {
+    @Param({"submission", "grant", "journal"})
+    private String fixture;
+
+    private PassCoreStandIn standIn;
+    private PassClient client;
+    private PassClientSelector<PassEntity> selector;
+    private String id;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        Class<PassEntity> type = (Class<PassEntity>) Fixtures.type(fixture);
+        String page = Fixtures.page(fixture);
+
+        JsonApiCodec codec = new JsonApiCodec();
+        id = codec.<PassEntity>decodeList(type, page).getObjects().get(0).getId();
+
+        standIn = new PassCoreStandIn();
+        standIn.load(page);
+        standIn.start();
+
+        client = PassClient.newInstance(standIn.getUrl());
+        selector = fixture.equals("grant")
+                ? new PassClientSelector<>(type, 0, 100, null, "id", "primaryFunder", "directFunder")
+                : new PassClientSelector<>(type, 0, 100, null, "id");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        standIn.close();
+    }
+
+    /**
+     * @return page of objects
+     * @throws IOException on error
+     */
+    @Benchmark
+    public PassClientResult<PassEntity> selectObjects() throws IOException {
+        return client.selectObjects(selector);
+    }
+
+    /**
+     * @return single object
+     * @throws IOException on error
+     */
+    @Benchmark
+    public PassEntity getObject() throws IOException {
+        return client.getObject(selector.getType(), id);
+    }
+}
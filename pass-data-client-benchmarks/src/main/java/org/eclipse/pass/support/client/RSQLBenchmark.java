@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare building filters and select URLs with {@link RSQL} against the precompiled {@link RSQLTemplate}.
+ * The queries are the shapes used by SubmissionStatusService, the grant loader and the NIHMS loader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RSQLBenchmark {
+    private static final String BASE_URL = "http://localhost:8080/data/grant";
+
+    private static final RSQLTemplate SUBMISSION_ID = RSQLTemplate.equals("submission.id");
+    private static final RSQLTemplate LOCAL_KEY = RSQLTemplate.equals("localKey");
+    private static final RSQLTemplate DEPOSIT = RSQLTemplate.and(RSQLTemplate.equals("submission.id"),
+            RSQLTemplate.equals("repository.id"));
+
+    private static final HttpUrl URL_PREFIX = HttpUrl.get(BASE_URL).newBuilder()
+            .addQueryParameter("include", "primaryFunder,directFunder,pi,coPis")
+            .addQueryParameter("page[totals]", null).build();
+
+    private final String submissionId = "12345";
+    private final String repositoryId = "67";
+    private final String localKey = "johnshopkins.edu:grant:8675309";
+
+    @Benchmark
+    public String equalsConcat() {
+        return RSQL.equals("submission.id", submissionId);
+    }
+
+    @Benchmark
+    public String equalsTemplate() {
+        return SUBMISSION_ID.render(submissionId);
+    }
+
+    @Benchmark
+    public String andConcat() {
+        return RSQL.and(RSQL.equals("submission.id", submissionId), RSQL.equals("repository.id", repositoryId));
+    }
+
+    @Benchmark
+    public String andTemplate() {
+        return DEPOSIT.render(submissionId, repositoryId);
+    }
+
+    /**
+     * @return select URL built the way JsonApiPassClient builds it for an ad hoc selector
+     */
+    @Benchmark
+    public HttpUrl selectUrlBuilder() {
+        HttpUrl.Builder url_builder = HttpUrl.get(BASE_URL).newBuilder();
+        url_builder.addQueryParameter("include", "primaryFunder,directFunder,pi,coPis");
+        url_builder.addQueryParameter("filter", RSQL.equals("localKey", localKey));
+        url_builder.addQueryParameter("page[offset]", "" + 0);
+        url_builder.addQueryParameter("page[limit]", "" + 500);
+        url_builder.addQueryParameter("page[totals]", null);
+
+        return url_builder.build();
+    }
+
+    /**
+     * @return select URL built the way JsonApiPassClient builds it for a precompiled query
+     */
+    @Benchmark
+    public HttpUrl selectUrlTemplate() {
+        HttpUrl.Builder url_builder = URL_PREFIX.newBuilder();
+        url_builder.addEncodedQueryParameter("page%5Boffset%5D", "" + 0);
+        url_builder.addEncodedQueryParameter("page%5Blimit%5D", "" + 500);
+
+        StringBuilder filter = new StringBuilder(128);
+        LOCAL_KEY.renderEncoded(new String[] {localKey}, filter);
+        url_builder.addEncodedQueryParameter("filter", filter.toString());
+
+        return url_builder.build();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.pass.support.client.model.PassEntity;
+
+/**
+ * Measure the heap retained by PASS objects decoded in bulk, as when a loader keeps every journal or grant in
+ * memory, with and without a {@link StringPool}. The objects are decoded from generated pages of 500 in the form
+ * pass-core returns them. Grants reference a few hundred funders and a few thousand users, so their relationship
+ * ids and status values repeat. Journals have mostly distinct values and show the cost of pooling when there is
+ * little to share.
+ * <p>
+ * Usage: StringPoolFootprint [journal|grant] [count]. The default is 200000 journals. Run with a fixed heap, for
+ * example -Xms2g -Xmx2g, so the measurement is not disturbed by heap resizing.
+ * </p>
+ */
+public final class StringPoolFootprint {
+    private static final int PAGE_SIZE = 500;
+
+    private StringPoolFootprint() {
+        //never called
+    }
+
+    /**
+     * @param args fixture and number of objects
+     * @throws IOException on error
+     */
+    public static void main(String[] args) throws IOException {
+        String fixture = args.length > 0 ? args[0] : "journal";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+        List<String> pages = new ArrayList<>();
+
+        for (int start = 0; start < count; start += PAGE_SIZE) {
+            pages.add(page(fixture, start, Math.min(count, start + PAGE_SIZE)));
+        }
+
+        // The first measurement in a JVM is skewed by one time allocations made while it runs. Discard it, then
+        // alternate the measurements and keep the smallest so the order they run in does not matter.
+        retained(fixture, pages, null);
+
+        long plain = Long.MAX_VALUE;
+        long pooled = Long.MAX_VALUE;
+
+        for (int round = 0; round < 3; round++) {
+            plain = Math.min(plain, retained(fixture, pages, null));
+            pooled = Math.min(pooled, retained(fixture, pages, new StringPool()));
+        }
+
+        System.out.printf("%d %ss decoded%n", count, fixture);
+        System.out.printf("without pool: %,d bytes, %d per object%n", plain, plain / count);
+        System.out.printf("with pool:    %,d bytes, %d per object%n", pooled, pooled / count);
+        System.out.printf("saved:        %.1f%%%n", 100.0 * (plain - pooled) / plain);
+    }
+
+    // Return heap retained by the decoded objects
+    private static long retained(String fixture, List<String> pages, StringPool pool) throws IOException {
+        JsonApiCodec codec = new JsonApiCodec();
+        codec.setStringPool(pool);
+
+        // Warm up so lazily created adapters are not counted
+        codec.decodeList(Fixtures.type(fixture), pages.get(0));
+
+        long before = used_heap();
+        List<PassEntity> objects = new ArrayList<>();
+
+        for (String page : pages) {
+            objects.addAll(codec.<PassEntity>decodeList(Fixtures.type(fixture), page).getObjects());
+        }
+
+        long after = used_heap();
+
+        if (objects.isEmpty()) {
+            throw new IllegalStateException("Nothing decoded");
+        }
+
+        return after - before;
+    }
+
+    private static long used_heap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String page(String fixture, int start, int end) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                json.append(',');
+            }
+
+            if (fixture.equals("journal")) {
+                journal(json, i);
+            } else if (fixture.equals("grant")) {
+                grant(json, i);
+            } else {
+                throw new IllegalArgumentException("Unknown fixture: " + fixture);
+            }
+        }
+
+        return json.append("],\"meta\":{\"page\":{\"totalRecords\":").append(end - start).append("}}}").toString();
+    }
+
+    private static void journal(StringBuilder json, int i) {
+        json.append("{\"id\":\"").append(i + 1).append("\",\"type\":\"journal\",\"attributes\":{")
+            .append("\"journalName\":\"Journal of Studies ").append(i).append("\",")
+            .append("\"issns\":[\"Print:").append(issn(i)).append("\",\"Online:").append(issn(i + 500000))
+            .append("\"],\"nlmta\":\"J Stud ").append(i).append('"');
+
+        if (i % 3 == 0) {
+            json.append(",\"pmcParticipation\":\"").append(i % 2 == 0 ? "A" : "B").append('"');
+        }
+
+        json.append("}}");
+    }
+
+    private static String issn(int i) {
+        String digits = String.format("%08d", i);
+        return digits.substring(0, 4) + "-" + digits.substring(4);
+    }
+
+    private static void grant(StringBuilder json, int i) {
+        json.append("{\"id\":\"").append(i + 1).append("\",\"type\":\"grant\",\"attributes\":{")
+            .append("\"awardNumber\":\"R01 AB").append(100000 + i).append("\",")
+            .append("\"awardStatus\":\"").append(i % 5 == 0 ? "terminated" : "active").append("\",")
+            .append("\"localKey\":\"johnshopkins.edu:grant:").append(i).append("\",")
+            .append("\"projectName\":\"Project ").append(i).append("\",")
+            .append("\"awardDate\":\"2020-0").append(1 + i % 9).append("-01T00:00:00.000Z\",")
+            .append("\"startDate\":\"2020-0").append(1 + i % 9).append("-01T00:00:00.000Z\",")
+            .append("\"endDate\":\"2025-0").append(1 + i % 9).append("-01T00:00:00.000Z\"},")
+            .append("\"relationships\":{")
+            .append("\"primaryFunder\":{\"data\":{\"id\":\"").append(1 + i % 300).append("\",\"type\":\"funder\"}},")
+            .append("\"directFunder\":{\"data\":{\"id\":\"").append(1 + i % 200).append("\",\"type\":\"funder\"}},")
+            .append("\"pi\":{\"data\":{\"id\":\"").append(1 + i % 5000).append("\",\"type\":\"user\"}},")
+            .append("\"coPis\":{\"data\":[{\"id\":\"").append(1 + (i * 7) % 5000)
+            .append("\",\"type\":\"user\"},{\"id\":\"").append(1 + (i * 13) % 5000)
+            .append("\",\"type\":\"user\"}]}}}");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.support.client.model.CopyStatus;
+import org.eclipse.pass.support.client.model.Deposit;
+import org.eclipse.pass.support.client.model.DepositStatus;
+import org.eclipse.pass.support.client.model.EventType;
+import org.eclipse.pass.support.client.model.Repository;
+import org.eclipse.pass.support.client.model.RepositoryCopy;
+import org.eclipse.pass.support.client.model.SubmissionEvent;
+import org.eclipse.pass.support.client.model.SubmissionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the status calculations done for every submission in a status sweep. A submitted submission has
+ * three repositories, each with a deposit and a repository copy, and an unsubmitted one has five events.
+ * Run with {@code -prof gc} to see allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubmissionStatusCalculatorBenchmark {
+    private final List<String> repositoryIds = List.of("1", "2", "3");
+    private final List<Deposit> deposits = new ArrayList<>();
+    private final List<RepositoryCopy> repositoryCopies = new ArrayList<>();
+    private final List<SubmissionEvent> events = new ArrayList<>();
+
+    public SubmissionStatusCalculatorBenchmark() {
+        for (String id : repositoryIds) {
+            Deposit deposit = new Deposit();
+            deposit.setRepository(new Repository(id));
+            deposit.setDepositStatus(DepositStatus.ACCEPTED);
+            deposits.add(deposit);
+
+            RepositoryCopy copy = new RepositoryCopy();
+            copy.setRepository(new Repository(id));
+            copy.setCopyStatus(id.equals("3") ? CopyStatus.IN_PROGRESS : CopyStatus.COMPLETE);
+            repositoryCopies.add(copy);
+        }
+
+        ZonedDateTime date = ZonedDateTime.parse("2024-03-14T15:09:26.535Z");
+        EventType[] types = {EventType.APPROVAL_REQUESTED, EventType.CHANGES_REQUESTED,
+            EventType.APPROVAL_REQUESTED, EventType.CHANGES_REQUESTED, EventType.APPROVAL_REQUESTED};
+
+        for (int i = 0; i < types.length; i++) {
+            SubmissionEvent event = new SubmissionEvent();
+            event.setEventType(types[i]);
+            event.setPerformedDate(date.plusHours(i));
+            events.add(event);
+        }
+    }
+
+    @Benchmark
+    public SubmissionStatus postSubmission() {
+        return SubmissionStatusCalculator.calculatePostSubmissionStatus(repositoryIds, deposits, repositoryCopies);
+    }
+
+    @Benchmark
+    public SubmissionStatus preSubmission() {
+        return SubmissionStatusCalculator.calculatePreSubmissionStatus(events, null);
+    }
+
+    @Benchmark
+    public void validateStatusChange() {
+        SubmissionStatusCalculator.validateStatusChange(true, SubmissionStatus.SUBMITTED, SubmissionStatus.COMPLETE);
+    }
+}
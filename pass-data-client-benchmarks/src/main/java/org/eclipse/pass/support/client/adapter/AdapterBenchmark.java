@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.adapter;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.support.client.model.AggregatedDepositStatus;
+import org.eclipse.pass.support.client.model.DepositStatus;
+import org.eclipse.pass.support.client.model.SubmissionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the Moshi adapters for attribute values which are called for every enum, date and URI attribute of
+ * a decoded or encoded object. The enum benchmarks convert every value of the type once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdapterBenchmark {
+    private final SubmissionStatusAdapter submissionStatusAdapter = new SubmissionStatusAdapter();
+    private final AggregatedDepositStatusAdapter aggregatedDepositStatusAdapter =
+            new AggregatedDepositStatusAdapter();
+    private final DepositStatusAdapter depositStatusAdapter = new DepositStatusAdapter();
+    private final ZonedDateTimeAdapter zonedDateTimeAdapter = new ZonedDateTimeAdapter();
+    private final UriAdapter uriAdapter = new UriAdapter();
+
+    private final SubmissionStatus[] submissionStatuses = SubmissionStatus.values();
+    private final String[] submissionStatusValues = Arrays.stream(submissionStatuses)
+            .map(SubmissionStatus::getValue).toArray(String[]::new);
+    private final AggregatedDepositStatus[] aggregatedDepositStatuses = AggregatedDepositStatus.values();
+    private final String[] aggregatedDepositStatusValues = Arrays.stream(aggregatedDepositStatuses)
+            .map(AggregatedDepositStatus::getValue).toArray(String[]::new);
+    private final DepositStatus[] depositStatuses = DepositStatus.values();
+    private final String[] depositStatusValues = Arrays.stream(depositStatuses)
+            .map(DepositStatus::getValue).toArray(String[]::new);
+
+    private final String dateTimeValue = "2024-03-14T15:09:26.535Z";
+    private final ZonedDateTime dateTime = zonedDateTimeAdapter.fromJson(dateTimeValue);
+    private final String uriValue = "mailto:j.smith@example.com";
+    private final URI uri = URI.create(uriValue);
+
+    @Benchmark
+    public void submissionStatusToJson(Blackhole bh) {
+        for (SubmissionStatus value : submissionStatuses) {
+            bh.consume(submissionStatusAdapter.toJson(value));
+        }
+    }
+
+    @Benchmark
+    public void submissionStatusFromJson(Blackhole bh) {
+        for (String value : submissionStatusValues) {
+            bh.consume(submissionStatusAdapter.fromJson(value));
+        }
+    }
+
+    @Benchmark
+    public void aggregatedDepositStatusToJson(Blackhole bh) {
+        for (AggregatedDepositStatus value : aggregatedDepositStatuses) {
+            bh.consume(aggregatedDepositStatusAdapter.toJson(value));
+        }
+    }
+
+    @Benchmark
+    public void aggregatedDepositStatusFromJson(Blackhole bh) {
+        for (String value : aggregatedDepositStatusValues) {
+            bh.consume(aggregatedDepositStatusAdapter.fromJson(value));
+        }
+    }
+
+    @Benchmark
+    public void depositStatusToJson(Blackhole bh) {
+        for (DepositStatus value : depositStatuses) {
+            bh.consume(depositStatusAdapter.toJson(value));
+        }
+    }
+
+    @Benchmark
+    public void depositStatusFromJson(Blackhole bh) {
+        for (String value : depositStatusValues) {
+            bh.consume(depositStatusAdapter.fromJson(value));
+        }
+    }
+
+    @Benchmark
+    public String zonedDateTimeToJson() {
+        return zonedDateTimeAdapter.toJson(dateTime);
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTimeFromJson() {
+        return zonedDateTimeAdapter.fromJson(dateTimeValue);
+    }
+
+    @Benchmark
+    public String uriToJson() {
+        return uriAdapter.toJson(uri);
+    }
+
+    @Benchmark
+    public URI uriFromJson() {
+        return uriAdapter.fromJson(uriValue);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.bulk;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.RSQL;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PmcParticipation;
+import org.eclipse.pass.support.standin.PassCoreStandIn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the export and import of journals against a {@link PassCoreStandIn}. The stand-in adds a fixed latency
+ * to each request to stand in for the latency of pass-core, so the effect of parallelism is visible. Only the
+ * journals created during setup are exported, so journals imported by earlier iterations do not change the
+ * export. Run with {@code -prof gc} to see allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class BulkTransferBenchmark {
+    private static final int JOURNALS = 2000;
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    @Param({"2"})
+    private int latencyMillis;
+
+    private PassCoreStandIn standIn;
+    private PassClient client;
+    private String filter;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        standIn = new PassCoreStandIn();
+        standIn.start();
+
+        client = PassClient.newInstance(standIn.getUrl());
+
+        String lastId = null;
+
+        for (int i = 1; i <= JOURNALS; i++) {
+            Journal journal = new Journal();
+            journal.setJournalName("Journal of " + i);
+            journal.setIssns(List.of("Print:1234-" + i, "Online:5678-" + i));
+            journal.setNlmta("J " + i);
+            journal.setPmcParticipation(PmcParticipation.A);
+            client.createObject(journal);
+            lastId = journal.getId();
+        }
+
+        filter = RSQL.lte("id", lastId);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter().export(Journal.class, filter, out);
+        ndjson = out.toByteArray();
+
+        standIn.setLatency(Duration.ofMillis(latencyMillis));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        standIn.close();
+    }
+
+    /**
+     * @return number of journals exported to compressed NDJSON
+     * @throws IOException on error
+     */
+    @Benchmark
+    public long exportJournals() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            return exporter().export(Journal.class, filter, out);
+        }
+    }
+
+    /**
+     * @return number of journals imported from NDJSON
+     * @throws IOException on error
+     */
+    @Benchmark
+    public long importJournals() throws IOException {
+        PassImporter importer = new PassImporter(client);
+        importer.setParallelism(parallelism);
+
+        return importer.importObjects(Journal.class, new ByteArrayInputStream(ndjson));
+    }
+
+    private PassExporter exporter() {
+        PassExporter exporter = new PassExporter(client);
+        exporter.setPageSize(PAGE_SIZE);
+
+        return exporter;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An award number parsed once so it can be compared cheaply, for example as the key of a local index of grants.
+ * <p>
+ * The key of an award number is the most general value {@link ModelUtil#createAwardNumberQuery(String, String)}
+ * searches for, derived with the same rule. For an NIH award number that is the minimum set of activity code,
+ * institute code and serial number, taken as the first three, next two and next six characters of the minimum set
+ * with whitespace removed. So R01 AB123456-01, 1R01AB123456 and 000-R01AB123456-02 are equal. Any other award
+ * number is compared by its value as normalized by {@link ModelUtil#normalizeAwardNumber(String)}. Two award
+ * numbers are equal exactly when their queries search for the same value.
+ * </p>
+ */
+public final class AwardNumber {
+    private static final int ACTIVITY_CODE_END = 3;
+    private static final int INSTITUTE_CODE_END = 5;
+    private static final int SERIAL_NUMBER_END = 11;
+
+    private final String normalized;
+    private final String activityCode;
+    private final String instituteCode;
+    private final String serialNumber;
+    private final String key;
+
+    private AwardNumber(String normalized, String activityCode, String instituteCode, String serialNumber) {
+        this.normalized = normalized;
+        this.activityCode = activityCode;
+        this.instituteCode = instituteCode;
+        this.serialNumber = serialNumber;
+        this.key = activityCode == null ? normalized : activityCode + instituteCode + serialNumber;
+    }
+
+    /**
+     * @param awardNumber award number to parse
+     * @return parsed award number or null if the award number is null or blank
+     */
+    public static AwardNumber parse(String awardNumber) {
+        String normalized = ModelUtil.normalizeAwardNumber(awardNumber);
+
+        if (normalized == null) {
+            return null;
+        }
+
+        // Like createAwardNumberQuery, only the minimum set is case sensitive
+        if (ModelUtil.NIH_AWARD_NUMBER_NUMERIC_SERIAL.matcher(awardNumber.toUpperCase()).matches()) {
+            Matcher matcher = ModelUtil.NIH_MIN_SET.matcher(awardNumber);
+
+            if (matcher.find()) {
+                String minSet = ModelUtil.WHITESPACE.matcher(matcher.group()).replaceAll("");
+
+                // A minimum set with a two character activity code cannot be split by the query
+                if (minSet.length() >= SERIAL_NUMBER_END) {
+                    return new AwardNumber(normalized, minSet.substring(0, ACTIVITY_CODE_END),
+                            minSet.substring(ACTIVITY_CODE_END, INSTITUTE_CODE_END),
+                            minSet.substring(INSTITUTE_CODE_END, SERIAL_NUMBER_END));
+                }
+            }
+        }
+
+        return new AwardNumber(normalized, null, null, null);
+    }
+
+    /**
+     * @return whether this is an NIH award number with an activity code, institute code and serial number
+     */
+    public boolean isNih() {
+        return activityCode != null;
+    }
+
+    /**
+     * @return award number as normalized by {@link ModelUtil#normalizeAwardNumber(String)}
+     */
+    public String getNormalized() {
+        return normalized;
+    }
+
+    /**
+     * @return activity code such as R01, as split by the query, or null if not an NIH award number
+     */
+    public String getActivityCode() {
+        return activityCode;
+    }
+
+    /**
+     * @return institute code such as AB, as split by the query, or null if not an NIH award number
+     */
+    public String getInstituteCode() {
+        return instituteCode;
+    }
+
+    /**
+     * @return serial number, as split by the query, or null if not an NIH award number
+     */
+    public String getSerialNumber() {
+        return serialNumber;
+    }
+
+    /**
+     * @return value which identifies the award, the minimum set of an NIH award number or else the normalized value
+     */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AwardNumber other = (AwardNumber) o;
+        return key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+
+    @Override
+    public String toString() {
+        return normalized;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CallOptions bound the time spent in {@link JsonApiPassClient} requests made by the current thread.
+ * <p>
+ * The deadline limits the total time of a logical operation which may make many requests, such as streaming all
+ * the pages of a query. The call timeout limits each request on its own. Either may be left unset. Both are
+ * applied as the OkHttp call timeout of each request, so a request in flight when the deadline passes is
+ * cancelled. A request which times out, or which would start after the deadline, fails with a
+ * {@link DeadlineExceededException}.
+ * </p>
+ * <p>
+ * Options apply to a thread between {@link #enter()} and closing the returned scope. Options entered while others
+ * are in effect are combined with them, keeping the earlier deadline and the shorter call timeout.
+ * {@link PassParallel} passes the options of the calling thread on to its worker threads.
+ * </p>
+ *
+ * <pre>
+ * try (CallOptions.Scope scope = new CallOptions(Duration.ofMinutes(5), Duration.ofSeconds(30)).enter()) {
+ *     client.streamObjects(selector).forEach(...);
+ * }
+ * </pre>
+ */
+public final class CallOptions {
+    private static final ThreadLocal<CallOptions> CURRENT = new ThreadLocal<>();
+    private static final long NONE = 0;
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final long callTimeoutNanos;
+
+    /**
+     * @param timeout time from now until the deadline or null for no deadline
+     * @param callTimeout maximum time of each request or null for no limit
+     */
+    public CallOptions(Duration timeout, Duration callTimeout) {
+        if (timeout != null && timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+
+        if (callTimeout != null && (callTimeout.isNegative() || callTimeout.isZero())) {
+            throw new IllegalArgumentException("Call timeout must be positive: " + callTimeout);
+        }
+
+        this.hasDeadline = timeout != null;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + saturated_nanos(timeout) : NONE;
+        this.callTimeoutNanos = callTimeout == null ? NONE : saturated_nanos(callTimeout);
+    }
+
+    private CallOptions(boolean hasDeadline, long deadlineNanos, long callTimeoutNanos) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.callTimeoutNanos = callTimeoutNanos;
+    }
+
+    private static long saturated_nanos(Duration d) {
+        try {
+            return d.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    /**
+     * @return options in effect for the current thread or null if there are none
+     */
+    public static CallOptions current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Apply options to the current thread, combined with any already in effect, until the scope is closed.
+     *
+     * @param options options to apply or null to leave the current options unchanged
+     * @return scope which restores the previous options when closed
+     */
+    public static Scope enter(CallOptions options) {
+        CallOptions previous = CURRENT.get();
+
+        if (options != null) {
+            CURRENT.set(previous == null ? options : previous.combine(options));
+        }
+
+        return new Scope(previous);
+    }
+
+    /**
+     * Apply these options to the current thread, combined with any already in effect, until the scope is closed.
+     *
+     * @return scope which restores the previous options when closed
+     */
+    public Scope enter() {
+        return enter(this);
+    }
+
+    private CallOptions combine(CallOptions other) {
+        boolean deadline = hasDeadline || other.hasDeadline;
+        long deadline_nanos;
+
+        if (hasDeadline && other.hasDeadline) {
+            deadline_nanos = deadlineNanos - other.deadlineNanos < 0 ? deadlineNanos : other.deadlineNanos;
+        } else {
+            deadline_nanos = hasDeadline ? deadlineNanos : other.deadlineNanos;
+        }
+
+        long call_timeout;
+
+        if (callTimeoutNanos == NONE || other.callTimeoutNanos == NONE) {
+            call_timeout = Math.max(callTimeoutNanos, other.callTimeoutNanos);
+        } else {
+            call_timeout = Math.min(callTimeoutNanos, other.callTimeoutNanos);
+        }
+
+        return new CallOptions(deadline, deadline_nanos, call_timeout);
+    }
+
+    /**
+     * @return whether there is a deadline and it has passed
+     */
+    public boolean isExpired() {
+        return hasDeadline && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return time left until the deadline, which is zero once it has passed, or null if there is no deadline
+     */
+    public Duration getRemaining() {
+        if (!hasDeadline) {
+            return null;
+        }
+
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return maximum time of each request or null if there is no limit
+     */
+    public Duration getCallTimeout() {
+        return callTimeoutNanos == NONE ? null : Duration.ofNanos(callTimeoutNanos);
+    }
+
+    /**
+     * Return the timeout for a request starting now, the smaller of the time to the deadline and the call timeout.
+     * Once the deadline has passed the smallest possible timeout is returned so the request fails at once.
+     *
+     * @param unit unit of the result
+     * @return timeout or 0 if there is none
+     */
+    long request_timeout(TimeUnit unit) {
+        long timeout = callTimeoutNanos;
+
+        if (hasDeadline) {
+            long remaining = Math.max(1, deadlineNanos - System.nanoTime());
+            timeout = timeout == NONE ? remaining : Math.min(timeout, remaining);
+        }
+
+        return timeout == NONE ? 0 : Math.max(1, unit.convert(timeout, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Restores the options which were in effect before a {@link CallOptions#enter()}.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final CallOptions previous;
+
+        private Scope(CallOptions previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
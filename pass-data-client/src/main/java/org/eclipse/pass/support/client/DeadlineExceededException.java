@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Thrown by {@link JsonApiPassClient} when a request times out, or would start after the deadline, under the
+ * {@link CallOptions} of the current thread. It is an {@link InterruptedIOException} like the timeout it replaces.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message description of the request which timed out
+     * @param cause the underlying timeout or null
+     */
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message);
+
+        if (cause != null) {
+            initCause(cause);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HedgedReads lets a {@link JsonApiPassClient} send a second copy of a get when the first is slow and use
+ * whichever response arrives first.
+ * <p>
+ * The hedge is sent when no response has arrived within the configured percentile of recent response times,
+ * bounded by a minimum and maximum delay. Until enough responses have been seen the maximum delay is used.
+ * Hedges are limited by a budget, the fraction of gets which may be hedged, so a slow server does not receive
+ * twice the load. The counters report how often hedges are sent, how often they win and how often the budget
+ * prevented one.
+ * </p>
+ * <p>
+ * An instance keeps its own statistics and should be used by a single client. Only gets of a single object are
+ * hedged because they are idempotent and cheap to repeat.
+ * </p>
+ * <p>
+ * Requests are sent by a bounded pool of threads. Requests beyond its size wait for a thread. The delay before
+ * hedging starts when a request is sent, not while it waits for a thread, so requests queued behind a saturated
+ * pool are not hedged. The client which uses an instance closes it to stop the threads.
+ * </p>
+ */
+public class HedgedReads implements AutoCloseable {
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECALCULATE_INTERVAL = 32;
+    private static final double MAX_BUDGET_TOKENS = 10;
+    private static final int DEFAULT_MAX_THREADS = 32;
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private double percentile = 0.95;
+    private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private long maxDelayNanos = TimeUnit.SECONDS.toNanos(1);
+    private double budget = 0.05;
+
+    private final long[] samples = new long[SAMPLES];
+    private int sampleCount;
+    private int samplesSinceCalculation;
+    private volatile long delayNanos = maxDelayNanos;
+    private double budgetTokens = MAX_BUDGET_TOKENS;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Create an instance which sends requests with at most 32 threads.
+     */
+    public HedgedReads() {
+        executor = new ThreadPoolExecutor(DEFAULT_MAX_THREADS, DEFAULT_MAX_THREADS, THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), thread_factory());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @param maxThreads maximum number of threads sending requests at once
+     */
+    public synchronized void setMaxThreads(int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be at least 1");
+        }
+
+        if (maxThreads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(maxThreads);
+            executor.setCorePoolSize(maxThreads);
+        } else {
+            executor.setCorePoolSize(maxThreads);
+            executor.setMaximumPoolSize(maxThreads);
+        }
+    }
+
+    /**
+     * @return maximum number of threads sending requests at once
+     */
+    public int getMaxThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * @param percentile percentile of recent response times to wait before hedging, between 0 and 1
+     */
+    public synchronized void setPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be greater than 0 and at most 1");
+        }
+        this.percentile = percentile;
+    }
+
+    /**
+     * @param minDelay minimum time to wait before hedging
+     * @param maxDelay maximum time to wait before hedging
+     */
+    public synchronized void setDelayBounds(Duration minDelay, Duration maxDelay) {
+        if (minDelay.isNegative() || minDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalArgumentException("minDelay must not be negative or greater than maxDelay");
+        }
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.delayNanos = sampleCount < MIN_SAMPLES ? maxDelayNanos : clamp(delayNanos);
+    }
+
+    /**
+     * @param budget fraction of gets which may be hedged, between 0 and 1
+     */
+    public synchronized void setBudget(double budget) {
+        if (budget < 0 || budget > 1) {
+            throw new IllegalArgumentException("budget must be between 0 and 1");
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * @return current time to wait before hedging
+     */
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * @return number of gets sent
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return number of hedges sent
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     * @return number of hedges whose response was used
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * @return number of hedges not sent because the budget was exhausted
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted.get();
+    }
+
+    /**
+     * Status code and body of a response.
+     */
+    static class Result {
+        final int code;
+        final String body;
+
+        Result(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Execute a request, hedging it if no response arrives in time. A failed request waits for the other.
+     *
+     * @param calls creates the calls which send the request
+     * @param request idempotent request
+     * @return result of the first response
+     * @throws IOException if all requests sent fail
+     */
+    Result execute(Call.Factory calls, Request request) throws IOException {
+        requests.incrementAndGet();
+        add_budget();
+
+        Call primary = calls.newCall(request);
+        CompletableFuture<Long> primary_started = new CompletableFuture<>();
+        CompletableFuture<Result> primary_result = send(primary, primary_started);
+        Call hedge = null;
+
+        try {
+            try {
+                // Wait for a thread to send the primary before starting the delay
+                CompletableFuture.anyOf(primary_started, primary_result).get();
+                long waited = primary_started.isDone() ? System.nanoTime() - primary_started.join() : 0;
+
+                return primary_result.get(Math.max(0, delayNanos - waited), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Primary is slow, fall through to hedge
+            } catch (ExecutionException e) {
+                throw io_exception(e);
+            }
+
+            if (!take_budget()) {
+                budgetExhausted.incrementAndGet();
+                return wait_for(primary_result);
+            }
+
+            hedges.incrementAndGet();
+            hedge = calls.newCall(request);
+            CompletableFuture<Result> hedge_result = send(hedge, new CompletableFuture<>());
+
+            // First successful response wins, if one fails wait for the other
+            CompletableFuture<Object> first = CompletableFuture.anyOf(primary_result, hedge_result);
+
+            try {
+                first.get();
+            } catch (ExecutionException e) {
+                CompletableFuture<Result> other = failed_with(primary_result, e.getCause()) ? hedge_result
+                        : primary_result;
+
+                try {
+                    Result result = wait_for(other);
+                    count_win(other == hedge_result);
+                    return result;
+                } catch (IOException other_e) {
+                    IOException failure = io_exception(e);
+                    failure.addSuppressed(other_e);
+                    throw failure;
+                }
+            }
+
+            boolean hedge_won = !primary_result.isDone() || primary_result.isCompletedExceptionally();
+            count_win(hedge_won);
+
+            return wait_for(hedge_won ? hedge_result : primary_result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + request.url());
+        } finally {
+            primary.cancel();
+
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    /**
+     * Stop the threads sending requests once those already sent complete. No more gets may be executed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void count_win(boolean hedge_won) {
+        if (hedge_won) {
+            hedgeWins.incrementAndGet();
+        }
+    }
+
+    // Started is completed with the time the call is sent by a thread
+    private CompletableFuture<Result> send(Call call, CompletableFuture<Long> started) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                started.complete(start);
+
+                try (Response response = call.execute()) {
+                    Result result = new Result(response.code(), response.body().string());
+                    add_sample(System.nanoTime() - start);
+                    future.complete(result);
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IOException("Hedged reads closed", e));
+        }
+
+        return future;
+    }
+
+    // Both requests may have failed by the time the first failure is seen
+    private static boolean failed_with(CompletableFuture<Result> future, Throwable failure) {
+        return future.isCompletedExceptionally() && future.handle((result, e) -> e).join() == failure;
+    }
+
+    private Result wait_for(CompletableFuture<Result> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw io_exception(e);
+        }
+    }
+
+    // Rethrow the failure of a request unchanged so that callers can tell a timeout by its type
+    private IOException io_exception(ExecutionException e) {
+        Throwable cause = e.getCause();
+
+        if (cause instanceof IOException io_cause) {
+            return io_cause;
+        }
+
+        return new IOException("Request failed", cause);
+    }
+
+    private synchronized void add_budget() {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + budget);
+    }
+
+    private synchronized boolean take_budget() {
+        if (budgetTokens < 1) {
+            return false;
+        }
+
+        budgetTokens -= 1;
+        return true;
+    }
+
+    private synchronized void add_sample(long nanos) {
+        samples[sampleCount++ % SAMPLES] = nanos;
+
+        if (sampleCount >= MIN_SAMPLES && ++samplesSinceCalculation >= RECALCULATE_INTERVAL) {
+            samplesSinceCalculation = 0;
+
+            long[] sorted = Arrays.copyOf(samples, Math.min(sampleCount, SAMPLES));
+            Arrays.sort(sorted);
+            delayNanos = clamp(sorted[(int) Math.ceil(percentile * sorted.length) - 1]);
+        }
+
+        // Avoid overflow of the count, keeping it past the minimum
+        if (sampleCount == Integer.MAX_VALUE) {
+            sampleCount = SAMPLES;
+        }
+    }
+
+    private long clamp(long nanos) {
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, nanos));
+    }
+
+    private static ThreadFactory thread_factory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread thread = new Thread(r, "pass-hedged-read-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
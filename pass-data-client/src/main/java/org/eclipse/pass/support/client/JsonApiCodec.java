@@ -0,0 +1,596 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonAdapter.Factory;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonReader.Token;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import jsonapi.Document;
+import jsonapi.Document.IncludedSerialization;
+import jsonapi.JsonApiFactory;
+import okio.Buffer;
+import org.eclipse.pass.support.client.adapter.AggregatedDepositStatusAdapter;
+import org.eclipse.pass.support.client.adapter.AwardStatusAdapter;
+import org.eclipse.pass.support.client.adapter.CopyStatusAdapter;
+import org.eclipse.pass.support.client.adapter.DepositStatusAdapter;
+import org.eclipse.pass.support.client.adapter.EventTypeAdapter;
+import org.eclipse.pass.support.client.adapter.FileRoleAdapter;
+import org.eclipse.pass.support.client.adapter.IntegrationTypeAdapter;
+import org.eclipse.pass.support.client.adapter.PerformerRoleAdapter;
+import org.eclipse.pass.support.client.adapter.SourceAdapter;
+import org.eclipse.pass.support.client.adapter.SubmissionStatusAdapter;
+import org.eclipse.pass.support.client.adapter.UriAdapter;
+import org.eclipse.pass.support.client.adapter.UserRoleAdapter;
+import org.eclipse.pass.support.client.adapter.ZonedDateTimeAdapter;
+import org.eclipse.pass.support.client.model.Deposit;
+import org.eclipse.pass.support.client.model.File;
+import org.eclipse.pass.support.client.model.Funder;
+import org.eclipse.pass.support.client.model.Grant;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.eclipse.pass.support.client.model.Policy;
+import org.eclipse.pass.support.client.model.Publication;
+import org.eclipse.pass.support.client.model.Repository;
+import org.eclipse.pass.support.client.model.RepositoryCopy;
+import org.eclipse.pass.support.client.model.Submission;
+import org.eclipse.pass.support.client.model.SubmissionEvent;
+import org.eclipse.pass.support.client.model.User;
+
+/**
+ * Converts PASS objects to and from JSON API documents as exchanged with pass-core.
+ * <p>
+ * Relationship targets which are not included in a decoded document are set as objects with only an id.
+ * JsonApiPassClient uses a codec for all requests, but it can also be used to store PASS objects outside of
+ * pass-core. A codec is thread safe.
+ * </p>
+ * <p>
+ * The relationship helpers are package private so that pass-data-client-benchmarks can measure them directly.
+ * </p>
+ */
+public class JsonApiCodec {
+    private volatile Moshi moshi;
+    private final Moshi update_moshi;
+    private volatile StringPool string_pool;
+
+    /**
+     * Create a codec for all the PASS model types.
+     */
+    public JsonApiCodec() {
+        moshi = create_moshi(false, null);
+
+        // Serialize null value of attributes for the JSON API document
+        update_moshi = create_moshi(true, null);
+    }
+
+    // Attribute strings are only decoded through an adapter when there is a pool, so the default path is Moshi's own
+    private Moshi create_moshi(boolean serialize_nulls, StringPool pool) {
+        Factory factory = new JsonApiFactory.Builder().addTypes(Deposit.class, File.class,
+                Funder.class, Grant.class, Journal.class, Policy.class, Publication.class,
+                Repository.class, RepositoryCopy.class, Submission.class, SubmissionEvent.class, User.class).build();
+
+        Moshi.Builder builder = new Moshi.Builder().add(factory);
+
+        if (serialize_nulls) {
+            Factory serialize_nulls_factory = new JsonAdapter.Factory() {
+                @Override
+                public JsonAdapter<?> create(Type type, Set<? extends Annotation> annotations, Moshi moshi) {
+                    if (type.getTypeName().startsWith("org.eclipse.pass.")) {
+                        return moshi.nextAdapter(this, type, annotations).serializeNulls();
+                    }
+
+                    return null;
+                }
+            };
+
+            builder.add(serialize_nulls_factory);
+        }
+
+        builder.add(new AggregatedDepositStatusAdapter()).add(new AwardStatusAdapter())
+                .add(new CopyStatusAdapter()).add(new DepositStatusAdapter())
+                .add(new EventTypeAdapter()).add(new FileRoleAdapter()).add(new IntegrationTypeAdapter())
+                .add(new PerformerRoleAdapter()).add(new SourceAdapter()).add(new SubmissionStatusAdapter())
+                .add(new ZonedDateTimeAdapter()).add(new UriAdapter()).add(new UserRoleAdapter());
+
+        if (pool != null) {
+            builder.add(String.class, new JsonAdapter<String>() {
+                @Override
+                public String fromJson(JsonReader reader) throws IOException {
+                    return pool.intern(reader.nextString());
+                }
+
+                @Override
+                public void toJson(JsonWriter writer, String value) throws IOException {
+                    writer.value(value);
+                }
+            }.nullSafe());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Deduplicate short decoded strings, such as relationship target ids and repeated attribute values, through a
+     * pool. Objects decoded in bulk then share equal strings instead of each holding a copy. There is no pool by
+     * default. Changing the pool rebuilds the decoding adapters, so it is meant to be set once.
+     *
+     * @param pool pool to use or null to decode without one
+     */
+    public synchronized void setStringPool(StringPool pool) {
+        if (pool != string_pool) {
+            this.moshi = create_moshi(false, pool);
+            this.string_pool = pool;
+        }
+    }
+
+    /**
+     * @return pool used for decoded strings or null if there is none
+     */
+    public StringPool getStringPool() {
+        return string_pool;
+    }
+
+    private String intern(String s) {
+        StringPool pool = string_pool;
+
+        return pool == null ? s : pool.intern(s);
+    }
+
+    /**
+     * Encode an object as a JSON API document. Relationships are encoded as references to their targets.
+     *
+     * @param <T> type of object
+     * @param obj object to encode
+     * @return JSON API document
+     */
+    public <T extends PassEntity> String encode(T obj) {
+        return this.<T>document_adapter(moshi, obj.getClass()).toJson(
+                Document.with(obj).includedSerialization(IncludedSerialization.NONE).build());
+    }
+
+    /**
+     * Encode an object as a JSON API document which also sets null attributes and null to one relationships.
+     *
+     * @param <T> type of object
+     * @param obj object to encode
+     * @return JSON API document
+     * @throws IOException if encoding fails
+     */
+    <T extends PassEntity> String encodeUpdate(T obj) throws IOException {
+        // Use adapters that will serialize null values for attributes
+        String json = this.<T>document_adapter(update_moshi, obj.getClass()).toJson(
+                Document.with(obj).includedSerialization(IncludedSerialization.NONE).build());
+
+        // Null relationships are not serialized. Add any missing null to one relationships
+        return add_null_relationships(json, get_null_relationships(obj));
+    }
+
+    /**
+     * Decode a JSON API document with a single object as data.
+     *
+     * @param <T> type of object
+     * @param type type of object
+     * @param json JSON API document
+     * @return decoded object
+     * @throws IOException if decoding fails
+     */
+    public <T extends PassEntity> T decode(Class<T> type, String json) throws IOException {
+        T result = decodeData(type, json);
+
+        set_relationships(result, get_relationships(json).get(result.getId()));
+
+        return result;
+    }
+
+    /**
+     * Decode the data of a JSON API document with a single object without setting relationships which are not
+     * included. This is enough to read back the id and version of an object after a write.
+     *
+     * @param <T> type of object
+     * @param type type of object
+     * @param json JSON API document
+     * @return decoded object
+     * @throws IOException if decoding fails
+     */
+    <T extends PassEntity> T decodeData(Class<T> type, String json) throws IOException {
+        Document<T> doc = this.<T>document_adapter(moshi, type).fromJson(json);
+
+        return doc.requireData();
+    }
+
+    /**
+     * Decode a JSON API document with a list of objects as data and the total in the page metadata.
+     *
+     * @param <T> type of object
+     * @param type type of objects
+     * @param json JSON API document
+     * @return decoded objects and total or -1 if there is no total
+     * @throws IOException if decoding fails
+     */
+    <T extends PassEntity> PassClientResult<T> decodeList(Class<?> type, String json) throws IOException {
+        JsonAdapter<Document<List<T>>> adapter = moshi.adapter(
+                Types.newParameterizedType(Document.class, Types.newParameterizedType(List.class, type)));
+
+        Document<List<T>> doc = adapter.fromJson(json);
+        List<T> matches = doc.requireData();
+        long total = -1;
+
+        if (doc.getMeta().has("page")) {
+            Map<?, ?> page = (Map<?, ?>) doc.getMeta().get("page");
+
+            if (page.containsKey("totalRecords")) {
+                total = ((Double) page.get("totalRecords")).longValue();
+            }
+        }
+
+        Map<String, List<Relationship>> rels = get_relationships(json);
+
+        matches.forEach(o -> {
+            set_relationships(o, rels.get(o.getId()));
+        });
+
+        return new PassClientResult<>(matches, total);
+    }
+
+    private <T> JsonAdapter<Document<T>> document_adapter(Moshi m, Class<?> type) {
+        return m.adapter(Types.newParameterizedType(Document.class, type));
+    }
+
+    private String get_java_type(String json_type) {
+        char[] chars = json_type.toCharArray();
+        chars[0] = Character.toUpperCase(chars[0]);
+
+        return new String(chars);
+    }
+
+    // Return all to one relationships that have a null value.
+    List<String> get_null_relationships(PassEntity entity) {
+        List<String> rels = new ArrayList<>();
+
+        for (Method m : entity.getClass().getMethods()) {
+            if (m.getName().startsWith("get") && PassEntity.class.isAssignableFrom(m.getReturnType())) {
+                try {
+                    if (m.invoke(entity) == null) {
+                        String rel = m.getName();
+                        rel = Character.toLowerCase(rel.charAt(3)) + rel.substring(4);
+                        rels.add(rel);
+                    }
+                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                    throw new RuntimeException("Failed to invoke: " + m.getName(), e);
+                }
+            }
+        }
+
+        return rels;
+    }
+
+    // Add the missing to one relationships with null values to the document
+    @SuppressWarnings("unchecked")
+    String add_null_relationships(String json, List<String> null_rels) throws IOException {
+        try (Buffer in_buf = new Buffer();
+                Buffer out_buf = new Buffer();
+                JsonReader in = JsonReader.of(in_buf.writeUtf8(json));
+                JsonWriter out = JsonWriter.of(out_buf);) {
+            out.setSerializeNulls(true);
+
+            in.beginObject();
+            out.beginObject();
+
+            while (in.hasNext()) {
+                String name = in.nextName();
+
+                if (name.equals("data")) {
+                    in.beginObject();
+                    out.name("data");
+                    out.beginObject();
+                    Map<String, ?> rels = null;
+
+                    while (in.hasNext()) {
+                        String data_name = in.nextName();
+
+                        if (data_name.equals("relationships")) {
+                            rels = (Map<String, ?>) in.readJsonValue();
+                        } else {
+                            out.name(data_name).jsonValue(in.readJsonValue());
+                        }
+                    }
+
+                    if (rels == null) {
+                        rels = new HashMap<>();
+                    }
+
+                    for (String rel: null_rels) {
+                        rels.put(rel, null);
+                    }
+
+                    out.name("relationships").jsonValue(rels);
+
+                    in.endObject();
+                    out.endObject();
+                } else {
+                    out.name(name).jsonValue(in.readJsonValue());
+                }
+            }
+            in.endObject();
+            out.endObject();
+
+            return out_buf.readUtf8();
+        }
+    }
+
+    static class Relationship {
+        String name;
+        List<String> targets;
+        String target_type;
+        boolean to_many;
+
+        Relationship(String name) {
+            this.name = name;
+            this.targets = new ArrayList<>();
+        }
+    }
+
+    // Return map of source object id to object relationships.
+    // Ignore any relationships whose target is included
+    Map<String, List<Relationship>> get_relationships(String json_api_doc) throws IOException {
+        Map<String, List<Relationship>> result = new HashMap<>();
+
+        // Contains type_id for objects which are included in the document
+        Set<String> included = new HashSet<>();
+
+        try (Buffer buffer = new Buffer(); JsonReader reader = JsonReader.of(buffer.writeUtf8(json_api_doc))) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                String top_name = reader.nextName();
+
+                if (top_name.equals("data")) {
+                    Token next = reader.peek();
+
+                    if (next == Token.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            gather_relationships_from_data(result, reader, included);
+                        }
+                        reader.endArray();
+                    } else if (next == Token.BEGIN_OBJECT) {
+                        gather_relationships_from_data(result, reader, included);
+                    } else {
+                        reader.skipValue();
+                    }
+                } else if (top_name.equals("included")) {
+                    reader.beginArray();
+
+                    while (reader.hasNext()) {
+                        String id = null;
+                        String type = null;
+
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "id":
+                                    id = reader.nextString();
+                                    break;
+
+                                case "type":
+                                    type = reader.nextString();
+                                    break;
+
+                                default:
+                                    reader.skipValue();
+                                    break;
+                            }
+                        }
+                        reader.endObject();
+
+                        if (id != null && type != null) {
+                            included.add(type + "_" + id);
+                        }
+                    }
+
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+        }
+
+        // Prune relationship targets that are included in the document
+        if (included.size() > 0) {
+            result.forEach((id, rels) -> {
+                rels.forEach(rel -> {
+                    rel.targets.removeIf(target_id -> included.contains(rel.target_type + "_" + target_id));
+                });
+            });
+        }
+
+        return result;
+    }
+
+    // Return relationships from a data object
+    private void gather_relationships_from_data(Map<String, List<Relationship>> result, JsonReader reader,
+            Set<String> included) throws IOException {
+        String id = null;
+        List<Relationship> rels = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (name.equals("relationships")) {
+                rels = parse_relationships(reader, included);
+            } else if (name.equals("id")) {
+                id = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (id != null && rels != null && rels.size() > 0) {
+            result.put(id, rels);
+        }
+    }
+
+    // Parse the relationships object
+    private List<Relationship> parse_relationships(JsonReader reader, Set<String> included) throws IOException {
+        List<Relationship> result = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Relationship rel = new Relationship(reader.nextName());
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("data")) {
+                    Token next = reader.peek();
+
+                    if (next == Token.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        rel.to_many = true;
+
+                        while (reader.hasNext()) {
+                            fill_relationship(rel, reader);
+                        }
+
+                        reader.endArray();
+                    } else if (next == Token.BEGIN_OBJECT) {
+                        rel.to_many = false;
+                        fill_relationship(rel, reader);
+                    } else {
+                        reader.skipValue();
+                    }
+
+                    if (rel.targets.size() > 0) {
+                        result.add(rel);
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+
+        return result;
+    }
+
+    // Parse the data of a relationship target into a Relationship
+    private void fill_relationship(Relationship rel, JsonReader reader) throws IOException {
+        reader.beginObject();
+
+        String id = null;
+        String type = null;
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = intern(reader.nextString());
+                    break;
+
+                case "type":
+                    type = intern(reader.nextString());
+                    break;
+
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        if (id != null && type != null) {
+            rel.targets.add(id);
+            rel.target_type = type;
+        }
+
+        reader.endObject();
+    }
+
+    // Create a PassEntity and set the id. It must have an appropriate constructor.
+    private Object create_target(String target_id, String class_name) {
+        try {
+            return Class.forName(class_name).getConstructor(String.class).newInstance(target_id);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
+                | NoSuchMethodException | SecurityException | ClassNotFoundException e) {
+            throw new RuntimeException("Failed to create: " + class_name, e);
+        }
+    }
+
+    // Set a value on an object using a set method.
+    private void set_value(Object obj, String set_method, Object value) {
+        try {
+            Class<?> value_class = value.getClass();
+
+            // Handle the set method taking a List instead of a List implementation
+            if (value instanceof List) {
+                value_class = List.class;
+            }
+
+            obj.getClass().getMethod(set_method, value_class).invoke(obj, value);
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException e) {
+            throw new RuntimeException("Failed to invoke: " + set_method, e);
+        }
+    }
+
+    // Set a relationship on a matched object
+    private void set_relationship(Object obj, Relationship rel) {
+        // Targets may have been pruned
+        if (rel.targets.size() == 0) {
+            return;
+        }
+
+        String target_class_name = "org.eclipse.pass.support.client.model." + get_java_type(rel.target_type);
+        Object target;
+
+        if (rel.to_many) {
+            List<Object> list = new ArrayList<>();
+            rel.targets.forEach(id -> {
+                list.add(create_target(id, target_class_name));
+            });
+            target = list;
+        } else {
+            target = create_target(rel.targets.get(0), target_class_name);
+        }
+
+        set_value(obj, "set" + get_java_type(rel.name), target);
+    }
+
+    private void set_relationships(Object obj, List<Relationship> rels) {
+        if (rels != null) {
+            rels.forEach(rel -> {
+                set_relationship(obj, rel);
+            });
+        }
+    }
+}
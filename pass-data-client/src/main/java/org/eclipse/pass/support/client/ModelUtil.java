@@ -1,5 +1,9 @@
 package org.eclipse.pass.support.client;
 
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -12,6 +16,15 @@ import org.apache.commons.lang3.StringUtils;
 public class ModelUtil {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX");
 
+    // Patterns for NIH award numbers. Only spaces are allowed between the activity code and institute code.
+    static final Pattern NIH_AWARD_NUMBER =
+            Pattern.compile("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}[A-Z]? *[A-Z]{2}[A-Z0-9]{6}-*[A-Z0-9]*");
+    static final Pattern NIH_AWARD_NUMBER_NUMERIC_SERIAL =
+            Pattern.compile("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2} *[A-Z]{2}[0-9]{6}-*[A-Z0-9]*");
+    static final Pattern NIH_MIN_SET = Pattern.compile("[A-Z]{1,2}[0-9]{1,2} *[A-Z]{2}[0-9]{6}");
+    private static final Pattern LEADING_ZEROS = Pattern.compile("^0+-*(?!$)");
+    static final Pattern WHITESPACE = Pattern.compile("\\s");
+
     private ModelUtil() {}
 
     /**
@@ -23,6 +36,94 @@ public class ModelUtil {
         return FORMATTER;
     }
 
+    /**
+     * Parse a date time as {@link #dateTimeFormatter()} does. UTC values such as 2024-03-14T15:09:26.535Z, which
+     * are what pass-core returns, are parsed directly. Anything else is left to the formatter.
+     *
+     * @param s date time to parse
+     * @return date time
+     * @throws java.time.format.DateTimeParseException if the date time cannot be parsed
+     */
+    public static ZonedDateTime parseDateTime(String s) {
+        if (s.length() == 24 && s.charAt(4) == '-' && s.charAt(7) == '-' && s.charAt(10) == 'T'
+                && s.charAt(13) == ':' && s.charAt(16) == ':' && s.charAt(19) == '.' && s.charAt(23) == 'Z') {
+            int year = parse_digits(s, 0, 4);
+            int month = parse_digits(s, 5, 2);
+            int day = parse_digits(s, 8, 2);
+            int hour = parse_digits(s, 11, 2);
+            int minute = parse_digits(s, 14, 2);
+            int second = parse_digits(s, 17, 2);
+            int millis = parse_digits(s, 20, 3);
+
+            // The formatter resolves out of range values leniently, so leave them to it
+            if (year >= 1 && month >= 1 && month <= 12 && day >= 1
+                    && (day <= 28 || day <= Month.of(month).length(Year.isLeap(year)))
+                    && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59
+                    && millis >= 0) {
+                return ZonedDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000, ZoneOffset.UTC);
+            }
+        }
+
+        return ZonedDateTime.parse(s, FORMATTER);
+    }
+
+    /**
+     * Format a date time as {@link #dateTimeFormatter()} does. UTC values between the years 1 and 9999 are
+     * formatted directly and anything else by the formatter.
+     *
+     * @param value date time to format
+     * @return formatted date time
+     */
+    public static String formatDateTime(ZonedDateTime value) {
+        int year = value.getYear();
+
+        if (value.getOffset().getTotalSeconds() != 0 || year < 1 || year > 9999) {
+            return value.format(FORMATTER);
+        }
+
+        char[] chars = new char[24];
+        format_digits(chars, 0, 4, year);
+        chars[4] = '-';
+        format_digits(chars, 5, 2, value.getMonthValue());
+        chars[7] = '-';
+        format_digits(chars, 8, 2, value.getDayOfMonth());
+        chars[10] = 'T';
+        format_digits(chars, 11, 2, value.getHour());
+        chars[13] = ':';
+        format_digits(chars, 14, 2, value.getMinute());
+        chars[16] = ':';
+        format_digits(chars, 17, 2, value.getSecond());
+        chars[19] = '.';
+        format_digits(chars, 20, 3, value.getNano() / 1_000_000);
+        chars[23] = 'Z';
+
+        return new String(chars);
+    }
+
+    // Return the value of the ASCII digits or -1 if any character is not one
+    private static int parse_digits(String s, int offset, int length) {
+        int value = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            char c = s.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    private static void format_digits(char[] chars, int offset, int length, int value) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
     /**
      * Normalizes an award number by removing leading/trailing whitespace and converting to uppercase.
      * Will attempt to detect the NIH format: https://www.era.nih.gov/files/Deciphering_NIH_Application.pdf
@@ -43,13 +144,10 @@ public class ModelUtil {
         }
 
         //if matching the NIH format, then normalize it to the expected format by removing leading zeros
-        if (awardNumber
-                .toUpperCase().matches("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}[A-Z]?\s*[A-Z]{2}[A-Z0-9]{6}-*[A-Z0-9]*")) {
+        if (NIH_AWARD_NUMBER.matcher(awardNumber.toUpperCase()).matches()) {
             //remove leading zeros, whitespace and make uppercase
-            awardNumber = awardNumber
-                    .replaceFirst("^0+-*(?!$)", "")
-                    .replaceAll("\\s", "")
-                    .toUpperCase();
+            awardNumber = WHITESPACE.matcher(LEADING_ZEROS.matcher(awardNumber).replaceFirst(""))
+                    .replaceAll("").toUpperCase();
         }
 
         return awardNumber;
@@ -78,13 +176,12 @@ public class ModelUtil {
             throw new IllegalArgumentException("Award number cannot be empty");
         }
         String awardNumberNihMinSet = "";
-        if (awardNumber.toUpperCase().matches("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}\s*[A-Z]{2}[0-9]{6}-*[A-Z0-9]*")) {
+        if (NIH_AWARD_NUMBER_NUMERIC_SERIAL.matcher(awardNumber.toUpperCase()).matches()) {
             //find activity code, institute code and serial number, the minimum set for an NIH grant award number
-            Pattern pattern = Pattern.compile("[A-Z]{1,2}[0-9]{1,2}\s*[A-Z]{2}[0-9]{6}");
-            Matcher matcher = pattern.matcher(awardNumber);
+            Matcher matcher = NIH_MIN_SET.matcher(awardNumber);
             if (matcher.find()) {
                 awardNumberNihMinSet = matcher.group();
-                awardNumberNihMinSet = awardNumberNihMinSet.replaceAll("\\s", "");
+                awardNumberNihMinSet = WHITESPACE.matcher(awardNumberNihMinSet).replaceAll("");
                 //break it up in the individual parts
                 String activityCode = awardNumberNihMinSet.substring(0, 3);
                 String instituteCode = awardNumberNihMinSet.substring(3, 5);
@@ -17,7 +17,11 @@ package org.eclipse.pass.support.client;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -31,6 +35,11 @@ import org.eclipse.pass.support.client.model.PassEntity;
  * A Java representation of the PASS data model is provided.
  */
 public interface PassClient {
+    /**
+     * Number of deletes the bulk delete methods run at once unless told otherwise.
+     */
+    int DEFAULT_DELETE_CONCURRENCY = 4;
+
     /**
      * Create a new PassClient configured by using system properties:
      * pass.core.url, pass.core.user, and pass.core.password.
@@ -140,6 +149,39 @@ public interface PassClient {
         deleteObject(obj.getClass(), obj.getId());
     }
 
+    /**
+     * Delete objects of a type concurrently, at most {@value #DEFAULT_DELETE_CONCURRENCY} at once.
+     *
+     * @param <T> type of the objects
+     * @param type type of the objects
+     * @param ids identifiers of the objects
+     * @return outcome of each delete in the order of the identifiers
+     * @throws IOException if interrupted while waiting for the deletes
+     * @see #deleteObjects(Class, Collection, int)
+     */
+    default <T extends PassEntity> List<PassParallel.Outcome<String>> deleteObjects(Class<T> type,
+            Collection<String> ids) throws IOException {
+        return deleteObjects(type, ids, DEFAULT_DELETE_CONCURRENCY);
+    }
+
+    /**
+     * Delete objects of a type concurrently. A failed delete does not stop the others. Check the outcomes to find
+     * which objects were not deleted and why.
+     *
+     * @param <T> type of the objects
+     * @param type type of the objects
+     * @param ids identifiers of the objects
+     * @param maxConcurrency maximum number of deletes running at once
+     * @return outcome of each delete in the order of the identifiers
+     * @throws IOException if interrupted while waiting for the deletes
+     */
+    default <T extends PassEntity> List<PassParallel.Outcome<String>> deleteObjects(Class<T> type,
+            Collection<String> ids, int maxConcurrency) throws IOException {
+        List<PassParallel.Outcome<String>> outcomes = new ArrayList<>(ids.size());
+        PassParallel.forEach(ids.stream(), maxConcurrency, true, id -> deleteObject(type, id), outcomes::add);
+        return outcomes;
+    }
+
     /**
      * Select objects from the repository matching the selector.
      *
@@ -152,11 +194,17 @@ public interface PassClient {
 
     /**
      * Stream all objects in the repository matching the selector starting from the selector offset.
+     * <p>
+     * The first page is retrieved by this call and later pages as the stream is consumed. A failure retrieving a
+     * later page is thrown by the stream as an {@link UncheckedIOException} whose cause is the {@code IOException},
+     * for example a {@link DeadlineExceededException} when the deadline of the {@link CallOptions} of the current
+     * thread passes while the stream is consumed.
+     * </p>
      *
      * @param <T> type of the object
      * @param selector which objects to retrieve
      * @return Stream matching objects
-     * @throws IOException if operation fails
+     * @throws IOException if retrieving the first page fails
      */
     default <T extends PassEntity> Stream<T> streamObjects(PassClientSelector<T> selector) throws IOException {
         Spliterator<T> iter = new Spliterator<T>() {
@@ -181,7 +229,7 @@ public interface PassClient {
                         result = selectObjects(selector);
                         next = 0;
                     } catch (IOException e) {
-                        throw new RuntimeException(e);
+                        throw new UncheckedIOException(e);
                     }
 
                     if (result.getObjects().size() == 0) {
@@ -218,6 +266,35 @@ public interface PassClient {
      */
     void deleteFile(File file) throws IOException;
 
+    /**
+     * Delete Files and their binary data concurrently, at most {@value #DEFAULT_DELETE_CONCURRENCY} at once.
+     *
+     * @param files to delete
+     * @return outcome of each delete in the order of the files
+     * @throws IOException if interrupted while waiting for the deletes
+     * @see #deleteFiles(Collection, int)
+     */
+    default List<PassParallel.Outcome<File>> deleteFiles(Collection<File> files) throws IOException {
+        return deleteFiles(files, DEFAULT_DELETE_CONCURRENCY);
+    }
+
+    /**
+     * Delete Files and their binary data concurrently. The binary and the File entity of each are deleted in
+     * turn as by {@link #deleteFile(File)}. A failed delete does not stop the others. Check the outcomes to find
+     * which Files were not deleted and why.
+     *
+     * @param files to delete
+     * @param maxConcurrency maximum number of Files being deleted at once
+     * @return outcome of each delete in the order of the files
+     * @throws IOException if interrupted while waiting for the deletes
+     */
+    default List<PassParallel.Outcome<File>> deleteFiles(Collection<File> files, int maxConcurrency)
+            throws IOException {
+        List<PassParallel.Outcome<File>> outcomes = new ArrayList<>(files.size());
+        PassParallel.forEach(files.stream(), maxConcurrency, true, this::deleteFile, outcomes::add);
+        return outcomes;
+    }
+
     /**
      * @param id of File
      * @return InputStream of bytes
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.pass.support.client.model.PassEntity;
+
+/**
+ * PassClientQuery is the precompiled shape of a selection which is executed many times with different values.
+ * It is intended to be created once, typically as a constant, and then used to create a
+ * {@link PassClientSelector} for each set of values with {@link #select(String...)}.
+ * <p>
+ * Selectors created from a query behave like any other selector. A {@link JsonApiPassClient} will additionally
+ * cache the encoded URL of the query so that each execution only has to escape and append the values.
+ * </p>
+ *
+ * @param <T> type of object to match
+ */
+public final class PassClientQuery<T extends PassEntity> {
+    private final Class<T> type;
+    private final RSQLTemplate filter;
+    private final String sorting;
+    private final String[] include;
+
+    /**
+     * Match objects of the given type.
+     *
+     * @param type Match objects of this type
+     * @param filter Return objects which match this RSQL template or null for no filter
+     */
+    public PassClientQuery(Class<T> type, RSQLTemplate filter) {
+        this(type, filter, null);
+    }
+
+    /**
+     * Match objects of the given type.
+     *
+     * @param type Match objects of this type
+     * @param filter Return objects which match this RSQL template or null for no filter
+     * @param sorting Sort objects in this fashion or null for no sorting
+     * @param include Also retrieve targets of these relationships
+     */
+    public PassClientQuery(Class<T> type, RSQLTemplate filter, String sorting, String... include) {
+        if (type == null) {
+            throw new IllegalArgumentException("type cannot be null");
+        }
+
+        this.type = type;
+        this.filter = filter;
+        this.sorting = sorting;
+        this.include = include == null ? new String[0] : include.clone();
+    }
+
+    /**
+     * Create a selector for the given values. The selector starts at offset 0 with the default limit.
+     *
+     * @param values values to substitute for the placeholders of the filter in order
+     * @return selector
+     */
+    public PassClientSelector<T> select(String... values) {
+        int count = filter == null ? 0 : filter.getParameterCount();
+
+        if (values.length != count) {
+            throw new IllegalArgumentException("Query on " + type.getSimpleName() + " requires " + count
+                    + " values, but was given " + values.length);
+        }
+
+        return new PassClientSelector<>(this, values.clone());
+    }
+
+    /**
+     * @return type of objects to match
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return RSQL template to filter matches or null
+     */
+    public RSQLTemplate getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return how results are sorted or null
+     */
+    public String getSorting() {
+        return sorting;
+    }
+
+    /**
+     * @return relationships of matches whose target should be returned
+     */
+    public String[] getInclude() {
+        return include.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PassClientQuery<?> that = (PassClientQuery<?>) o;
+        return type.equals(that.type) && Objects.equals(filter, that.filter) && Objects.equals(sorting, that.sorting)
+                && Arrays.equals(include, that.include);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, filter, sorting, Arrays.hashCode(include));
+    }
+}
@@ -33,6 +33,10 @@ public class PassClientSelector<T extends PassEntity> {
     private String filter;
     private String[] include;
 
+    // Set when created from a precompiled query which has not been modified since
+    private PassClientQuery<T> query;
+    private String[] values;
+
     /**
      * Match all objects of the given type.
      *
@@ -61,6 +65,18 @@ public class PassClientSelector<T extends PassEntity> {
         this.include = include;
     }
 
+    /**
+     * Match objects using a precompiled query. The filter is only rendered if requested.
+     *
+     * @param query precompiled query
+     * @param values values to substitute for the placeholders of the query filter
+     */
+    PassClientSelector(PassClientQuery<T> query, String[] values) {
+        this(query.getType(), 0, DEFAULT_LIMIT, null, query.getSorting(), query.getInclude());
+        this.query = query;
+        this.values = values;
+    }
+
     /**
      * @return offset into list of total matches
      */
@@ -100,6 +116,7 @@ public class PassClientSelector<T extends PassEntity> {
      * @param type to set
      */
     public void setType(Class<T> type) {
+        detach_query();
         this.type = type;
     }
 
@@ -114,6 +131,7 @@ public class PassClientSelector<T extends PassEntity> {
      * @param sorting to set
      */
     public void setSorting(String sorting) {
+        detach_query();
         this.sorting = sorting;
     }
 
@@ -121,6 +139,10 @@ public class PassClientSelector<T extends PassEntity> {
      * @return RSQL expression to filter matches
      */
     public String getFilter() {
+        if (filter == null && query != null && query.getFilter() != null) {
+            filter = query.getFilter().render(values);
+        }
+
         return filter;
     }
 
@@ -128,6 +150,7 @@ public class PassClientSelector<T extends PassEntity> {
      * @param filter to set
      */
     public void setFilter(String filter) {
+        detach_query();
         this.filter = filter;
     }
 
@@ -142,6 +165,30 @@ public class PassClientSelector<T extends PassEntity> {
      * @param include to set
      */
     public void setInclude(String... include) {
+        detach_query();
         this.include = include;
     }
+
+    /**
+     * @return precompiled query this selector was created from or null if none or it has since been modified
+     */
+    PassClientQuery<T> getQuery() {
+        return query;
+    }
+
+    /**
+     * @return values for the placeholders of the precompiled query
+     */
+    String[] getQueryValues() {
+        return values;
+    }
+
+    // The selector no longer matches the precompiled query
+    private void detach_query() {
+        if (query != null) {
+            getFilter();
+            query = null;
+            values = null;
+        }
+    }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * PassParallel runs a blocking action, typically calls to a {@link PassClient}, on each item of a stream with a
+ * bounded number of actions in flight at once.
+ * <p>
+ * Items are pulled from the stream only as actions finish, so a lazy stream such as
+ * {@link PassClient#streamObjects(PassClientSelector)} is never read far ahead. A failed action does not stop the
+ * others, except that an {@link Error} thrown by an action, such as an {@link OutOfMemoryError}, is rethrown on the
+ * calling thread and the remaining actions are interrupted. The outcome of every item is handed to a listener on the calling thread, either in stream order or as
+ * the actions finish, so the listener does not need to be thread safe. Actions run under the
+ * {@link CallOptions} of the calling thread.
+ * </p>
+ */
+public final class PassParallel {
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private PassParallel() {
+        //never called
+    }
+
+    /**
+     * An action to run on an item.
+     *
+     * @param <T> type of item
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+        /**
+         * @param item to act on
+         * @throws IOException if the action fails
+         */
+        void run(T item) throws IOException;
+    }
+
+    /**
+     * The outcome of running an action on an item.
+     *
+     * @param <T> type of item
+     */
+    public static final class Outcome<T> {
+        private final T item;
+        private final long index;
+        private final Throwable failure;
+
+        Outcome(T item, long index, Throwable failure) {
+            this.item = item;
+            this.index = index;
+            this.failure = failure;
+        }
+
+        /**
+         * @return item the action ran on
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * @return position of the item in the stream starting from 0
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the exception the action threw or null if it succeeded
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return whether the action succeeded
+         */
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * Run the action on every item of the stream and wait for all of them to finish.
+     *
+     * @param <T> type of item
+     * @param items to act on
+     * @param maxConcurrency maximum number of actions running at once
+     * @param action to run on each item
+     * @return outcomes of the failed actions in stream order
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public static <T> List<Outcome<T>> forEach(Stream<T> items, int maxConcurrency, Action<T> action)
+            throws InterruptedIOException {
+        List<Outcome<T>> failures = new ArrayList<>();
+
+        forEach(items, maxConcurrency, true, action, outcome -> {
+            if (!outcome.isSuccess()) {
+                failures.add(outcome);
+            }
+        });
+
+        return failures;
+    }
+
+    /**
+     * Run the action on every item of the stream and wait for all of them to finish. The listener is called on
+     * the calling thread with the outcome of each item. When ordered, outcomes are delivered in stream order and
+     * an item waiting for an earlier one to finish counts against the concurrency limit.
+     *
+     * @param <T> type of item
+     * @param items to act on
+     * @param maxConcurrency maximum number of actions running or waiting to be delivered at once
+     * @param ordered whether to deliver outcomes in stream order rather than as they finish
+     * @param action to run on each item
+     * @param listener called with the outcome of each item
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public static <T> void forEach(Stream<T> items, int maxConcurrency, boolean ordered, Action<T> action,
+            Consumer<Outcome<T>> listener) throws InterruptedIOException {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+
+        BlockingQueue<Outcome<T>> finished = new LinkedBlockingQueue<>();
+        Map<Long, Outcome<T>> waiting = new HashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, thread_factory());
+        Iterator<T> iter = items.iterator();
+        CallOptions options = CallOptions.current();
+        long submitted = 0;
+        long delivered = 0;
+
+        try {
+            while (true) {
+                // Only ask for the next item when there is room for it, hasNext may pull it from the stream
+                if (submitted - delivered < maxConcurrency && iter.hasNext()) {
+                    T item = iter.next();
+                    long index = submitted++;
+
+                    executor.execute(() -> {
+                        Throwable failure = null;
+
+                        try (CallOptions.Scope scope = CallOptions.enter(options)) {
+                            action.run(item);
+                        } catch (Exception | Error e) {
+                            // An Error is handed to the calling thread to rethrow
+                            failure = e;
+                        }
+
+                        finished.add(new Outcome<>(item, index, failure));
+                    });
+
+                    continue;
+                }
+
+                if (delivered == submitted) {
+                    break;
+                }
+
+                Outcome<T> outcome = finished.take();
+
+                if (outcome.failure instanceof Error error) {
+                    throw error;
+                }
+
+                if (ordered) {
+                    waiting.put(outcome.index, outcome);
+
+                    while ((outcome = waiting.remove(delivered)) != null) {
+                        delivered++;
+                        listener.accept(outcome);
+                    }
+                } else {
+                    delivered++;
+                    listener.accept(outcome);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for actions");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Daemon threads so a caller which gives up does not keep the JVM alive
+    private static ThreadFactory thread_factory() {
+        String prefix = "pass-parallel-" + POOL_COUNT.incrementAndGet() + "-";
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -162,18 +162,30 @@ public class RSQL {
     }
 
     private static CharSequence escape(String s) {
-        StringBuilder result = new StringBuilder();
+        StringBuilder result = new StringBuilder(s.length() + 8);
+        escape(s, result);
+        return result;
+    }
+
+    /**
+     * Append the value to the builder escaping characters which are special inside an RSQL quoted string.
+     *
+     * @param s value to escape
+     * @param result builder to append to
+     */
+    static void escape(String s, StringBuilder result) {
+        int start = 0;
 
         for (int i = 0; i < s.length(); i++) {
-            Character c = s.charAt(i);
+            char c = s.charAt(i);
 
             if (c == '\\' || c == '\"' || c == '\'') {
+                result.append(s, start, i);
                 result.append('\\');
+                start = i;
             }
-
-            result.append(c);
         }
 
-        return result;
+        result.append(s, start, s.length());
     }
 }
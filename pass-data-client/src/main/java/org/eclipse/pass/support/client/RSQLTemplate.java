@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A precompiled RSQL expression with placeholders for values. The shape of the expression is built once,
+ * typically as a constant, and each execution only has to escape and append the values. This avoids
+ * rebuilding the same filter string by concatenation for queries repeated with many different values.
+ * <p>
+ * Each placeholder comparison consumes one value, in the order the comparisons appear in the expression.
+ * For example {@code RSQLTemplate.and(RSQLTemplate.equals("submission.id"), RSQLTemplate.equals("repository.id"))}
+ * takes two values and renders the same string as
+ * {@code RSQL.and(RSQL.equals("submission.id", v1), RSQL.equals("repository.id", v2))}.
+ * </p>
+ */
+public final class RSQLTemplate {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // Literal text around the values. There is always one more segment than values.
+    private final String[] segments;
+
+    // The segments percent-encoded for use as a URL query parameter value
+    private final String[] encodedSegments;
+
+    private final int length;
+
+    private RSQLTemplate(List<String> segments) {
+        this.segments = segments.toArray(new String[0]);
+        this.encodedSegments = new String[this.segments.length];
+
+        int len = 0;
+        for (int i = 0; i < this.segments.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            encodeQueryComponent(this.segments[i], sb);
+            this.encodedSegments[i] = sb.toString();
+            len += this.segments[i].length();
+        }
+        this.length = len;
+    }
+
+    /**
+     * @param rsql RSQL expression without placeholders, for example built with {@link RSQL}
+     * @return template which takes no values
+     */
+    public static RSQLTemplate literal(String rsql) {
+        return new RSQLTemplate(List.of(rsql));
+    }
+
+    /**
+     * @param name Name of field
+     * @return template testing that object has a field with a value
+     */
+    public static RSQLTemplate equals(String name) {
+        return comparison(name, "==");
+    }
+
+    /**
+     * @param name Name of field
+     * @return template testing that object does not have a field with a value
+     */
+    public static RSQLTemplate notEquals(String name) {
+        return comparison(name, "!=");
+    }
+
+    /**
+     * @param name Name of field
+     * @return template testing that object has a field gte value
+     */
+    public static RSQLTemplate gte(String name) {
+        return comparison(name, ">=");
+    }
+
+    /**
+     * @param name Name of field
+     * @return template testing that object has a field lte value
+     */
+    public static RSQLTemplate lte(String name) {
+        return comparison(name, "<=");
+    }
+
+    /**
+     * @param name Name of a collection field
+     * @return template testing that an object collection field contains a value
+     */
+    public static RSQLTemplate hasMember(String name) {
+        return comparison(name, "=hasmember=");
+    }
+
+    /**
+     * @param name Name of a collection field
+     * @return template testing that an object collection field does not contain a value
+     */
+    public static RSQLTemplate hasNoMember(String name) {
+        return comparison(name, "=hasnomember=");
+    }
+
+    /**
+     * @param templates RSQL templates
+     * @return logical conjunction of arguments as RSQL template
+     */
+    public static RSQLTemplate and(RSQLTemplate... templates) {
+        return group(";", templates);
+    }
+
+    /**
+     * @param templates RSQL templates
+     * @return logical disjunction of arguments as RSQL template
+     */
+    public static RSQLTemplate or(RSQLTemplate... templates) {
+        return group(",", templates);
+    }
+
+    /**
+     * @return number of values which must be provided to render the template
+     */
+    public int getParameterCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * @param values values to substitute for the placeholders in order
+     * @return RSQL expression
+     */
+    public String render(String... values) {
+        int len = check_values(values);
+
+        StringBuilder result = new StringBuilder(len + 8);
+        result.append(segments[0]);
+
+        for (int i = 0; i < values.length; i++) {
+            RSQL.escape(values[i], result);
+            result.append(segments[i + 1]);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Render the expression percent-encoded as a URL query parameter value.
+     *
+     * @param values values to substitute for the placeholders in order
+     * @param result builder to append the encoded expression to
+     */
+    void renderEncoded(String[] values, StringBuilder result) {
+        check_values(values);
+
+        StringBuilder escaped = new StringBuilder();
+        result.append(encodedSegments[0]);
+
+        for (int i = 0; i < values.length; i++) {
+            escaped.setLength(0);
+            RSQL.escape(values[i], escaped);
+            encodeQueryComponent(escaped, result);
+            result.append(encodedSegments[i + 1]);
+        }
+    }
+
+    // Return the length of the rendered expression before any escaping
+    private int check_values(String[] values) {
+        if (values.length != segments.length - 1) {
+            throw new IllegalArgumentException("RSQL template " + this + " requires " + (segments.length - 1)
+                    + " values, but was given " + values.length);
+        }
+
+        int len = length;
+
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("RSQL template " + this + " value cannot be null");
+            }
+
+            len += value.length();
+        }
+
+        return len;
+    }
+
+    private static RSQLTemplate comparison(String name, String op) {
+        return new RSQLTemplate(List.of(name + op + "'", "'"));
+    }
+
+    private static RSQLTemplate group(String op, RSQLTemplate... templates) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder("(");
+
+        for (int i = 0; i < templates.length; i++) {
+            if (i > 0) {
+                current.append(op);
+            }
+
+            String[] segs = templates[i].segments;
+            current.append(segs[0]);
+
+            for (int j = 1; j < segs.length; j++) {
+                result.add(current.toString());
+                current.setLength(0);
+                current.append(segs[j]);
+            }
+        }
+
+        current.append(')');
+        result.add(current.toString());
+
+        return new RSQLTemplate(result);
+    }
+
+    /**
+     * Percent-encode a URL query component as UTF-8. Only unreserved characters are left as is.
+     *
+     * @param s text to encode
+     * @param result builder to append to
+     */
+    static void encodeQueryComponent(CharSequence s, StringBuilder result) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '~') {
+                result.append(c);
+            } else if (c < 0x80) {
+                append_encoded_byte(c, result);
+            } else {
+                int end = Character.isHighSurrogate(c) && i + 1 < s.length()
+                        && Character.isLowSurrogate(s.charAt(i + 1)) ? i + 2 : i + 1;
+
+                for (byte b : s.subSequence(i, end).toString().getBytes(StandardCharsets.UTF_8)) {
+                    append_encoded_byte(b & 0xFF, result);
+                }
+
+                i = end - 1;
+            }
+        }
+    }
+
+    private static void append_encoded_byte(int b, StringBuilder result) {
+        result.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xF]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(segments, ((RSQLTemplate) o).segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(segments);
+    }
+
+    @Override
+    public String toString() {
+        return String.join("?", segments);
+    }
+}
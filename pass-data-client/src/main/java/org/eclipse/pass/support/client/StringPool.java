@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client;
+
+/**
+ * StringPool deduplicates short strings which repeat across decoded PASS objects such as relationship target ids,
+ * types, affiliations and status values.
+ * <p>
+ * The pool is a fixed size table indexed by string hash. A string which collides with a different string replaces
+ * it, so the pool never holds more than its capacity and never grows with the number of distinct values seen.
+ * Strings longer than the maximum length are returned unchanged because they rarely repeat. Unlike
+ * {@link String#intern()} the pool is owned by the caller and is released along with it.
+ * </p>
+ * <p>
+ * A pool is thread safe. Concurrent updates of the same slot may lose an entry, which only costs a duplicate.
+ * </p>
+ */
+public final class StringPool {
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * Create a pool with room for 4096 strings of at most 64 characters.
+     */
+    public StringPool() {
+        this(4096, 64);
+    }
+
+    /**
+     * @param capacity number of strings the pool can hold, rounded up to a power of two
+     * @param maxLength strings longer than this are not pooled
+     */
+    public StringPool(int capacity, int maxLength) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Maximum length must not be negative: " + maxLength);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Return a pooled string equal to the given string. If there is none, the given string is pooled and returned.
+     *
+     * @param s string to deduplicate, may be null
+     * @return equal string, possibly shared
+     */
+    public String intern(String s) {
+        if (s == null || s.length() > maxLength) {
+            return s;
+        }
+
+        int h = s.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        String pooled = table[slot];
+
+        if (pooled != null && pooled.equals(s)) {
+            return pooled;
+        }
+
+        table[slot] = s;
+
+        return s;
+    }
+
+    /**
+     * @return number of strings the pool can hold
+     */
+    public int getCapacity() {
+        return table.length;
+    }
+
+    /**
+     * @return maximum length of pooled strings
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+}
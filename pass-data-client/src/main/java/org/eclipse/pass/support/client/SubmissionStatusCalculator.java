@@ -15,20 +15,15 @@
  */
 package org.eclipse.pass.support.client;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.pass.support.client.model.CopyStatus;
 import org.eclipse.pass.support.client.model.Deposit;
 import org.eclipse.pass.support.client.model.DepositStatus;
 import org.eclipse.pass.support.client.model.EventType;
-import org.eclipse.pass.support.client.model.Repository;
 import org.eclipse.pass.support.client.model.RepositoryCopy;
 import org.eclipse.pass.support.client.model.SubmissionEvent;
 import org.eclipse.pass.support.client.model.SubmissionStatus;
@@ -38,6 +33,10 @@ import org.slf4j.LoggerFactory;
 /**
  * A utility to calculate and validate the Submission Status. Separate calculations are provided depending
  * on whether the Submission has been submitted or not since different data and rules apply
+ * <p>
+ * The calculations are called for every submission in a status sweep, so they avoid allocation. Statuses are
+ * accumulated as bits of their ordinals and event types and status changes are looked up in tables built once.
+ * </p>
  *
  * @author Karen Hanson
  */
@@ -48,6 +47,53 @@ public class SubmissionStatusCalculator {
 
     private static final Logger LOG = LoggerFactory.getLogger(SubmissionStatusCalculator.class);
 
+    // Up to this many repository statuses are checked for duplicate repositories by scanning instead of hashing
+    private static final int SCAN_LIMIT = 32;
+
+    private static final int NEEDS_ATTENTION_BIT = 1 << SubmissionStatus.NEEDS_ATTENTION.ordinal();
+    private static final int COMPLETE_BIT = 1 << SubmissionStatus.COMPLETE.ordinal();
+
+    // Submission status for each event type by ordinal
+    private static final SubmissionStatus[] EVENT_STATUS = new SubmissionStatus[EventType.values().length];
+
+    // Outcomes of a status change
+    private static final byte VALID = 0;
+    private static final byte WARN_MISMATCH = 1;
+    private static final byte NOT_SUBMITTED_STATUS = 2;
+    private static final byte SUBMITTED_STATUS = 3;
+    private static final byte ALREADY_SUBMITTED = 4;
+
+    // Outcome of a status change by submitted, ordinal of from status plus one with zero for null, and to status
+    private static final byte[][][] TRANSITIONS =
+        new byte[2][SubmissionStatus.values().length + 1][SubmissionStatus.values().length];
+
+    static {
+        for (EventType type : EventType.values()) {
+            EVENT_STATUS[type.ordinal()] = mapEventTypeToSubmissionStatus(type);
+        }
+
+        for (SubmissionStatus to : SubmissionStatus.values()) {
+            TRANSITIONS[1][0][to.ordinal()] = to.isSubmitted() ? VALID : NOT_SUBMITTED_STATUS;
+            TRANSITIONS[0][0][to.ordinal()] = to.isSubmitted() ? SUBMITTED_STATUS : VALID;
+
+            for (SubmissionStatus from : SubmissionStatus.values()) {
+                TRANSITIONS[1][from.ordinal() + 1][to.ordinal()] = to.isSubmitted() ? VALID : NOT_SUBMITTED_STATUS;
+
+                byte outcome;
+                if (to.isSubmitted()) {
+                    outcome = SUBMITTED_STATUS;
+                } else if (from.isSubmitted()) {
+                    outcome = ALREADY_SUBMITTED;
+                } else if (to != from) {
+                    outcome = WARN_MISMATCH;
+                } else {
+                    outcome = VALID;
+                }
+                TRANSITIONS[0][from.ordinal() + 1][to.ordinal()] = outcome;
+            }
+        }
+    }
+
     /**
      * Calculates the appropriate post-Submission status based on data provided.
      * <p>
@@ -64,19 +110,58 @@ public class SubmissionStatusCalculator {
     public static SubmissionStatus calculatePostSubmissionStatus(List<String> repositoryIds,
                                                                  List<Deposit> deposits,
                                                                  List<RepositoryCopy> repositoryCopies) {
-        if (repositoryIds == null) {
-            repositoryIds = new ArrayList<String>();
-        }
-        if (deposits == null) {
-            deposits = new ArrayList<Deposit>();
-        }
-        if (repositoryCopies == null) {
-            repositoryCopies = new ArrayList<RepositoryCopy>();
+        int repositoryCount = repositoryIds == null ? 0 : repositoryIds.size();
+        int depositCount = deposits == null ? 0 : deposits.size();
+        int copyCount = repositoryCopies == null ? 0 : repositoryCopies.size();
+
+        // Each repository has the status of its last repository copy, or else its last deposit, or else none.
+        // Walk the repository ids, deposits and copies backwards so the first status seen for a repository is the
+        // one it ends up with.
+        int total = repositoryCount + depositCount + copyCount;
+        Set<String> seen = total > SCAN_LIMIT ? new HashSet<>() : null;
+        int statuses = 0;
+        boolean unknown = false;
+
+        for (int i = total - 1; i >= 0; i--) {
+            String repositoryId = repositoryId(i, repositoryIds, repositoryCount, deposits, depositCount,
+                                               repositoryCopies);
+
+            // Zero for a repository without a status
+            int status;
+            if (i < repositoryCount) {
+                status = 0;
+            } else if (i < repositoryCount + depositCount) {
+                status = 1 << depositStatus(deposits.get(i - repositoryCount)).ordinal();
+            } else {
+                status = 1 << copyStatus(repositoryCopies.get(i - repositoryCount - depositCount)).ordinal();
+            }
+
+            if (seen == null) {
+                // A status already seen cannot change the result, so only check if it is overwritten otherwise
+                boolean known = status == 0 ? unknown : (statuses & status) != 0;
+
+                if (known || seenLater(repositoryId, i, total, repositoryIds, repositoryCount, deposits,
+                                       depositCount, repositoryCopies)) {
+                    continue;
+                }
+            } else if (!seen.add(repositoryId)) {
+                continue;
+            }
+
+            if (status == 0) {
+                unknown = true;
+            } else {
+                statuses |= status;
+            }
         }
 
-        Map<String, SubmissionStatus> statusMap = mapPostSubmissionRepositoryStatuses(repositoryIds, deposits,
-                                                                                   repositoryCopies);
-        return calculateFromStatusMap(statusMap);
+        if ((statuses & NEEDS_ATTENTION_BIT) != 0) {
+            return SubmissionStatus.NEEDS_ATTENTION;
+        } else if (!unknown && statuses == COMPLETE_BIT) {
+            return SubmissionStatus.COMPLETE;
+        } else {
+            return SubmissionStatus.SUBMITTED;
+        }
     }
 
     /**
@@ -100,18 +185,22 @@ public class SubmissionStatusCalculator {
      */
     public static SubmissionStatus calculatePreSubmissionStatus(List<SubmissionEvent> submissionEvents,
                                                                 SubmissionStatus defaultStatus) {
-        if (submissionEvents == null) {
-            submissionEvents = new ArrayList<SubmissionEvent>();
-        }
-        if (submissionEvents.size() > 0) {
+        if (submissionEvents != null && submissionEvents.size() > 0) {
             // should only be used to set a status if the status is starting as null since UI is best for setting
             // status,
-            // but will warn if the most recent event does not reflect current status
-            EventType mostRecentEventType = Collections
-                .max(submissionEvents, Comparator.comparing(SubmissionEvent::getPerformedDate))
-                .getEventType();
+            // but will warn if the most recent event does not reflect current status.
+            // Of several events performed at the same time, the first is taken as the most recent.
+            SubmissionEvent mostRecent = submissionEvents.get(0);
+
+            for (int i = 1; i < submissionEvents.size(); i++) {
+                SubmissionEvent event = submissionEvents.get(i);
 
-            return mapEventTypeToSubmissionStatus(mostRecentEventType);
+                if (event.getPerformedDate().compareTo(mostRecent.getPerformedDate()) > 0) {
+                    mostRecent = event;
+                }
+            }
+
+            return EVENT_STATUS[mostRecent.getEventType().ordinal()];
 
         } else {
             // has not yet been acted on; may be awaiting a manuscript, or the UI may have set the status.
@@ -135,91 +224,86 @@ public class SubmissionStatusCalculator {
         if (toStatus == null) {
             throw new IllegalArgumentException("The new status cannot be null");
         }
-        if (submitted) {
-            if (!toStatus.isSubmitted()) {
-                String msg = String.format(
+
+        int from = fromStatus == null ? 0 : fromStatus.ordinal() + 1;
+
+        switch (TRANSITIONS[submitted ? 1 : 0][from][toStatus.ordinal()]) {
+            case NOT_SUBMITTED_STATUS:
+                throw new RuntimeException(String.format(
                     "Failed to validate the change of status due to conflicting data. The status "
                     + "`%s` cannot be assigned to a Submission that has not yet been submitted. There may be a data " +
                     "issue.",
-                    fromStatus);
-                throw new RuntimeException(msg);
-            }
-        } else {
-            if (toStatus.isSubmitted()) {
-                String msg = String.format(
+                    fromStatus));
+            case SUBMITTED_STATUS:
+                throw new RuntimeException(String.format(
                     "Failed to validate the change of status due to conflicting data. The status "
                     + "`%s` cannot be assigned to a Submission that has already been submitted. There may be a data " +
                     "issue.",
-                    fromStatus);
-                throw new RuntimeException(msg);
-            }
-            if (fromStatus != null && fromStatus.isSubmitted()) {
-                String msg = String.format(
+                    fromStatus));
+            case ALREADY_SUBMITTED:
+                throw new RuntimeException(String.format(
                     "Failed to validate the change of status due to conflicting data. The current "
                     + "status of the Submission is `%s`. This indicates that the Submission was already submitted and "
                     + "therefore should not be assigned a pre-submission status. There may be a data issue.",
-                    fromStatus);
-                throw new RuntimeException(msg);
-            }
-
-            if (fromStatus != null && !toStatus.equals(fromStatus)) {
+                    fromStatus));
+            case WARN_MISMATCH:
                 LOG.warn(
                     "The current status of the Submission conflicts with the status calculated based on the most " +
                     "recent SubmissionEvent. "
                     + "The status on the Submission record is `{}`, while the calculated status is `{}`. The UI is " +
                     "responsible for setting "
                     + "pre-Submission statuses, but this mismatch may indicate a data issue.", fromStatus, toStatus);
-            }
+                break;
+            default:
+                break;
         }
-
     }
 
-    private static SubmissionStatus calculateFromStatusMap(Map<String, SubmissionStatus> statusMap) {
-        //we only need to know if a status is present or not to determine combined status
-        Set<SubmissionStatus> statuses = new HashSet<SubmissionStatus>(statusMap.values());
-
-        if (statuses.contains(SubmissionStatus.NEEDS_ATTENTION)) {
-            return SubmissionStatus.NEEDS_ATTENTION;
-        } else if (statuses.size() == 1 && statuses.contains(SubmissionStatus.COMPLETE)) {
-            return SubmissionStatus.COMPLETE;
+    // Repository id of the ith status in the concatenation of repository ids, deposits and repository copies
+    private static String repositoryId(int i, List<String> repositoryIds, int repositoryCount,
+                                       List<Deposit> deposits, int depositCount,
+                                       List<RepositoryCopy> repositoryCopies) {
+        if (i < repositoryCount) {
+            return repositoryIds.get(i);
+        } else if (i < repositoryCount + depositCount) {
+            return deposits.get(i - repositoryCount).getRepository().getId();
         } else {
-            return SubmissionStatus.SUBMITTED;
+            return repositoryCopies.get(i - repositoryCount - depositCount).getRepository().getId();
         }
     }
 
-    private static Map<String, SubmissionStatus> mapPostSubmissionRepositoryStatuses(List<String> repositoryIds,
-                                                                                  List<Deposit> deposits,
-                                                                                  List<RepositoryCopy> repoCopies) {
-
-        Map<String, SubmissionStatus> statusMap = new HashMap<String, SubmissionStatus>();
-
-        for (String id: repositoryIds) {
-            statusMap.put(id, null);
-        }
-        for (Deposit d : deposits) {
-            if (DepositStatus.REJECTED.equals(d.getDepositStatus())) {
-                statusMap.put(d.getRepository().getId(), SubmissionStatus.NEEDS_ATTENTION);
-            } else {
-                statusMap.put(d.getRepository().getId(), SubmissionStatus.SUBMITTED);
-            }
-        }
-        for (RepositoryCopy rc : repoCopies) {
-            Repository repo = rc.getRepository();
-            CopyStatus copyStatus = rc.getCopyStatus();
-
-            if (CopyStatus.COMPLETE.equals(copyStatus)) {
-                statusMap.put(repo.getId(), SubmissionStatus.COMPLETE);
-            } else if (CopyStatus.REJECTED.equals(copyStatus) || CopyStatus.STALLED.equals(copyStatus)) {
-                statusMap.put(repo.getId(), SubmissionStatus.NEEDS_ATTENTION);
-            } else {
-                // There is a RepositoryCopy and nothing is wrong. Note in this state, it will overwrite a status of
-                // REJECTED on the Deposit. This assumes that if all is OK with the RepositoryCopy things have been
-                // resolved.
-                statusMap.put(repo.getId(), SubmissionStatus.SUBMITTED);
+    // Whether a status after the ith is for the same repository
+    private static boolean seenLater(String repositoryId, int i, int total, List<String> repositoryIds,
+                                     int repositoryCount, List<Deposit> deposits, int depositCount,
+                                     List<RepositoryCopy> repositoryCopies) {
+        for (int j = i + 1; j < total; j++) {
+            if (Objects.equals(repositoryId, repositoryId(j, repositoryIds, repositoryCount, deposits, depositCount,
+                                                          repositoryCopies))) {
+                return true;
             }
         }
 
-        return statusMap;
+        return false;
+    }
+
+    private static SubmissionStatus depositStatus(Deposit deposit) {
+        return DepositStatus.REJECTED == deposit.getDepositStatus() ? SubmissionStatus.NEEDS_ATTENTION
+            : SubmissionStatus.SUBMITTED;
+    }
+
+    private static SubmissionStatus copyStatus(RepositoryCopy repositoryCopy) {
+        CopyStatus copyStatus = repositoryCopy.getCopyStatus();
+
+        if (CopyStatus.COMPLETE == copyStatus) {
+            return SubmissionStatus.COMPLETE;
+        } else if (CopyStatus.REJECTED == copyStatus || CopyStatus.STALLED == copyStatus) {
+            return SubmissionStatus.NEEDS_ATTENTION;
+        } else {
+            // There is a RepositoryCopy and nothing is wrong. Note in this state, it will overwrite a status of
+            // REJECTED on the Deposit. This assumes that if all is OK with the RepositoryCopy things have been
+            // resolved.
+            return SubmissionStatus.SUBMITTED;
+        }
     }
 
     private static SubmissionStatus mapEventTypeToSubmissionStatus(EventType eventType) {
@@ -1,7 +1,15 @@
 package org.eclipse.pass.support.client;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.pass.support.client.model.Deposit;
@@ -27,7 +35,17 @@ public class SubmissionStatusService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SubmissionStatusService.class);
 
+    private static final PassClientQuery<SubmissionEvent> SUBMISSION_EVENTS_QUERY =
+            new PassClientQuery<>(SubmissionEvent.class, RSQLTemplate.equals("submission.id"));
+    private static final PassClientQuery<Deposit> DEPOSITS_QUERY =
+            new PassClientQuery<>(Deposit.class, RSQLTemplate.equals("submission.id"));
+    private static final PassClientQuery<RepositoryCopy> REPOSITORY_COPIES_QUERY =
+            new PassClientQuery<>(RepositoryCopy.class, RSQLTemplate.equals("publication.id"));
+
+    private static final int DEFAULT_BATCH_SIZE = 200;
+
     private PassClient client;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     /**
      * Initiate service
@@ -82,7 +100,7 @@ public class SubmissionStatusService {
         SubmissionStatus toStatus;
 
         if (!submission.getSubmitted()) {
-            List<SubmissionEvent> submissionEvents = getRelationshipSubject(SubmissionEvent.class, "submission.id",
+            List<SubmissionEvent> submissionEvents = getRelationshipSubject(SUBMISSION_EVENTS_QUERY,
                     submission.getId());
 
             // Calculate the pre-submission status, defaulting to the existing status if one cannot be determined
@@ -91,15 +109,146 @@ public class SubmissionStatusService {
                                                                                submission.getSubmissionStatus());
 
         } else {
-            List<Deposit> deposits = getRelationshipSubject(Deposit.class, "submission.id", submission.getId());
-            List<RepositoryCopy> repositoryCopies = getRelationshipSubject(RepositoryCopy.class,
-                    "publication.id", submission.getPublication().getId());
+            List<Deposit> deposits = getRelationshipSubject(DEPOSITS_QUERY, submission.getId());
+            List<RepositoryCopy> repositoryCopies = getRelationshipSubject(REPOSITORY_COPIES_QUERY,
+                    submission.getPublication().getId());
 
             toStatus = SubmissionStatusCalculator.calculatePostSubmissionStatus(submission.getRepositories()
                     .stream().map(Repository::getId).collect(Collectors.toList()), deposits,
                     repositoryCopies);
         }
 
+        validateStatusChange(submission, fromStatus, toStatus);
+
+        return toStatus;
+
+    }
+
+    /**
+     * Calculates the appropriate {@link SubmissionStatus} for each of the {@link Submission}s provided, giving
+     * the same results as {@link #calculateSubmissionStatus(Submission)}.
+     * <p>
+     * The submissions are processed in batches. For each batch the {@link Deposit}s, {@link RepositoryCopy}s and
+     * {@link SubmissionEvent}s of all the submissions are selected with a single query per type and grouped by
+     * submission, so the number of requests does not grow with the number of submissions in a batch.
+     * If the related objects of a batch cannot be selected, the submissions of that batch are calculated one at a
+     * time instead. A submission whose status cannot be calculated or whose status change is not valid is logged
+     * and left out of the result, so one failure does not affect the other submissions.
+     * </p>
+     *
+     * @param submissions The submissions, which must have an id
+     * @return Map of submission id to calculated submission status in the order of the submissions
+     */
+    public Map<String, SubmissionStatus> calculateSubmissionStatuses(Collection<Submission> submissions) {
+        if (submissions == null) {
+            throw new IllegalArgumentException("submissions cannot be null");
+        }
+
+        Map<String, SubmissionStatus> result = new LinkedHashMap<>();
+        List<Submission> batch = new ArrayList<>(batchSize);
+
+        for (Submission submission : submissions) {
+            if (submission == null || submission.getId() == null) {
+                throw new IllegalArgumentException(
+                    "No status could be calculated for a Submission as it does not have a `Submission.id`.");
+            }
+
+            batch.add(submission);
+
+            if (batch.size() == batchSize) {
+                calculateBatch(batch, result);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            calculateBatch(batch, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param batchSize maximum number of submissions whose related objects are selected together
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    private void calculateBatch(List<Submission> batch, Map<String, SubmissionStatus> result) {
+        try {
+            calculateTogether(batch, result);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to calculate the statuses of a batch of {} submissions, calculating them one at a "
+                    + "time: {}", batch.size(), e.getMessage());
+
+            for (Submission submission : batch) {
+                try {
+                    result.put(submission.getId(), calculateSubmissionStatus(submission));
+                } catch (RuntimeException ex) {
+                    LOG.warn("Unable to calculate the status of Submission {}: {}", submission.getId(),
+                            ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void calculateTogether(List<Submission> batch, Map<String, SubmissionStatus> result) {
+        Set<String> submittedIds = new LinkedHashSet<>();
+        Set<String> unsubmittedIds = new LinkedHashSet<>();
+        Set<String> publicationIds = new LinkedHashSet<>();
+
+        for (Submission submission : batch) {
+            if (submission.getSubmitted()) {
+                submittedIds.add(submission.getId());
+
+                if (submission.getPublication() != null) {
+                    publicationIds.add(submission.getPublication().getId());
+                }
+            } else {
+                unsubmittedIds.add(submission.getId());
+            }
+        }
+
+        Map<String, List<SubmissionEvent>> events = getRelationshipSubjects(SubmissionEvent.class,
+                "submission.id", unsubmittedIds, SubmissionEvent::getSubmission);
+        Map<String, List<Deposit>> deposits = getRelationshipSubjects(Deposit.class, "submission.id",
+                submittedIds, Deposit::getSubmission);
+        Map<String, List<RepositoryCopy>> repositoryCopies = getRelationshipSubjects(RepositoryCopy.class,
+                "publication.id", publicationIds, RepositoryCopy::getPublication);
+
+        for (Submission submission : batch) {
+            try {
+                SubmissionStatus fromStatus = submission.getSubmissionStatus();
+                SubmissionStatus toStatus;
+
+                if (!submission.getSubmitted()) {
+                    toStatus = SubmissionStatusCalculator.calculatePreSubmissionStatus(
+                            events.getOrDefault(submission.getId(), List.of()), fromStatus);
+                } else {
+                    String publicationId = submission.getPublication() == null ? null
+                            : submission.getPublication().getId();
+
+                    toStatus = SubmissionStatusCalculator.calculatePostSubmissionStatus(
+                            submission.getRepositories().stream().map(Repository::getId)
+                                    .collect(Collectors.toList()),
+                            deposits.getOrDefault(submission.getId(), List.of()),
+                            repositoryCopies.getOrDefault(publicationId, List.of()));
+                }
+
+                validateStatusChange(submission, fromStatus, toStatus);
+                result.put(submission.getId(), toStatus);
+            } catch (RuntimeException ex) {
+                LOG.warn(ex.getMessage());
+            }
+        }
+    }
+
+    private void validateStatusChange(Submission submission, SubmissionStatus fromStatus,
+                                      SubmissionStatus toStatus) {
         try {
             SubmissionStatusCalculator.validateStatusChange(submission.getSubmitted(), fromStatus, toStatus);
         } catch (RuntimeException ex) {
@@ -108,22 +257,48 @@ public class SubmissionStatusService {
                                        submission.getId(), ex.getMessage());
             throw new RuntimeException(msg);
         }
+    }
 
-        return toStatus;
+    /**
+     * Select the objects of a type related to any of the target ids with one query and group them by target id.
+     */
+    <T extends PassEntity> Map<String, List<T>> getRelationshipSubjects(Class<T> type, String field,
+            Collection<String> targetIds, Function<T, PassEntity> target) {
+        Map<String, List<T>> result = new HashMap<>();
 
-    }
+        if (targetIds.isEmpty()) {
+            return result;
+        }
 
-    <T extends PassEntity> List<T> getRelationshipSubject(Class<T> type, String predicate,
-            String targetId, String... include) {
+        String filter = RSQL.in(field, targetIds.toArray(new String[0]));
         PassClientSelector<T> sel = new PassClientSelector<>(type);
-        sel.setFilter(RSQL.equals(predicate, targetId));
-        sel.setInclude(include);
+        sel.setFilter(filter);
+
+        try {
+            client.streamObjects(sel).forEach(o -> {
+                PassEntity t = target.apply(o);
+
+                if (t != null) {
+                    result.computeIfAbsent(t.getId(), k -> new ArrayList<>()).add(o);
+                }
+            });
+        } catch (IOException e) {
+            String msg = String.format("Failed to retrieve objects with filter %s. "
+                    + "The following explaination was provided: %s", filter, e.getMessage());
+            throw new RuntimeException(msg);
+        }
+
+        return result;
+    }
+
+    <T extends PassEntity> List<T> getRelationshipSubject(PassClientQuery<T> query, String targetId) {
+        PassClientSelector<T> sel = query.select(targetId);
 
         try {
             return client.streamObjects(sel).collect(Collectors.toList());
         } catch (IOException e) {
-            String msg = String.format("Failed to retrieve objects with target %s and predicate %s. "
-                    + "The following explaination was provided: %s", targetId, predicate, e.getMessage());
+            String msg = String.format("Failed to retrieve objects with target %s and filter %s. "
+                    + "The following explaination was provided: %s", targetId, query.getFilter(), e.getMessage());
             throw new RuntimeException(msg);
         }
     }
@@ -16,7 +16,7 @@ public class ZonedDateTimeAdapter {
      */
     @ToJson
     public String toJson(ZonedDateTime value) {
-        return value.format(ModelUtil.dateTimeFormatter());
+        return ModelUtil.formatDateTime(value);
     }
 
     /**
@@ -25,6 +25,6 @@ public class ZonedDateTimeAdapter {
      */
     @FromJson
     public ZonedDateTime fromJson(String s) {
-        return ZonedDateTime.parse(s, ModelUtil.dateTimeFormatter());
+        return ModelUtil.parseDateTime(s);
     }
 }
\ No newline at end of file
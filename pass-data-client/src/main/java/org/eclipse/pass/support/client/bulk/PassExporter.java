@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.pass.support.client.JsonApiCodec;
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientQuery;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.RSQLTemplate;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PassExporter writes all the objects of a type as NDJSON, one JSON API document per line, in order of id.
+ * <p>
+ * Pages are selected by id rather than by offset, like {@link org.eclipse.pass.support.client.sync.PassChangeFeed},
+ * so objects created or deleted during an export do not shift the pages and cause objects to be skipped or written
+ * twice. Each page starts after the last id of the previous page, so the next page is selected while the current
+ * page is written and at most two pages are held in memory. Pages cannot be selected further ahead, or in parallel,
+ * because the filter for a page is not known until the previous page has arrived. One page ahead is enough to overlap
+ * each request with encoding and writing the page before it, so only the first request is waited on. Relationships
+ * are written as references to their targets. The output can be read by {@link PassImporter}.
+ * </p>
+ */
+public class PassExporter {
+    private static final Logger LOG = LoggerFactory.getLogger(PassExporter.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final PassClient client;
+    private final JsonApiCodec codec = new JsonApiCodec();
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * @param client PASS client
+     */
+    public PassExporter(PassClient client) {
+        this.client = Objects.requireNonNull(client, "client cannot be null");
+    }
+
+    /**
+     * @param pageSize maximum number of objects to select per request
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Write the objects of a type to a stream as NDJSON. The stream is flushed, but not closed.
+     *
+     * @param <T> type of objects
+     * @param type type of objects
+     * @param filter RSQL filter objects must match or null for all objects
+     * @param out stream to write to
+     * @return number of objects written
+     * @throws IOException if operation fails
+     */
+    public <T extends PassEntity> long export(Class<T> type, String filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), 1 << 16);
+        RSQLTemplate nextFilter = filter == null ? RSQLTemplate.gte("id")
+                : RSQLTemplate.and(RSQLTemplate.literal(filter), RSQLTemplate.gte("id"));
+        PassClientQuery<T> nextQuery = new PassClientQuery<>(type, nextFilter, "id");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<PassClientResult<T>> page = executor.submit(() -> client.selectObjects(
+                new PassClientSelector<>(type, 0, pageSize, filter, "id")));
+        long count = 0;
+
+        try {
+            while (page != null) {
+                PassClientResult<T> result = get(page);
+                List<T> objects = result == null ? List.of() : result.getObjects();
+                page = null;
+
+                if (objects.size() == pageSize) {
+                    // Ids are unique, so the next page is everything after the last id
+                    PassClientSelector<T> selector = nextQuery.select(objects.get(objects.size() - 1).getId());
+                    selector.setOffset(1);
+                    selector.setLimit(pageSize);
+                    page = executor.submit(() -> client.selectObjects(selector));
+                }
+
+                for (T obj : objects) {
+                    writer.write(codec.encode(obj));
+                    writer.write('\n');
+                }
+
+                count += objects.size();
+                LOG.debug("Exported {} {} objects", count, type.getSimpleName());
+            }
+
+            writer.flush();
+        } finally {
+            if (page != null) {
+                page.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+
+        LOG.info("Exported {} {} objects", count, type.getSimpleName());
+
+        return count;
+    }
+
+    private static <V> V get(Future<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for page");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException("Failed to select page", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.pass.support.client.JsonApiCodec;
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.eclipse.pass.support.client.model.PassVersionedEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PassImporter creates objects read from NDJSON, as written by {@link PassExporter}, in PASS.
+ * <p>
+ * Objects are created concurrently in batches. Every object gets a new id and the mapping from its exported id
+ * to the new id is recorded. Relationship targets which have been imported are changed to their new ids, so
+ * types should be imported in dependency order, for example Funder and User before Grant. Targets which have not
+ * been imported are left unchanged. Relationships between objects in the same batch are not remapped.
+ * </p>
+ * <p>
+ * Objects whose exported id is already mapped are skipped, so an import which failed part way can be run again
+ * with the same id map.
+ * </p>
+ */
+public class PassImporter {
+    private static final Logger LOG = LoggerFactory.getLogger(PassImporter.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    private final PassClient client;
+    private final JsonApiCodec codec = new JsonApiCodec();
+
+    // Type and exported id to new id
+    private final Map<String, String> idMap = new ConcurrentHashMap<>();
+
+    private final Path idMapFile;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Create an importer with an id map kept only in memory.
+     *
+     * @param client PASS client
+     */
+    public PassImporter(PassClient client) {
+        this.client = Objects.requireNonNull(client, "client cannot be null");
+        this.idMapFile = null;
+    }
+
+    /**
+     * Create an importer with an id map which is read from a properties file if it exists and written to it after
+     * every batch.
+     *
+     * @param client PASS client
+     * @param idMapFile properties file
+     * @throws IOException if the id map cannot be read
+     */
+    public PassImporter(PassClient client, Path idMapFile) throws IOException {
+        this.client = Objects.requireNonNull(client, "client cannot be null");
+        this.idMapFile = Objects.requireNonNull(idMapFile, "idMapFile cannot be null");
+
+        if (Files.exists(idMapFile)) {
+            Properties props = new Properties();
+
+            try (InputStream in = Files.newInputStream(idMapFile)) {
+                props.load(in);
+            }
+
+            props.stringPropertyNames().forEach(key -> idMap.put(key, props.getProperty(key)));
+        }
+    }
+
+    /**
+     * @param batchSize number of objects to read before writing them concurrently
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param parallelism maximum number of objects to create concurrently
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param type type of object
+     * @param exportedId id of object when it was exported
+     * @return id of the imported object or null if it has not been imported
+     */
+    public String getImportedId(Class<? extends PassEntity> type, String exportedId) {
+        return idMap.get(key(type, exportedId));
+    }
+
+    /**
+     * Create the objects of a type read from a stream of NDJSON. The stream is not closed.
+     *
+     * @param <T> type of objects
+     * @param type type of objects
+     * @param in stream to read
+     * @return number of objects created
+     * @throws IOException if reading fails or any object in a batch could not be created
+     */
+    public <T extends PassEntity> long importObjects(Class<T> type, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8), 1 << 16);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        List<T> batch = new ArrayList<>(batchSize);
+        List<String> exportedIds = new ArrayList<>(batchSize);
+        long count = 0;
+        long skipped = 0;
+
+        try {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                T obj = codec.decode(type, line);
+
+                if (idMap.containsKey(key(type, obj.getId()))) {
+                    skipped++;
+                    continue;
+                }
+
+                exportedIds.add(obj.getId());
+                remap_relationships(obj);
+                obj.setId(null);
+
+                if (obj instanceof PassVersionedEntity versioned) {
+                    versioned.setVersion(null);
+                }
+
+                batch.add(obj);
+
+                if (batch.size() == batchSize) {
+                    count += write_batch(executor, type, batch, exportedIds);
+                }
+            }
+
+            count += write_batch(executor, type, batch, exportedIds);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LOG.info("Imported {} {} objects, skipped {} already imported", count, type.getSimpleName(), skipped);
+
+        return count;
+    }
+
+    // Create the objects concurrently and record their new ids. The batch is cleared.
+    private <T extends PassEntity> int write_batch(ExecutorService executor, Class<T> type, List<T> batch,
+            List<String> exportedIds) throws IOException {
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+
+        for (T obj : batch) {
+            futures.add(executor.submit(() -> {
+                client.createObject(obj);
+                return null;
+            }));
+        }
+
+        IOException failure = null;
+        int created = 0;
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+                idMap.put(key(type, exportedIds.get(i)), batch.get(i).getId());
+                created++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for create");
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IOException("Failed to import " + type.getSimpleName() + " "
+                            + exportedIds.get(i), e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        batch.clear();
+        exportedIds.clear();
+
+        if (idMapFile != null && created > 0) {
+            save_id_map();
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return created;
+    }
+
+    // Replace the ids of imported relationship targets
+    private void remap_relationships(PassEntity obj) {
+        for (Method m : obj.getClass().getMethods()) {
+            if (!m.getName().startsWith("get") || m.getParameterCount() > 0) {
+                continue;
+            }
+
+            boolean to_one = PassEntity.class.isAssignableFrom(m.getReturnType());
+
+            if (!to_one && !List.class.isAssignableFrom(m.getReturnType())) {
+                continue;
+            }
+
+            Object value;
+
+            try {
+                value = m.invoke(obj);
+            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                throw new RuntimeException("Failed to invoke: " + m.getName(), e);
+            }
+
+            if (to_one) {
+                remap_target(value);
+            } else if (value != null) {
+                ((List<?>) value).forEach(this::remap_target);
+            }
+        }
+    }
+
+    private void remap_target(Object target) {
+        if (target instanceof PassEntity entity && entity.getId() != null) {
+            String id = idMap.get(key(entity.getClass(), entity.getId()));
+
+            if (id != null) {
+                entity.setId(id);
+            }
+        }
+    }
+
+    private void save_id_map() throws IOException {
+        Properties props = new Properties();
+        props.putAll(idMap);
+
+        Path dir = idMapFile.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, idMapFile.getFileName().toString(), ".tmp");
+
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "PASS import id map");
+            }
+
+            Files.move(tmp, idMapFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String key(Class<?> type, String id) {
+        return type.getSimpleName() + ":" + id;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * WatermarkStore which keeps all watermarks in a local properties file. The file is replaced atomically
+ * on every update so that a crash never leaves a partially written file behind.
+ */
+public class FileWatermarkStore implements WatermarkStore {
+    private final Path file;
+    private Properties watermarks;
+
+    /**
+     * @param file properties file to use, created if it does not exist
+     */
+    public FileWatermarkStore(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized String get(String key) throws IOException {
+        return load().getProperty(key);
+    }
+
+    @Override
+    public synchronized void put(String key, String watermark) throws IOException {
+        // Update a copy so that a failed write leaves the cached watermarks as they are on disk
+        Properties props = new Properties();
+        props.putAll(load());
+
+        if (watermark == null) {
+            props.remove(key);
+        } else {
+            props.setProperty(key, watermark);
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "PASS change feed watermarks");
+            }
+
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            watermarks = props;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Properties load() throws IOException {
+        if (watermarks == null) {
+            Properties props = new Properties();
+
+            if (Files.exists(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    props.load(in);
+                }
+            }
+
+            watermarks = props;
+        }
+
+        return watermarks;
+    }
+}
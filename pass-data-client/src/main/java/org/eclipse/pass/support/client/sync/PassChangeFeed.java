@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.sync;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.pass.support.client.ModelUtil;
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientQuery;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.RSQL;
+import org.eclipse.pass.support.client.RSQLTemplate;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PassChangeFeed fetches only the objects of a type which were added since the last time it was synced.
+ * <p>
+ * Objects are selected in ascending order of a watermark attribute, which must only increase as objects are
+ * created, such as the object id or a date like {@code Submission.submittedDate}. The watermark value of the last
+ * object seen is persisted in a {@link WatermarkStore} after every page, so a recurring job does work
+ * proportional to the number of new objects rather than the size of the data set. The pages are selected by
+ * watermark value instead of offset, so objects added during a sync do not shift the pages.
+ * </p>
+ * <p>
+ * Delivery is at least once: objects whose watermark is equal to the persisted watermark are delivered again
+ * on the next sync. Consumers must be idempotent. Objects without a watermark value are never delivered. Note
+ * that PASS does not record modification times, so changes to existing objects are not seen unless the watermark
+ * attribute changes with them.
+ * </p>
+ *
+ * @param <T> type of object in the feed
+ */
+public class PassChangeFeed<T extends PassEntity> {
+    private static final Logger LOG = LoggerFactory.getLogger(PassChangeFeed.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final PassClient client;
+    private final WatermarkStore store;
+    private final String key;
+    private final Function<T, String> watermarkOf;
+    private final PassClientQuery<T> initialQuery;
+    private final PassClientQuery<T> nextQuery;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Create a feed of objects in order of a watermark attribute.
+     *
+     * @param client PASS client
+     * @param store persists the watermark
+     * @param type of objects in the feed
+     * @param attribute name of the watermark attribute as used in RSQL
+     * @param watermarkOf returns the watermark attribute value of an object formatted as in RSQL or null
+     * @param filter RSQL filter objects must also match or null
+     */
+    public PassChangeFeed(PassClient client, WatermarkStore store, Class<T> type, String attribute,
+                          Function<T, String> watermarkOf, String filter) {
+        this.client = Objects.requireNonNull(client, "client cannot be null");
+        this.store = Objects.requireNonNull(store, "store cannot be null");
+        this.watermarkOf = Objects.requireNonNull(watermarkOf, "watermarkOf cannot be null");
+        this.key = type.getSimpleName() + "." + attribute + (filter == null ? "" : "." + filter);
+
+        String sorting = attribute.equals("id") ? "id" : attribute + ",id";
+        RSQLTemplate initialFilter = attribute.equals("id") ? null : RSQLTemplate.literal(RSQL.isNotNull(attribute));
+        RSQLTemplate nextFilter = RSQLTemplate.gte(attribute);
+
+        if (filter != null) {
+            initialFilter = initialFilter == null ? RSQLTemplate.literal(filter)
+                    : RSQLTemplate.and(RSQLTemplate.literal(filter), initialFilter);
+            nextFilter = RSQLTemplate.and(RSQLTemplate.literal(filter), nextFilter);
+        }
+
+        this.initialQuery = new PassClientQuery<>(type, initialFilter, sorting);
+        this.nextQuery = new PassClientQuery<>(type, nextFilter, sorting);
+    }
+
+    /**
+     * Create a feed of new objects in order of their identifiers.
+     *
+     * @param <T> type of objects in the feed
+     * @param client PASS client
+     * @param store persists the watermark
+     * @param type of objects in the feed
+     * @return feed
+     */
+    public static <T extends PassEntity> PassChangeFeed<T> byId(PassClient client, WatermarkStore store,
+                                                                 Class<T> type) {
+        return new PassChangeFeed<>(client, store, type, "id", PassEntity::getId, null);
+    }
+
+    /**
+     * Create a feed of objects in order of a date attribute.
+     *
+     * @param <T> type of objects in the feed
+     * @param client PASS client
+     * @param store persists the watermark
+     * @param type of objects in the feed
+     * @param attribute name of the date attribute as used in RSQL
+     * @param dateOf returns the date attribute value of an object or null
+     * @param filter RSQL filter objects must also match or null
+     * @return feed
+     */
+    public static <T extends PassEntity> PassChangeFeed<T> byDate(PassClient client, WatermarkStore store,
+            Class<T> type, String attribute, Function<T, ZonedDateTime> dateOf, String filter) {
+        return new PassChangeFeed<>(client, store, type, attribute, o -> {
+            ZonedDateTime date = dateOf.apply(o);
+            return date == null ? null : ModelUtil.dateTimeFormatter().format(date);
+        }, filter);
+    }
+
+    /**
+     * @param pageSize maximum number of objects to select per request
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return key of the watermark in the store
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the persisted watermark or null if the feed has never been synced
+     * @throws IOException if operation fails
+     */
+    public String getWatermark() throws IOException {
+        return store.get(key);
+    }
+
+    /**
+     * Forget the watermark so the next sync starts from the beginning.
+     *
+     * @throws IOException if operation fails
+     */
+    public void reset() throws IOException {
+        store.put(key, null);
+    }
+
+    /**
+     * Pass every object at or after the persisted watermark to the consumer in watermark order and advance the
+     * watermark. If the consumer throws, the watermark stays at the last completed page.
+     *
+     * @param consumer called with each object
+     * @return number of objects passed to the consumer
+     * @throws IOException if operation fails
+     */
+    public long sync(Consumer<? super T> consumer) throws IOException {
+        String watermark = store.get(key);
+        String start = watermark;
+        int offset = 0;
+        long count = 0;
+
+        while (true) {
+            PassClientSelector<T> selector = watermark == null ? initialQuery.select() : nextQuery.select(watermark);
+            selector.setOffset(offset);
+            selector.setLimit(pageSize);
+
+            PassClientResult<T> result = client.selectObjects(selector);
+            List<T> objects = result == null ? Collections.emptyList() : result.getObjects();
+
+            if (objects.isEmpty()) {
+                break;
+            }
+
+            objects.forEach(consumer);
+            count += objects.size();
+
+            String last = watermarkOf.apply(objects.get(objects.size() - 1));
+
+            if (last == null) {
+                throw new IOException("Object " + objects.get(objects.size() - 1).getId() + " in change feed "
+                        + key + " has no watermark value");
+            }
+
+            if (last.equals(watermark)) {
+                // Every object on the page has the same watermark so page within it
+                offset += objects.size();
+            } else {
+                // The next page starts at the new watermark after the objects already seen with that value
+                watermark = last;
+                offset = 0;
+
+                for (int i = objects.size() - 1; i >= 0 && last.equals(watermarkOf.apply(objects.get(i))); i--) {
+                    offset++;
+                }
+
+                store.put(key, watermark);
+            }
+
+            if (objects.size() < pageSize) {
+                break;
+            }
+        }
+
+        LOG.debug("Change feed {} synced {} objects, watermark moved from {} to {}", key, count, start, watermark);
+
+        return count;
+    }
+}
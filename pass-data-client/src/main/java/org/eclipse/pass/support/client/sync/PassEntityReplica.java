@@ -0,0 +1,506 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.sync;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.pass.support.client.JsonApiCodec;
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PassEntityReplica is a local copy of all the objects of a type in PASS for batch jobs which mostly read.
+ * <p>
+ * The objects are stored in a directory as an append-only log of JSON API documents, one record per line, with
+ * a later record for an object replacing an earlier one. On open the log is read once to build an in-memory
+ * index of where each object is and of the values of the indexed attributes. Objects are decoded from the log
+ * when they are looked up. A job can then look objects up by attribute locally instead of scanning pass-core at
+ * every start.
+ * </p>
+ * <p>
+ * The replica is kept fresh by {@link #sync()}, which uses a {@link PassChangeFeed} to fetch the objects created
+ * since the last sync. PASS does not record modification times, so changes made to existing objects are not
+ * seen by a sync. A job which modifies objects should {@link #put(PassEntity)} them after writing them to PASS,
+ * changes made by others can be fetched with {@link #refresh(String)}, and {@link #rebuild()} copies everything
+ * again.
+ * </p>
+ * <p>
+ * Relationship targets are stored as references, so related objects have only an id when they are read back.
+ * </p>
+ *
+ * @param <T> type of object in the replica
+ */
+public class PassEntityReplica<T extends PassEntity> implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(PassEntityReplica.class);
+
+    private static final JsonApiCodec CODEC = new JsonApiCodec();
+
+    private final PassClient client;
+    private final Class<T> type;
+    private final Path logFile;
+    private final PassChangeFeed<T> feed;
+    private final Map<String, Function<T, Collection<String>>> indexers;
+
+    // Position and length of the latest record of each object in the log
+    private final Map<String, long[]> locations = new LinkedHashMap<>();
+
+    // Attribute name to attribute value to ids of objects with that value
+    private final Map<String, Map<String, Set<String>>> indexes = new HashMap<>();
+
+    private FileChannel channel;
+
+    // Number of bytes in the log used by records which have been replaced
+    private long garbage;
+
+    /**
+     * Open the replica of a type in a directory, creating it if it does not exist. The replica is not synced.
+     *
+     * @param client PASS client
+     * @param dir directory containing replica files
+     * @param type of objects in the replica
+     * @param indexers map of attribute name to function returning the values to index for an object
+     * @throws IOException if the replica cannot be read
+     */
+    public PassEntityReplica(PassClient client, Path dir, Class<T> type,
+                             Map<String, Function<T, Collection<String>>> indexers) throws IOException {
+        this.client = Objects.requireNonNull(client, "client cannot be null");
+        this.type = Objects.requireNonNull(type, "type cannot be null");
+        this.indexers = new HashMap<>(indexers);
+
+        Files.createDirectories(dir);
+
+        this.logFile = dir.resolve(type.getSimpleName() + ".log");
+        this.feed = PassChangeFeed.byId(client,
+                new ForcingWatermarkStore(new FileWatermarkStore(
+                        dir.resolve(type.getSimpleName() + ".watermark.properties"))), type);
+
+        indexers.keySet().forEach(attribute -> indexes.put(attribute, new HashMap<>()));
+
+        open();
+    }
+
+    /**
+     * @param <T> type of object
+     * @param attribute returns an attribute value of an object or null
+     * @return indexer for a single valued attribute
+     */
+    public static <T extends PassEntity> Function<T, Collection<String>> attribute(Function<T, String> attribute) {
+        return o -> {
+            String value = attribute.apply(o);
+            return value == null ? Collections.emptyList() : Collections.singletonList(value);
+        };
+    }
+
+    /**
+     * @param pageSize maximum number of objects to select per request during a sync
+     */
+    public void setPageSize(int pageSize) {
+        feed.setPageSize(pageSize);
+    }
+
+    /**
+     * Fetch the objects created in PASS since the last sync.
+     *
+     * @return number of objects fetched
+     * @throws IOException if operation fails
+     */
+    public synchronized long sync() throws IOException {
+        long count;
+
+        try {
+            count = feed.sync(o -> {
+                try {
+                    put(o);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        channel.force(false);
+        LOG.info("Synced {} objects into replica {}, which has {} objects", count, logFile, locations.size());
+
+        return count;
+    }
+
+    /**
+     * Discard the local copy and fetch every object again.
+     *
+     * @return number of objects fetched
+     * @throws IOException if operation fails
+     */
+    public synchronized long rebuild() throws IOException {
+        feed.reset();
+        channel.truncate(0);
+        locations.clear();
+        indexes.values().forEach(Map::clear);
+        garbage = 0;
+
+        return sync();
+    }
+
+    /**
+     * Replace the local copy of an object with the current one in PASS.
+     *
+     * @param id identifier of object
+     * @return the current object or null if it no longer exists
+     * @throws IOException if operation fails
+     */
+    public synchronized T refresh(String id) throws IOException {
+        T obj = client.getObject(type, id);
+
+        if (obj == null) {
+            remove(id);
+        } else {
+            put(obj);
+        }
+
+        return obj;
+    }
+
+    /**
+     * Add or replace the local copy of an object. This does not modify PASS.
+     *
+     * @param obj object which must have an id
+     * @throws IOException if operation fails
+     */
+    public synchronized void put(T obj) throws IOException {
+        String id = Objects.requireNonNull(obj.getId(), "object must have an id");
+
+        unindex(id);
+        long[] old = locations.put(id, append(id, CODEC.encode(obj)));
+        index(id, obj);
+
+        if (old != null) {
+            garbage += old[1];
+        }
+    }
+
+    /**
+     * Remove the local copy of an object. This does not modify PASS.
+     *
+     * @param id identifier of object
+     * @throws IOException if operation fails
+     */
+    public synchronized void remove(String id) throws IOException {
+        if (locations.containsKey(id)) {
+            unindex(id);
+            garbage += locations.remove(id)[1];
+            garbage += append(id, "")[1];
+        }
+    }
+
+    /**
+     * @param id identifier of object
+     * @return local copy of object or null if it is not in the replica
+     * @throws IOException if operation fails
+     */
+    public synchronized T get(String id) throws IOException {
+        long[] location = locations.get(id);
+
+        return location == null ? null : read(location);
+    }
+
+    /**
+     * @param attribute name of indexed attribute
+     * @param value attribute value
+     * @return identifiers of objects with the attribute value
+     */
+    public synchronized Set<String> findIds(String attribute, String value) {
+        Map<String, Set<String>> index = indexes.get(attribute);
+
+        if (index == null) {
+            throw new IllegalArgumentException("Attribute " + attribute + " is not indexed in replica of "
+                    + type.getSimpleName());
+        }
+
+        return new HashSet<>(index.getOrDefault(value, Collections.emptySet()));
+    }
+
+    /**
+     * @param attribute name of indexed attribute
+     * @param value attribute value
+     * @return local copies of objects with the attribute value
+     * @throws IOException if operation fails
+     */
+    public synchronized List<T> find(String attribute, String value) throws IOException {
+        List<T> result = new ArrayList<>();
+
+        for (String id : findIds(attribute, value)) {
+            result.add(get(id));
+        }
+
+        return result;
+    }
+
+    /**
+     * Pass the local copy of every object to the consumer in the order they were first added.
+     *
+     * @param consumer called with each object
+     * @throws IOException if operation fails
+     */
+    public synchronized void forEach(Consumer<? super T> consumer) throws IOException {
+        for (long[] location : locations.values()) {
+            consumer.accept(read(location));
+        }
+    }
+
+    /**
+     * @return number of objects in the replica
+     */
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    /**
+     * Rewrite the log so that it only contains the latest record of each object.
+     *
+     * @throws IOException if operation fails
+     */
+    public synchronized void compact() throws IOException {
+        Path tmp = Files.createTempFile(logFile.toAbsolutePath().getParent(), logFile.getFileName().toString(),
+                ".tmp");
+        Map<String, long[]> compacted = new LinkedHashMap<>();
+        long position = 0;
+
+        try {
+            try (FileChannel tmpChannel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+                    OutputStream out = new BufferedOutputStream(Channels.newOutputStream(tmpChannel))) {
+                for (Map.Entry<String, long[]> entry : locations.entrySet()) {
+                    long[] location = entry.getValue();
+                    ByteBuffer buf = ByteBuffer.allocate((int) location[1]);
+                    channel.read(buf, location[0]);
+                    out.write(buf.array());
+
+                    compacted.put(entry.getKey(), new long[] {position, location[1]});
+                    position += location[1];
+                }
+
+                // The compacted log must be on disk before it replaces the log
+                out.flush();
+                tmpChannel.force(false);
+            }
+
+            channel.close();
+
+            try {
+                Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Whether or not the move worked, the log file is valid
+                channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        LOG.info("Compacted replica {} from {} to {} bytes", logFile, position + garbage, position);
+
+        locations.putAll(compacted);
+        garbage = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * Forces appended records to disk before persisting a watermark, so a watermark never covers records which
+     * could be lost in a crash.
+     */
+    private class ForcingWatermarkStore implements WatermarkStore {
+        private final WatermarkStore store;
+
+        ForcingWatermarkStore(WatermarkStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public String get(String key) throws IOException {
+            return store.get(key);
+        }
+
+        @Override
+        public void put(String key, String watermark) throws IOException {
+            channel.force(false);
+            store.put(key, watermark);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        long position = 0;
+        long start = 0;
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logFile), 1 << 16)) {
+            int b;
+
+            while ((b = in.read()) != -1) {
+                position++;
+
+                if (b == '\n') {
+                    load_record(record.toString(UTF_8), start, position - start);
+                    record.reset();
+                    start = position;
+                } else {
+                    record.write(b);
+                }
+            }
+        }
+
+        if (record.size() > 0) {
+            // A write was interrupted. The object will be fetched again by the next sync.
+            LOG.warn("Discarding incomplete record at end of replica {}", logFile);
+            channel.truncate(start);
+        }
+
+        LOG.info("Opened replica {} with {} objects", logFile, locations.size());
+
+        if (garbage > channel.size() / 2) {
+            compact();
+        }
+    }
+
+    private void load_record(String record, long position, long length) throws IOException {
+        int tab = record.indexOf('\t');
+
+        if (tab == -1) {
+            throw new IOException("Malformed record at " + position + " in replica " + logFile);
+        }
+
+        String id = record.substring(0, tab);
+
+        unindex(id);
+        long[] old = locations.remove(id);
+
+        if (old != null) {
+            garbage += old[1];
+        }
+
+        if (tab == record.length() - 1) {
+            // Removed object
+            garbage += length;
+        } else {
+            locations.put(id, new long[] {position, length});
+
+            // Only decode the object if there is something to index
+            if (!indexers.isEmpty()) {
+                index(id, CODEC.decode(type, record.substring(tab + 1)));
+            }
+        }
+    }
+
+    // Append a record and return its location. An empty json records a removal.
+    private long[] append(String id, String json) throws IOException {
+        byte[] record = (id + "\t" + json + "\n").getBytes(UTF_8);
+        long position = channel.size();
+        ByteBuffer buf = ByteBuffer.wrap(record);
+
+        while (buf.hasRemaining()) {
+            channel.write(buf, position + buf.position());
+        }
+
+        return new long[] {position, record.length};
+    }
+
+    private T read(long[] location) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) location[1]);
+
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, location[0] + buf.position()) == -1) {
+                throw new IOException("Unexpected end of replica " + logFile);
+            }
+        }
+
+        String record = new String(buf.array(), 0, buf.limit() - 1, UTF_8);
+
+        return CODEC.decode(type, record.substring(record.indexOf('\t') + 1));
+    }
+
+    private void index(String id, T obj) {
+        indexers.forEach((attribute, indexer) -> {
+            Map<String, Set<String>> index = indexes.get(attribute);
+            Collection<String> values = indexer.apply(obj);
+
+            if (values != null) {
+                values.forEach(v -> index.computeIfAbsent(v, k -> new HashSet<>()).add(id));
+            }
+        });
+    }
+
+    private void unindex(String id) throws IOException {
+        if (indexers.isEmpty()) {
+            return;
+        }
+
+        long[] location = locations.get(id);
+
+        if (location != null) {
+            T old = read(location);
+
+            indexers.forEach((attribute, indexer) -> {
+                Map<String, Set<String>> index = indexes.get(attribute);
+                Collection<String> values = indexer.apply(old);
+
+                if (values != null) {
+                    values.forEach(v -> {
+                        Set<String> ids = index.get(v);
+
+                        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                            index.remove(v);
+                        }
+                    });
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.support.client.sync;
+
+import java.io.IOException;
+
+/**
+ * Persists the watermark of each {@link PassChangeFeed} between runs.
+ */
+public interface WatermarkStore {
+    /**
+     * @param key identifies the feed
+     * @return the last persisted watermark or null if none
+     * @throws IOException if operation fails
+     */
+    String get(String key) throws IOException;
+
+    /**
+     * @param key identifies the feed
+     * @param watermark value to persist or null to remove the watermark
+     * @throws IOException if operation fails
+     */
+    void put(String key, String watermark) throws IOException;
+}
@@ -0,0 +1,220 @@
+package org.eclipse.pass.support.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.pass.support.client.model.Submission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CallOptionsTest {
+    private HttpServer server;
+    private AtomicInteger requests;
+    private JsonApiPassClient client;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        // Deletes of "slow" take two seconds, everything else succeeds at once. Each page of submissions has one
+        // submission, whose id is one more than the page offset.
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+
+            try {
+                if (exchange.getRequestURI().getPath().endsWith("/slow")) {
+                    Thread.sleep(2000);
+                }
+
+                if (exchange.getRequestURI().getPath().endsWith("/data/submission")) {
+                    Matcher offset = Pattern.compile("page\\[offset]=(\\d+)").matcher(
+                        exchange.getRequestURI().getQuery());
+                    String id = String.valueOf(offset.find() ? Integer.parseInt(offset.group(1)) + 1 : 1);
+                    byte[] page = ("{\"data\":[{\"type\":\"submission\",\"id\":\"" + id +
+                        "\",\"attributes\":{}}],\"meta\":{\"page\":{\"totalRecords\":10}}}").getBytes(UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/vnd.api+json");
+                    exchange.sendResponseHeaders(200, page.length);
+                    exchange.getResponseBody().write(page);
+                    return;
+                }
+
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Client went away
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.start();
+
+        client = new JsonApiPassClient("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testScopesCombineAndRestore() {
+        assertNull(CallOptions.current());
+
+        CallOptions outer = new CallOptions(Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+        try (CallOptions.Scope scope = outer.enter()) {
+            assertSame(outer, CallOptions.current());
+
+            try (CallOptions.Scope inner = new CallOptions(Duration.ofHours(1), Duration.ofSeconds(5)).enter()) {
+                CallOptions combined = CallOptions.current();
+
+                // Earlier deadline and shorter call timeout win
+                assertTrue(combined.getRemaining().compareTo(Duration.ofMinutes(1)) <= 0);
+                assertEquals(Duration.ofSeconds(5), combined.getCallTimeout());
+            }
+
+            try (CallOptions.Scope inner = CallOptions.enter(null)) {
+                assertSame(outer, CallOptions.current());
+            }
+
+            assertSame(outer, CallOptions.current());
+        }
+
+        assertNull(CallOptions.current());
+    }
+
+    @Test
+    public void testRequestTimeout() {
+        CallOptions none = new CallOptions(null, null);
+        assertNull(none.getRemaining());
+        assertNull(none.getCallTimeout());
+        assertFalse(none.isExpired());
+        assertEquals(0, none.request_timeout(TimeUnit.NANOSECONDS));
+
+        CallOptions call = new CallOptions(null, Duration.ofSeconds(3));
+        assertEquals(3000, call.request_timeout(TimeUnit.MILLISECONDS));
+
+        CallOptions deadline = new CallOptions(Duration.ofSeconds(2), Duration.ofSeconds(3));
+        assertTrue(deadline.request_timeout(TimeUnit.MILLISECONDS) <= 2000);
+
+        CallOptions expired = new CallOptions(Duration.ZERO, null);
+        assertTrue(expired.isExpired());
+        assertEquals(Duration.ZERO, expired.getRemaining());
+        assertEquals(1, expired.request_timeout(TimeUnit.NANOSECONDS));
+
+        assertThrows(IllegalArgumentException.class, () -> new CallOptions(Duration.ofSeconds(-1), null));
+        assertThrows(IllegalArgumentException.class, () -> new CallOptions(null, Duration.ZERO));
+    }
+
+    @Test
+    public void testCallTimeout() throws IOException {
+        client.deleteObject(Submission.class, "fast");
+
+        try (CallOptions.Scope scope = new CallOptions(null, Duration.ofMillis(200)).enter()) {
+            long start = System.nanoTime();
+
+            assertThrows(DeadlineExceededException.class, () -> client.deleteObject(Submission.class, "slow"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+            // Other requests are not affected
+            client.deleteObject(Submission.class, "fast");
+        }
+    }
+
+    @Test
+    public void testDeadlineStopsLaterRequests() throws IOException {
+        try (CallOptions.Scope scope = new CallOptions(Duration.ofMillis(300), null).enter()) {
+            client.deleteObject(Submission.class, "fast");
+
+            assertThrows(DeadlineExceededException.class, () -> client.deleteObject(Submission.class, "slow"));
+
+            // The deadline has passed so nothing more is sent
+            int sent = requests.get();
+            assertThrows(DeadlineExceededException.class, () -> client.deleteObject(Submission.class, "fast"));
+            assertEquals(sent, requests.get());
+        }
+
+        client.deleteObject(Submission.class, "fast");
+    }
+
+    @Test
+    public void testDeadlineAppliesToHedgedGets() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        client.setHedgedReads(hedging);
+
+        try (CallOptions.Scope scope = new CallOptions(null, Duration.ofMillis(200)).enter()) {
+            long start = System.nanoTime();
+
+            assertThrows(DeadlineExceededException.class, () -> client.getObject(Submission.class, "slow"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(1, hedging.getHedges());
+        }
+
+        try (CallOptions.Scope scope = new CallOptions(Duration.ofMillis(300), null).enter()) {
+            assertThrows(DeadlineExceededException.class, () -> client.getObject(Submission.class, "slow"));
+
+            // The deadline has passed so nothing more is sent
+            int sent = requests.get();
+            assertThrows(DeadlineExceededException.class, () -> client.getObject(Submission.class, "fast"));
+            assertEquals(sent, requests.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testDeadlineAppliesToLaterPages() throws Exception {
+        PassClientSelector<Submission> selector = new PassClientSelector<>(Submission.class, 0, 1, null, null);
+
+        try (CallOptions.Scope scope = new CallOptions(Duration.ofMillis(300), null).enter()) {
+            Iterator<Submission> submissions = client.streamObjects(selector).iterator();
+            assertEquals("1", submissions.next().getId());
+            assertEquals("2", submissions.next().getId());
+
+            // The deadline passes while the second page is consumed
+            Thread.sleep(400);
+            int sent = requests.get();
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, submissions::hasNext);
+            assertInstanceOf(DeadlineExceededException.class, e.getCause());
+            assertEquals(sent, requests.get());
+        }
+    }
+
+    @Test
+    public void testDeadlineAppliesToParallelWorkers() throws IOException {
+        try (CallOptions.Scope scope = new CallOptions(Duration.ofMillis(300), null).enter()) {
+            List<PassParallel.Outcome<String>> outcomes = client.deleteObjects(Submission.class,
+                    List.of("fast", "slow", "slow"), 3);
+
+            assertTrue(outcomes.get(0).isSuccess());
+            assertTrue(outcomes.get(1).getFailure() instanceof DeadlineExceededException);
+            assertTrue(outcomes.get(2).getFailure() instanceof DeadlineExceededException);
+        }
+
+        assertEquals(0, PassParallel.forEach(Stream.of(1), 1, i -> assertNull(CallOptions.current())).size());
+    }
+}
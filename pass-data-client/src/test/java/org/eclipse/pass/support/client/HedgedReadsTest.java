@@ -0,0 +1,175 @@
+package org.eclipse.pass.support.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+public class HedgedReadsTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testFastResponsesAreNotHedged() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(200), Duration.ofSeconds(5));
+        OkHttpClient client = client(call -> 0);
+
+        for (int i = 0; i < 64; i++) {
+            assertEquals("call " + (i + 1), hedging.execute(client, request()).body);
+        }
+
+        assertEquals(64, hedging.getRequests());
+        assertEquals(0, hedging.getHedges());
+        assertEquals(64, calls.get());
+
+        // The delay follows recent response times down to the minimum
+        assertEquals(Duration.ofMillis(200), hedging.getDelay());
+    }
+
+    @Test
+    public void testSlowResponseIsHedged() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        OkHttpClient client = client(call -> call == 1 ? 1000 : 0);
+
+        long start = System.nanoTime();
+        HedgedReads.Result result = hedging.execute(client, request());
+
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(800).toNanos());
+        assertEquals(200, result.code);
+        assertEquals("call 2", result.body);
+        assertEquals(1, hedging.getHedges());
+        assertEquals(1, hedging.getHedgeWins());
+    }
+
+    @Test
+    public void testSlowHedgeDoesNotWin() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        OkHttpClient client = client(call -> call == 1 ? 100 : 1000);
+
+        assertEquals("call 1", hedging.execute(client, request()).body);
+        assertEquals(1, hedging.getHedges());
+        assertEquals(0, hedging.getHedgeWins());
+    }
+
+    @Test
+    public void testBudgetLimitsHedges() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(2), Duration.ofMillis(2));
+        hedging.setBudget(0);
+        OkHttpClient client = client(call -> 20);
+
+        for (int i = 0; i < 12; i++) {
+            hedging.execute(client, request());
+        }
+
+        // The budget allows a burst of hedges before it must be earned
+        assertEquals(10, hedging.getHedges());
+        assertEquals(2, hedging.getBudgetExhausted());
+    }
+
+    @Test
+    public void testFailedHedgeWaitsForPrimary() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        OkHttpClient client = client(call -> call == 1 ? 100 : -1);
+
+        assertEquals("call 1", hedging.execute(client, request()).body);
+        assertEquals(0, hedging.getHedgeWins());
+    }
+
+    @Test
+    public void testFailure() {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        OkHttpClient client = client(call -> -1);
+
+        assertThrows(IOException.class, () -> hedging.execute(client, request()));
+        assertThrows(IllegalArgumentException.class, () -> hedging.setBudget(2));
+        assertThrows(IllegalArgumentException.class, () -> hedging.setPercentile(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> hedging.setDelayBounds(Duration.ofMillis(2), Duration.ofMillis(1)));
+    }
+
+    @Test
+    public void testThreadsAreBoundedAndClosed() throws IOException {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(20), Duration.ofMillis(20));
+        hedging.setMaxThreads(1);
+        OkHttpClient client = client(call -> 200);
+
+        // The hedge waits for the only thread so the primary answers
+        assertEquals("call 1", hedging.execute(client, request()).body);
+        assertEquals(1, hedging.getHedges());
+        assertEquals(0, hedging.getHedgeWins());
+        assertEquals(1, hedging.getMaxThreads());
+
+        hedging.close();
+
+        assertThrows(IOException.class, () -> hedging.execute(client, request()));
+        assertThrows(IllegalArgumentException.class, () -> hedging.setMaxThreads(0));
+    }
+
+    @Test
+    public void testQueuedPrimaryIsNotHedged() throws Exception {
+        HedgedReads hedging = new HedgedReads();
+        hedging.setDelayBounds(Duration.ofMillis(100), Duration.ofMillis(100));
+        hedging.setMaxThreads(1);
+        OkHttpClient client = client(call -> call == 1 ? 300 : 0);
+
+        // The first get holds the only thread and is hedged, the second waits for the thread behind it
+        CompletableFuture<HedgedReads.Result> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return hedging.execute(client, request());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Thread.sleep(20);
+
+        assertEquals("call 2", hedging.execute(client, request()).body);
+        assertEquals("call 1", first.get().body);
+        assertEquals(1, hedging.getHedges());
+
+        hedging.close();
+    }
+
+    private static Request request() {
+        return new Request.Builder().url("http://localhost/data/grant/1").get().build();
+    }
+
+    // Answer each call after the given delay in millis, or fail it if negative
+    private OkHttpClient client(IntUnaryOperator delay) {
+        return new OkHttpClient.Builder().addInterceptor(chain -> {
+            int call = calls.incrementAndGet();
+            int millis = delay.applyAsInt(call);
+
+            if (millis < 0) {
+                throw new IOException("Call " + call + " failed");
+            }
+
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1).code(200)
+                    .message("OK").body(ResponseBody.create("call " + call, null)).build();
+        }).build();
+    }
+}
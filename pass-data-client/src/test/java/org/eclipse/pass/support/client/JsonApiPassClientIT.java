@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -420,6 +421,81 @@ public class JsonApiPassClientIT {
         assertIterableEquals(pubs, client.streamObjects(selector).collect(Collectors.toList()));
     }
 
+    @Test
+    public void testSelectObjectsWithStringPool() throws IOException {
+        String localKey = "" + UUID.randomUUID();
+
+        Funder funder = new Funder();
+        funder.setName("Pooled funder");
+        client.createObject(funder);
+
+        for (int i = 0; i < 3; i++) {
+            Grant grant = new Grant();
+            grant.setLocalKey(localKey);
+            grant.setAwardNumber("award-" + i);
+            grant.setAwardStatus(AwardStatus.ACTIVE);
+            grant.setPrimaryFunder(funder);
+            client.createObject(grant);
+        }
+
+        client.setStringPool(new StringPool());
+
+        try {
+            PassClientSelector<Grant> selector = new PassClientSelector<>(Grant.class, 0, 100,
+                    RSQL.equals("localKey", localKey), "id");
+            List<Grant> grants = client.selectObjects(selector).getObjects();
+
+            assertEquals(3, grants.size());
+
+            // Equal relationship ids and attributes of decoded objects are shared
+            for (Grant grant : grants) {
+                assertEquals(funder.getId(), grant.getPrimaryFunder().getId());
+                assertSame(grants.get(0).getPrimaryFunder().getId(), grant.getPrimaryFunder().getId());
+                assertSame(grants.get(0).getLocalKey(), grant.getLocalKey());
+            }
+        } finally {
+            client.setStringPool(null);
+        }
+    }
+
+    @Test
+    public void testSelectObjectsWithQuery() throws IOException {
+        String pmid = "" + UUID.randomUUID();
+
+        Journal journal = new Journal();
+        journal.setJournalName("The journal of 'quoted' & encoded \"values\"");
+
+        client.createObject(journal);
+
+        List<Publication> pubs = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Publication pub = new Publication();
+
+            pub.setTitle("Title: " + i);
+            pub.setPmid(pmid);
+            pub.setJournal(journal);
+
+            client.createObject(pub);
+            pubs.add(pub);
+        }
+
+        PassClientQuery<Publication> query = new PassClientQuery<>(Publication.class,
+                RSQLTemplate.and(RSQLTemplate.equals("pmid"), RSQLTemplate.equals("journal.journalName")),
+                "id", "journal");
+
+        PassClientSelector<Publication> selector = query.select(pmid, journal.getJournalName());
+        PassClientResult<Publication> result = client.selectObjects(selector);
+
+        assertEquals(pubs.size(), result.getTotal());
+        assertIterableEquals(pubs, result.getObjects());
+
+        // Test using a stream which will make multiple calls using the cached query
+        selector = query.select(pmid, journal.getJournalName());
+        selector.setLimit(2);
+        assertIterableEquals(pubs, client.streamObjects(selector).collect(Collectors.toList()));
+    }
+
     @Test
     public void testSelectUserObjects_Success_HasMember() throws IOException {
         User pi = new User();
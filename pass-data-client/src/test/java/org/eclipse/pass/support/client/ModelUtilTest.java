@@ -1,15 +1,27 @@
 package org.eclipse.pass.support.client;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -132,4 +144,224 @@ public class ModelUtilTest {
 
     }
 
+    /**
+     * Normalization and query generation give the same results as the regular expressions they used to be written
+     * with, for every combination of typical and malformed parts of an award number and for all short strings of
+     * characters which are significant to the patterns.
+     */
+    @Test
+    public void testAwardNumberMatchesRegexImplementation() throws IOException, URISyntaxException {
+        List<String> awardNumbers = new ArrayList<>();
+
+        String[] prefixes = {"", "0", "000", "0-", "000--", "1", "5", "00 ", "-", " ", "0\t"};
+        String[] activityCodes = {"R01", "r01", "K9", "UM1", "P2C", "AB12", "A1B", "1", "R", "R01A"};
+        String[] separators = {"", " ", "  ", "\t"};
+        String[] instituteCodes = {"CA", "ca", "C1", "CAB"};
+        String[] serialNumbers = {"078284", "07828", "0782845", "ABC123", "07828a"};
+        String[] suffixes = {"", "-01", "-a1", "--05S2", "-", "-01 ", " X", "-\u00df"};
+
+        for (String prefix : prefixes) {
+            for (String activityCode : activityCodes) {
+                for (String separator : separators) {
+                    for (String instituteCode : instituteCodes) {
+                        for (String serialNumber : serialNumbers) {
+                            for (String suffix : suffixes) {
+                                awardNumbers.add(prefix + activityCode + separator + instituteCode + serialNumber
+                                        + suffix);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        char[] chars = {'0', '1', 'A', 'a', '-', ' ', '\t'};
+        List<String> strings = List.of("");
+        for (int length = 1; length <= 5; length++) {
+            List<String> longer = new ArrayList<>();
+            for (String string : strings) {
+                for (char c : chars) {
+                    longer.add(string + c);
+                }
+            }
+            awardNumbers.addAll(longer);
+            strings = longer;
+        }
+
+        awardNumbers.addAll(Files.readAllLines(Paths.get(
+                ModelUtilTest.class.getResource("/valid_award_numbers.csv").toURI())));
+
+        for (String awardNumber : awardNumbers) {
+            assertEquals(regexNormalizeAwardNumber(awardNumber), ModelUtil.normalizeAwardNumber(awardNumber),
+                    awardNumber);
+            assertEquals(outcome(() -> regexCreateAwardNumberQuery(awardNumber, "awardNumber")),
+                    outcome(() -> ModelUtil.createAwardNumberQuery(awardNumber, "awardNumber")), awardNumber);
+        }
+    }
+
+    @Test
+    public void testParseAwardNumber() {
+        AwardNumber awardNumber = AwardNumber.parse("R01 AB123456-01");
+
+        assertTrue(awardNumber.isNih());
+        assertEquals("R01", awardNumber.getActivityCode());
+        assertEquals("AB", awardNumber.getInstituteCode());
+        assertEquals("123456", awardNumber.getSerialNumber());
+        assertEquals("R01AB123456-01", awardNumber.getNormalized());
+        assertEquals("R01AB123456", awardNumber.getKey());
+
+        // Variants of the same NIH award are equal
+        for (String variant : List.of("R01AB123456", "1R01 AB123456", "000-R01AB123456-02", "5R01AB123456-03S1")) {
+            assertEquals(awardNumber, AwardNumber.parse(variant), variant);
+            assertEquals(awardNumber.hashCode(), AwardNumber.parse(variant).hashCode(), variant);
+        }
+
+        assertNotEquals(awardNumber, AwardNumber.parse("R01AB123457"));
+
+        AwardNumber other = AwardNumber.parse(" W81XWH-17-1-0630 ");
+        assertFalse(other.isNih());
+        assertNull(other.getActivityCode());
+        assertEquals("W81XWH-17-1-0630", other.getKey());
+        assertEquals(other, AwardNumber.parse("W81XWH-17-1-0630"));
+
+        assertNull(AwardNumber.parse(null));
+        assertNull(AwardNumber.parse("  "));
+    }
+
+    /**
+     * Two award numbers are equal exactly when the queries generated for them search for the same most general
+     * value, the last term of the query.
+     */
+    @Test
+    public void testAwardNumbersEqualExactlyWhenQueriesMatch() {
+        List<String> awardNumbers = List.of("R01 AB123456-01", "1R01AB123456", "000-R01AB123456-02",
+                "5R01AB123456-03S1", "R01AB123457", "r01 ab123456-01", "R01AB123456-01", "AB12CD123456",
+                "AB12CD123457", "K01AB123456", "K01 AB123456-01", "ABC-123", " ABC-123 ", "W81XWH-17-1-0630");
+
+        for (String first : awardNumbers) {
+            for (String second : awardNumbers) {
+                boolean sameQuery = queryKey(first).equals(queryKey(second));
+                AwardNumber firstAward = AwardNumber.parse(first);
+                AwardNumber secondAward = AwardNumber.parse(second);
+
+                assertEquals(sameQuery, firstAward.equals(secondAward), first + " and " + second);
+
+                if (sameQuery) {
+                    assertEquals(firstAward.hashCode(), secondAward.hashCode(), first + " and " + second);
+                }
+            }
+        }
+
+        // Lowercase is not searched for as an NIH minimum set
+        assertFalse(AwardNumber.parse("r01 ab123456-01").isNih());
+        assertEquals("R01AB123456-01", AwardNumber.parse("r01 ab123456-01").getKey());
+
+        // The query cannot split a minimum set with a two character activity code
+        AwardNumber shortActivityCode = AwardNumber.parse("K1AB123456");
+        assertFalse(shortActivityCode.isNih());
+        assertEquals("K1AB123456", shortActivityCode.getKey());
+    }
+
+    private static String queryKey(String awardNumber) {
+        String query = ModelUtil.createAwardNumberQuery(awardNumber, "awardNumber");
+        int end = query.lastIndexOf('\'');
+        int start = query.lastIndexOf('\'', end - 1);
+        return query.substring(start + 1, end).replace("*", "");
+    }
+
+    @Test
+    public void testParseAndFormatDateTime() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 10000; i++) {
+            ZonedDateTime value = ZonedDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    random.nextInt(1_000_000_000), ZoneOffset.UTC);
+            String s = value.format(ModelUtil.dateTimeFormatter());
+
+            assertEquals(s, ModelUtil.formatDateTime(value));
+            assertEquals(ZonedDateTime.parse(s, ModelUtil.dateTimeFormatter()), ModelUtil.parseDateTime(s), s);
+        }
+
+        // Values outside the fast path must match the formatter, including failures
+        List<String> unusual = List.of("2024-02-29T23:59:59.999Z", "2023-02-29T10:00:00.000Z",
+                "2023-04-31T10:00:00.000Z", "2023-02-32T10:00:00.000Z", "2023-13-01T10:00:00.000Z",
+                "2023-01-01T24:00:00.000Z", "2023-01-01T23:60:00.000Z", "2023-01-01T23:00:60.000Z",
+                "0000-01-01T00:00:00.000Z", "2023-01-01T10:00:00.000+01", "2023-01-01T10:00:00.000-0530",
+                "2023-01-01T10:00:00.000z", "2023-01-01 10:00:00.000Z", "2023-01-0aT10:00:00.000Z",
+                "2023-01-01T10:00:00Z", "12023-01-01T10:00:00.000Z", "");
+
+        for (String s : unusual) {
+            assertEquals(outcome(() -> ZonedDateTime.parse(s, ModelUtil.dateTimeFormatter()).toString()),
+                    outcome(() -> ModelUtil.parseDateTime(s).toString()), s);
+        }
+
+        List<ZonedDateTime> zoned = List.of(ZonedDateTime.of(2023, 6, 1, 12, 0, 0, 0, ZoneId.of("America/New_York")),
+                ZonedDateTime.of(2023, 1, 1, 12, 0, 0, 0, ZoneId.of("Europe/London")),
+                ZonedDateTime.of(2023, 1, 1, 12, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+                ZonedDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        for (ZonedDateTime value : zoned) {
+            assertEquals(value.format(ModelUtil.dateTimeFormatter()), ModelUtil.formatDateTime(value));
+        }
+    }
+
+    private static String outcome(Supplier<String> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    // Normalization as written before the patterns were precompiled
+    private static String regexNormalizeAwardNumber(String awardNumber) {
+        if (awardNumber == null) {
+            return null;
+        }
+        awardNumber = awardNumber.trim();
+        if (awardNumber.isEmpty()) {
+            return null;
+        }
+        if (awardNumber
+                .toUpperCase().matches("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}[A-Z]?\s*[A-Z]{2}[A-Z0-9]{6}-*[A-Z0-9]*")) {
+            awardNumber = awardNumber
+                    .replaceFirst("^0+-*(?!$)", "")
+                    .replaceAll("\\s", "")
+                    .toUpperCase();
+        }
+        return awardNumber;
+    }
+
+    // Query generation as written before the patterns were precompiled
+    private static String regexCreateAwardNumberQuery(String awardNumber, String rsqlFieldName) {
+        if (StringUtils.isEmpty(awardNumber)) {
+            throw new IllegalArgumentException("Award number cannot be empty");
+        }
+        String awardNumberNihMinSet = "";
+        if (awardNumber.toUpperCase().matches("[0-9]*-*\\s*[A-Z]{1,2}[0-9]{1,2}\s*[A-Z]{2}[0-9]{6}-*[A-Z0-9]*")) {
+            Pattern pattern = Pattern.compile("[A-Z]{1,2}[0-9]{1,2}\s*[A-Z]{2}[0-9]{6}");
+            Matcher matcher = pattern.matcher(awardNumber);
+            if (matcher.find()) {
+                awardNumberNihMinSet = matcher.group();
+                awardNumberNihMinSet = awardNumberNihMinSet.replaceAll("\\s", "");
+                String activityCode = awardNumberNihMinSet.substring(0, 3);
+                String instituteCode = awardNumberNihMinSet.substring(3, 5);
+                String serialNumber = awardNumberNihMinSet.substring(5, 11);
+                awardNumberNihMinSet = "*" + activityCode + instituteCode + serialNumber + "*";
+            }
+        }
+        String normalizedNihGrant = regexNormalizeAwardNumber(awardNumber);
+        if (awardNumber.equals(normalizedNihGrant) && StringUtils.isEmpty(awardNumberNihMinSet)) {
+            return RSQL.equals(rsqlFieldName, awardNumber);
+        } else if (!awardNumber.equals(normalizedNihGrant) && StringUtils.isEmpty(awardNumberNihMinSet)) {
+            return RSQL.or(RSQL.equals(rsqlFieldName, awardNumber), RSQL.equals(rsqlFieldName, normalizedNihGrant));
+        } else if (awardNumber.equals(normalizedNihGrant) && StringUtils.isNotEmpty(awardNumberNihMinSet)) {
+            return RSQL.or(RSQL.equals(rsqlFieldName, awardNumber), RSQL.equals(rsqlFieldName, awardNumberNihMinSet));
+        } else {
+            return RSQL.or(RSQL.equals(rsqlFieldName, awardNumber), RSQL.equals(rsqlFieldName, normalizedNihGrant),
+                    RSQL.equals(rsqlFieldName, awardNumberNihMinSet));
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package org.eclipse.pass.support.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.pass.support.client.model.File;
+import org.eclipse.pass.support.client.model.Submission;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+public class PassClientTest {
+    private final PassClient client = mock(PassClient.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+
+    @Test
+    public void testDeleteObjectsReportsEachOutcome() throws IOException {
+        doThrow(new IOException("Delete failed")).when(client).deleteObject(Submission.class, "s2");
+
+        List<PassParallel.Outcome<String>> outcomes = client.deleteObjects(Submission.class,
+                List.of("s1", "s2", "s3"));
+
+        assertEquals(List.of("s1", "s2", "s3"), outcomes.stream().map(PassParallel.Outcome::getItem)
+                .collect(Collectors.toList()));
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertEquals("Delete failed", outcomes.get(1).getFailure().getMessage());
+        assertTrue(outcomes.get(2).isSuccess());
+
+        verify(client).deleteObject(Submission.class, "s1");
+        verify(client).deleteObject(Submission.class, "s3");
+    }
+
+    @Test
+    public void testDeleteObjectsIsBounded() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        doAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return null;
+        }).when(client).deleteObject(eq(Submission.class), any(String.class));
+
+        List<String> ids = IntStream.range(0, 40).mapToObj(i -> "s" + i).collect(Collectors.toList());
+        List<PassParallel.Outcome<String>> outcomes = client.deleteObjects(Submission.class, ids, 3);
+
+        assertEquals(40, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(PassParallel.Outcome::isSuccess));
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    public void testDeleteFilesReportsEachOutcome() throws IOException {
+        File file1 = new File("f1");
+        File file2 = new File("f2");
+
+        doThrow(new IOException("Binary delete failed")).when(client).deleteFile(file2);
+
+        List<PassParallel.Outcome<File>> outcomes = client.deleteFiles(List.of(file1, file2));
+
+        assertEquals(2, outcomes.size());
+        assertSame(file1, outcomes.get(0).getItem());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertSame(file2, outcomes.get(1).getItem());
+        assertEquals("Binary delete failed", outcomes.get(1).getFailure().getMessage());
+    }
+}
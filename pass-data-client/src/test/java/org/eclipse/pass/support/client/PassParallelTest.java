@@ -0,0 +1,115 @@
+package org.eclipse.pass.support.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class PassParallelTest {
+    @Test
+    public void testForEachCollectsFailures() throws IOException {
+        Set<Integer> done = ConcurrentHashMap.newKeySet();
+
+        List<PassParallel.Outcome<Integer>> failures = PassParallel.forEach(IntStream.range(0, 50).boxed(), 4,
+                i -> {
+                    if (i % 10 == 3) {
+                        throw new IOException("Failed " + i);
+                    }
+                    done.add(i);
+                });
+
+        assertEquals(45, done.size());
+        assertEquals(List.of(3, 13, 23, 33, 43), failures.stream().map(PassParallel.Outcome::getItem)
+                .collect(Collectors.toList()));
+        assertEquals(13, failures.get(1).getIndex());
+        assertEquals("Failed 13", failures.get(1).getFailure().getMessage());
+    }
+
+    @Test
+    public void testForEachRethrowsErrors() {
+        List<Integer> delivered = new ArrayList<>();
+
+        Error error = assertThrows(OutOfMemoryError.class, () -> PassParallel.forEach(IntStream.range(0, 50).boxed(),
+                4, true, i -> {
+                    if (i == 2) {
+                        throw new OutOfMemoryError("Expected");
+                    }
+                }, outcome -> delivered.add(outcome.getItem())));
+
+        assertEquals("Expected", error.getMessage());
+        assertTrue(delivered.size() < 50);
+    }
+
+    @Test
+    public void testForEachLimitsConcurrency() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+
+        Stream<Integer> items = IntStream.range(0, 40).boxed().peek(i -> {
+            maxAhead.accumulateAndGet(pulled.incrementAndGet() - finished.get(), Math::max);
+        });
+
+        PassParallel.forEach(items, 3, false, i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+        }, outcome -> {
+            assertTrue(outcome.isSuccess());
+            finished.incrementAndGet();
+        });
+
+        assertEquals(40, finished.get());
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxAhead.get() <= 3);
+    }
+
+    @Test
+    public void testForEachOrdered() throws IOException {
+        List<Integer> delivered = new ArrayList<>();
+
+        PassParallel.forEach(IntStream.range(0, 30).boxed(), 5, true, i -> sleep(30 - i),
+                outcome -> delivered.add(outcome.getItem()));
+
+        assertEquals(IntStream.range(0, 30).boxed().collect(Collectors.toList()), delivered);
+    }
+
+    @Test
+    public void testForEachUnordered() throws IOException {
+        List<Integer> delivered = new ArrayList<>();
+
+        PassParallel.forEach(IntStream.range(0, 4).boxed(), 4, false, i -> sleep(i == 0 ? 200 : 0),
+                outcome -> delivered.add(outcome.getItem()));
+
+        assertEquals(4, delivered.size());
+        assertEquals(0, delivered.get(3));
+    }
+
+    @Test
+    public void testForEachEmptyAndInvalid() throws IOException {
+        assertEquals(Collections.emptyList(), PassParallel.forEach(Stream.<String>empty(), 2, s -> { }));
+        assertThrows(IllegalArgumentException.class, () -> PassParallel.forEach(Stream.of("a"), 0, s -> { }));
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.eclipse.pass.support.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import okhttp3.HttpUrl;
+import org.eclipse.pass.support.client.model.Grant;
+import org.junit.jupiter.api.Test;
+
+public class RSQLTemplateTest {
+    @Test
+    public void testOperations() {
+        assertEquals(RSQL.equals("name", "value"), RSQLTemplate.equals("name").render("value"));
+        assertEquals(RSQL.equals("name", ""), RSQLTemplate.equals("name").render(""));
+        assertEquals(RSQL.notEquals("name", "value"), RSQLTemplate.notEquals("name").render("value"));
+        assertEquals(RSQL.gte("name", "value"), RSQLTemplate.gte("name").render("value"));
+        assertEquals(RSQL.lte("name", "value"), RSQLTemplate.lte("name").render("value"));
+        assertEquals(RSQL.hasMember("name", "value"), RSQLTemplate.hasMember("name").render("value"));
+        assertEquals(RSQL.hasNoMember("name", "value"), RSQLTemplate.hasNoMember("name").render("value"));
+        assertEquals(RSQL.isNull("name"), RSQLTemplate.literal(RSQL.isNull("name")).render());
+    }
+
+    @Test
+    public void testGrouping() {
+        RSQLTemplate template = RSQLTemplate.and(
+                RSQLTemplate.equals("name1"),
+                RSQLTemplate.or(RSQLTemplate.equals("name2"), RSQLTemplate.literal(RSQL.isNull("name3"))),
+                RSQLTemplate.hasMember("name4"));
+
+        assertEquals(3, template.getParameterCount());
+        assertEquals(RSQL.and(
+                RSQL.equals("name1", "value1"),
+                RSQL.or(RSQL.equals("name2", "value2"), RSQL.isNull("name3")),
+                RSQL.hasMember("name4", "value4")),
+                template.render("value1", "value2", "value4"));
+    }
+
+    @Test
+    public void testEscape() {
+        assertEquals(RSQL.equals("name", "v\\a'lu\"e"), RSQLTemplate.equals("name").render("v\\a'lu\"e"));
+    }
+
+    @Test
+    public void testWrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class, () -> RSQLTemplate.equals("name").render());
+        assertThrows(IllegalArgumentException.class, () -> RSQLTemplate.equals("name").render("a", "b"));
+        assertThrows(IllegalArgumentException.class, () -> RSQLTemplate.equals("name").render((String) null));
+    }
+
+    @Test
+    public void testRenderEncoded() {
+        RSQLTemplate template = RSQLTemplate.or(RSQLTemplate.equals("localKey"), RSQLTemplate.equals("localKey"));
+        String[] values = {"johnshopkins.edu:grant:8675309", "a b+c&d=e/f?g#h%i'j\"k\\l*m\u00e9\uD83D\uDE00"};
+
+        StringBuilder encoded = new StringBuilder();
+        template.renderEncoded(values, encoded);
+
+        HttpUrl url = HttpUrl.get("http://localhost/data/grant?filter=" + encoded);
+        assertEquals(template.render(values), url.queryParameter("filter"));
+    }
+
+    @Test
+    public void testQuerySelector() {
+        PassClientQuery<Grant> query = new PassClientQuery<>(Grant.class, RSQLTemplate.equals("localKey"),
+                "awardDate", "pi", "coPis");
+
+        PassClientSelector<Grant> selector = query.select("key1");
+
+        assertEquals(Grant.class, selector.getType());
+        assertEquals("localKey=='key1'", selector.getFilter());
+        assertEquals("awardDate", selector.getSorting());
+        assertArrayEquals(new String[] {"pi", "coPis"}, selector.getInclude());
+        assertEquals(query, selector.getQuery());
+
+        // Paging does not change the shape of the query
+        selector.setOffset(500);
+        assertEquals(query, selector.getQuery());
+
+        selector.setSorting(null);
+        assertNull(selector.getQuery());
+        assertEquals("localKey=='key1'", selector.getFilter());
+
+        assertThrows(IllegalArgumentException.class, () -> query.select());
+    }
+}
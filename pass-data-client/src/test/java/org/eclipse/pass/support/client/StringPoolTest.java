@@ -0,0 +1,56 @@
+package org.eclipse.pass.support.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+    @Test
+    public void testInternReturnsPooledString() {
+        StringPool pool = new StringPool();
+        String first = new String("repository");
+        String second = new String("repository");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    public void testLongStringsAreNotPooled() {
+        StringPool pool = new StringPool(16, 4);
+        String first = new String("abcde");
+
+        assertSame(first, pool.intern(first));
+        assertNotSame(first, pool.intern(new String("abcde")));
+        assertSame(pool.intern("abcd"), pool.intern(new String("abcd")));
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        StringPool pool = new StringPool(100, 64);
+        assertEquals(128, pool.getCapacity());
+
+        // Far more distinct strings than slots. Results are always equal and the latest string is pooled.
+        String last = null;
+
+        for (int i = 0; i < 10000; i++) {
+            String s = "id" + i;
+            last = pool.intern(s);
+
+            assertEquals(s, last);
+        }
+
+        assertSame(last, pool.intern(new String("id9999")));
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new StringPool(10, -1));
+    }
+}
@@ -23,7 +23,12 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.eclipse.pass.support.client.model.CopyStatus;
 import org.eclipse.pass.support.client.model.Deposit;
@@ -573,4 +578,85 @@ public class SubmissionStatusCalculatorTest {
             fail("Exception should not have been thrown, just a warning for this.");
         }
     }
+
+    /**
+     * Random combinations of repositories, deposits and copies, including repeated and unlisted repositories,
+     * give the same status as calculating it with a map of repository id to status.
+     */
+    @Test
+    public void testPostSubmissionStatusMatchesRepositoryMap() {
+        Random random = new Random(42);
+        String[] repoIds = {repo1Id, repo2Id, repo3Id, "repository:4"};
+
+        for (int n = 0; n < 5000; n++) {
+            // Large enough sometimes to go past the scan limit
+            int size = n % 10 == 0 ? 40 : 4;
+            List<String> repos = new ArrayList<>();
+            List<Deposit> deposits = new ArrayList<>();
+            List<RepositoryCopy> copies = new ArrayList<>();
+
+            for (int i = random.nextInt(size); i > 0; i--) {
+                repos.add(repoIds[random.nextInt(repoIds.length)]);
+            }
+            for (int i = random.nextInt(size); i > 0; i--) {
+                DepositStatus status = random.nextInt(5) == 0 ? null
+                        : DepositStatus.values()[random.nextInt(DepositStatus.values().length)];
+                deposits.add(deposit(status, repoIds[random.nextInt(repoIds.length)]));
+            }
+            for (int i = random.nextInt(size); i > 0; i--) {
+                CopyStatus status = random.nextInt(5) == 0 ? null
+                        : CopyStatus.values()[random.nextInt(CopyStatus.values().length)];
+                copies.add(repoCopy(status, repoIds[random.nextInt(repoIds.length)]));
+            }
+
+            assertEquals(statusFromRepositoryMap(repos, deposits, copies),
+                    SubmissionStatusCalculator.calculatePostSubmissionStatus(repos, deposits, copies));
+        }
+    }
+
+    /**
+     * Of events performed at the same time the first one in the list determines the status
+     */
+    @Test
+    public void testPreSubmissionStatusSamePerformedDate() {
+        SubmissionEvent event1 = submissionEvent(EventType.CHANGES_REQUESTED);
+        SubmissionEvent event2 = submissionEvent(EventType.CANCELLED);
+        event2.setPerformedDate(event1.getPerformedDate());
+
+        assertEquals(SubmissionStatus.CHANGES_REQUESTED,
+                SubmissionStatusCalculator.calculatePreSubmissionStatus(List.of(event1, event2), null));
+        assertEquals(SubmissionStatus.CANCELLED,
+                SubmissionStatusCalculator.calculatePreSubmissionStatus(List.of(event2, event1), null));
+    }
+
+    // Status of the last write for each repository, deposits then copies, as the calculator used to work
+    private static SubmissionStatus statusFromRepositoryMap(List<String> repositoryIds, List<Deposit> deposits,
+            List<RepositoryCopy> repositoryCopies) {
+        Map<String, SubmissionStatus> statusMap = new HashMap<>();
+
+        repositoryIds.forEach(id -> statusMap.put(id, null));
+        deposits.forEach(d -> statusMap.put(d.getRepository().getId(),
+                DepositStatus.REJECTED.equals(d.getDepositStatus()) ? SubmissionStatus.NEEDS_ATTENTION
+                        : SubmissionStatus.SUBMITTED));
+        repositoryCopies.forEach(rc -> {
+            CopyStatus status = rc.getCopyStatus();
+            SubmissionStatus value = SubmissionStatus.SUBMITTED;
+
+            if (CopyStatus.COMPLETE.equals(status)) {
+                value = SubmissionStatus.COMPLETE;
+            } else if (CopyStatus.REJECTED.equals(status) || CopyStatus.STALLED.equals(status)) {
+                value = SubmissionStatus.NEEDS_ATTENTION;
+            }
+            statusMap.put(rc.getRepository().getId(), value);
+        });
+
+        Set<SubmissionStatus> statuses = new HashSet<>(statusMap.values());
+
+        if (statuses.contains(SubmissionStatus.NEEDS_ATTENTION)) {
+            return SubmissionStatus.NEEDS_ATTENTION;
+        } else if (statuses.size() == 1 && statuses.contains(SubmissionStatus.COMPLETE)) {
+            return SubmissionStatus.COMPLETE;
+        }
+        return SubmissionStatus.SUBMITTED;
+    }
 }
@@ -3,8 +3,12 @@ package org.eclipse.pass.support.client;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.eclipse.pass.support.client.model.CopyStatus;
@@ -119,4 +123,146 @@ public class SubmissionStatusServiceTest {
         SubmissionStatus newStatus = service.calculateSubmissionStatus(submission);
         assertEquals(SubmissionStatus.CHANGES_REQUESTED, newStatus);
     }
+
+    /**
+     * Statuses of several submissions are calculated with one query per related type and batch
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCalcSubmissionStatuses() throws Exception {
+        Repository repo1 = new Repository("repo1");
+        Repository repo2 = new Repository("repo2");
+        Publication pub1 = new Publication("publication:1");
+        Publication pub2 = new Publication("publication:2");
+
+        // Both deposits and copies accepted
+        Submission sub1 = new Submission("submission:1");
+        sub1.setRepositories(Arrays.asList(repo1, repo2));
+        sub1.setPublication(pub1);
+        sub1.setSubmitted(true);
+        sub1.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+
+        // Copy of only one repository is complete
+        Submission sub2 = new Submission("submission:2");
+        sub2.setRepositories(Arrays.asList(repo1, repo2));
+        sub2.setPublication(pub2);
+        sub2.setSubmitted(true);
+        sub2.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+
+        Submission sub3 = new Submission("submission:3");
+        sub3.setSubmitted(false);
+
+        List<Deposit> deposits = List.of(deposit("dep1", sub1, repo1), deposit("dep2", sub1, repo2),
+                deposit("dep3", sub2, repo1), deposit("dep4", sub2, repo2));
+        List<RepositoryCopy> copies = List.of(copy("rc1", pub1, repo1, CopyStatus.COMPLETE),
+                copy("rc2", pub1, repo2, CopyStatus.COMPLETE), copy("rc3", pub2, repo1, CopyStatus.COMPLETE),
+                copy("rc4", pub2, repo2, CopyStatus.IN_PROGRESS));
+
+        SubmissionEvent ev = new SubmissionEvent("ev1");
+        ev.setSubmission(sub3);
+        ev.setEventType(EventType.APPROVAL_REQUESTED);
+        ev.setPerformedDate(ZonedDateTime.now());
+
+        List<PassClientSelector<?>> selectors = new ArrayList<>();
+
+        when(client.streamObjects(Mockito.any())).thenAnswer(invocation -> {
+            PassClientSelector<?> sel = invocation.getArgument(0);
+            selectors.add(sel);
+
+            if (sel.getType() == Deposit.class) {
+                return deposits.stream().filter(d -> sel.getFilter().contains(d.getSubmission().getId()));
+            } else if (sel.getType() == RepositoryCopy.class) {
+                return copies.stream().filter(rc -> sel.getFilter().contains(rc.getPublication().getId()));
+            }
+            return Stream.of(ev);
+        });
+
+        service = new SubmissionStatusService(client);
+        service.setBatchSize(2);
+
+        Map<String, SubmissionStatus> statuses = service.calculateSubmissionStatuses(List.of(sub1, sub2, sub3));
+
+        assertEquals(List.of(sub1.getId(), sub2.getId(), sub3.getId()), new ArrayList<>(statuses.keySet()));
+        assertEquals(SubmissionStatus.COMPLETE, statuses.get(sub1.getId()));
+        assertEquals(SubmissionStatus.SUBMITTED, statuses.get(sub2.getId()));
+        assertEquals(SubmissionStatus.APPROVAL_REQUESTED, statuses.get(sub3.getId()));
+
+        // Deposits and copies for the first batch, then events for the second
+        assertEquals(3, selectors.size());
+        assertEquals(RSQL.in("submission.id", sub1.getId(), sub2.getId()), selectors.get(0).getFilter());
+        assertEquals(RSQL.in("publication.id", pub1.getId(), pub2.getId()), selectors.get(1).getFilter());
+        assertEquals(RSQL.in("submission.id", sub3.getId()), selectors.get(2).getFilter());
+
+        // Same result as calculating one at a time
+        for (Submission sub : List.of(sub1, sub2, sub3)) {
+            assertEquals(service.calculateSubmissionStatus(sub), statuses.get(sub.getId()));
+        }
+    }
+
+    @Test
+    public void testCalcSubmissionStatusesFallsBackWhenBatchFails() throws Exception {
+        Repository repo1 = new Repository("repo1");
+        Publication pub1 = new Publication("publication:1");
+        Publication pub2 = new Publication("publication:2");
+
+        Submission sub1 = new Submission("submission:1");
+        sub1.setRepositories(List.of(repo1));
+        sub1.setPublication(pub1);
+        sub1.setSubmitted(true);
+        sub1.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+
+        // Related objects of this submission cannot be selected
+        Submission sub2 = new Submission("submission:2");
+        sub2.setRepositories(List.of(repo1));
+        sub2.setPublication(pub2);
+        sub2.setSubmitted(true);
+        sub2.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+
+        Submission sub3 = new Submission("submission:3");
+        sub3.setRepositories(List.of(repo1));
+        sub3.setPublication(pub1);
+        sub3.setSubmitted(true);
+        sub3.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+
+        List<Deposit> deposits = List.of(deposit("dep1", sub1, repo1), deposit("dep3", sub3, repo1));
+        List<RepositoryCopy> copies = List.of(copy("rc1", pub1, repo1, CopyStatus.COMPLETE));
+
+        when(client.streamObjects(Mockito.any())).thenAnswer(invocation -> {
+            PassClientSelector<?> sel = invocation.getArgument(0);
+
+            if (sel.getFilter().contains(sub2.getId()) || sel.getFilter().contains(pub2.getId())) {
+                throw new IOException("Expected");
+            } else if (sel.getType() == Deposit.class) {
+                return deposits.stream().filter(d -> sel.getFilter().contains(d.getSubmission().getId()));
+            }
+            return copies.stream().filter(rc -> sel.getFilter().contains(rc.getPublication().getId()));
+        });
+
+        service = new SubmissionStatusService(client);
+        service.setBatchSize(2);
+
+        Map<String, SubmissionStatus> statuses = service.calculateSubmissionStatuses(List.of(sub1, sub2, sub3));
+
+        // Only the submission whose objects could not be selected is left out
+        assertEquals(List.of(sub1.getId(), sub3.getId()), new ArrayList<>(statuses.keySet()));
+        assertEquals(SubmissionStatus.COMPLETE, statuses.get(sub1.getId()));
+        assertEquals(SubmissionStatus.COMPLETE, statuses.get(sub3.getId()));
+    }
+
+    private static Deposit deposit(String id, Submission submission, Repository repo) {
+        Deposit dep = new Deposit(id);
+        dep.setSubmission(submission);
+        dep.setRepository(repo);
+        dep.setDepositStatus(DepositStatus.ACCEPTED);
+        return dep;
+    }
+
+    private static RepositoryCopy copy(String id, Publication pub, Repository repo, CopyStatus status) {
+        RepositoryCopy rc = new RepositoryCopy(id);
+        rc.setPublication(pub);
+        rc.setRepository(repo);
+        rc.setCopyStatus(status);
+        return rc;
+    }
 }
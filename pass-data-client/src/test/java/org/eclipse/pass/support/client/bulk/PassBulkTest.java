@@ -0,0 +1,223 @@
+package org.eclipse.pass.support.client.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.model.Funder;
+import org.eclipse.pass.support.client.model.Grant;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PassBulkTest {
+    private static final Pattern GTE = Pattern.compile("id>='(.*)'");
+
+    @Mock
+    private PassClient client;
+
+    @TempDir
+    private Path tempDir;
+
+    private final List<PassEntity> created = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testExportImport() throws IOException {
+        List<Journal> journals = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            Journal journal = new Journal("" + i);
+            journal.setJournalName("Journal " + i);
+            journal.setIssns(List.of("Print:000" + i));
+            journals.add(journal);
+        }
+        serve(journals);
+
+        PassExporter exporter = new PassExporter(client);
+        exporter.setPageSize(2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(7, exporter.export(Journal.class, null, out));
+        assertEquals(7, out.toString(UTF_8).split("\n").length);
+
+        acceptCreates();
+
+        PassImporter importer = new PassImporter(client);
+        importer.setBatchSize(3);
+        importer.setParallelism(2);
+
+        assertEquals(7, importer.importObjects(Journal.class, new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(7, created.size());
+
+        for (Journal journal : journals) {
+            String id = importer.getImportedId(Journal.class, journal.getId());
+            Journal copy = (Journal) created.stream().filter(o -> o.getId().equals(id)).findFirst().get();
+
+            assertEquals(journal.getJournalName(), copy.getJournalName());
+            assertEquals(journal.getIssns(), copy.getIssns());
+        }
+
+        // Importing again skips everything
+        assertEquals(0, importer.importObjects(Journal.class, new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(7, created.size());
+    }
+
+    @Test
+    public void testExportIsNotShiftedByChanges() throws IOException {
+        List<Journal> journals = new ArrayList<>();
+        for (int i = 1; i <= 9; i++) {
+            journals.add(new Journal("" + i));
+        }
+
+        // Delete the first journal and create another once the export has started
+        List<Journal> served = Collections.synchronizedList(new ArrayList<>(journals));
+        AtomicInteger selects = new AtomicInteger();
+        serve(served, () -> {
+            if (selects.incrementAndGet() == 2) {
+                served.remove(0);
+                served.add(new Journal("10"));
+            }
+        });
+
+        PassExporter exporter = new PassExporter(client);
+        exporter.setPageSize(2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(10, exporter.export(Journal.class, null, out));
+
+        acceptCreates();
+        PassImporter importer = new PassImporter(client);
+        importer.importObjects(Journal.class, new ByteArrayInputStream(out.toByteArray()));
+
+        for (int i = 1; i <= 10; i++) {
+            assertNotNull(importer.getImportedId(Journal.class, "" + i));
+        }
+        assertEquals(10, created.size());
+    }
+
+    @Test
+    public void testImportRemapsRelationships() throws IOException {
+        acceptCreates();
+
+        Path idMapFile = tempDir.resolve("ids.properties");
+        PassImporter importer = new PassImporter(client, idMapFile);
+
+        Funder funder = new Funder("f1");
+        funder.setName("Funder");
+        importer.importObjects(Funder.class, ndjson(List.of(funder)));
+
+        Grant grant = new Grant("g1");
+        grant.setLocalKey("grant:1");
+        grant.setPrimaryFunder(new Funder("f1"));
+        grant.setDirectFunder(new Funder("f2"));
+
+        // A new importer reads the id map written by the first
+        importer = new PassImporter(client, idMapFile);
+        importer.importObjects(Grant.class, ndjson(List.of(grant)));
+
+        Grant copy = (Grant) created.get(1);
+        assertEquals(importer.getImportedId(Funder.class, "f1"), copy.getPrimaryFunder().getId());
+        assertEquals("f2", copy.getDirectFunder().getId());
+        assertEquals(importer.getImportedId(Grant.class, "g1"), copy.getId());
+        assertNull(importer.getImportedId(Funder.class, "f2"));
+    }
+
+    @Test
+    public void testImportFailure() throws IOException {
+        AtomicInteger count = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            if (count.incrementAndGet() == 2) {
+                throw new IOException("Create failed");
+            }
+            PassEntity obj = invocation.getArgument(0);
+            obj.setId("new" + count.get());
+            return null;
+        }).when(client).createObject(any());
+
+        PassImporter importer = new PassImporter(client);
+        List<Journal> journals = List.of(new Journal("1"), new Journal("2"), new Journal("3"));
+
+        IOException e = assertThrows(IOException.class,
+                () -> importer.importObjects(Journal.class, ndjson(journals)));
+        assertTrue(e.getMessage().contains("Journal"));
+
+        // Objects created before the failure are mapped
+        assertEquals(2, journals.stream().filter(j -> importer.getImportedId(Journal.class, j.getId()) != null)
+                .count());
+    }
+
+    private ByteArrayInputStream ndjson(List<? extends PassEntity> objects) throws IOException {
+        PassClient source = mock(PassClient.class);
+        when(source.selectObjects(any())).thenAnswer(invocation -> {
+            PassClientSelector<?> selector = invocation.getArgument(0);
+            return new PassClientResult<>(objects.stream().skip(selector.getOffset()).limit(selector.getLimit())
+                    .collect(Collectors.toList()), objects.size());
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PassExporter(source).export(objects.get(0).getClass(), null, out);
+
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private void acceptCreates() throws IOException {
+        AtomicInteger next = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            PassEntity obj = invocation.getArgument(0);
+            assertNull(obj.getId());
+            obj.setId("new" + next.incrementAndGet());
+            created.add(obj);
+            return null;
+        }).when(client).createObject(any());
+    }
+
+    private void serve(List<? extends PassEntity> objects) throws IOException {
+        serve(objects, () -> { });
+    }
+
+    // Answer selects like pass-core would for the filters used by the exporter, running the change first
+    private void serve(List<? extends PassEntity> objects, Runnable change) throws IOException {
+        when(client.selectObjects(any())).thenAnswer(invocation -> {
+            PassClientSelector<?> selector = invocation.getArgument(0);
+            assertEquals("id", selector.getSorting());
+            change.run();
+
+            Matcher matcher = GTE.matcher(selector.getFilter() == null ? "" : selector.getFilter());
+            long start = matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+
+            synchronized (objects) {
+                return new PassClientResult<>(objects.stream().filter(o -> Long.parseLong(o.getId()) >= start)
+                        .skip(selector.getOffset()).limit(selector.getLimit()).collect(Collectors.toList()),
+                        objects.size());
+            }
+        });
+    }
+}
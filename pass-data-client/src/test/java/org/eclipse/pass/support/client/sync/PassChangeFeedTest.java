@@ -0,0 +1,142 @@
+package org.eclipse.pass.support.client.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.pass.support.client.ModelUtil;
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PassEntity;
+import org.eclipse.pass.support.client.model.Submission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PassChangeFeedTest {
+    private static final Pattern GTE = Pattern.compile("(\\w+)>='(.*)'");
+
+    @Mock
+    private PassClient client;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSyncById() throws IOException {
+        List<Journal> journals = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            journals.add(new Journal("" + i));
+        }
+        serve(journals, j -> Long.valueOf(j.getId()), Long::valueOf);
+
+        WatermarkStore store = new FileWatermarkStore(tempDir.resolve("watermarks.properties"));
+        PassChangeFeed<Journal> feed = PassChangeFeed.byId(client, store, Journal.class);
+        feed.setPageSize(3);
+
+        assertNull(feed.getWatermark());
+
+        List<Journal> seen = new ArrayList<>();
+        assertEquals(7, feed.sync(seen::add));
+        assertEquals(journals, seen);
+        assertEquals("7", feed.getWatermark());
+
+        // A new store on the same file picks up the watermark. The last object is delivered again.
+        journals.add(new Journal("8"));
+        journals.add(new Journal("9"));
+        feed = PassChangeFeed.byId(client, new FileWatermarkStore(tempDir.resolve("watermarks.properties")),
+                Journal.class);
+
+        seen.clear();
+        assertEquals(3, feed.sync(seen::add));
+        assertEquals(journals.subList(6, 9), seen);
+        assertEquals("9", feed.getWatermark());
+
+        feed.reset();
+        assertNull(feed.getWatermark());
+    }
+
+    @Test
+    public void testSyncByDateWithTies() throws IOException {
+        ZonedDateTime date1 = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime date2 = date1.plusDays(1);
+
+        // More objects share a date than fit on a page
+        List<Submission> submissions = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            Submission sub = new Submission("" + i);
+            sub.setSubmittedDate(i <= 2 ? date1 : date2);
+            submissions.add(sub);
+        }
+        Submission unsubmitted = new Submission("11");
+        submissions.add(unsubmitted);
+
+        serve(submissions, s -> s.getSubmittedDate() == null ? null
+                : ModelUtil.dateTimeFormatter().format(s.getSubmittedDate()), Function.identity());
+
+        WatermarkStore store = new FileWatermarkStore(tempDir.resolve("watermarks.properties"));
+        PassChangeFeed<Submission> feed = PassChangeFeed.byDate(client, store, Submission.class,
+                "submittedDate", Submission::getSubmittedDate, null);
+        feed.setPageSize(3);
+
+        List<Submission> seen = new ArrayList<>();
+        assertEquals(10, feed.sync(seen::add));
+        assertEquals(submissions.subList(0, 10), seen);
+        assertEquals(ModelUtil.dateTimeFormatter().format(date2), feed.getWatermark());
+    }
+
+    @Test
+    public void testFailedWatermarkWriteIsNotVisible() throws IOException {
+        Path file = tempDir.resolve("watermarks.properties");
+        WatermarkStore store = new FileWatermarkStore(file);
+
+        store.put("journal", "1");
+
+        // Replace the file with a non-empty directory so the next write cannot be moved into place
+        Files.delete(file);
+        Files.createDirectories(file);
+        Files.createFile(file.resolve("blocker"));
+
+        assertThrows(IOException.class, () -> store.put("journal", "2"));
+        assertEquals("1", store.get("journal"));
+    }
+
+    // Answer selects like pass-core would for the filters used by the change feed
+    private <T extends PassEntity, V extends Comparable<V>> void serve(List<T> objects, Function<T, V> valueOf,
+            Function<String, V> parse) throws IOException {
+        when(client.selectObjects(any())).thenAnswer(invocation -> {
+            PassClientSelector<?> selector = invocation.getArgument(0);
+            Matcher matcher = GTE.matcher(selector.getFilter() == null ? "" : selector.getFilter());
+            Predicate<T> predicate = matcher.matches()
+                    ? o -> valueOf.apply(o) != null && valueOf.apply(o).compareTo(parse.apply(matcher.group(2))) >= 0
+                    : o -> valueOf.apply(o) != null;
+
+            List<T> matches = objects.stream().filter(predicate)
+                    .sorted(Comparator.comparing(valueOf).thenComparing(o -> Long.valueOf(o.getId())))
+                    .skip(selector.getOffset()).limit(selector.getLimit()).collect(Collectors.toList());
+
+            return new PassClientResult<>(matches, -1);
+        });
+    }
+}
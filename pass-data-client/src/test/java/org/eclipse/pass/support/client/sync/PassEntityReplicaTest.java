@@ -0,0 +1,175 @@
+package org.eclipse.pass.support.client.sync;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.model.PmcParticipation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PassEntityReplicaTest {
+    private static final Pattern GTE = Pattern.compile("id>='(.*)'");
+
+    private static final Map<String, Function<Journal, Collection<String>>> INDEXERS = Map.of(
+            "issn", Journal::getIssns,
+            "nlmta", PassEntityReplica.attribute(Journal::getNlmta));
+
+    @Mock
+    private PassClient client;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSyncAndFind() throws IOException {
+        List<Journal> journals = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            journals.add(journal("" + i));
+        }
+        serve(journals);
+
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            replica.setPageSize(2);
+
+            assertEquals(5, replica.sync());
+            assertEquals(5, replica.size());
+            assertEquals(journals.get(2), replica.get("3"));
+            assertEquals(List.of(journals.get(2)), replica.find("issn", "Print:0003"));
+            assertEquals(Set.of("4"), replica.findIds("nlmta", "J4"));
+            assertTrue(replica.find("issn", "Print:0009").isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> replica.find("journalName", "Journal 1"));
+
+            // Only the last object is fetched again
+            journals.add(journal("6"));
+            assertEquals(2, replica.sync());
+            assertEquals(6, replica.size());
+        }
+
+        // Opening the replica again does not need pass-core
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            assertEquals(6, replica.size());
+            assertEquals(journals.get(5), replica.get("6"));
+            assertEquals(Set.of("2"), replica.findIds("issn", "Online:0002"));
+
+            List<Journal> all = new ArrayList<>();
+            replica.forEach(all::add);
+            assertEquals(journals, all);
+        }
+    }
+
+    @Test
+    public void testPutAndRemove() throws IOException {
+        Path log = tempDir.resolve("Journal.log");
+
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            for (int i = 1; i <= 3; i++) {
+                replica.put(journal("" + i));
+            }
+
+            Journal updated = journal("1");
+            updated.setIssns(List.of("Print:0042"));
+            updated.setPmcParticipation(PmcParticipation.A);
+
+            for (int i = 0; i < 5; i++) {
+                replica.put(updated);
+            }
+            replica.remove("2");
+            replica.remove("7");
+
+            assertEquals(2, replica.size());
+            assertEquals(updated, replica.get("1"));
+            assertNull(replica.get("2"));
+            assertTrue(replica.findIds("issn", "Print:0001").isEmpty());
+            assertEquals(Set.of("1"), replica.findIds("issn", "Print:0042"));
+            assertTrue(replica.findIds("nlmta", "J2").isEmpty());
+        }
+
+        long size = Files.size(log);
+
+        // Mostly replaced records so the log is compacted when opened
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            assertTrue(Files.size(log) < size);
+            assertEquals(2, replica.size());
+            assertNull(replica.get("2"));
+            assertEquals(Set.of("1"), replica.findIds("issn", "Print:0042"));
+            assertEquals(Set.of("3"), replica.findIds("nlmta", "J3"));
+        }
+    }
+
+    @Test
+    public void testIncompleteRecordDiscarded() throws IOException {
+        Path log = tempDir.resolve("Journal.log");
+
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            replica.put(journal("1"));
+            replica.put(journal("2"));
+        }
+
+        long size = Files.size(log);
+        Files.write(log, "3\t{\"data\":{\"type\":".getBytes(UTF_8), StandardOpenOption.APPEND);
+
+        try (PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, tempDir, Journal.class,
+                INDEXERS)) {
+            assertEquals(size, Files.size(log));
+            assertEquals(2, replica.size());
+
+            replica.put(journal("3"));
+            assertEquals(journal("3"), replica.get("3"));
+        }
+    }
+
+    private static Journal journal(String id) {
+        Journal journal = new Journal(id);
+        journal.setJournalName("Journal " + id);
+        journal.setNlmta("J" + id);
+        journal.setIssns(List.of("Print:000" + id, "Online:000" + id));
+
+        return journal;
+    }
+
+    // Answer selects like pass-core would for the filters used by the change feed by id
+    private void serve(List<Journal> journals) throws IOException {
+        when(client.selectObjects(any())).thenAnswer(invocation -> {
+            PassClientSelector<?> selector = invocation.getArgument(0);
+            Matcher matcher = GTE.matcher(selector.getFilter() == null ? "" : selector.getFilter());
+            long start = matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+
+            List<Journal> matches = journals.stream().filter(j -> Long.parseLong(j.getId()) >= start)
+                    .skip(selector.getOffset()).limit(selector.getLimit()).collect(Collectors.toList());
+
+            return new PassClientResult<>(matches, -1);
+        });
+    }
+}
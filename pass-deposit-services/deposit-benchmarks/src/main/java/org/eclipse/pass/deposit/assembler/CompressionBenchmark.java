@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure gzip compressing a package with {@link GzipCompressorOutputStream}, as TAR.GZ packages are compressed by
+ * default, and with a {@link ParallelGzipOutputStream} using {@code threads} threads. The content is text made of
+ * words from a small vocabulary, which compresses about four to one, written in 8 KiB arrays like the archive streams
+ * write. Compressed bytes are discarded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+    private static final int CHUNK = 8192;
+
+    @Param({"32"})
+    private int sizeMib;
+
+    @Param({"2", "4", "8"})
+    private int threads;
+
+    @Param({"131072"})
+    private int blockSize;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] words = {"deposit", "submission", "manuscript", "repository", "package", "pass", "file", "grant"};
+        Random random = new Random(sizeMib);
+        StringBuilder text = new StringBuilder(1 << 20);
+
+        while (text.length() < 1 << 20) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(100)).append(' ');
+        }
+
+        content = text.substring(0, 1 << 20).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return number of compressed bytes
+     * @throws IOException on error
+     */
+    @Benchmark
+    public long singleThreaded() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+
+        try (OutputStream out = new GzipCompressorOutputStream(counter)) {
+            write(out);
+        }
+
+        return counter.count;
+    }
+
+    /**
+     * @return number of compressed bytes
+     * @throws IOException on error
+     */
+    @Benchmark
+    public long parallel() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+
+        try (OutputStream out = new ParallelGzipOutputStream(counter, threads, blockSize)) {
+            write(out);
+        }
+
+        return counter.count;
+    }
+
+    private void write(OutputStream out) throws IOException {
+        for (int mib = 0; mib < sizeMib; mib++) {
+            for (int off = 0; off < content.length; off += CHUNK) {
+                out.write(content, off, CHUNK);
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
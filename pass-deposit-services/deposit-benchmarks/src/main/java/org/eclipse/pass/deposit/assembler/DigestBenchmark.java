@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.deposit.assembler.PackageOptions.Checksum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure computing the SHA-512, SHA-256 and MD5 checksums of one file with a new {@link MessageDigest} per algorithm,
+ * as each {@code DigestObserver} used to, and with a pooled {@link MultiDigest}. Both digest 8 KiB buffers like the
+ * package writer observes them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DigestBenchmark {
+    private static final int CHUNK = 8192;
+
+    private static final List<Checksum.OPTS> ALGORITHMS =
+        List.of(Checksum.OPTS.SHA512, Checksum.OPTS.SHA256, Checksum.OPTS.MD5);
+
+    @Param({"1", "64", "4096"})
+    private int sizeKib;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        content = new byte[sizeKib << 10];
+        new Random(sizeKib).nextBytes(content);
+    }
+
+    /**
+     * @return the digests
+     */
+    @Benchmark
+    public byte[][] instancePerAlgorithm() {
+        MessageDigest[] digests = new MessageDigest[ALGORITHMS.size()];
+
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = MultiDigest.newInstance(ALGORITHMS.get(i));
+        }
+
+        for (int off = 0; off < content.length; off += CHUNK) {
+            int len = Math.min(CHUNK, content.length - off);
+
+            for (MessageDigest md : digests) {
+                md.update(content, off, len);
+            }
+        }
+
+        byte[][] result = new byte[digests.length][];
+
+        for (int i = 0; i < digests.length; i++) {
+            result[i] = digests[i].digest();
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the checksums
+     */
+    @Benchmark
+    public List<PackageStream.Checksum> multiDigest() {
+        try (MultiDigest digest = new MultiDigest(ALGORITHMS)) {
+            for (int off = 0; off < content.length; off += CHUNK) {
+                digest.update(content, off, Math.min(CHUNK, content.length - off));
+            }
+
+            return digest.finish();
+        }
+    }
+}
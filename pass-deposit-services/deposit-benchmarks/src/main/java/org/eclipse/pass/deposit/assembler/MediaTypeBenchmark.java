@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.detect.DefaultDetector;
+import org.apache.tika.mime.MediaType;
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Measure the per-file cost of determining the media type of a custodial file: sniffing with a new Tika
+ * {@link DefaultDetector} as the package writer used to, sniffing with the shared detector of
+ * {@link MediaTypeResolver}, and resolving from the media type PASS recorded or from the file extension. Sniffing
+ * includes wrapping the stream, which does not support {@code mark(int)}, in a {@link BufferedInputStream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MediaTypeBenchmark {
+    private final MediaTypeResolver resolver = MediaTypeResolver.getDefault();
+
+    private byte[] content;
+    private DepositFileResource withMimeType;
+    private DepositFileResource withExtension;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        content = new byte[64 * 1024];
+        byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, content, 0, header.length);
+
+        withMimeType = depositFile("manuscript", "application/pdf");
+        withExtension = depositFile("manuscript.pdf", null);
+    }
+
+    /**
+     * @return the media type
+     * @throws IOException on error
+     */
+    @Benchmark
+    public MediaType sniffNewDetector() throws IOException {
+        return AssemblerSupport.detectMediaType(new BufferedInputStream(open()), new DefaultDetector());
+    }
+
+    /**
+     * @return the media type
+     * @throws IOException on error
+     */
+    @Benchmark
+    public MediaType sniffSharedDetector() throws IOException {
+        return resolver.detect(new BufferedInputStream(open()));
+    }
+
+    /**
+     * @return the media type
+     */
+    @Benchmark
+    public MediaType resolvePassMediaType() {
+        return resolver.resolve(withMimeType);
+    }
+
+    /**
+     * @return the media type
+     */
+    @Benchmark
+    public MediaType resolveExtension() {
+        return resolver.resolve(withExtension);
+    }
+
+    private InputStream open() {
+        return new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    private DepositFileResource depositFile(String name, String mimeType) {
+        DepositFile depositFile = new DepositFile();
+        depositFile.setName(name);
+        depositFile.setMimeType(mimeType);
+
+        return new DepositFileResource(depositFile, new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return open();
+            }
+        });
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositFileType;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Measure streaming a multi-GB package through {@link ArchivingPackageStream} the way a transport reads it. The
+ * custodial files are generated on the fly from a block of random bytes so the time is spent in the archive stream,
+ * the pipe and the reader rather than on disk, and the content does not compress, like most deposited PDFs. Each
+ * invocation streams the whole package once, so the score is the time to stream {@code sizeMib}.
+ * {@code streamPackage} pulls the package through the pipe like a transport reading {@link PackageStream#open()},
+ * while {@code writePackage} pushes it on the benchmark thread through {@link PackageStream#writeTo}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageStreamBenchmark {
+    private static final int BLOCK = 1 << 20;
+    private static final int READ_BUFFER = 8192;
+
+    @Param({"1024", "4096"})
+    private int sizeMib;
+
+    @Param({"4"})
+    private int files;
+
+    @Param({"TAR", "TAR_GZIP", "ZIP"})
+    private String format;
+
+    @Param({"1048576"})
+    private int pipeSize;
+
+    private ArchivingPackageStream packageStream;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] block = new byte[BLOCK];
+        new Random(1).nextBytes(block);
+
+        long fileSize = ((long) sizeMib << 20) / files;
+        List<DepositFileResource> custodialContent = new ArrayList<>();
+
+        for (int i = 0; i < files; i++) {
+            DepositFile file = new DepositFile();
+            file.setName("manuscript-" + i + ".pdf");
+            file.setLabel("Manuscript " + i);
+            file.setType(DepositFileType.manuscript);
+            file.setLocation(file.getName());
+
+            custodialContent.add(new DepositFileResource(file, new GeneratedResource(file.getName(), fileSize,
+                    block)));
+        }
+
+        Map<String, Object> options = new HashMap<>();
+        options.put(PackageOptions.Archive.KEY, PackageOptions.Archive.OPTS.valueOf(format.split("_")[0]));
+
+        if (format.endsWith("_GZIP")) {
+            options.put(PackageOptions.Compression.KEY, PackageOptions.Compression.OPTS.GZIP);
+        }
+
+        packageStream = new ArchivingPackageStream(new DepositSubmission(), custodialContent,
+                new MetadataBuilderImpl(), new DefaultResourceBuilderFactory(), options, new FlatPackageProvider());
+        packageStream.setPipeSize(pipeSize);
+    }
+
+    /**
+     * @return number of bytes in the package
+     * @throws Exception on error
+     */
+    @Benchmark
+    public long streamPackage() throws Exception {
+        byte[] buf = new byte[READ_BUFFER];
+        long total = 0;
+
+        try (InputStream in = packageStream.open()) {
+            for (int n; (n = in.read(buf)) != -1; ) {
+                total += n;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * @return number of bytes in the package
+     * @throws Exception on error
+     */
+    @Benchmark
+    public long writePackage() throws Exception {
+        return packageStream.writeTo(NullOutputStream.INSTANCE);
+    }
+
+    /**
+     * Places each custodial file at the root of the package and adds nothing else.
+     */
+    private static class FlatPackageProvider implements PackageProvider {
+        @Override
+        public void start(DepositSubmission submission, List<DepositFileResource> custodialResources,
+                          Map<String, Object> packageOptions) {
+            // no-op
+        }
+
+        @Override
+        public String packagePath(DepositFileResource custodialResource) {
+            return custodialResource.getFilename();
+        }
+
+        @Override
+        public List<SupplementalResource> finish(DepositSubmission submission,
+                                                 List<PackageStream.Resource> packageResources) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A resource of the given length which repeats a block of bytes.
+     */
+    private static class GeneratedResource extends AbstractResource {
+        private final String name;
+        private final long length;
+        private final byte[] block;
+
+        GeneratedResource(String name, long length, byte[] block) {
+            this.name = name;
+            this.length = length;
+            this.block = block;
+        }
+
+        @Override
+        public String getDescription() {
+            return "generated resource [" + name + "]";
+        }
+
+        @Override
+        public String getFilename() {
+            return name;
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                private long pos;
+
+                @Override
+                public int read() {
+                    return pos < length ? block[(int) (pos++ % block.length)] & 0xff : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (pos >= length) {
+                        return -1;
+                    }
+
+                    int offset = (int) (pos % block.length);
+                    int n = (int) Math.min(Math.min(len, block.length - offset), length - pos);
+                    System.arraycopy(block, offset, b, off, n);
+                    pos += n;
+
+                    return n;
+                }
+            };
+        }
+    }
+}
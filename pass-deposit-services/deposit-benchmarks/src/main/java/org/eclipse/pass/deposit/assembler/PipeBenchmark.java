@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure moving bytes from a writing thread to a reading thread through {@link PipedInputStream} with the 22 byte
+ * buffer {@link ArchivingPackageStream} used to allocate and with its 1 MiB default. The writer writes 8 KiB arrays
+ * like the archive streams do and the reader reads 8 KiB at a time like a deposit transport does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipeBenchmark {
+    private static final int CHUNK = 8192;
+
+    @Param({"64"})
+    private int sizeMib;
+
+    private ExecutorService writers;
+    private byte[] chunk;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        writers = Executors.newSingleThreadExecutor();
+        chunk = new byte[CHUNK];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * @return number of bytes read
+     * @throws Exception on error
+     */
+    @Benchmark
+    public long pipedStream22Bytes() throws Exception {
+        PipedInputStream in = new PipedInputStream(2 ^ 20);
+        return transfer(new PipedOutputStream(in), in);
+    }
+
+    /**
+     * @return number of bytes read
+     * @throws Exception on error
+     */
+    @Benchmark
+    public long pipedStream1Mib() throws Exception {
+        PipedInputStream in = new PipedInputStream(ArchivingPackageStream.DEFAULT_PIPE_SIZE);
+        return transfer(new PipedOutputStream(in), in);
+    }
+
+    private long transfer(OutputStream out, InputStream in) throws IOException, InterruptedException,
+            ExecutionException {
+        long size = (long) sizeMib << 20;
+
+        Future<?> writer = writers.submit(() -> {
+            try (out) {
+                for (long written = 0; written < size; written += CHUNK) {
+                    out.write(chunk);
+                }
+            }
+
+            return null;
+        });
+
+        byte[] buf = new byte[CHUNK];
+        long total = 0;
+
+        try (in) {
+            for (int n; (n = in.read(buf)) != -1; ) {
+                total += n;
+            }
+        }
+
+        writer.get();
+
+        return total;
+    }
+}
@@ -15,50 +15,35 @@
  */
 package org.apache.commons.io.input;
 
-import static java.util.Base64.getEncoder;
-import static org.apache.commons.codec.binary.Hex.encodeHexString;
-
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
 
-import org.eclipse.pass.deposit.assembler.ChecksumImpl;
+import org.eclipse.pass.deposit.assembler.MultiDigest;
 import org.eclipse.pass.deposit.assembler.PackageOptions.Checksum;
 import org.eclipse.pass.deposit.assembler.ResourceBuilder;
 
 /**
- * Computes a digest over the observed bytes, and applies it to the {@link ResourceBuilder}.
+ * Computes digests over the observed bytes, and applies them to the {@link ResourceBuilder}.  All of the supplied
+ * algorithms are computed in a single pass over each observed buffer.
  *
  * @author Elliot Metsger (emetsger@jhu.edu)
  */
 public class DigestObserver extends ResourceBuilderObserver {
 
-    private Checksum.OPTS algo;
-
-    private MessageDigest digest;
+    private MultiDigest digest;
 
     public DigestObserver(ResourceBuilder builder, Checksum.OPTS algorithm) {
+        this(builder, algorithm == null ? null : Collections.singletonList(algorithm));
+    }
+
+    public DigestObserver(ResourceBuilder builder, Collection<Checksum.OPTS> algorithms) {
         super(builder);
-        if (algorithm == null) {
+        if (algorithms == null || algorithms.isEmpty() || algorithms.contains(null)) {
             throw new IllegalArgumentException("Algorithm must not be null.");
         }
 
-        this.algo = algorithm;
-
-        try {
-            switch (this.algo) {
-                case SHA256:
-                    this.digest = MessageDigest.getInstance("SHA-256");
-                    break;
-                case SHA512:
-                    this.digest = MessageDigest.getInstance("SHA-512");
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown algorithm: " + algo.name());
-            }
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalArgumentException("Unable to obtain MessageDigest instance for algorithm: " + algo.name());
-        }
+        this.digest = new MultiDigest(algorithms);
     }
 
     @Override
@@ -74,9 +59,13 @@ public class DigestObserver extends ResourceBuilderObserver {
     @Override
     public void finished() throws IOException {
         if (!isFinished()) {
-            byte[] value = this.digest.digest();
-            builder.checksum(new ChecksumImpl(algo, value, getEncoder().encodeToString(value), encodeHexString(value)));
+            digest.finish().forEach(builder::checksum);
         }
         super.finished();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void closed() throws IOException {
+        digest.close();
+    }
+}
@@ -31,6 +31,7 @@ import org.eclipse.pass.deposit.model.DepositSubmission;
 import org.eclipse.pass.support.client.PassClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -69,6 +70,10 @@ public abstract class AbstractAssembler implements Assembler {
 
     protected final PassClient passClient;
 
+    private AssemblyExecutor assemblyExecutor;
+
+    private FileStaging fileStaging;
+
     /**
      * Constructs a new assembler that provides {@link MetadataBuilderFactory} and {@link ResourceBuilderFactory} for
      * implementations to create and amend the state of package metadata and resources.
@@ -82,6 +87,35 @@ public abstract class AbstractAssembler implements Assembler {
         this.passClient = passClient;
     }
 
+    /**
+     * Supplies the executor used to write the packages created by this assembler.  When not set, the {@link
+     * AssemblyExecutor#getDefault() default} is used.
+     *
+     * @param assemblyExecutor the application assembly executor
+     */
+    @Autowired(required = false)
+    public void setAssemblyExecutor(AssemblyExecutor assemblyExecutor) {
+        this.assemblyExecutor = assemblyExecutor;
+    }
+
+    /**
+     * Supplies the staging area of PASS files shared by the deposits of a submission.  When not set, or when a PASS
+     * file is not staged, the file is downloaded by a {@link PassFileResource}.
+     *
+     * @param fileStaging the application file staging area
+     */
+    @Autowired(required = false)
+    public void setFileStaging(FileStaging fileStaging) {
+        this.fileStaging = fileStaging;
+    }
+
+    /**
+     * @return the executor to be used by implementations to write packages
+     */
+    protected AssemblyExecutor getAssemblyExecutor() {
+        return assemblyExecutor != null ? assemblyExecutor : AssemblyExecutor.getDefault();
+    }
+
     /**
      * This abstract implementation will resolve the custodial content of the package as a {@code List} of
      * {@link DepositFileResource}s, then invoke
@@ -211,6 +245,11 @@ public abstract class AbstractAssembler implements Assembler {
             return new EncodingClassPathResource(location.substring(ENCODED_CLASSPATH_PREFIX.length()));
         } else if (Objects.nonNull(depositFile.getPassFileId())) {
             String passFileId = depositFile.getPassFileId();
+            Resource staged = fileStaging != null ? fileStaging.getResource(passFileId, depositFile.getName()) : null;
+            if (staged != null) {
+                LOG.trace("Returning staged copy of Pass File {}", passFileId);
+                return staged;
+            }
             LOG.trace("Returning PassFileResource for Pass File {}", passFileId);
             return new PassFileResource(passClient, passFileId, depositFile.getName());
         } else if (location.contains("/") || location.contains("\\")) {
@@ -16,21 +16,22 @@
 
 package org.eclipse.pass.deposit.assembler;
 
-import static java.lang.Runtime.getRuntime;
-
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.eclipse.pass.deposit.assembler.PackageOptions.Archive;
 import org.eclipse.pass.deposit.model.DepositSubmission;
 import org.slf4j.Logger;
@@ -44,7 +45,7 @@ import org.slf4j.LoggerFactory;
  * operations to the {@code PackageStream}.  The intent is the caller (i.e. the client of {@code PackageStream}) can
  * {@link PackageStream#open() open} the stream and begin to read it without blocking.  At the same time,
  * the concrete implementation of {@code ArchivingPackageStream} begins to write the contents of the package in a
- * separate thread.
+ * separate thread supplied by an {@link AssemblyExecutor}.
  * </p>
  * <p>
  * Subclasses of {@code ArchivingPackageStream} are expected to use the {@link MetadataBuilder} and
@@ -60,7 +61,10 @@ public class ArchivingPackageStream implements PackageStream {
 
     private static final Logger LOG = LoggerFactory.getLogger(ArchivingPackageStream.class);
 
-    private static final int ONE_MIB = 2 ^ 20;
+    /**
+     * Default number of bytes buffered between the thread writing the package and the caller reading it.
+     */
+    public static final int DEFAULT_PIPE_SIZE = 1 << 20;
 
     /**
      * The custodial content to be packaged and streamed.
@@ -73,10 +77,11 @@ public class ArchivingPackageStream implements PackageStream {
     protected Map<String, Object> packageOptions;
 
     private final MetadataBuilder metadataBuilder;
-    private final ExceptionHandlingThreadPoolExecutor executorService;
+    private final AssemblyExecutor assemblyExecutor;
     private final StreamWriter streamWriter;
     private final ArchiveOutputStreamFactory archiveOutputStreamFactory;
     private final DepositSubmission depositSubmission;
+    private int pipeSize = DEFAULT_PIPE_SIZE;
 
     public ArchivingPackageStream(DepositSubmission submission,
                                   List<DepositFileResource> custodialContent,
@@ -84,20 +89,43 @@ public class ArchivingPackageStream implements PackageStream {
                                   ResourceBuilderFactory rbf,
                                   Map<String, Object> packageOptions,
                                   PackageProvider packageProvider) {
+        this(submission, custodialContent, metadataBuilder, rbf, packageOptions, packageProvider,
+            AssemblyExecutor.getDefault());
+    }
+
+    /**
+     * Create a package stream whose contents are written by the supplied executor when it is opened.
+     *
+     * @param submission       the submission
+     * @param custodialContent the custodial content of the package
+     * @param metadataBuilder  builds the metadata describing the package
+     * @param rbf              factory for building package resources
+     * @param packageOptions   options used for building the package
+     * @param packageProvider  supplies package paths and non-custodial resources
+     * @param assemblyExecutor writes the package
+     */
+    public ArchivingPackageStream(DepositSubmission submission,
+                                  List<DepositFileResource> custodialContent,
+                                  MetadataBuilder metadataBuilder,
+                                  ResourceBuilderFactory rbf,
+                                  Map<String, Object> packageOptions,
+                                  PackageProvider packageProvider,
+                                  AssemblyExecutor assemblyExecutor) {
         this.custodialContent = custodialContent;
         this.metadataBuilder = metadataBuilder;
         this.packageOptions = packageOptions;
         this.depositSubmission = submission;
-        this.executorService = new ExceptionHandlingThreadPoolExecutor(
-            getRuntime().availableProcessors(),
-            getRuntime().availableProcessors() * 2, 1,
-            TimeUnit.MINUTES, new ArrayBlockingQueue<>(10));
-        this.streamWriter = new DefaultStreamWriterImpl(submission, custodialContent, rbf, packageOptions,
-                                                        packageProvider);
+        this.assemblyExecutor = assemblyExecutor;
+        DefaultStreamWriterImpl defaultStreamWriter = new DefaultStreamWriterImpl(submission, custodialContent, rbf,
+                                                                                  packageOptions, packageProvider);
+        defaultStreamWriter.setPrefetcher(assemblyExecutor.getPrefetcher());
+        this.streamWriter = defaultStreamWriter;
         if (STREAMING_IO_LOG.isDebugEnabled()) {
-            this.archiveOutputStreamFactory = new DebuggingArchiveOutputStreamFactory(packageOptions);
+            this.archiveOutputStreamFactory = new DebuggingArchiveOutputStreamFactory(packageOptions,
+                assemblyExecutor.getCompressionExecutor());
         } else {
-            this.archiveOutputStreamFactory = new DefaultArchiveOutputStreamFactory(packageOptions);
+            this.archiveOutputStreamFactory = new DefaultArchiveOutputStreamFactory(packageOptions,
+                assemblyExecutor.getCompressionExecutor());
         }
     }
 
@@ -120,7 +148,7 @@ public class ArchivingPackageStream implements PackageStream {
         // Create a pipe: bytes written to the PipedOutputStream will be the source of bytes read from the
         // PipedInputStream.  As the caller reads bytes from the PipedInputStream, bytes will be read from the
         // PipedOutputStream.
-        ExHandingPipedInputStream pipedIn = new ExHandingPipedInputStream(ONE_MIB);
+        ExHandingPipedInputStream pipedIn = new ExHandingPipedInputStream(pipeSize);
 
         PipedOutputStream pipedOut;
         try {
@@ -135,7 +163,7 @@ public class ArchivingPackageStream implements PackageStream {
 
         // Set on the writer, and used to report any exceptions caught by the writer to the reader.  That way a full
         // stack trace of the exception will be reported when it is encountered by the reader
-        BiConsumer<Runnable, Throwable> exceptionHandler = (runnable, throwable) -> {
+        Consumer<Throwable> exceptionHandler = throwable -> {
 
             // Make the exception caught by the writer available to the reader; set it on the PipedInputStream
             // The reader will use this to close any resources it has open when an exception occurs, and allow the
@@ -172,15 +200,99 @@ public class ArchivingPackageStream implements PackageStream {
             }
         };
 
-        executorService.setExceptionHandler(exceptionHandler);
-
         // invoke call() from another thread
         CallableStreamWriter<?> callableSw = new CallableStreamWriter<>(streamWriter, archiveOut, custodialContent);
-        executorService.submit(callableSw);
+        Runnable writer = () -> {
+            try {
+                callableSw.call();
+            } catch (Throwable t) {
+                exceptionHandler.accept(t);
+            }
+        };
+
+        LOG.debug("Writing package for submission {} with {}", depositSubmission.getId(), assemblyExecutor);
+
+        // A rejected writer is reported to the reader like any other writer exception
+        try {
+            assemblyExecutor.execute(writer);
+        } catch (RejectedExecutionException e) {
+            exceptionHandler.accept(e);
+        }
 
         return pipedIn;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation writes the package on the calling thread directly to {@code out}, without the pipe and
+     * {@link AssemblyExecutor} thread used by {@link #open()}. The write still counts towards the concurrency limit of
+     * the {@code AssemblyExecutor}, waiting while it is reached.
+     * </p>
+     *
+     * @param out {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public long writeTo(OutputStream out) throws IOException {
+        // The archive stream closes the stream it wraps when the package is finished
+        CountingOutputStream countingOut = new CountingOutputStream(CloseShieldOutputStream.wrap(out));
+        ArchiveOutputStream<ArchiveEntry> archiveOut = archiveOutputStreamFactory.newInstance(packageOptions,
+            countingOut);
+
+        LOG.debug("Writing package for submission {} on the calling thread", depositSubmission.getId());
+
+        try {
+            assemblyExecutor.callOnCallingThread(
+                new CallableStreamWriter<>(streamWriter, archiveOut, custodialContent));
+        } catch (Exception e) {
+            try {
+                archiveOut.close();
+            } catch (IOException e1) {
+                STREAMING_IO_LOG.trace("Error closing the archive output stream: {}", e1.getMessage(), e1);
+            }
+
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting to write the package for submission " +
+                    depositSubmission.getId());
+            }
+
+            LOG.error("Error encountered when writing the package stream.", e);
+
+            // The stream writer wraps the IOExceptions of the destination
+            Throwable cause = e instanceof RuntimeException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error writing the package stream: " + cause.getMessage(), cause);
+        }
+
+        return countingOut.getByteCount();
+    }
+
+    /**
+     * @return the number of bytes buffered between the writer of the package and the reader of the stream
+     */
+    public int getPipeSize() {
+        return pipeSize;
+    }
+
+    /**
+     * Sets the number of bytes buffered between the writer of the package and the reader of the stream.  Takes effect
+     * the next time the stream is {@link #open() opened}.
+     *
+     * @param pipeSize the size of the pipe in bytes, must be positive
+     */
+    public void setPipeSize(int pipeSize) {
+        if (pipeSize < 1) {
+            throw new IllegalArgumentException("Pipe size must be positive: " + pipeSize);
+        }
+
+        this.pipeSize = pipeSize;
+    }
+
     @Override
     public PackageStream.Metadata metadata() {
         return metadataBuilder.build();
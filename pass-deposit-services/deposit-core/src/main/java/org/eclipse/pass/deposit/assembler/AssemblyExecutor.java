@@ -0,0 +1,312 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the writing side of {@link ArchivingPackageStream}s for the whole application.
+ * <p>
+ * At most {@code maxConcurrency} packages are written at once, and up to {@code queueCapacity} more wait for a
+ * thread. Packages written on the calling thread by {@link #callOnCallingThread(Callable)} count towards the same
+ * limit: each write takes one of {@code maxConcurrency} permits, waiting for one if necessary. Packages submitted beyond that are rejected, so a burst of deposits fails fast rather than piling up
+ * threads. Idle threads are released after a minute. Threads are created by the supplied {@link ThreadFactory}, by
+ * default named daemon threads.
+ * </p>
+ * <p>
+ * {@link #close()} stops accepting packages and waits for those being written to finish, up to the configured grace
+ * period, before interrupting them.
+ * </p>
+ * <p>
+ * Packages compressed by a {@link ParallelGzipOutputStream} share the {@link #getCompressionExecutor() compression
+ * executor}, which compresses at most {@code compressionThreads} blocks at once across all packages. It is shut down
+ * by {@link #close()} once the packages have been written.
+ * </p>
+ * <p>
+ * An optional {@link ResourcePrefetcher} downloads the custodial files of packages ahead of the writers.
+ * </p>
+ */
+public class AssemblyExecutor implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssemblyExecutor.class);
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ThreadPoolExecutor compressionExecutor;
+
+    private final Semaphore permits;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private Duration shutdownGracePeriod = Duration.ofSeconds(30);
+
+    private ResourcePrefetcher prefetcher;
+
+    /**
+     * Create an executor using named daemon threads, compressing on one thread per available processor.
+     *
+     * @param maxConcurrency maximum number of packages written at once
+     * @param queueCapacity  maximum number of packages waiting to be written
+     */
+    public AssemblyExecutor(int maxConcurrency, int queueCapacity) {
+        this(maxConcurrency, queueCapacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create an executor using named daemon threads.
+     *
+     * @param maxConcurrency     maximum number of packages written at once
+     * @param queueCapacity      maximum number of packages waiting to be written
+     * @param compressionThreads maximum number of blocks compressed in parallel at once across all packages
+     */
+    public AssemblyExecutor(int maxConcurrency, int queueCapacity, int compressionThreads) {
+        this(maxConcurrency, queueCapacity, compressionThreads, daemonThreads());
+    }
+
+    /**
+     * @param maxConcurrency maximum number of packages written at once
+     * @param queueCapacity  maximum number of packages waiting to be written
+     * @param threadFactory  creates the threads which write packages
+     */
+    public AssemblyExecutor(int maxConcurrency, int queueCapacity, ThreadFactory threadFactory) {
+        this(maxConcurrency, queueCapacity, Runtime.getRuntime().availableProcessors(), threadFactory);
+    }
+
+    /**
+     * @param maxConcurrency     maximum number of packages written at once
+     * @param queueCapacity      maximum number of packages waiting to be written
+     * @param compressionThreads maximum number of blocks compressed in parallel at once across all packages
+     * @param threadFactory      creates the threads which write packages
+     */
+    public AssemblyExecutor(int maxConcurrency, int queueCapacity, int compressionThreads,
+                            ThreadFactory threadFactory) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Assembly concurrency must be positive: " + maxConcurrency);
+        }
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Assembly queue capacity must be positive: " + queueCapacity);
+        }
+
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), threadFactory, (runnable, pool) -> {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("Package assembly queue is full: " + this);
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.compressionExecutor = ParallelGzipOutputStream.newExecutor(compressionThreads);
+    }
+
+    /**
+     * Write a package.
+     *
+     * @param task writes the package
+     * @throws RejectedExecutionException if the queue is full or the executor is closed
+     */
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted waiting to write a package: " + this, e);
+            }
+
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Write a package on the calling thread, waiting while {@code maxConcurrency} packages are already being written.
+     *
+     * @param task writes the package
+     * @param <T>  the type of the result of the task
+     * @return the result of the task
+     * @throws RejectedExecutionException if the executor is closed
+     * @throws InterruptedException       if interrupted waiting to write the package
+     * @throws Exception                  if thrown by the task
+     */
+    public <T> T callOnCallingThread(Callable<T> task) throws Exception {
+        if (executor.isShutdown()) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Package assembly is closed: " + this);
+        }
+
+        permits.acquire();
+
+        try {
+            return task.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return compresses the blocks of packages compressed by a {@link ParallelGzipOutputStream}
+     */
+    public ExecutorService getCompressionExecutor() {
+        return compressionExecutor;
+    }
+
+    /**
+     * @return maximum number of blocks compressed in parallel at once across all packages
+     */
+    public int getCompressionThreads() {
+        return compressionExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return maximum number of packages written at once
+     */
+    public int getMaxConcurrency() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return number of packages being written, including those written on the calling thread
+     */
+    public int getActiveCount() {
+        return getMaxConcurrency() - permits.availablePermits();
+    }
+
+    /**
+     * @return number of packages waiting for a thread
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return number of packages which have been written, successfully or not
+     */
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * @return number of packages rejected because the queue was full or the executor was closed
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * @return time {@link #close()} waits for packages being written to finish
+     */
+    public Duration getShutdownGracePeriod() {
+        return shutdownGracePeriod;
+    }
+
+    /**
+     * @param shutdownGracePeriod time {@link #close()} waits for packages being written to finish
+     */
+    public void setShutdownGracePeriod(Duration shutdownGracePeriod) {
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+
+    /**
+     * @return downloads custodial files ahead of the package writers, or {@code null} if they are read as written
+     */
+    public ResourcePrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * @param prefetcher downloads custodial files ahead of the package writers, or {@code null} to read them as written
+     */
+    public void setPrefetcher(ResourcePrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * Stop accepting packages and wait for the grace period for those submitted to be written. Packages still being
+     * written after that are interrupted. The compression executor is then shut down, and the prefetcher, if any, is
+     * closed last.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warn("Interrupting package assembly after waiting {}: {}", shutdownGracePeriod, this);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            compressionExecutor.shutdown();
+
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AssemblyExecutor{" +
+               "maxConcurrency=" + getMaxConcurrency() +
+               ", active=" + getActiveCount() +
+               ", queued=" + getQueuedCount() +
+               ", completed=" + getCompletedCount() +
+               ", rejected=" + getRejectedCount() +
+               '}';
+    }
+
+    /**
+     * @return the executor used by package streams created without one, sized to the available processors
+     */
+    public static AssemblyExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, "package-assembly-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class DefaultHolder {
+        private static final AssemblyExecutor INSTANCE = new AssemblyExecutor(
+            Runtime.getRuntime().availableProcessors() * 2, 100);
+    }
+}
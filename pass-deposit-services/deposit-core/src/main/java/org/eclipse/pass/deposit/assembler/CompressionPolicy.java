@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import org.apache.tika.mime.MediaType;
+
+/**
+ * Chooses the deflate level of each entry of a ZIP or TAR.GZ package.
+ * <p>
+ * By default every entry is compressed at the configured {@link PackageOptions.Compression#LEVEL_KEY level}. With the
+ * {@link PackageOptions.Compression.POLICY#ADAPTIVE ADAPTIVE} policy, entries which are already compressed are
+ * stored: a level of {@code 0} is chosen for media types such as PDF, office documents, images and archives, and for
+ * content of other unknown types whose first {@value #SAMPLE_SIZE} bytes are close to random. Deflating such content
+ * costs CPU and saves next to nothing.
+ * </p>
+ */
+public class CompressionPolicy {
+
+    /**
+     * Number of bytes sampled to estimate whether content of an unknown type is compressible
+     */
+    public static final int SAMPLE_SIZE = 4096;
+
+    /**
+     * Entropy in bits per byte above which a sample is considered incompressible
+     */
+    static final double ENTROPY_THRESHOLD = 7.5;
+
+    /**
+     * Samples shorter than this are too small to estimate and are compressed
+     */
+    private static final int MIN_SAMPLE = 512;
+
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+        "application/pdf", "application/zip", "application/gzip", "application/x-gzip", "application/x-bzip2",
+        "application/x-xz", "application/x-7z-compressed", "application/x-rar-compressed", "application/vnd.rar",
+        "application/zstd", "application/java-archive", "application/epub+zip", "image/jpeg", "image/png",
+        "image/gif", "image/webp", "image/heic", "image/jp2");
+
+    private static final Set<String> COMPRESSED_SUBTYPE_PREFIXES = Set.of(
+        "vnd.openxmlformats-officedocument.", "vnd.oasis.opendocument.");
+
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+        "application/xml", "application/json", "application/javascript", "application/rtf", "application/x-tex",
+        "application/x-tar", "application/msword", "application/x-sh", "image/bmp", "image/tiff");
+
+    private static final CompressionPolicy DEFAULT = new CompressionPolicy(PackageOptions.Compression.POLICY.ALL,
+        Deflater.DEFAULT_COMPRESSION);
+
+    private final PackageOptions.Compression.POLICY policy;
+
+    private final int level;
+
+    /**
+     * @param policy how the level of each entry is chosen
+     * @param level  the deflate level of compressed entries, 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public CompressionPolicy(PackageOptions.Compression.POLICY policy, int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        this.policy = policy;
+        this.level = level;
+    }
+
+    /**
+     * Answers the policy configured by the {@link PackageOptions.Compression#POLICY_KEY policy} and {@link
+     * PackageOptions.Compression#LEVEL_KEY level} package options.  Options configured in {@code repositories.json}
+     * may be strings.
+     *
+     * @param packageOptions the package options
+     * @return the policy
+     */
+    public static CompressionPolicy of(Map<String, Object> packageOptions) {
+        Object policy = packageOptions.get(PackageOptions.Compression.POLICY_KEY);
+        int level = DefaultArchiveOutputStreamFactory.intOption(packageOptions, PackageOptions.Compression.LEVEL_KEY,
+            Deflater.DEFAULT_COMPRESSION);
+
+        if (policy == null && level == Deflater.DEFAULT_COMPRESSION) {
+            return DEFAULT;
+        }
+
+        return new CompressionPolicy(policy == null ? PackageOptions.Compression.POLICY.ALL :
+            policy instanceof PackageOptions.Compression.POLICY ? (PackageOptions.Compression.POLICY) policy :
+            PackageOptions.Compression.POLICY.valueOf(policy.toString().trim().toUpperCase(Locale.ROOT)), level);
+    }
+
+    /**
+     * @return true if the level is chosen for each entry
+     */
+    public boolean isAdaptive() {
+        return policy == PackageOptions.Compression.POLICY.ADAPTIVE;
+    }
+
+    /**
+     * @return the deflate level of compressed entries
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Answers whether the content of an entry of the supplied media type must be sampled to choose its level.
+     *
+     * @param mediaType the media type of the entry, may be {@code null} if not yet known
+     * @return true if {@link #level(MediaType, InputStream)} will read a sample of the content
+     */
+    public boolean needsSample(MediaType mediaType) {
+        return isAdaptive() && (mediaType == null || classify(mediaType) == null);
+    }
+
+    /**
+     * Chooses the deflate level of an entry.  If the content must be sampled, up to {@value #SAMPLE_SIZE} bytes are
+     * read and the stream is reset.
+     *
+     * @param mediaType the media type of the entry
+     * @param in        the content of the entry, which must support {@link InputStream#mark(int) mark} if {@link
+     *                  #needsSample(MediaType)} is true
+     * @return the deflate level, {@code 0} if the entry should be stored
+     * @throws IOException if the sample cannot be read
+     */
+    public int level(MediaType mediaType, InputStream in) throws IOException {
+        if (!isAdaptive()) {
+            return level;
+        }
+
+        Boolean compressible = mediaType == null ? null : classify(mediaType);
+
+        if (compressible == null) {
+            compressible = isCompressible(in);
+        }
+
+        return compressible ? level : Deflater.NO_COMPRESSION;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionPolicy{policy=" + policy + ", level=" + level + "}";
+    }
+
+    /**
+     * @return true if content of the type is compressible, false if it is already compressed, {@code null} if unknown
+     */
+    static Boolean classify(MediaType mediaType) {
+        String baseType = mediaType.getBaseType().toString();
+        String subtype = mediaType.getSubtype();
+
+        if (COMPRESSED_TYPES.contains(baseType) || COMPRESSED_SUBTYPE_PREFIXES.stream().anyMatch(subtype::startsWith)
+            || "audio".equals(mediaType.getType()) || "video".equals(mediaType.getType())) {
+            return false;
+        }
+
+        if ("text".equals(mediaType.getType()) || COMPRESSIBLE_TYPES.contains(baseType) || subtype.endsWith("+xml")
+            || subtype.endsWith("+json")) {
+            return true;
+        }
+
+        return null;
+    }
+
+    /**
+     * Estimates whether content is compressible from the entropy of its first bytes.
+     */
+    static boolean isCompressible(InputStream in) throws IOException {
+        byte[] sample = new byte[SAMPLE_SIZE];
+        int length;
+
+        in.mark(SAMPLE_SIZE);
+
+        try {
+            length = in.readNBytes(sample, 0, SAMPLE_SIZE);
+        } finally {
+            in.reset();
+        }
+
+        return length < MIN_SAMPLE || entropy(sample, length) < ENTROPY_THRESHOLD;
+    }
+
+    /**
+     * @return the Shannon entropy of the bytes in bits per byte, from 0 to 8
+     */
+    static double entropy(byte[] bytes, int length) {
+        int[] counts = new int[256];
+
+        for (int i = 0; i < length; i++) {
+            counts[bytes[i] & 0xff]++;
+        }
+
+        double entropy = 0;
+
+        for (int count : counts) {
+            if (count > 0) {
+                double p = (double) count / length;
+                entropy -= p * Math.log(p);
+            }
+        }
+
+        return entropy / Math.log(2);
+    }
+}
@@ -36,6 +36,13 @@ public class DebuggingArchiveOutputStream extends ArchiveOutputStream<ArchiveEnt
         this.delegate = delegate;
     }
 
+    /**
+     * @return the stream being debugged
+     */
+    public ArchiveOutputStream<ArchiveEntry> getDelegate() {
+        return delegate;
+    }
+
     @Override
     public void putArchiveEntry(ArchiveEntry entry) throws IOException {
         STREAMING_IO_LOG.debug("{}@{} putting entry: '{}', {} bytes (directory: {})",
@@ -17,6 +17,7 @@ package org.eclipse.pass.deposit.assembler;
 
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
@@ -30,6 +31,11 @@ public class DebuggingArchiveOutputStreamFactory extends DefaultArchiveOutputStr
         super(packageOptions);
     }
 
+    public DebuggingArchiveOutputStreamFactory(Map<String, Object> packageOptions,
+                                               ExecutorService compressionExecutor) {
+        super(packageOptions, compressionExecutor);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <O extends ArchiveOutputStream<? extends ArchiveEntry>> O newInstance(Map<String, Object> packageOptions,
@@ -15,14 +15,18 @@
  */
 package org.eclipse.pass.deposit.assembler;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
 
 /**
  * @author Elliot Metsger (emetsger@jhu.edu)
@@ -37,8 +41,20 @@ public class DefaultArchiveOutputStreamFactory implements ArchiveOutputStreamFac
 
     protected Map<String, Object> packageOptions;
 
+    private final ExecutorService compressionExecutor;
+
     public DefaultArchiveOutputStreamFactory(Map<String, Object> packageOptions) {
+        this(packageOptions, AssemblyExecutor.getDefault().getCompressionExecutor());
+    }
+
+    /**
+     * @param packageOptions      options used for building the package
+     * @param compressionExecutor compresses blocks when more than one compression thread is configured
+     */
+    public DefaultArchiveOutputStreamFactory(Map<String, Object> packageOptions,
+                                             ExecutorService compressionExecutor) {
         this.packageOptions = packageOptions;
+        this.compressionExecutor = compressionExecutor;
     }
 
     @SuppressWarnings("unchecked")
@@ -52,7 +68,9 @@ public class DefaultArchiveOutputStreamFactory implements ArchiveOutputStreamFac
                 TarArchiveOutputStream tarArchiveOutputStream;
                 if (packageOptions.getOrDefault(PackageOptions.Compression.KEY, PackageOptions.Compression.OPTS.NONE)
                     == PackageOptions.Compression.OPTS.GZIP) {
-                    tarArchiveOutputStream = new TarArchiveOutputStream(new GzipCompressorOutputStream(toWrap));
+                    OutputStream gzipOut = newGzipStream(packageOptions, toWrap);
+                    tarArchiveOutputStream = gzipOut instanceof LevelAdjustable
+                        ? new LevelAdjustableTarArchiveOutputStream(gzipOut) : new TarArchiveOutputStream(gzipOut);
                 } else {
                     tarArchiveOutputStream = new TarArchiveOutputStream(toWrap);
                 }
@@ -65,6 +83,7 @@ public class DefaultArchiveOutputStreamFactory implements ArchiveOutputStreamFac
             PackageOptions.Archive.OPTS.ZIP) {
             try {
                 ZipArchiveOutputStream zipArchiveOutputStream = new ZipArchiveOutputStream(toWrap);
+                zipArchiveOutputStream.setLevel(CompressionPolicy.of(packageOptions).getLevel());
                 return (O) zipArchiveOutputStream;
             } catch (Exception e) {
                 throw new RuntimeException(String.format(ERR_CREATING_ARCHIVE_STREAM, PackageOptions.Archive.OPTS.ZIP,
@@ -75,4 +94,75 @@ public class DefaultArchiveOutputStreamFactory implements ArchiveOutputStreamFac
         }
     }
 
+    /**
+     * Compresses on a single thread unless more than one {@link PackageOptions.Compression#THREADS_KEY compression
+     * thread} is configured.  The level of the returned stream can be adjusted for each entry if the compression
+     * policy is adaptive.
+     */
+    private OutputStream newGzipStream(Map<String, Object> packageOptions, OutputStream toWrap)
+            throws IOException {
+        int threads = intOption(packageOptions, PackageOptions.Compression.THREADS_KEY, 1);
+        CompressionPolicy policy = CompressionPolicy.of(packageOptions);
+
+        if (threads > 1) {
+            return new ParallelGzipOutputStream(toWrap, threads, intOption(packageOptions,
+                PackageOptions.Compression.BLOCK_SIZE_KEY, ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE),
+                policy.getLevel(), compressionExecutor);
+        }
+
+        if (policy.isAdaptive()) {
+            return new LevelAdjustableGzipOutputStream(toWrap, policy.getLevel());
+        }
+
+        GzipParameters parameters = new GzipParameters();
+        parameters.setCompressionLevel(policy.getLevel());
+        return new GzipCompressorOutputStream(toWrap, parameters);
+    }
+
+    /**
+     * Options configured in {@code repositories.json} may be numbers or strings.
+     */
+    static int intOption(Map<String, Object> packageOptions, String key, int defaultValue) {
+        Object value = packageOptions.get(key);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+    }
+
+    /**
+     * Single-threaded gzip compression whose level may be changed between entries.
+     */
+    private static class LevelAdjustableGzipOutputStream extends GZIPOutputStream implements LevelAdjustable {
+        private LevelAdjustableGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(level);
+        }
+
+        @Override
+        public void setLevel(int level) {
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Adjusts the level of the compressed stream the archive is written to.
+     */
+    private static class LevelAdjustableTarArchiveOutputStream extends TarArchiveOutputStream
+        implements LevelAdjustable {
+        private final LevelAdjustable compressedOut;
+
+        private LevelAdjustableTarArchiveOutputStream(OutputStream compressedOut) {
+            super(compressedOut);
+            this.compressedOut = (LevelAdjustable) compressedOut;
+        }
+
+        @Override
+        public void setLevel(int level) {
+            compressedOut.setLevel(level);
+        }
+    }
+
 }
@@ -16,7 +16,6 @@
 package org.eclipse.pass.deposit.assembler;
 
 import static java.util.Collections.emptyList;
-import static org.eclipse.pass.deposit.assembler.AssemblerSupport.detectMediaType;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
@@ -24,16 +23,22 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.ContentLengthObserver;
 import org.apache.commons.io.input.DigestObserver;
 import org.apache.commons.io.input.ObservableInputStream;
-import org.apache.tika.detect.DefaultDetector;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.tika.mime.MediaType;
 import org.eclipse.pass.deposit.model.DepositSubmission;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +56,9 @@ public class DefaultStreamWriterImpl implements StreamWriter {
     protected ArchiveOutputStream<ArchiveEntry> archiveOut;
     protected Map<String, Object> packageOptions;
     protected PackageProvider packageProvider;
+    private ResourcePrefetcher prefetcher;
+    private MediaTypeResolver mediaTypeResolver = MediaTypeResolver.getDefault();
+    private final CompressionPolicy compressionPolicy;
 
     /**
      * Constructs an {@code StreamWriter} that is supplied with the output stream being written to, the custodial
@@ -72,6 +80,7 @@ public class DefaultStreamWriterImpl implements StreamWriter {
         this.submission = submission;
         this.packageOptions = packageOptions;
         this.packageProvider = packageProvider;
+        this.compressionPolicy = CompressionPolicy.of(packageOptions);
     }
 
     @Override
@@ -93,7 +102,7 @@ public class DefaultStreamWriterImpl implements StreamWriter {
 
             packageProvider.start(submission, custodialFiles, packageOptions);
 
-            packageFiles.forEach(custodialFile -> assembledResources.add(assembleResource(custodialFile)));
+            assembleCustodialResources(assembledResources);
 
             List<PackageProvider.SupplementalResource> supplementalResources =
                 packageProvider.finish(submission, assembledResources);
@@ -123,17 +132,76 @@ public class DefaultStreamWriterImpl implements StreamWriter {
         archiveOut.close();
     }
 
+    /**
+     * Supplies the prefetcher used to download custodial files ahead of writing them.  When not set, each custodial
+     * file is read as it is written.
+     *
+     * @param prefetcher the prefetcher, may be {@code null}
+     */
+    public void setPrefetcher(ResourcePrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * Supplies the resolver used to determine the media type of each resource written to the package.  Defaults to
+     * {@link MediaTypeResolver#getDefault()}.
+     *
+     * @param mediaTypeResolver the resolver
+     */
+    public void setMediaTypeResolver(MediaTypeResolver mediaTypeResolver) {
+        this.mediaTypeResolver = mediaTypeResolver;
+    }
+
+    private void assembleCustodialResources(List<PackageStream.Resource> assembledResources) throws IOException {
+        if (prefetcher == null) {
+            packageFiles.forEach(custodialFile -> assembledResources.add(assembleResource(custodialFile)));
+            return;
+        }
+
+        try (ResourcePrefetcher.Session session = prefetcher.start(packageFiles, checksumAlgorithms())) {
+            for (int i = 0; i < packageFiles.size(); i++) {
+                DepositFileResource custodialFile = session.take(i);
+                assembledResources.add(assembleResource(custodialFile, session.checksums(i)));
+                session.done(i);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PackageOptions.Checksum.OPTS> checksumAlgorithms() {
+        return (List<PackageOptions.Checksum.OPTS>) packageOptions.getOrDefault(PackageOptions.Checksum.KEY,
+            emptyList());
+    }
+
     @Override
     public void finish(DepositSubmission submission, List<PackageStream.Resource> custodialResources)
         throws IOException {
         archiveOut.finish();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public PackageStream.Resource writeResource(ResourceBuilder resourceBuilder, Resource resource) throws IOException {
+        return writeResource(resourceBuilder, resource, null);
+    }
+
+    /**
+     * Writes the resource, using the supplied checksums instead of computing them if they are present.
+     *
+     * @param resourceBuilder the builder of the package resource
+     * @param resource        the resource to write
+     * @param checksums       checksums of the resource already computed, may be {@code null}
+     * @return the package resource
+     * @throws IOException if there is an error writing the resource
+     */
+    private PackageStream.Resource writeResource(ResourceBuilder resourceBuilder, Resource resource,
+                                                 List<PackageStream.Checksum> checksums) throws IOException {
+        // Only sniff the bytes of the resource, which requires mark(int), if its media type is otherwise unknown or
+        // the compression policy must sample them
+        MediaType mediaType = mediaTypeResolver.resolve(resource);
+        boolean sample = mediaType == null || compressionPolicy.needsSample(mediaType);
+
         try (InputStream resourceIn = resource.getInputStream(); BufferedInputStream buffIn =
-            resourceIn.markSupported() ? null : new BufferedInputStream(resourceIn)) {
+            !sample || resourceIn.markSupported() ? null : new BufferedInputStream(resourceIn)) {
 
             InputStream in;
 
@@ -143,15 +211,25 @@ public class DefaultStreamWriterImpl implements StreamWriter {
                 in = resourceIn;
             }
 
-            resourceBuilder.mimeType(detectMediaType(in, new DefaultDetector()).toString());
+            if (mediaType == null) {
+                mediaType = mediaTypeResolver.detect(in);
+            }
+
+            resourceBuilder.mimeType(mediaType.toString());
+
+            int level = compressionPolicy.level(mediaType, in);
 
             try (ObservableInputStream observableIn = new ObservableInputStream(in)) {
                 ContentLengthObserver clObs = new ContentLengthObserver(resourceBuilder);
                 observableIn.add(clObs);
 
-                ((List<PackageOptions.Checksum.OPTS>) packageOptions.getOrDefault(
-                    PackageOptions.Checksum.KEY, emptyList()))
-                    .forEach(algo -> observableIn.add(new DigestObserver(resourceBuilder, algo)));
+                List<PackageOptions.Checksum.OPTS> algorithms = checksumAlgorithms();
+
+                if (checksums != null) {
+                    checksums.forEach(resourceBuilder::checksum);
+                } else if (!algorithms.isEmpty()) {
+                    observableIn.add(new DigestObserver(resourceBuilder, algorithms));
+                }
 
                 if (resource instanceof DepositFileResource) {
                     resourceBuilder.name(packageProvider.packagePath((DepositFileResource) resource));
@@ -164,6 +242,9 @@ public class DefaultStreamWriterImpl implements StreamWriter {
                 PackageStream.Resource packageResource = resourceBuilder.build();
                 long length = resource.contentLength();
                 ArchiveEntry archiveEntry = createEntry(packageResource.name(), length);
+                if (compressionPolicy.isAdaptive()) {
+                    applyCompression(archiveEntry, level, resource, length);
+                }
                 writeResource(archiveOut, archiveEntry, observableIn);
             }
 
@@ -204,6 +285,49 @@ public class DefaultStreamWriterImpl implements StreamWriter {
         }
     }
 
+    /**
+     * Compress the entry about to be written at the supplied level.  A ZIP entry of a local or prefetched file which
+     * should not be compressed is stored; the CRC a stored entry requires is read from a local file first, and was
+     * computed while a prefetched file was spooled.  Other ZIP entries are deflated at the level, and the level of a
+     * compressed TAR is changed for the entry.
+     *
+     * @param archiveEntry the entry about to be written
+     * @param level        the deflate level chosen by the compression policy
+     * @param resource     the content of the entry
+     * @param length       the length of the content, {@code -1} if unknown
+     * @throws IOException if a local file cannot be read
+     */
+    private void applyCompression(ArchiveEntry archiveEntry, int level, Resource resource, long length)
+        throws IOException {
+        ArchiveOutputStream<?> out = archiveOut instanceof DebuggingArchiveOutputStream
+            ? ((DebuggingArchiveOutputStream) archiveOut).getDelegate() : archiveOut;
+
+        if (archiveEntry instanceof ZipArchiveEntry && out instanceof ZipArchiveOutputStream) {
+            ZipArchiveEntry zipEntry = (ZipArchiveEntry) archiveEntry;
+
+            Resource content = resource instanceof DepositFileResource
+                ? ((DepositFileResource) resource).getResource() : resource;
+
+            if (level == Deflater.NO_COMPRESSION && length >= 0
+                && content instanceof ResourcePrefetcher.SpooledResource) {
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setCrc(((ResourcePrefetcher.SpooledResource) content).getCrc());
+            } else if (level == Deflater.NO_COMPRESSION && length >= 0 && resource.isFile()) {
+                CRC32 crc = new CRC32();
+                try (InputStream in = resource.getInputStream()) {
+                    IOUtils.copy(in, new CheckedOutputStream(NullOutputStream.INSTANCE, crc));
+                }
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setCrc(crc.getValue());
+            } else {
+                zipEntry.setMethod(ZipEntry.DEFLATED);
+                ((ZipArchiveOutputStream) out).setLevel(level);
+            }
+        } else if (out instanceof LevelAdjustable) {
+            ((LevelAdjustable) out).setLevel(level);
+        }
+    }
+
     /**
      * Write the bytes supplied by {@code archiveEntryIn} to the supplied {@code ArchiveOutputStream}.  The supplied
      * {@code ArchiveEntry} is written to the stream first, followed by the bytes of {@code archiveEntryIn}.
@@ -235,10 +359,14 @@ public class DefaultStreamWriterImpl implements StreamWriter {
      * @return the metadata describing the {@code resource} written to the package stream
      */
     private PackageStream.Resource assembleResource(Resource resource) {
+        return assembleResource(resource, null);
+    }
+
+    private PackageStream.Resource assembleResource(Resource resource, List<PackageStream.Checksum> checksums) {
         ResourceBuilder rb;
         try {
             rb = rbf.newInstance();
-            return writeResource(rb, resource);
+            return writeResource(rb, resource, checksums);
         } catch (IOException e) {
             throw new RuntimeException(String.format(ArchivingPackageStream.ERR_PUT_RESOURCE, resource.getFilename(),
                 e.getMessage()), e);
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.eclipse.pass.support.client.PassClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Downloads the PASS files of a submission once for all of the repositories the submission is deposited to.
+ * <p>
+ * A submission is deposited to each of its repositories in turn, and each packager resolves the custodial files of the
+ * submission with a {@link PassFileResource} which downloads the file from pass-core again. While a {@link Stage} is
+ * open for a submission, {@link #getResource(String, String)} answers a read-only view of a staged copy of each of its
+ * PASS files instead. The first view read downloads the file to the staging directory, recording its size and SHA-256
+ * as it is written. pass-core provides no checksum of its files, so the download itself is not verified. Every read of
+ * a view, including the first, only compares the staged copy with the size and SHA-256 recorded by its own download,
+ * which detects a copy changed on local disk, and fails with an {@code IOException} otherwise.
+ * </p>
+ * <p>
+ * Staged files are deleted when the last stage referring to them is closed. A view read after that downloads the file
+ * from pass-core as a {@code PassFileResource} would. Each staging area keeps its files in a directory of its own
+ * inside the configured directory, which may be shared with other instances on the same host. Closing the staging
+ * area removes its directory, and directories left by instances which exited without closing are removed when a
+ * staging area is created.
+ * </p>
+ */
+public class FileStaging implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileStaging.class);
+
+    private static final String PREFIX = "pass-file-";
+
+    private static final String DIRECTORY_PREFIX = "pass-file-staging-";
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final PassClient passClient;
+
+    private final InstanceDirectory instanceDirectory;
+
+    private final Path directory;
+
+    /**
+     * Files of the open stages by PASS file id, guarded by this
+     */
+    private final Map<String, StagedFile> files = new HashMap<>();
+
+    private final AtomicLong downloads = new AtomicLong();
+
+    private final AtomicLong reads = new AtomicLong();
+
+    /**
+     * @param passClient client used to download PASS files
+     * @param directory  directory the directory of the staging area is created in, created if it does not exist
+     * @throws IOException if the directory cannot be created
+     */
+    public FileStaging(PassClient passClient, Path directory) throws IOException {
+        this.passClient = Objects.requireNonNull(passClient, "PASS client must not be null");
+        this.instanceDirectory = InstanceDirectory.create(directory, DIRECTORY_PREFIX);
+        this.directory = instanceDirectory.getPath();
+    }
+
+    /**
+     * Opens a stage for the PASS files of the supplied submission. Files are not downloaded until a view of them is
+     * read. The stage must be closed once the submission has been deposited to all of its repositories.
+     *
+     * @param submission the submission
+     * @return the stage
+     */
+    public synchronized Stage open(DepositSubmission submission) {
+        List<StagedFile> staged = new ArrayList<>();
+
+        if (submission.getFiles() != null) {
+            for (DepositFile depositFile : submission.getFiles()) {
+                String passFileId = depositFile.getPassFileId();
+
+                if (passFileId != null) {
+                    StagedFile file = files.computeIfAbsent(passFileId, StagedFile::new);
+                    file.references++;
+                    staged.add(file);
+                }
+            }
+        }
+
+        LOG.debug("Opened stage of {} PASS files for submission {}", staged.size(), submission.getId());
+
+        return new Stage(submission.getId(), staged);
+    }
+
+    /**
+     * Answers a read-only view of the staged copy of a PASS file.
+     *
+     * @param passFileId the id of the PASS file
+     * @param filename   the name of the resource
+     * @return the view, or {@code null} if the file does not belong to an open stage
+     */
+    public synchronized Resource getResource(String passFileId, String filename) {
+        StagedFile file = files.get(passFileId);
+
+        return file == null ? null : new StagedResource(file, filename);
+    }
+
+    /**
+     * @return the directory of this staging area files are staged in
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return number of PASS files downloaded to the staging directory
+     */
+    public long getDownloads() {
+        return downloads.get();
+    }
+
+    /**
+     * @return number of times a staged file has been read
+     */
+    public long getReads() {
+        return reads.get();
+    }
+
+    /**
+     * @return number of PASS files belonging to open stages
+     */
+    public synchronized int size() {
+        return files.size();
+    }
+
+    /**
+     * Deletes the staged files and the directory of the staging area. Views read afterward download their file.
+     */
+    @Override
+    public synchronized void close() {
+        files.values().forEach(StagedFile::delete);
+        files.clear();
+        instanceDirectory.close();
+    }
+
+    @Override
+    public String toString() {
+        return "FileStaging{directory=" + directory + "}";
+    }
+
+    private synchronized void release(List<StagedFile> staged) {
+        for (StagedFile file : staged) {
+            if (--file.references == 0) {
+                files.remove(file.passFileId);
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * The PASS files of a submission being deposited.
+     */
+    public class Stage implements AutoCloseable {
+
+        private final String submissionId;
+
+        private List<StagedFile> staged;
+
+        private Stage(String submissionId, List<StagedFile> staged) {
+            this.submissionId = submissionId;
+            this.staged = staged;
+        }
+
+        /**
+         * Releases the files of the stage, deleting those which do not belong to another open stage.
+         */
+        @Override
+        public void close() {
+            List<StagedFile> released;
+
+            synchronized (this) {
+                released = staged;
+                staged = null;
+            }
+
+            if (released != null) {
+                release(released);
+                LOG.debug("Closed stage of {} PASS files for submission {}", released.size(), submissionId);
+            }
+        }
+    }
+
+    /**
+     * A PASS file and its staged copy, downloaded on first use.
+     */
+    private class StagedFile {
+
+        private final String passFileId;
+
+        /**
+         * Number of open stages the file belongs to, guarded by the enclosing FileStaging
+         */
+        private int references;
+
+        private Path path;
+
+        private long size;
+
+        private byte[] checksum;
+
+        private boolean deleted;
+
+        private StagedFile(String passFileId) {
+            this.passFileId = passFileId;
+        }
+
+        /**
+         * @return the staged copy, downloading it if needed, or {@code null} if the file has been released
+         */
+        private synchronized Path fetch() throws IOException {
+            if (deleted) {
+                return null;
+            }
+
+            if (path == null) {
+                Path download = Files.createTempFile(directory, PREFIX, null);
+                MessageDigest digest = MultiDigest.newInstance(PackageOptions.Checksum.OPTS.SHA256);
+
+                try (InputStream in = passClient.downloadFile(passFileId);
+                     OutputStream out = new DigestOutputStream(Files.newOutputStream(download), digest)) {
+                    size = in.transferTo(out);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(download);
+                    throw e;
+                }
+
+                if (!download.toFile().setReadOnly()) {
+                    LOG.debug("Unable to make staged copy {} of PASS file {} read-only", download, passFileId);
+                }
+
+                checksum = digest.digest();
+                path = download;
+                downloads.incrementAndGet();
+                LOG.debug("Staged PASS file {} ({} bytes) as {}", passFileId, size, path);
+            }
+
+            return path;
+        }
+
+        private synchronized boolean isStaged() {
+            return path != null && !deleted;
+        }
+
+        private synchronized File getFile() {
+            return isStaged() ? path.toFile() : null;
+        }
+
+        private InputStream open() throws IOException {
+            Path staged;
+            long expectedSize;
+            byte[] expectedChecksum;
+
+            synchronized (this) {
+                staged = fetch();
+                expectedSize = size;
+                expectedChecksum = checksum;
+            }
+
+            if (staged == null) {
+                return passClient.downloadFile(passFileId);
+            }
+
+            if (Files.size(staged) != expectedSize) {
+                throw new IOException("Staged copy of PASS file " + passFileId + " is " + Files.size(staged) +
+                    " bytes, expected " + expectedSize);
+            }
+
+            reads.incrementAndGet();
+
+            return new VerifyingInputStream(Files.newInputStream(staged), passFileId, expectedSize,
+                expectedChecksum);
+        }
+
+        private synchronized long contentLength() throws IOException {
+            return fetch() != null ? size : -1;
+        }
+
+        private synchronized void delete() {
+            deleted = true;
+
+            if (path != null) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    LOG.warn("Unable to delete staged copy {} of PASS file {}: {}", path, passFileId,
+                        e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read-only view of a staged file.
+     */
+    private class StagedResource extends AbstractResource {
+
+        private final StagedFile file;
+
+        private final String filename;
+
+        private StagedResource(StagedFile file, String filename) {
+            this.file = file;
+            this.filename = filename;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return file.open();
+        }
+
+        @Override
+        public boolean isFile() {
+            return file.isStaged();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            File staged = file.getFile();
+
+            if (staged == null) {
+                throw new FileNotFoundException(getDescription() + " is not staged");
+            }
+
+            return staged;
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            long size = file.contentLength();
+
+            return size != -1 ? size : super.contentLength();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Staged PASS file ID: " + file.passFileId;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+    }
+
+    /**
+     * Compares the size and checksum of a staged copy, as it is read to its end, with those recorded by its download.
+     */
+    private static class VerifyingInputStream extends FilterInputStream {
+
+        private final String passFileId;
+
+        private final long expectedSize;
+
+        private final byte[] expectedChecksum;
+
+        private final MessageDigest digest = MultiDigest.newInstance(PackageOptions.Checksum.OPTS.SHA256);
+
+        private long count;
+
+        private boolean verified;
+
+        private VerifyingInputStream(InputStream in, String passFileId, long expectedSize, byte[] expectedChecksum) {
+            super(in);
+            this.passFileId = passFileId;
+            this.expectedSize = expectedSize;
+            this.expectedChecksum = expectedChecksum;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+
+            if (b == -1) {
+                verify();
+            } else {
+                digest.update((byte) b);
+                count++;
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+
+            if (n == -1) {
+                verify();
+            } else {
+                digest.update(b, off, n);
+                count += n;
+            }
+
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes cannot be verified
+            verified = true;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void verify() throws IOException {
+            if (verified) {
+                return;
+            }
+
+            verified = true;
+
+            if (count != expectedSize || !Arrays.equals(digest.digest(), expectedChecksum)) {
+                throw new IOException("Staged copy of PASS file " + passFileId + " does not match the " + ALGORITHM +
+                    " checksum of its download");
+            }
+        }
+    }
+}
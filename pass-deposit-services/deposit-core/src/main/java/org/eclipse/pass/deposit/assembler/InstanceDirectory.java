@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A directory owned by a single instance, created in a parent directory which may be shared by other instances on the
+ * same host, such as {@code java.io.tmpdir}.
+ * <p>
+ * The owner holds a lock on a file next to the directory for as long as it is open. Before its directory is created,
+ * the directories of earlier instances whose lock is free, because their process exited without closing them, are
+ * removed. Directories of instances which are still running are never touched.
+ * </p>
+ */
+final class InstanceDirectory implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstanceDirectory.class);
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    private final Path path;
+
+    private final Path lockPath;
+
+    private final FileChannel lockChannel;
+
+    private InstanceDirectory(Path path, Path lockPath, FileChannel lockChannel) {
+        this.path = path;
+        this.lockPath = lockPath;
+        this.lockChannel = lockChannel;
+    }
+
+    /**
+     * Creates a new directory owned by this instance, removing stale directories of earlier instances.
+     *
+     * @param parent directory to create the directory in, created if it does not exist
+     * @param prefix prefix of the names of the directories of all instances
+     * @return the directory
+     * @throws IOException if the directory cannot be created
+     */
+    static InstanceDirectory create(Path parent, String prefix) throws IOException {
+        Files.createDirectories(parent);
+        removeStale(parent, prefix);
+
+        // The lock is taken before the directory exists so that it is never seen unlocked by another instance
+        Path lockPath = Files.createTempFile(parent, prefix, LOCK_SUFFIX);
+        FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.WRITE);
+
+        try {
+            lockChannel.lock();
+            String name = lockPath.getFileName().toString();
+            Path path = Files.createDirectory(parent.resolve(name.substring(0, name.length() - LOCK_SUFFIX.length())));
+
+            return new InstanceDirectory(path, lockPath, lockChannel);
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            Files.deleteIfExists(lockPath);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the directory
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Removes the directory and its files and releases the lock.
+     */
+    @Override
+    public void close() {
+        try {
+            deleteTree(path);
+            Files.deleteIfExists(lockPath);
+        } catch (IOException e) {
+            LOG.warn("Unable to remove directory {}: {}", path, e.getMessage(), e);
+        } finally {
+            try {
+                lockChannel.close();
+            } catch (IOException e) {
+                LOG.debug("Unable to release lock {}: {}", lockPath, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private static void removeStale(Path parent, String prefix) throws IOException {
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(parent,
+                path -> path.getFileName().toString().startsWith(prefix) && Files.isDirectory(path))) {
+            for (Path directory : directories) {
+                Path lockPath = directory.resolveSibling(directory.getFileName() + LOCK_SUFFIX);
+
+                try (FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.WRITE)) {
+                    FileLock lock = tryLock(channel);
+
+                    if (lock != null) {
+                        LOG.info("Removing directory {} left by an earlier instance", directory);
+                        deleteTree(directory);
+                        Files.deleteIfExists(lockPath);
+                    }
+                } catch (NoSuchFileException e) {
+                    // The owner is removing it while closing, or stopped half way through
+                    removeQuietly(directory);
+                } catch (IOException e) {
+                    LOG.warn("Unable to remove directory {} left by an earlier instance: {}", directory,
+                        e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void removeQuietly(Path directory) {
+        try {
+            deleteTree(directory);
+        } catch (IOException e) {
+            LOG.debug("Unable to remove directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Locked by an instance in this process
+            return null;
+        }
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
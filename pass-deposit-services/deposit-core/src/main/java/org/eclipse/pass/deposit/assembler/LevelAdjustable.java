@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+/**
+ * A compressing stream whose deflate level may be changed between the entries of a package, used by the {@link
+ * CompressionPolicy#isAdaptive() adaptive} compression policy.
+ */
+interface LevelAdjustable {
+
+    /**
+     * Compress bytes written after this call at the supplied level.  Bytes already written may still be compressed
+     * at the previous level.
+     *
+     * @param level the deflate level, 0 to 9 or {@link java.util.zip.Deflater#DEFAULT_COMPRESSION}
+     */
+    void setLevel(int level);
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tika.detect.DefaultDetector;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MimeTypes;
+import org.springframework.core.io.Resource;
+
+/**
+ * Resolves the media type of a resource written to a package.
+ * <p>
+ * Sniffing the bytes of a resource with Tika requires a stream which supports {@code mark(int)}, and constructing a
+ * {@link DefaultDetector} scans the classpath for detector services. Instead, each {@link Strategy} is consulted in
+ * order using only what is known about the resource, and the first media type answered is used. Only when no
+ * strategy knows the media type are the bytes of the resource {@link #detect(InputStream) sniffed}, by a detector
+ * shared by all packages.
+ * </p>
+ * <p>
+ * The {@link #getDefault() default} resolver uses the media type PASS recorded for a {@link DepositFileResource},
+ * then the media type registered with Tika for the extension of the resource's filename.
+ * {@code application/octet-stream} is never answered by a strategy, since it says nothing about the content.
+ * </p>
+ */
+public class MediaTypeResolver {
+
+    /**
+     * Maximum number of distinct file extensions cached by {@link #FILE_EXTENSION}
+     */
+    private static final int MAX_EXTENSIONS = 1024;
+
+    private static final Map<String, MediaType> EXTENSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Answers the media type PASS recorded for a {@link DepositFileResource}.
+     */
+    public static final Strategy DEPOSIT_FILE = resource -> {
+        if (!(resource instanceof DepositFileResource)) {
+            return null;
+        }
+
+        String mimeType = ((DepositFileResource) resource).getDepositFile().getMimeType();
+        return mimeType == null ? null : known(MediaType.parse(mimeType.trim()));
+    };
+
+    /**
+     * Answers the media type Tika registers for the extension of the resource's filename. The filename of a
+     * {@link DepositFileResource} is the name of its {@link DepositFileResource#getDepositFile() DepositFile}.
+     */
+    public static final Strategy FILE_EXTENSION = resource -> {
+        String filename = resource instanceof DepositFileResource
+                          ? ((DepositFileResource) resource).getDepositFile().getName()
+                          : resource.getFilename();
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+
+        if (dot < 0 || dot == filename.length() - 1) {
+            return null;
+        }
+
+        String extension = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        MediaType mediaType = EXTENSIONS.get(extension);
+
+        if (mediaType == null) {
+            mediaType = MimeTypes.getDefaultMimeTypes().getMimeType("file." + extension).getType();
+
+            if (EXTENSIONS.size() < MAX_EXTENSIONS) {
+                EXTENSIONS.put(extension, mediaType);
+            }
+        }
+
+        return known(mediaType);
+    };
+
+    private static final MediaTypeResolver DEFAULT =
+        new MediaTypeResolver(List.of(DEPOSIT_FILE, FILE_EXTENSION), new DefaultDetector());
+
+    private final List<Strategy> strategies;
+
+    private final Detector detector;
+
+    /**
+     * @param strategies consulted in order before the bytes of a resource are sniffed
+     * @param detector   sniffs the bytes of a resource when no strategy knows its media type, must be thread safe
+     */
+    public MediaTypeResolver(List<Strategy> strategies, Detector detector) {
+        this.strategies = List.copyOf(strategies);
+        this.detector = detector;
+    }
+
+    /**
+     * @return a resolver which uses {@link #DEPOSIT_FILE}, then {@link #FILE_EXTENSION}, then a shared Tika
+     *         {@link DefaultDetector}
+     */
+    public static MediaTypeResolver getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Consult each strategy in turn.
+     *
+     * @param resource the resource
+     * @return the media type, or {@code null} if the bytes of the resource must be {@link #detect(InputStream)
+     *         sniffed}
+     */
+    public MediaType resolve(Resource resource) {
+        for (Strategy strategy : strategies) {
+            MediaType mediaType = strategy.resolve(resource);
+
+            if (mediaType != null) {
+                return mediaType;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Sniff the media type of a stream. The stream is reset to its position on entry.
+     *
+     * @param in the stream, which must support {@code mark(int)} for the bytes to be sniffed
+     * @return the media type
+     * @throws IOException if the stream cannot be read
+     * @see AssemblerSupport#detectMediaType(InputStream, Detector)
+     */
+    public MediaType detect(InputStream in) throws IOException {
+        return AssemblerSupport.detectMediaType(in, detector);
+    }
+
+    private static MediaType known(MediaType mediaType) {
+        return mediaType == null || MediaType.OCTET_STREAM.equals(mediaType) ? null : mediaType;
+    }
+
+    /**
+     * Determines the media type of a resource without reading it.
+     */
+    @FunctionalInterface
+    public interface Strategy {
+
+        /**
+         * @param resource the resource
+         * @return the media type, or {@code null} if this strategy does not know it
+         */
+        MediaType resolve(Resource resource);
+    }
+}
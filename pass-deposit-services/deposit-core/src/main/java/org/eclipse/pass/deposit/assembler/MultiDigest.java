@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static java.util.Base64.getEncoder;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.eclipse.pass.deposit.assembler.PackageOptions.Checksum;
+
+/**
+ * Computes the checksums of several algorithms over the same bytes in a single pass.
+ * <p>
+ * Each buffer supplied to {@link #update(byte[], int, int)} is digested by every algorithm while it is still in the
+ * CPU cache, rather than the bytes being observed once per algorithm. {@code MessageDigest} instances are borrowed
+ * from a shared pool and returned when the checksums are {@link #finish() finished} or the digest is
+ * {@link #close() closed}, so packaging many files does not look up a new instance for every file and algorithm.
+ * </p>
+ * <p>
+ * Instances are not thread safe. The pool is shared by all threads.
+ * </p>
+ */
+public class MultiDigest implements AutoCloseable {
+
+    /**
+     * Maximum number of idle {@code MessageDigest} instances pooled for each algorithm
+     */
+    private static final int MAX_IDLE = 64;
+
+    private static final Map<Checksum.OPTS, ArrayBlockingQueue<MessageDigest>> POOL =
+        new EnumMap<>(Checksum.OPTS.class);
+
+    static {
+        for (Checksum.OPTS algo : Checksum.OPTS.values()) {
+            POOL.put(algo, new ArrayBlockingQueue<>(MAX_IDLE));
+        }
+    }
+
+    private final Checksum.OPTS[] algorithms;
+
+    private final MessageDigest[] digests;
+
+    private boolean done;
+
+    /**
+     * @param algorithms the checksum algorithms to compute, duplicates are ignored
+     * @throws IllegalArgumentException if an algorithm is not supported by the JVM
+     */
+    public MultiDigest(Collection<Checksum.OPTS> algorithms) {
+        this.algorithms = new LinkedHashSet<>(algorithms).toArray(new Checksum.OPTS[0]);
+        this.digests = new MessageDigest[this.algorithms.length];
+
+        for (int i = 0; i < this.algorithms.length; i++) {
+            MessageDigest md = POOL.get(this.algorithms[i]).poll();
+            digests[i] = md != null ? md : newInstance(this.algorithms[i]);
+        }
+    }
+
+    /**
+     * Answers a new {@code MessageDigest} for the supplied algorithm.
+     *
+     * @param algorithm the checksum algorithm
+     * @return the {@code MessageDigest}
+     * @throws IllegalArgumentException if the algorithm is not supported by the JVM
+     */
+    public static MessageDigest newInstance(Checksum.OPTS algorithm) {
+        try {
+            switch (algorithm) {
+                case SHA256:
+                    return MessageDigest.getInstance("SHA-256");
+                case SHA512:
+                    return MessageDigest.getInstance("SHA-512");
+                case MD5:
+                    return MessageDigest.getInstance("MD5");
+                default:
+                    throw new IllegalArgumentException("Unknown algorithm: " + algorithm.name());
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(
+                "Unable to obtain MessageDigest instance for algorithm: " + algorithm.name(), e);
+        }
+    }
+
+    /**
+     * Computes the checksums of a byte array.
+     *
+     * @param algorithms the checksum algorithms to compute
+     * @param bytes      the bytes to digest
+     * @return a checksum for each algorithm, in the order supplied
+     */
+    public static List<PackageStream.Checksum> digest(Collection<Checksum.OPTS> algorithms, byte[] bytes) {
+        try (MultiDigest digest = new MultiDigest(algorithms)) {
+            digest.update(bytes, 0, bytes.length);
+            return digest.finish();
+        }
+    }
+
+    /**
+     * @return true if no algorithms are computed
+     */
+    public boolean isEmpty() {
+        return algorithms.length == 0;
+    }
+
+    /**
+     * @param b a byte to digest
+     */
+    public void update(byte b) {
+        checkNotDone();
+
+        for (MessageDigest md : digests) {
+            md.update(b);
+        }
+    }
+
+    /**
+     * @param buf the bytes to digest
+     * @param off offset of the first byte in {@code buf}
+     * @param len number of bytes to digest
+     */
+    public void update(byte[] buf, int off, int len) {
+        checkNotDone();
+
+        for (MessageDigest md : digests) {
+            md.update(buf, off, len);
+        }
+    }
+
+    /**
+     * Completes the checksums and returns the {@code MessageDigest} instances to the pool. No further bytes may be
+     * digested.
+     *
+     * @return a checksum for each algorithm, in the order supplied on construction
+     */
+    public List<PackageStream.Checksum> finish() {
+        checkNotDone();
+
+        List<PackageStream.Checksum> checksums = new ArrayList<>(algorithms.length);
+
+        for (int i = 0; i < algorithms.length; i++) {
+            byte[] value = digests[i].digest();
+            checksums.add(new ChecksumImpl(algorithms[i], value, getEncoder().encodeToString(value),
+                encodeHexString(value)));
+        }
+
+        close();
+        return checksums;
+    }
+
+    /**
+     * Returns the {@code MessageDigest} instances to the pool without completing the checksums.
+     */
+    @Override
+    public void close() {
+        if (done) {
+            return;
+        }
+
+        done = true;
+
+        for (int i = 0; i < algorithms.length; i++) {
+            digests[i].reset();
+            POOL.get(algorithms[i]).offer(digests[i]);
+            digests[i] = null;
+        }
+    }
+
+    private void checkNotDone() {
+        if (done) {
+            throw new IllegalStateException("Digest is already finished");
+        }
+    }
+}
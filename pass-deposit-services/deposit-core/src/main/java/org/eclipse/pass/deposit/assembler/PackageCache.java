@@ -0,0 +1,693 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps assembled packages on local disk so that retrying a failed deposit, or depositing the same package to another
+ * repository, re-sends the package instead of assembling it again.
+ * <p>
+ * A package is identified by the submission id and version, the {@link Assembler} and its options, and the custodial
+ * files of the submission. When a package is not cached, the package assembled by the {@code Assembler} is returned
+ * wrapped so that the bytes read by the transport are also written to the cache directory. Only a package which is
+ * read to its end and closed without error is added to the cache. When a package is cached, a stream reading the
+ * cached file is returned and the {@code Assembler} is not invoked; {@link CachedPackageStream#transferTo(
+ * WritableByteChannel)} lets a transport which writes to a file channel copy it without reading it into the heap.
+ * The cached file is opened when the package is answered, so a package evicted before the transport reads it is still
+ * sent in full. If the file cannot be opened, the package is assembled again.
+ * </p>
+ * <p>
+ * Packages expire after the {@link #getTimeToLive() time to live}, and the least recently used packages are evicted
+ * when the cache exceeds {@link #getMaxBytes() max bytes}. A package larger than the cache is not cached. The index of
+ * the cache is held in memory, so each cache keeps its packages in a directory of its own inside the configured
+ * directory, which may be shared with other instances on the same host. Closing the cache removes its directory, and
+ * directories left by instances which exited without closing are removed when a cache is created.
+ * </p>
+ * <p>
+ * Errors writing to the cache never fail a deposit: the package is sent as assembled and is not cached.
+ * </p>
+ */
+public class PackageCache implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PackageCache.class);
+
+    private static final String PREFIX = "pass-package-";
+
+    private static final String DIRECTORY_PREFIX = "pass-package-cache-";
+
+    private final InstanceDirectory instanceDirectory;
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    /**
+     * Cached packages in least recently used order, guarded by this
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param directory  directory the directory of the cache is created in, created if it does not exist
+     * @param maxBytes   maximum number of bytes of cached packages
+     * @param timeToLive how long a package is kept after it is cached
+     * @throws IOException if the directory cannot be created
+     */
+    public PackageCache(Path directory, long maxBytes, Duration timeToLive) throws IOException {
+        this(directory, maxBytes, timeToLive, Clock.systemUTC());
+    }
+
+    PackageCache(Path directory, long maxBytes, Duration timeToLive, Clock clock) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Package cache size must be positive: " + maxBytes);
+        }
+
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Package cache time to live must be positive: " + timeToLive);
+        }
+
+        this.instanceDirectory = InstanceDirectory.create(directory, DIRECTORY_PREFIX);
+        this.directory = instanceDirectory.getPath();
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Answers the package for the supplied submission, from the cache if possible.
+     *
+     * @param assembler         assembles the package if it is not cached
+     * @param submission        the submission
+     * @param submissionVersion the version of the PASS submission, may be {@code null}
+     * @param options           the options supplied to the {@code assembler}
+     * @return the package
+     */
+    public PackageStream assemble(Assembler assembler, DepositSubmission submission, Long submissionVersion,
+                                  Map<String, Object> options) {
+        String key = key(assembler, submission, submissionVersion, options);
+        CachedPackageStream cached = open(key, submission);
+
+        if (cached != null) {
+            hits.incrementAndGet();
+            LOG.debug("Re-sending cached package {} for submission {}", cached.entry.file, submission.getId());
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        return new SpoolingPackageStream(assembler.assemble(submission, options), key);
+    }
+
+    /**
+     * @return directory of this cache the packages are stored in
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return maximum number of bytes of cached packages
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return how long a package is kept after it is cached
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return number of bytes of cached packages
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return number of cached packages
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of packages answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of packages assembled because they were not cached
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Remove every cached package.
+     */
+    public synchronized void clear() {
+        entries.values().forEach(this::delete);
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Remove every cached package and the directory of the cache. Packages are not cached afterward.
+     */
+    @Override
+    public synchronized void close() {
+        clear();
+        instanceDirectory.close();
+    }
+
+    @Override
+    public String toString() {
+        return "PackageCache{directory=" + directory + ", maxBytes=" + maxBytes + ", timeToLive=" + timeToLive +
+               ", bytes=" + getBytes() + ", hits=" + hits + ", misses=" + misses + '}';
+    }
+
+    /**
+     * Opens the cached package while no other thread can evict it. The open file stays readable after it is evicted.
+     *
+     * @return the package, or {@code null} if it is not cached or cannot be opened
+     */
+    private synchronized CachedPackageStream open(String key, DepositSubmission submission) {
+        evict();
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            return new CachedPackageStream(entry, submission, FileChannel.open(entry.file, StandardOpenOption.READ));
+        } catch (IOException e) {
+            LOG.warn("Unable to open cached package {}, assembling it again: {}", entry.file, e.getMessage());
+            entries.remove(key);
+            bytes -= entry.size;
+            delete(entry);
+            return null;
+        }
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+
+        if (previous != null) {
+            bytes -= previous.size;
+            delete(previous);
+        }
+
+        bytes += entry.size;
+        evict();
+    }
+
+    /**
+     * Remove expired packages, then the least recently used packages until the cache fits.
+     */
+    private synchronized void evict() {
+        Instant now = clock.instant();
+        Iterator<Entry> it = entries.values().iterator();
+
+        while (it.hasNext()) {
+            Entry entry = it.next();
+
+            if (bytes > maxBytes || !now.isBefore(entry.expires)) {
+                it.remove();
+                bytes -= entry.size;
+                delete(entry);
+            }
+        }
+    }
+
+    private void delete(Entry entry) {
+        // A package already answered keeps the file open, and its contents, until it is read
+        deleteQuietly(entry.file);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete cached package {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * The key of a package: a digest of everything the bytes of the package depend on.
+     */
+    static String key(Assembler assembler, DepositSubmission submission, Long submissionVersion,
+                      Map<String, Object> options) {
+        StringBuilder key = new StringBuilder()
+            .append(submission.getId()).append('\n')
+            .append(submissionVersion).append('\n')
+            .append(assembler.getClass().getName()).append('\n')
+            .append(new TreeMap<>(options)).append('\n');
+
+        List<DepositFile> files = submission.getFiles();
+
+        if (files != null) {
+            files.forEach(file -> key.append(file.getPassFileId()).append(' ')
+                                     .append(file.getLocation()).append(' ')
+                                     .append(file.getName()).append(' ')
+                                     .append(file.getType()).append('\n'));
+        }
+
+        try {
+            return encodeHexString(MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final Path file;
+        private final long size;
+        private final Instant expires;
+        private final PackageStream.Metadata metadata;
+
+        Entry(Path file, long size, Instant expires, PackageStream.Metadata metadata) {
+            this.file = file;
+            this.size = size;
+            this.expires = expires;
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * A package read from the cache.
+     * <p>
+     * Only the package itself and its metadata are cached: the package {@link #resources() resources} and
+     * {@link #getCustodialContent() custodial content} are unsupported, as they are for {@link
+     * ArchivingPackageStream}.
+     * </p>
+     * <p>
+     * The cached file is opened by {@link PackageCache#assemble(Assembler, DepositSubmission, Long, Map)}, and the
+     * first read of the package uses and closes that channel, so the package can be read even if it was evicted in the
+     * meantime. Later reads open the cached file again.
+     * </p>
+     */
+    public static class CachedPackageStream implements PackageStream {
+        private final Entry entry;
+        private final DepositSubmission submission;
+        private FileChannel channel;
+
+        private CachedPackageStream(Entry entry, DepositSubmission submission, FileChannel channel) {
+            this.entry = entry;
+            this.submission = submission;
+            this.channel = channel;
+        }
+
+        @Override
+        public InputStream open() {
+            try {
+                return Channels.newInputStream(channel());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open cached package " + entry.file, e);
+            }
+        }
+
+        /**
+         * Copy the package to a channel. When the target is a file or socket channel the bytes are copied by the
+         * operating system.
+         *
+         * @param target the channel to write to, which is not closed
+         * @return number of bytes copied
+         * @throws IOException if the package cannot be read or the target cannot be written
+         */
+        public long transferTo(WritableByteChannel target) throws IOException {
+            try (FileChannel in = channel()) {
+                long size = in.size();
+                long position = 0;
+
+                while (position < size) {
+                    position += in.transferTo(position, size - position, target);
+                }
+
+                return position;
+            }
+        }
+
+        /**
+         * Copy the package to a stream. A file stream is copied with {@link #transferTo(WritableByteChannel)}.
+         *
+         * @param out the stream to write to, which is not closed
+         * @return number of bytes copied
+         * @throws IOException if the package cannot be read or the stream cannot be written
+         */
+        @Override
+        public long writeTo(OutputStream out) throws IOException {
+            if (out instanceof FileOutputStream) {
+                return transferTo(((FileOutputStream) out).getChannel());
+            }
+
+            try (InputStream in = open()) {
+                return in.transferTo(out);
+            }
+        }
+
+        /**
+         * Unsupported by this implementation, always throws {@code UnsupportedOperationException}.
+         *
+         * @param packageResource the identifier for a resource within the package
+         * @return {@inheritDoc}
+         */
+        @Override
+        public InputStream open(String packageResource) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Unsupported by this implementation, always throws {@code UnsupportedOperationException}.
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public Iterator<Resource> resources() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Metadata metadata() {
+            return entry.metadata;
+        }
+
+        @Override
+        public DepositSubmission getDepositSubmission() {
+            return submission;
+        }
+
+        /**
+         * Unsupported by this implementation, always throws {@code UnsupportedOperationException}.
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public List<DepositFileResource> getCustodialContent() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * @return the channel opened when the package was answered, or a new channel if it has been used
+         */
+        private synchronized FileChannel channel() throws IOException {
+            FileChannel opened = channel;
+            channel = null;
+
+            return opened != null ? opened : FileChannel.open(entry.file, StandardOpenOption.READ);
+        }
+    }
+
+    /**
+     * An assembled package which is written to the cache as it is read.
+     */
+    private class SpoolingPackageStream implements PackageStream {
+        private final PackageStream source;
+        private final String key;
+
+        SpoolingPackageStream(PackageStream source, String key) {
+            this.source = source;
+            this.key = key;
+        }
+
+        @Override
+        public InputStream open() {
+            InputStream in = source.open();
+            Spool spool = newSpool();
+
+            return spool != null ? new SpoolingInputStream(in, spool) : in;
+        }
+
+        /**
+         * Writes the package assembled by the source to the supplied stream and to the cache.
+         *
+         * @param out the stream to write the package to, which is not closed
+         * @return number of bytes written
+         * @throws IOException if the package cannot be assembled or written
+         */
+        @Override
+        public long writeTo(OutputStream out) throws IOException {
+            Spool spool = newSpool();
+
+            if (spool == null) {
+                return source.writeTo(out);
+            }
+
+            boolean complete = false;
+
+            try {
+                long written = source.writeTo(new FilterOutputStream(out) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        spool.write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        spool.write(b, off, len);
+                    }
+                });
+                complete = true;
+                return written;
+            } finally {
+                spool.finish(complete);
+            }
+        }
+
+        @Override
+        public InputStream open(String packageResource) {
+            return source.open(packageResource);
+        }
+
+        @Override
+        public Iterator<Resource> resources() {
+            return source.resources();
+        }
+
+        @Override
+        public Metadata metadata() {
+            return source.metadata();
+        }
+
+        @Override
+        public DepositSubmission getDepositSubmission() {
+            return source.getDepositSubmission();
+        }
+
+        @Override
+        public List<DepositFileResource> getCustodialContent() {
+            return source.getCustodialContent();
+        }
+
+        /**
+         * @return a new spool file, or {@code null} if one cannot be created
+         */
+        private Spool newSpool() {
+            try {
+                return new Spool(Files.createTempFile(directory, PREFIX, ".tmp"));
+            } catch (IOException e) {
+                LOG.warn("Unable to cache package for submission {}: {}", source.getDepositSubmission().getId(),
+                    e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Copies the bytes read to the spool file, and caches the spool file if the stream is read to its end.
+         */
+        private class SpoolingInputStream extends FilterInputStream {
+            private final Spool spool;
+            private boolean eof;
+
+            SpoolingInputStream(InputStream in, Spool spool) {
+                super(in);
+                this.spool = spool;
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+
+                if (b == -1) {
+                    eof = true;
+                } else {
+                    spool.write(new byte[] {(byte) b}, 0, 1);
+                }
+
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+
+                if (n == -1) {
+                    eof = true;
+                } else {
+                    spool.write(b, off, n);
+                }
+
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                // Skipped bytes are not spooled
+                spool.abandon();
+                return super.skip(n);
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    spool.finish(eof);
+                }
+            }
+        }
+
+        /**
+         * A package being written to the cache, added to the cache only if all of the package is written.
+         */
+        private class Spool {
+            private final Path path;
+            private OutputStream spoolOut;
+            private long size;
+
+            Spool(Path path) throws IOException {
+                this.path = path;
+                this.spoolOut = Files.newOutputStream(path);
+            }
+
+            private void write(byte[] b, int off, int len) {
+                if (spoolOut == null) {
+                    return;
+                }
+
+                if (size + len > maxBytes) {
+                    LOG.debug("Not caching package for submission {}: larger than the cache",
+                        source.getDepositSubmission().getId());
+                    abandon();
+                    return;
+                }
+
+                try {
+                    spoolOut.write(b, off, len);
+                    size += len;
+                } catch (IOException e) {
+                    LOG.warn("Unable to cache package for submission {}: {}", source.getDepositSubmission().getId(),
+                        e.getMessage());
+                    abandon();
+                }
+            }
+
+            private void abandon() {
+                if (spoolOut != null) {
+                    try {
+                        spoolOut.close();
+                    } catch (IOException e) {
+                        // the spool is deleted regardless
+                    }
+
+                    spoolOut = null;
+                }
+
+                deleteQuietly(path);
+            }
+
+            /**
+             * @param complete true if all of the package was written to the spool
+             */
+            private void finish(boolean complete) {
+                if (spoolOut == null) {
+                    return;
+                }
+
+                if (!complete) {
+                    abandon();
+                    return;
+                }
+
+                try {
+                    spoolOut.close();
+                    spoolOut = null;
+
+                    Path file = Files.move(path, path.resolveSibling(PREFIX + key + "-" +
+                                                                     System.nanoTime() + ".pkg"));
+                    put(key, new Entry(file, size, clock.instant().plus(timeToLive), source.metadata()));
+                    LOG.debug("Cached package {} for submission {}", file, source.getDepositSubmission().getId());
+                } catch (IOException e) {
+                    LOG.warn("Unable to cache package for submission {}: {}", source.getDepositSubmission().getId(),
+                        e.getMessage());
+                    abandon();
+                }
+            }
+        }
+    }
+}
@@ -44,6 +44,28 @@ public interface PackageOptions {
          */
         String KEY = "COMPRESSION";
 
+        /**
+         * Number of threads compressing a {@link OPTS#GZIP GZIP} package.  More than one selects block-parallel
+         * compression, which still produces a standard gzip stream.  Defaults to one.
+         */
+        String THREADS_KEY = "compression-threads";
+
+        /**
+         * Size in bytes of the blocks compressed in parallel, see {@link #THREADS_KEY}
+         */
+        String BLOCK_SIZE_KEY = "compression-block-size";
+
+        /**
+         * Deflate level, 0 to 9, of compressed packages and package entries.  Defaults to the {@code Deflater}
+         * default.
+         */
+        String LEVEL_KEY = "compression-level";
+
+        /**
+         * How entries of ZIP and TAR.GZ packages are chosen for compression, see {@link POLICY}
+         */
+        String POLICY_KEY = "compression-policy";
+
         /**
          * Supported compression
          */
@@ -54,6 +76,21 @@ public interface PackageOptions {
             ZIP
         }
 
+        /**
+         * Supported entry compression policies
+         */
+        enum POLICY {
+            /**
+             * Every entry is compressed
+             */
+            ALL,
+
+            /**
+             * Entries which are already compressed are stored, see {@link CompressionPolicy}
+             */
+            ADAPTIVE
+        }
+
     }
 
     /**
@@ -92,7 +129,8 @@ public interface PackageOptions {
          */
         enum OPTS {
             SHA512,
-            SHA256
+            SHA256,
+            MD5
         }
 
     }
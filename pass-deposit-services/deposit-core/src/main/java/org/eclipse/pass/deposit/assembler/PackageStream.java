@@ -15,7 +15,9 @@
  */
 package org.eclipse.pass.deposit.assembler;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -40,6 +42,25 @@ public interface PackageStream {
      */
     InputStream open();
 
+    /**
+     * Writes the package in its entirety to the supplied stream, which is not closed.  The bytes written are the
+     * same as the bytes read from {@link #open()}.  Transports which write the package to a stream should prefer this
+     * method: implementations which create the package as it is streamed write it directly to {@code out} on the
+     * calling thread, rather than handing the bytes to the caller through a pipe.
+     * <p>
+     * This default implementation copies the stream returned by {@link #open()}.
+     * </p>
+     *
+     * @param out the stream the package is written to
+     * @return the number of bytes written
+     * @throws IOException if the package cannot be created or written
+     */
+    default long writeTo(OutputStream out) throws IOException {
+        try (InputStream in = open()) {
+            return in.transferTo(out);
+        }
+    }
+
     /**
      * Opens the named resource, and streams back the bytes of the resource.  Implementations are able to retrieve a
      * resource from within a package (e.g. a file from within a ZIP archive).  To open the package as a whole, use
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip compresses a stream on several threads at once, in the manner of pigz.
+ * <p>
+ * Written bytes are divided into blocks of {@code blockSize} bytes, and up to {@code threads} blocks are deflated at
+ * once by the supplied executor. Each block is deflated with the last 32 KiB of the preceding block as its dictionary,
+ * so matches spanning blocks are still found, and ends with a sync flush so the compressed blocks can simply be
+ * concatenated. The result is a single standard gzip member which any gzip implementation can read, slightly larger
+ * than the output of single-threaded compression. The CRC of the uncompressed bytes is computed by the writing
+ * thread.
+ * </p>
+ * <p>
+ * Compressed blocks are written in order by the writing thread, which waits when {@code threads} blocks are already
+ * being compressed. {@link #flush()} flushes the blocks already compressed; bytes of an incomplete block are not
+ * compressed until the block is complete or the stream is closed.
+ * </p>
+ * <p>
+ * The executor is shared by every stream of the application: streams created without one use the compression
+ * executor of the {@link AssemblyExecutor#getDefault() default AssemblyExecutor}. Threads of an executor created by
+ * {@link #newExecutor(int)} each keep a {@link Deflater}, which is reset for every block rather than allocated.
+ * </p>
+ */
+public class ParallelGzipOutputStream extends OutputStream implements LevelAdjustable {
+
+    /**
+     * Default size of the blocks compressed in parallel
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final OutputStream out;
+
+    private final ExecutorService executor;
+
+    private final int threads;
+
+    private final int blockSize;
+
+    private int level;
+
+    private final ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+
+    private final CRC32 crc = new CRC32();
+
+    private byte[] block;
+
+    private int count;
+
+    private byte[] dictionary;
+
+    private long size;
+
+    private boolean closed;
+
+    /**
+     * Compress at the default level.
+     *
+     * @param out       the stream receiving the gzip stream
+     * @param threads   maximum number of blocks compressed at once
+     * @param blockSize size of the blocks compressed in parallel
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(OutputStream out, int threads, int blockSize) throws IOException {
+        this(out, threads, blockSize, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param out       the stream receiving the gzip stream
+     * @param threads   maximum number of blocks compressed at once
+     * @param blockSize size of the blocks compressed in parallel
+     * @param level     the deflate compression level, 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(OutputStream out, int threads, int blockSize, int level) throws IOException {
+        this(out, threads, blockSize, level, AssemblyExecutor.getDefault().getCompressionExecutor());
+    }
+
+    /**
+     * @param out       the stream receiving the gzip stream
+     * @param threads   maximum number of blocks compressed at once
+     * @param blockSize size of the blocks compressed in parallel
+     * @param level     the deflate compression level, 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param executor  compresses the blocks
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(OutputStream out, int threads, int blockSize, int level, ExecutorService executor)
+            throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Compression threads must be positive: " + threads);
+        }
+
+        if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Compression block size must be at least " + DICTIONARY_SIZE + ": " +
+                blockSize);
+        }
+
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        this.out = out;
+        this.executor = executor;
+        this.threads = threads;
+        this.blockSize = blockSize;
+        this.level = level;
+        this.block = new byte[blockSize];
+
+        out.write(HEADER);
+    }
+
+    /**
+     * Compress blocks submitted after this call at the supplied level.  The block being filled when the level changes
+     * is compressed at the new level.
+     *
+     * @param level the deflate compression level, 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    @Override
+    public void setLevel(int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        this.level = level;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte) b;
+
+        if (count == blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+
+            if (count == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the blocks which have been compressed and flushes the underlying stream.
+     *
+     * @throws IOException if a block could not be compressed or written
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+
+        while (!pending.isEmpty() && pending.peek().isDone()) {
+            writeNext();
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Compresses the remaining bytes, writes the gzip trailer and closes the underlying stream.
+     *
+     * @throws IOException if a block could not be compressed or written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try (out) {
+            submit(true);
+
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+
+            writeIntLe((int) crc.getValue());
+            writeIntLe((int) size);
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+        }
+    }
+
+    private void submit(boolean last) throws IOException {
+        byte[] input = block;
+        int length = count;
+        byte[] dict = dictionary;
+        int blockLevel = level;
+
+        crc.update(input, 0, length);
+        size += length;
+
+        if (!last) {
+            dictionary = Arrays.copyOfRange(input, length - DICTIONARY_SIZE, length);
+            block = new byte[blockSize];
+            count = 0;
+        }
+
+        if (pending.size() >= threads) {
+            writeNext();
+        }
+
+        try {
+            pending.add(executor.submit(() -> deflate(input, length, dict, last, blockLevel)));
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Compression executor is closed", e);
+        }
+    }
+
+    private void writeNext() throws IOException {
+        Block compressed;
+
+        try {
+            compressed = pending.remove().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a compressed block");
+        } catch (ExecutionException e) {
+            throw new IOException("Error compressing a block: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        out.write(compressed.bytes, 0, compressed.length);
+    }
+
+    private static Block deflate(byte[] input, int length, byte[] dict, boolean last, int level) {
+        Deflater deflater = Thread.currentThread() instanceof Compressor
+                            ? ((Compressor) Thread.currentThread()).deflater(level) : new Deflater(level, true);
+
+        try {
+            if (dict != null) {
+                deflater.setDictionary(dict);
+            }
+
+            deflater.setInput(input, 0, length);
+
+            byte[] output = new byte[length + (length >> 3) + 64];
+            int written = 0;
+
+            if (last) {
+                deflater.finish();
+
+                while (!deflater.finished()) {
+                    if (written == output.length) {
+                        output = Arrays.copyOf(output, output.length * 2);
+                    }
+                    written += deflater.deflate(output, written, output.length - written);
+                }
+            } else {
+                // A sync flush which fills the output may have more to write
+                do {
+                    if (written == output.length) {
+                        output = Arrays.copyOf(output, output.length * 2);
+                    }
+                    written += deflater.deflate(output, written, output.length - written, Deflater.SYNC_FLUSH);
+                } while (written == output.length);
+            }
+
+            return new Block(output, written);
+        } finally {
+            if (!(Thread.currentThread() instanceof Compressor)) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Create an executor compressing blocks on at most {@code threads} daemon threads, each of which reuses a single
+     * {@link Deflater}. Blocks wait for a thread in an unbounded queue; each stream has at most {@code threads} of its
+     * own blocks pending at once. Idle threads are released after a minute. The executor must be shut down by its
+     * owner.
+     *
+     * @param threads maximum number of blocks compressed at once across all streams using the executor
+     * @return the executor
+     */
+    static ThreadPoolExecutor newExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Compression threads must be positive: " + threads);
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Compressor(runnable, "package-gzip-" + count.incrementAndGet()));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void writeIntLe(int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static class Block {
+        private final byte[] bytes;
+        private final int length;
+
+        private Block(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A compression thread keeping the deflater of its last block, which is ended when the thread exits.
+     */
+    private static class Compressor extends Thread {
+        private Deflater deflater;
+        private int level;
+
+        private Compressor(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+
+        /**
+         * A deflater is only reused at the same level, as changing the level of a deflater with a dictionary may
+         * discard the dictionary.
+         */
+        private Deflater deflater(int level) {
+            if (deflater != null && this.level == level) {
+                deflater.reset();
+                return deflater;
+            }
+
+            if (deflater != null) {
+                deflater.end();
+            }
+
+            this.deflater = new Deflater(level, true);
+            this.level = level;
+            return deflater;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+        }
+    }
+}
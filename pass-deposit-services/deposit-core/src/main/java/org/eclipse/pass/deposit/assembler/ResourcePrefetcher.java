@@ -0,0 +1,617 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Downloads the custodial files of a package ahead of the archive writer.
+ * <p>
+ * Writing a package reads each custodial file in turn, so every remote file costs a full download latency before the
+ * next one begins. A {@link Session} started for the files of a package downloads up to {@link #getWindow() window}
+ * upcoming remote files at once, spooling each in memory up to the {@link #getMemoryThreshold() memory threshold} and
+ * to a temporary file after that. The writer {@link Session#take(int) takes} the files in order and receives a
+ * resource backed by the spool.
+ * </p>
+ * <p>
+ * Bytes spooled ahead of the writer are limited per package by the {@link #getDepositBudget() deposit budget} and
+ * across packages by the {@link #getGlobalBudget() global budget}. A download which would exceed either waits for the
+ * writer to release bytes. The file the writer is waiting for is exempt from the budgets so the writer always makes
+ * progress.
+ * </p>
+ * <p>
+ * Files which are already local, i.e. {@link Resource#isFile()} is true, are not prefetched. The CRC-32 of each
+ * prefetched file is computed as it is spooled, so a ZIP entry can be stored without reading the spool twice.
+ * </p>
+ * <p>
+ * A session may also be asked to compute the checksums of each file as it is downloaded. Files are then digested in
+ * parallel on the prefetch threads rather than one after another by the writer.
+ * </p>
+ */
+public class ResourcePrefetcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourcePrefetcher.class);
+
+    private static final int CHUNK = 64 * 1024;
+
+    private final ExecutorService executor;
+
+    private final int concurrency;
+
+    private final Budget globalBudget = new Budget(256L << 20);
+
+    private long depositBudget = 64L << 20;
+
+    private int memoryThreshold = 1 << 20;
+
+    private int window = 4;
+
+    /**
+     * @param concurrency maximum number of files downloaded at once across all packages
+     */
+    public ResourcePrefetcher(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Prefetch concurrency must be positive: " + concurrency);
+        }
+
+        AtomicInteger count = new AtomicInteger();
+
+        this.concurrency = concurrency;
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "package-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return maximum number of files downloaded at once across all packages
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return maximum number of bytes spooled ahead of the writers of all packages
+     */
+    public long getGlobalBudget() {
+        return globalBudget.limit;
+    }
+
+    /**
+     * @param globalBudget maximum number of bytes spooled ahead of the writers of all packages
+     */
+    public void setGlobalBudget(long globalBudget) {
+        checkBudget(globalBudget);
+        this.globalBudget.setLimit(globalBudget);
+    }
+
+    /**
+     * @return maximum number of bytes spooled ahead of the writer of one package
+     */
+    public long getDepositBudget() {
+        return depositBudget;
+    }
+
+    /**
+     * @param depositBudget maximum number of bytes spooled ahead of the writer of one package
+     */
+    public void setDepositBudget(long depositBudget) {
+        checkBudget(depositBudget);
+        this.depositBudget = depositBudget;
+    }
+
+    /**
+     * @return number of bytes of a file spooled in memory before it is spooled to a temporary file
+     */
+    public int getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    /**
+     * @param memoryThreshold number of bytes of a file spooled in memory before it is spooled to a temporary file
+     */
+    public void setMemoryThreshold(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    /**
+     * @return maximum number of files of one package downloaded ahead of the writer
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * @param window maximum number of files of one package downloaded ahead of the writer
+     */
+    public void setWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Prefetch window must be positive: " + window);
+        }
+
+        this.window = window;
+    }
+
+    /**
+     * @return number of bytes currently spooled ahead of the writers of all packages
+     */
+    public long getSpooledBytes() {
+        return globalBudget.getUsed();
+    }
+
+    /**
+     * Begin downloading the files of a package.
+     *
+     * @param resources the custodial files of the package, in the order they are written
+     * @return the session, which must be closed when the package is written
+     */
+    public Session start(List<DepositFileResource> resources) {
+        return start(resources, Collections.emptyList());
+    }
+
+    /**
+     * Begin downloading the files of a package, computing the checksums of each file as it is downloaded.
+     *
+     * @param resources  the custodial files of the package, in the order they are written
+     * @param algorithms the checksums to compute, may be empty
+     * @return the session, which must be closed when the package is written
+     */
+    public Session start(List<DepositFileResource> resources, Collection<PackageOptions.Checksum.OPTS> algorithms) {
+        Session session = new Session(resources, algorithms);
+        session.fillWindow();
+        return session;
+    }
+
+    /**
+     * Stop downloading. Files being downloaded are interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static void checkBudget(long budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Prefetch budget must be positive: " + budget);
+        }
+    }
+
+    /**
+     * The prefetched files of one package.
+     */
+    public class Session implements AutoCloseable {
+        private final List<DepositFileResource> resources;
+        private final Collection<PackageOptions.Checksum.OPTS> algorithms;
+        private final List<Spool> spools;
+        private final Budget budget = new Budget(depositBudget);
+        private int next;
+        private boolean closed;
+
+        private Session(List<DepositFileResource> resources, Collection<PackageOptions.Checksum.OPTS> algorithms) {
+            this.resources = resources;
+            this.algorithms = algorithms;
+            this.spools = new ArrayList<>(resources.size());
+
+            for (int i = 0; i < resources.size(); i++) {
+                spools.add(null);
+            }
+        }
+
+        /**
+         * Obtain a file to write, waiting for its download to finish. The file is released by {@link #done(int)}.
+         * If the file was not prefetched, or prefetching it failed, the original resource is returned.
+         *
+         * @param index position of the file in the package
+         * @return the file, backed by its spool if it was prefetched
+         * @throws IOException if interrupted while waiting
+         */
+        public DepositFileResource take(int index) throws IOException {
+            Spool spool;
+
+            synchronized (this) {
+                next = Math.max(next, index + 1);
+                spool = spools.get(index);
+            }
+
+            fillWindow();
+
+            DepositFileResource original = resources.get(index);
+
+            if (spool == null) {
+                return original;
+            }
+
+            spool.promote();
+
+            try {
+                spool.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for " + original.getDescription());
+            } catch (ExecutionException e) {
+                LOG.warn("Prefetching {} failed, reading it directly: {}", original.getDescription(),
+                    e.getCause().getMessage(), e.getCause());
+                spool.release();
+                return original;
+            }
+
+            return new DepositFileResource(original.getDepositFile(), new SpooledResource(original, spool));
+        }
+
+        /**
+         * Answers the checksums computed while a file was prefetched. Only valid between {@link #take(int)} and
+         * {@link #done(int)}.
+         *
+         * @param index position of the file in the package
+         * @return the checksums, or {@code null} if the file was not prefetched or the prefetch failed
+         */
+        public synchronized List<PackageStream.Checksum> checksums(int index) {
+            Spool spool = spools.get(index);
+            return spool != null ? spool.checksums : null;
+        }
+
+        /**
+         * Release the spool of a file once it is written.
+         *
+         * @param index position of the file in the package
+         */
+        public void done(int index) {
+            Spool spool;
+
+            synchronized (this) {
+                spool = spools.set(index, null);
+            }
+
+            if (spool != null) {
+                spool.release();
+            }
+        }
+
+        /**
+         * Stop downloading the files of this package and release their spools.
+         */
+        @Override
+        public void close() {
+            List<Spool> remaining = new ArrayList<>();
+
+            synchronized (this) {
+                closed = true;
+
+                for (int i = 0; i < spools.size(); i++) {
+                    if (spools.get(i) != null) {
+                        remaining.add(spools.set(i, null));
+                    }
+                }
+            }
+
+            remaining.forEach(spool -> {
+                spool.cancel();
+                spool.release();
+            });
+        }
+
+        private synchronized void fillWindow() {
+            int ahead = (int) spools.subList(next, spools.size()).stream().filter(s -> s != null).count();
+
+            for (int i = next; i < resources.size() && ahead < window && !closed; i++) {
+                DepositFileResource resource = resources.get(i);
+
+                if (spools.get(i) == null && !resource.isFile()) {
+                    Spool spool = new Spool(budget, algorithms);
+                    spools.set(i, spool);
+                    spool.future = executor.submit(() -> {
+                        try {
+                            spool.fill(resource);
+                        } finally {
+                            spool.finished();
+                        }
+                        return null;
+                    });
+                    ahead++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bytes of one file, in memory and then in a temporary file.
+     */
+    private class Spool {
+        private final Budget sessionBudget;
+        private final Collection<PackageOptions.Checksum.OPTS> algorithms;
+        private final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileOut;
+        private final CRC32 crc = new CRC32();
+        private long length;
+        private long charged;
+        private volatile boolean promoted;
+        private volatile boolean cancelled;
+        private boolean finished;
+        private boolean released;
+        private volatile List<PackageStream.Checksum> checksums;
+        private Future<?> future;
+
+        Spool(Budget sessionBudget, Collection<PackageOptions.Checksum.OPTS> algorithms) {
+            this.sessionBudget = sessionBudget;
+            this.algorithms = algorithms;
+        }
+
+        void fill(Resource resource) throws IOException, InterruptedException {
+            byte[] buf = new byte[CHUNK];
+
+            try (InputStream in = resource.getInputStream(); MultiDigest digest = new MultiDigest(algorithms)) {
+                for (int n; (n = in.read(buf)) != -1; ) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    charge(n);
+                    write(buf, n);
+                    crc.update(buf, 0, n);
+                    digest.update(buf, 0, n);
+                }
+
+                if (!digest.isEmpty()) {
+                    checksums = digest.finish();
+                }
+            } finally {
+                if (fileOut != null) {
+                    fileOut.close();
+                }
+            }
+        }
+
+        private void charge(int n) throws InterruptedException {
+            if (promoted) {
+                return;
+            }
+
+            if (sessionBudget.acquire(n, this)) {
+                if (globalBudget.acquire(n, this)) {
+                    charged += n;
+                } else {
+                    sessionBudget.release(n);
+                }
+            }
+        }
+
+        private void write(byte[] buf, int n) throws IOException {
+            if (fileOut == null && memory.size() + n > memoryThreshold) {
+                file = Files.createTempFile("pass-deposit-prefetch-", ".tmp");
+                fileOut = Files.newOutputStream(file);
+                memory.writeTo(fileOut);
+                memory.reset();
+            }
+
+            if (fileOut != null) {
+                fileOut.write(buf, 0, n);
+            } else {
+                memory.write(buf, 0, n);
+            }
+
+            length += n;
+        }
+
+        void promote() {
+            promoted = true;
+            sessionBudget.wake();
+            globalBudget.wake();
+        }
+
+        void cancel() {
+            cancelled = true;
+            future.cancel(true);
+        }
+
+        InputStream open() throws IOException {
+            return file != null ? Files.newInputStream(file) : new ByteArrayInputStream(memory.toByteArray());
+        }
+
+        /**
+         * The download is over, successfully or not.
+         */
+        void finished() {
+            synchronized (this) {
+                finished = true;
+
+                if (!released) {
+                    return;
+                }
+            }
+
+            free();
+        }
+
+        /**
+         * The spool is no longer needed. It is freed once its download is over, so a download which is still
+         * running cannot charge the budgets after they are released.
+         */
+        void release() {
+            synchronized (this) {
+                released = true;
+
+                if (!finished) {
+                    return;
+                }
+            }
+
+            free();
+        }
+
+        private void free() {
+            long n = charged;
+            charged = 0;
+
+            sessionBudget.release(n);
+            globalBudget.release(n);
+            memory.reset();
+
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    LOG.warn("Unable to delete prefetch spool {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * A limit on spooled bytes.
+     */
+    private static class Budget {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private long limit;
+        private long used;
+
+        Budget(long limit) {
+            this.limit = limit;
+        }
+
+        void setLimit(long limit) {
+            lock.lock();
+            try {
+                this.limit = limit;
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getUsed() {
+            lock.lock();
+            try {
+                return used;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Wait for n bytes of the budget unless the spool is promoted or cancelled first.
+         *
+         * @return whether the bytes were acquired
+         */
+        boolean acquire(long n, Spool spool) throws InterruptedException {
+            lock.lock();
+            try {
+                // A chunk larger than the whole budget is let through when nothing else is spooled
+                while (used > 0 && used + n > limit) {
+                    if (spool.promoted || spool.cancelled) {
+                        return false;
+                    }
+
+                    released.await();
+                }
+
+                used += n;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long n) {
+            if (n == 0) {
+                return;
+            }
+
+            lock.lock();
+            try {
+                used -= n;
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wake() {
+            lock.lock();
+            try {
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A prefetched file. The spool is only read by the writer once the download is complete.
+     */
+    static class SpooledResource extends AbstractResource {
+        private final Resource original;
+        private final Spool spool;
+
+        SpooledResource(Resource original, Spool spool) {
+            this.original = original;
+            this.spool = spool;
+        }
+
+        @Override
+        public String getDescription() {
+            return original.getDescription();
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public long contentLength() {
+            return spool.length;
+        }
+
+        /**
+         * @return the CRC-32 of the spooled bytes
+         */
+        long getCrc() {
+            return spool.crc.getValue();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return spool.open();
+        }
+    }
+}
@@ -162,6 +162,7 @@ public class DepositSubmissionMapper {
             // TODO - The client model currently only has "manuscript" and "supplement" roles.
             depositFile.setType(getTypeForRole(file.getFileRole()));
             depositFile.setLabel(file.getDescription());
+            depositFile.setMimeType(file.getMimeType());
             depositFiles.add(depositFile);
         }
     }
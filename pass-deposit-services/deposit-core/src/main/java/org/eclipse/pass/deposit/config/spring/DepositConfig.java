@@ -15,28 +15,35 @@
  */
 package org.eclipse.pass.deposit.config.spring;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.pass.deposit.DepositServiceErrorHandler;
 import org.eclipse.pass.deposit.assembler.Assembler;
-import org.eclipse.pass.deposit.assembler.ExceptionHandlingThreadPoolExecutor;
+import org.eclipse.pass.deposit.assembler.AssemblyExecutor;
+import org.eclipse.pass.deposit.assembler.FileStaging;
+import org.eclipse.pass.deposit.assembler.PackageCache;
+import org.eclipse.pass.deposit.assembler.ResourcePrefetcher;
 import org.eclipse.pass.deposit.config.repository.Repositories;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.model.InMemoryMapRegistry;
 import org.eclipse.pass.deposit.model.Packager;
 import org.eclipse.pass.deposit.model.Registry;
 import org.eclipse.pass.deposit.transport.Transport;
+import org.eclipse.pass.support.client.HedgedReads;
+import org.eclipse.pass.support.client.JsonApiPassClient;
 import org.eclipse.pass.support.client.PassClient;
 import org.eclipse.pass.support.client.SubmissionStatusService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -62,9 +69,82 @@ public class DepositConfig {
     @Value("${pass.client.password}")
     private String passClientPassword;
 
+    @Value("${pass.client.hedge.enabled:false}")
+    private boolean passClientHedgeEnabled;
+
+    @Value("${pass.client.hedge.percentile:0.95}")
+    private double passClientHedgePercentile;
+
+    @Value("${pass.client.hedge.min.delay.ms:10}")
+    private long passClientHedgeMinDelayMs;
+
+    @Value("${pass.client.hedge.max.delay.ms:1000}")
+    private long passClientHedgeMaxDelayMs;
+
+    @Value("${pass.client.hedge.budget:0.05}")
+    private double passClientHedgeBudget;
+
+    @Value("${pass.client.hedge.max.threads:32}")
+    private int passClientHedgeMaxThreads;
+
+    @Value("${pass.deposit.assembly.concurrency:4}")
+    private int assemblyConcurrency;
+
+    @Value("${pass.deposit.assembly.queue-capacity:100}")
+    private int assemblyQueueCapacity;
+
+    @Value("${pass.deposit.assembly.shutdown-grace-ms:30000}")
+    private long assemblyShutdownGraceMs;
+
+    @Value("${pass.deposit.assembly.compression-threads:0}")
+    private int assemblyCompressionThreads;
+
+    @Value("${pass.deposit.assembly.prefetch.enabled:true}")
+    private boolean prefetchEnabled;
+
+    @Value("${pass.deposit.assembly.prefetch.concurrency:8}")
+    private int prefetchConcurrency;
+
+    @Value("${pass.deposit.assembly.prefetch.window:4}")
+    private int prefetchWindow;
+
+    @Value("${pass.deposit.assembly.prefetch.deposit-budget-bytes:67108864}")
+    private long prefetchDepositBudget;
+
+    @Value("${pass.deposit.assembly.prefetch.global-budget-bytes:268435456}")
+    private long prefetchGlobalBudget;
+
+    @Value("${pass.deposit.assembly.prefetch.memory-threshold-bytes:1048576}")
+    private int prefetchMemoryThreshold;
+
+    @Value("${pass.deposit.package-cache.directory:${java.io.tmpdir}/pass-deposit-package-cache}")
+    private String packageCacheDirectory;
+
+    @Value("${pass.deposit.package-cache.max-bytes:4294967296}")
+    private long packageCacheMaxBytes;
+
+    @Value("${pass.deposit.package-cache.ttl-ms:86400000}")
+    private long packageCacheTtlMs;
+
+    @Value("${pass.deposit.file-staging.directory:${java.io.tmpdir}/pass-deposit-file-staging}")
+    private String fileStagingDirectory;
+
     @Bean
     public PassClient passClient() {
-        return PassClient.newInstance(passClientUrl, passClientUser, passClientPassword);
+        PassClient passClient = PassClient.newInstance(passClientUrl, passClientUser, passClientPassword);
+
+        if (passClientHedgeEnabled && passClient instanceof JsonApiPassClient jsonApiPassClient) {
+            HedgedReads hedgedReads = new HedgedReads();
+            hedgedReads.setPercentile(passClientHedgePercentile);
+            hedgedReads.setDelayBounds(Duration.ofMillis(passClientHedgeMinDelayMs),
+                Duration.ofMillis(passClientHedgeMaxDelayMs));
+            hedgedReads.setBudget(passClientHedgeBudget);
+            hedgedReads.setMaxThreads(passClientHedgeMaxThreads);
+            jsonApiPassClient.setHedgedReads(hedgedReads);
+            LOG.info("Hedging PASS client gets after the {} percentile of response times", passClientHedgePercentile);
+        }
+
+        return passClient;
     }
 
     @Bean
@@ -172,8 +252,43 @@ public class DepositConfig {
     }
 
     @Bean
-    ExceptionHandlingThreadPoolExecutor executorService() {
-        return new ExceptionHandlingThreadPoolExecutor(1, 2, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(10));
+    AssemblyExecutor assemblyExecutor() {
+        int compressionThreads = assemblyCompressionThreads > 0
+                                 ? assemblyCompressionThreads : Runtime.getRuntime().availableProcessors();
+        AssemblyExecutor assemblyExecutor = new AssemblyExecutor(assemblyConcurrency, assemblyQueueCapacity,
+            compressionThreads);
+        assemblyExecutor.setShutdownGracePeriod(Duration.ofMillis(assemblyShutdownGraceMs));
+        LOG.info("Writing at most {} packages at once, compressing on at most {} threads", assemblyConcurrency,
+            compressionThreads);
+
+        if (prefetchEnabled) {
+            ResourcePrefetcher prefetcher = new ResourcePrefetcher(prefetchConcurrency);
+            prefetcher.setWindow(prefetchWindow);
+            prefetcher.setDepositBudget(prefetchDepositBudget);
+            prefetcher.setGlobalBudget(prefetchGlobalBudget);
+            prefetcher.setMemoryThreshold(prefetchMemoryThreshold);
+            assemblyExecutor.setPrefetcher(prefetcher);
+            LOG.info("Prefetching up to {} custodial files per package, {} at once", prefetchWindow,
+                prefetchConcurrency);
+        }
+        return assemblyExecutor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pass.deposit.package-cache.enabled", havingValue = "true")
+    PackageCache packageCache() throws IOException {
+        PackageCache packageCache = new PackageCache(Path.of(packageCacheDirectory), packageCacheMaxBytes,
+            Duration.ofMillis(packageCacheTtlMs));
+        LOG.info("Caching assembled packages: {}", packageCache);
+        return packageCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pass.deposit.file-staging.enabled", havingValue = "true")
+    FileStaging fileStaging(PassClient passClient) throws IOException {
+        FileStaging fileStaging = new FileStaging(passClient, Path.of(fileStagingDirectory));
+        LOG.info("Staging PASS files shared by the deposits of a submission: {}", fileStaging);
+        return fileStaging;
     }
 
 }
@@ -18,14 +18,17 @@
 
 package org.eclipse.pass.deposit.cri;
 
+import java.time.Duration;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.eclipse.pass.support.client.CallOptions;
 import org.eclipse.pass.support.client.PassClient;
 import org.eclipse.pass.support.client.model.PassEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -46,10 +49,19 @@ public class CriticalPath implements CriticalRepositoryInteraction {
 
     private final PassClient passClient;
 
+    // Time allowed for each request reading or updating the resource, 0 for no limit. The critical interaction
+    // itself is not limited because it may transfer large packages.
+    @Value("${pass.deposit.critical.call-timeout-ms:60000}")
+    private long callTimeoutMs;
+
     public CriticalPath(PassClient passClient) {
         this.passClient = passClient;
     }
 
+    private CallOptions.Scope limitCalls() {
+        return CallOptions.enter(callTimeoutMs > 0 ? new CallOptions(null, Duration.ofMillis(callTimeoutMs)) : null);
+    }
+
     /**
      * Executes in order:
      * <ol>
@@ -152,7 +164,7 @@ public class CriticalPath implements CriticalRepositoryInteraction {
             // 2. Read the resource from the repository
 
             T resource = null;
-            try {
+            try (CallOptions.Scope scope = limitCalls()) {
 
                 resource = passClient.getObject(clazz, id);
             } catch (Exception e) {
@@ -182,7 +194,7 @@ public class CriticalPath implements CriticalRepositoryInteraction {
 
             // 5. Attempt to update the resource, knowing that another process may have modified the state of the
             //    resource in the interim.  Any conflicts are handled by the ConflictHandler
-            try {
+            try (CallOptions.Scope scope = limitCalls()) {
                 // Avoid updating the resource if it has not been changed by the critical Function.
 
                 if (updatesEntity) {
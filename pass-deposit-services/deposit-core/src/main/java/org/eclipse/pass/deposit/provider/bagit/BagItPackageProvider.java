@@ -18,7 +18,6 @@
 package org.eclipse.pass.deposit.provider.bagit;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static org.apache.commons.codec.binary.Hex.encodeHexString;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -29,14 +28,15 @@ import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.pass.deposit.assembler.DepositFileResource;
+import org.eclipse.pass.deposit.assembler.MultiDigest;
 import org.eclipse.pass.deposit.assembler.PackageOptions;
 import org.eclipse.pass.deposit.assembler.PackageProvider;
 import org.eclipse.pass.deposit.assembler.PackageStream;
@@ -256,23 +256,29 @@ public class BagItPackageProvider implements PackageProvider {
 
         List<SupplementalResource> manifests = new ArrayList<>(checksums.size());
 
+        // Digest each tag file once for all algorithms
+        Map<TagFile, List<PackageStream.Checksum>> tagFileChecksums = new LinkedHashMap<>();
+        tagFiles.stream()
+                .map(resource -> (TagFile) resource)
+                .forEach(tagFile -> tagFileChecksums.put(tagFile, MultiDigest.digest(checksums, tagFile.in)));
+
         checksums.forEach(checksumAlgo -> {
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             BagAlgo algo = BagAlgo.valueOf(checksumAlgo.name());
 
-            tagFiles.stream()
-                    .map(resource -> (TagFile) resource)
-                    .forEach(tagFile -> {
-                        MessageDigest md = resolveMessageDigest(checksumAlgo);
-                        String checksum = encodeHexString(md.digest(tagFile.in));
-
-                        try {
-                            writer.writeManifestLine(out, checksum, tagFile.packagePath);
-                        } catch (IOException e) {
-                            throw new RuntimeException("Error writing manifest: " + e.getMessage(), e);
-                        }
+            tagFileChecksums.forEach((tagFile, tagFileChecksum) -> {
+                String checksum = tagFileChecksum.stream()
+                                                 .filter(candidate -> candidate.algorithm() == checksumAlgo)
+                                                 .findAny()
+                                                 .orElseThrow()
+                                                 .asHex();
 
-                    });
+                try {
+                    writer.writeManifestLine(out, checksum, tagFile.packagePath);
+                } catch (IOException e) {
+                    throw new RuntimeException("Error writing manifest: " + e.getMessage(), e);
+                }
+            });
 
             String tagFileManifestName = String.format(TAG_MANIFEST_TMPL, algo.getAlgo());
             manifests.add(new TagFile(tagFileManifestName,
@@ -363,26 +369,11 @@ public class BagItPackageProvider implements PackageProvider {
     }
 
     protected static MessageDigest resolveMessageDigest(PackageOptions.Checksum.OPTS checksumAlgo) {
-
-        MessageDigest md;
-
         try {
-            switch (checksumAlgo) {
-                case SHA256:
-                    md = MessageDigest.getInstance("SHA-256");
-                    break;
-                case SHA512:
-                    md = MessageDigest.getInstance("SHA-512");
-                    break;
-                default:
-                    throw new RuntimeException("No MessageDigest implementation found for " + checksumAlgo.name());
-
-            }
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+            return MultiDigest.newInstance(checksumAlgo);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("No MessageDigest implementation found for " + checksumAlgo.name(), e);
         }
-
-        return md;
     }
 
     /**
@@ -76,7 +76,8 @@ public class NihmsAssembler extends AbstractAssembler {
         buildMetadata(mb, options);
         namePackage(submission, mb);
         NihmsPackageProvider packageProvider = this.packageProviderFactory.newInstance();
-        return new ArchivingPackageStream(submission, custodialResources, mb, rbf, options, packageProvider);
+        return new ArchivingPackageStream(submission, custodialResources, mb, rbf, options, packageProvider,
+            getAssemblyExecutor());
     }
 
     static void namePackage(DepositSubmission submission, MetadataBuilder mb) {
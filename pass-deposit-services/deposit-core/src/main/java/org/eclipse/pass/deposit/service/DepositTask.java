@@ -31,6 +31,7 @@ import java.util.function.Supplier;
 
 import org.eclipse.pass.deposit.DepositServiceRuntimeException;
 import org.eclipse.pass.deposit.TransportConnectionException;
+import org.eclipse.pass.deposit.assembler.PackageCache;
 import org.eclipse.pass.deposit.assembler.PackageStream;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction.CriticalResult;
@@ -335,9 +336,15 @@ public class DepositTask {
 
                 try {
                     packager = dc.packager();
+                    PackageCache packageCache = dc.getPackageCache();
 
-                    packageStream = packager.getAssembler().assemble(
-                        dc.depositSubmission(), packager.getAssemblerOptions());
+                    if (packageCache != null) {
+                        packageStream = packageCache.assemble(packager.getAssembler(), dc.depositSubmission(),
+                            dc.submission().getVersion(), packager.getAssemblerOptions());
+                    } else {
+                        packageStream = packager.getAssembler().assemble(
+                            dc.depositSubmission(), packager.getAssemblerOptions());
+                    }
                     packagerConfig = packager.getConfiguration();
                 } catch (Exception e) {
                     throw new RuntimeException("Error resolving a Packager or Packager configuration for " +
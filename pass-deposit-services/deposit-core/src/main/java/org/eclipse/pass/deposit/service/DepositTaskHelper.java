@@ -22,6 +22,7 @@ import static org.eclipse.deposit.util.loggers.Loggers.WORKERS_LOGGER;
 
 import org.eclipse.pass.deposit.DepositServiceErrorHandler;
 import org.eclipse.pass.deposit.DepositServiceRuntimeException;
+import org.eclipse.pass.deposit.assembler.PackageCache;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.model.DepositSubmission;
 import org.eclipse.pass.deposit.model.Packager;
@@ -61,6 +62,7 @@ public class DepositTaskHelper {
     private final PassClient passClient;
     private final CriticalRepositoryInteraction cri;
     private final DevNullTransport devNullTransport;
+    private PackageCache packageCache;
 
     @Value("${pass.test.skip.deposits}")
     private Boolean skipDeploymentTestDeposits;
@@ -77,6 +79,17 @@ public class DepositTaskHelper {
         this.devNullTransport = devNullTransport;
     }
 
+    /**
+     * Supplies the cache of assembled packages, used when retrying deposits and depositing a package to more than one
+     * repository.  Packages are not cached when not set.
+     *
+     * @param packageCache the package cache
+     */
+    @Autowired(required = false)
+    public void setPackageCache(PackageCache packageCache) {
+        this.packageCache = packageCache;
+    }
+
     /**
      * Composes a {@link DepositUtil.DepositWorkerContext} from the supplied arguments, and submits the context to the {@code
      * TaskExecutor}.  If the executor throws any exceptions, a {@link DepositServiceRuntimeException} will be thrown
@@ -107,6 +120,7 @@ public class DepositTaskHelper {
                 deposit, includedSubmission, depositSubmission, repo, packager, devNullTransport);
             dc.setSkipDeploymentTestDeposits(skipDeploymentTestDeposits);
             dc.setRetryFailedDepositsEnabled(retryFailedDepositsEnabled);
+            dc.setPackageCache(packageCache);
             DepositTask depositTask = new DepositTask(dc, passClient, cri);
 
             WORKERS_LOGGER.debug("Submitting task ({}@{}) for tuple [{}, {}, {}]",
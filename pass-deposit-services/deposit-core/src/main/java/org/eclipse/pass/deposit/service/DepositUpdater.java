@@ -23,6 +23,7 @@ import java.util.List;
 import org.eclipse.pass.support.client.ModelUtil;
 import org.eclipse.pass.support.client.PassClient;
 import org.eclipse.pass.support.client.PassClientSelector;
+import org.eclipse.pass.support.client.PassParallel;
 import org.eclipse.pass.support.client.RSQL;
 import org.eclipse.pass.support.client.model.Deposit;
 import org.eclipse.pass.support.client.model.DepositStatus;
@@ -45,6 +46,9 @@ public class DepositUpdater {
     @Value("${pass.deposit.retry.failed.enabled}")
     private Boolean retryFailedDepositsEnabled;
 
+    @Value("${pass.deposit.retry.failed.concurrency:1}")
+    private int retryFailedDepositsConcurrency;
+
     @Autowired
     public DepositUpdater(PassClient passClient, FailedDepositRetry failedDepositRetry) {
         this.passClient = passClient;
@@ -70,13 +74,12 @@ public class DepositUpdater {
         );
         List<Deposit> failedDeposits = passClient.streamObjects(failedDepositsSelector).toList();
         LOG.warn("Failed Deposit Count for updating: {}", failedDeposits.size());
-        failedDeposits.forEach(deposit -> {
-            try {
-                LOG.info("Retrying FAILED Deposit for {}", deposit.getId());
-                failedDepositRetry.retryFailedDeposit(deposit);
-            } catch (Exception e) {
-                LOG.warn("Failed to retry Failed Deposit {}: {}", deposit.getId(), e.getMessage(), e);
-            }
+        PassParallel.forEach(failedDeposits.stream(), retryFailedDepositsConcurrency, deposit -> {
+            LOG.info("Retrying FAILED Deposit for {}", deposit.getId());
+            failedDepositRetry.retryFailedDeposit(deposit);
+        }).forEach(outcome -> {
+            Throwable e = outcome.getFailure();
+            LOG.warn("Failed to retry Failed Deposit {}: {}", outcome.getItem().getId(), e.getMessage(), e);
         });
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.eclipse.pass.deposit.service;
 
+import org.eclipse.pass.deposit.assembler.PackageCache;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction.CriticalResult;
 import org.eclipse.pass.deposit.model.DepositSubmission;
@@ -150,6 +151,7 @@ public class DepositUtil {
         private DevNullTransport devNullTransport;
         private boolean skipDeploymentTestDeposits;
         private boolean retryFailedDepositsEnabled;
+        private PackageCache packageCache;
 
         /**
          * the {@code Deposit} itself
@@ -254,6 +256,19 @@ public class DepositUtil {
             this.retryFailedDepositsEnabled = retryFailedDepositsEnabled;
         }
 
+        /**
+         * The cache of assembled packages, {@code null} if packages are not cached
+         *
+         * @return the package cache
+         */
+        public PackageCache getPackageCache() {
+            return packageCache;
+        }
+
+        public void setPackageCache(PackageCache packageCache) {
+            this.packageCache = packageCache;
+        }
+
         @Override
         public String toString() {
             return "DepositWorkerContext{" +
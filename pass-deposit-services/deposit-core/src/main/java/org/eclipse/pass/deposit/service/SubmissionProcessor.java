@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.pass.deposit.DepositServiceErrorHandler;
 import org.eclipse.pass.deposit.DepositServiceRuntimeException;
+import org.eclipse.pass.deposit.assembler.FileStaging;
 import org.eclipse.pass.deposit.builder.DepositSubmissionModelBuilder;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction.CriticalResult;
@@ -67,6 +68,7 @@ public class SubmissionProcessor implements Consumer<Submission> {
     private final CriticalRepositoryInteraction critical;
     private final DepositTaskHelper depositTaskHelper;
     private final DepositServiceErrorHandler depositServiceErrorHandler;
+    private FileStaging fileStaging;
 
     @Autowired
     public SubmissionProcessor(PassClient passClient, DepositSubmissionModelBuilder depositSubmissionModelBuilder,
@@ -82,6 +84,17 @@ public class SubmissionProcessor implements Consumer<Submission> {
         this.depositServiceErrorHandler = errorHandler;
     }
 
+    /**
+     * Supplies the staging area used to download the PASS files of a submission once for all of its deposits.  Files
+     * are downloaded by each deposit when not set.
+     *
+     * @param fileStaging the file staging area
+     */
+    @Autowired(required = false)
+    public void setFileStaging(FileStaging fileStaging) {
+        this.fileStaging = fileStaging;
+    }
+
     @Override
     public void accept(Submission submission) {
 
@@ -123,23 +136,28 @@ public class SubmissionProcessor implements Consumer<Submission> {
 
         LOG.info("Processing Submission {}", submission.getId());
 
-        updatedS.getRepositories()
-                .stream()
-                .map(repo -> {
-                    try {
-                        return passClient.getObject(repo);
-                    } catch (IOException e) {
-                        throw new RuntimeException("Failed to retrieve repository: " + repo.getId(), e);
-                    }
-                })
-                .filter(repo -> IntegrationType.WEB_LINK != repo.getIntegrationType())
-                .forEach(repo -> {
-                    try {
-                        submitDeposit(updatedS, depositSubmission, repo);
-                    } catch (Exception e) {
-                        depositServiceErrorHandler.handleError(e);
-                    }
-                });
+        // Deposits to more than one repository share a single download of each PASS file
+        boolean stageFiles = fileStaging != null && updatedS.getRepositories().size() > 1;
+
+        try (FileStaging.Stage stage = stageFiles ? fileStaging.open(depositSubmission) : null) {
+            updatedS.getRepositories()
+                    .stream()
+                    .map(repo -> {
+                        try {
+                            return passClient.getObject(repo);
+                        } catch (IOException e) {
+                            throw new RuntimeException("Failed to retrieve repository: " + repo.getId(), e);
+                        }
+                    })
+                    .filter(repo -> IntegrationType.WEB_LINK != repo.getIntegrationType())
+                    .forEach(repo -> {
+                        try {
+                            submitDeposit(updatedS, depositSubmission, repo);
+                        } catch (Exception e) {
+                            depositServiceErrorHandler.handleError(e);
+                        }
+                    });
+        }
     }
 
     private void submitDeposit(Submission submission, DepositSubmission depositSubmission, Repository repo) {
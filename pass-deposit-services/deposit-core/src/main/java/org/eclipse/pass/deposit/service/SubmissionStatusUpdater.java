@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.pass.support.client.ModelUtil;
 import org.eclipse.pass.support.client.PassClient;
@@ -65,7 +66,8 @@ public class SubmissionStatusUpdater {
     }
 
     /**
-     * Determines the Submissions to be updated, and updates the status of each in turn.
+     * Determines the Submissions to be updated, calculates their statuses in batches, and updates the status of each
+     * in turn.
      * @throws IOException io exception
      */
     public void doUpdate() throws IOException {
@@ -83,11 +85,14 @@ public class SubmissionStatusUpdater {
         List<Submission> submissions = passClient.streamObjects(sel).toList();
         LOG.warn("Submission Count for updating: " + submissions.size());
 
+        // Related objects are selected for many submissions at a time rather than per submission
+        Map<String, SubmissionStatus> statuses = statusService.calculateSubmissionStatuses(submissions);
+
         submissions.forEach(submission -> {
             try {
                 LOG.info("Processing Submission.submissionStatus for {}", submission.getId());
-                SubmissionStatus newStatus = statusService.calculateSubmissionStatus(submission);
-                if (newStatus != submission.getSubmissionStatus()) {
+                SubmissionStatus newStatus = statuses.get(submission.getId());
+                if (newStatus != null && newStatus != submission.getSubmissionStatus()) {
                     LOG.info("Status changed for Submission {} from {} to {}", submission.getId(),
                         submission.getSubmissionStatus(), newStatus);
                     submission.setSubmissionStatus(newStatus);
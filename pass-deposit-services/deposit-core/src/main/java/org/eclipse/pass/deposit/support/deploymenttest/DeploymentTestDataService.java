@@ -17,8 +17,14 @@ package org.eclipse.pass.deposit.support.deploymenttest;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.pass.deposit.support.dspace.DSpaceDepositService;
 import org.eclipse.pass.support.client.ModelUtil;
@@ -33,6 +39,8 @@ import org.eclipse.pass.support.client.model.Grant;
 import org.eclipse.pass.support.client.model.Journal;
 import org.eclipse.pass.support.client.model.PassEntity;
 import org.eclipse.pass.support.client.model.Policy;
+import org.eclipse.pass.support.client.model.Publication;
+import org.eclipse.pass.support.client.model.RepositoryCopy;
 import org.eclipse.pass.support.client.model.Submission;
 import org.eclipse.pass.support.client.model.SubmissionEvent;
 import org.eclipse.pass.support.client.model.User;
@@ -51,6 +59,8 @@ public class DeploymentTestDataService {
     public static final String PASS_E2E_TEST_GRANT = "PASS_E2E_TEST_GRANT";
     public static final String SUBMISSION_ID = "submission.id";
 
+    private static final int SUBMISSION_BATCH_SIZE = 50;
+
     private final PassClient passClient;
     private final DSpaceDepositService dspaceDepositService;
 
@@ -66,6 +76,9 @@ public class DeploymentTestDataService {
     @Value("${pass.test.dspace.repo.key}")
     private String dspaceKey;
 
+    @Value("${pass.test.data.delete.concurrency:4}")
+    private int deleteConcurrency;
+
     @Autowired
     public DeploymentTestDataService(PassClient passClient, DSpaceDepositService dspaceDepositService) {
         this.passClient = passClient;
@@ -93,31 +106,97 @@ public class DeploymentTestDataService {
         ));
         testSubmissionSelector.setInclude("publication");
         List<Submission> testSubmissions = passClient.streamObjects(testSubmissionSelector).toList();
-        testSubmissions.forEach(testSubmission -> {
+        int deleted = 0;
+        for (int i = 0; i < testSubmissions.size(); i += SUBMISSION_BATCH_SIZE) {
+            List<Submission> batch = testSubmissions.subList(i,
+                Math.min(i + SUBMISSION_BATCH_SIZE, testSubmissions.size()));
             try {
-                PassClientSelector<Deposit> testDepositSelector = new PassClientSelector<>(Deposit.class);
-                testDepositSelector.setFilter(RSQL.equals(SUBMISSION_ID, testSubmission.getId()));
-                testDepositSelector.setInclude("repositoryCopy");
-                List<Deposit> testDeposits = passClient.streamObjects(testDepositSelector).toList();
-                testDeposits.forEach(testDeposit -> {
-                    deleteObject(testDeposit);
-                    deleteObject(testDeposit.getRepositoryCopy());
-                });
-                PassClientSelector<File> testFileSelector = new PassClientSelector<>(File.class);
-                testFileSelector.setFilter(RSQL.equals(SUBMISSION_ID, testSubmission.getId()));
-                List<File> testFiles = passClient.streamObjects(testFileSelector).toList();
-                testFiles.forEach(this::deleteFile);
-                PassClientSelector<SubmissionEvent> subEventSelector = new PassClientSelector<>(SubmissionEvent.class);
-                subEventSelector.setFilter(RSQL.equals(SUBMISSION_ID, testSubmission.getId()));
-                List<SubmissionEvent> testSubmissionEvents = passClient.streamObjects(subEventSelector).toList();
-                testSubmissionEvents.forEach(this::deleteObject);
-                deleteObject(testSubmission);
-                deleteObject(testSubmission.getPublication());
+                deleted += deleteTestSubmissionBatch(batch);
             } catch (Exception e) {
-                LOG.error("Error deleting test submission ID=" + testSubmission.getId(), e);
+                LOG.error("Error deleting test submission IDs=" + ids(batch), e);
             }
-        });
-        LOG.warn("Deleted {} Test Submissions", testSubmissions.size());
+        }
+        LOG.warn("Deleted {} of {} Test Submissions", deleted, testSubmissions.size());
+    }
+
+    // Deletes a batch of test submissions along with their deposits, repository copies, files and events and
+    // returns how many submissions were deleted. Each kind of object is deleted concurrently. A submission is kept
+    // if anything related to it could not be deleted so that the next run tries again.
+    private int deleteTestSubmissionBatch(List<Submission> testSubmissions) throws IOException {
+        String[] submissionIds = ids(testSubmissions).toArray(String[]::new);
+        Set<String> failedSubmissionIds = new HashSet<>();
+
+        List<Deposit> testDeposits = selectBySubmission(Deposit.class, submissionIds);
+        deleteRelated(Deposit.class, testDeposits, deposit -> deposit.getSubmission().getId(),
+            failedSubmissionIds);
+
+        Map<String, String> repoCopySubmissionIds = new HashMap<>();
+        testDeposits.stream()
+            .filter(deposit -> !failedSubmissionIds.contains(deposit.getSubmission().getId()))
+            .filter(deposit -> Objects.nonNull(deposit.getRepositoryCopy()))
+            .forEach(deposit -> repoCopySubmissionIds.put(deposit.getRepositoryCopy().getId(),
+                deposit.getSubmission().getId()));
+        List<RepositoryCopy> testRepoCopies = repoCopySubmissionIds.keySet().stream()
+            .map(RepositoryCopy::new).toList();
+        deleteRelated(RepositoryCopy.class, testRepoCopies, repoCopy -> repoCopySubmissionIds.get(repoCopy.getId()),
+            failedSubmissionIds);
+
+        List<File> testFiles = selectBySubmission(File.class, submissionIds);
+        passClient.deleteFiles(testFiles, deleteConcurrency).stream()
+            .filter(outcome -> !outcome.isSuccess())
+            .forEach(outcome -> recordFailure("File", outcome.getItem().getId(),
+                outcome.getItem().getSubmission().getId(), outcome.getFailure(), failedSubmissionIds));
+
+        List<SubmissionEvent> testSubmissionEvents = selectBySubmission(SubmissionEvent.class, submissionIds);
+        deleteRelated(SubmissionEvent.class, testSubmissionEvents, event -> event.getSubmission().getId(),
+            failedSubmissionIds);
+
+        List<Submission> deletableSubmissions = testSubmissions.stream()
+            .filter(testSubmission -> !failedSubmissionIds.contains(testSubmission.getId())).toList();
+        deleteRelated(Submission.class, deletableSubmissions, Submission::getId, failedSubmissionIds);
+
+        Map<String, String> publicationSubmissionIds = new LinkedHashMap<>();
+        deletableSubmissions.stream()
+            .filter(testSubmission -> !failedSubmissionIds.contains(testSubmission.getId()))
+            .filter(testSubmission -> Objects.nonNull(testSubmission.getPublication()))
+            .forEach(testSubmission -> publicationSubmissionIds.putIfAbsent(testSubmission.getPublication().getId(),
+                testSubmission.getId()));
+        List<Publication> testPublications = publicationSubmissionIds.keySet().stream()
+            .map(Publication::new).toList();
+        deleteRelated(Publication.class, testPublications,
+            publication -> publicationSubmissionIds.get(publication.getId()), new HashSet<>());
+
+        return (int) deletableSubmissions.stream()
+            .filter(testSubmission -> !failedSubmissionIds.contains(testSubmission.getId())).count();
+    }
+
+    private <T extends PassEntity> List<T> selectBySubmission(Class<T> type, String[] submissionIds)
+        throws IOException {
+        PassClientSelector<T> selector = new PassClientSelector<>(type);
+        selector.setFilter(RSQL.in(SUBMISSION_ID, submissionIds));
+        return passClient.streamObjects(selector).toList();
+    }
+
+    private <T extends PassEntity> void deleteRelated(Class<T> type, List<T> entities,
+                                                      Function<T, String> submissionId,
+                                                      Set<String> failedSubmissionIds) throws IOException {
+        Map<String, T> entitiesById = new LinkedHashMap<>();
+        entities.forEach(entity -> entitiesById.put(entity.getId(), entity));
+        passClient.deleteObjects(type, entitiesById.keySet(), deleteConcurrency).stream()
+            .filter(outcome -> !outcome.isSuccess())
+            .forEach(outcome -> recordFailure(type.getSimpleName(), outcome.getItem(),
+                submissionId.apply(entitiesById.get(outcome.getItem())), outcome.getFailure(),
+                failedSubmissionIds));
+    }
+
+    private void recordFailure(String type, String id, String submissionId, Throwable failure,
+                               Set<String> failedSubmissionIds) {
+        LOG.error("Error deleting " + type + " ID=" + id + " of test submission ID=" + submissionId, failure);
+        failedSubmissionIds.add(submissionId);
+    }
+
+    private static List<String> ids(List<? extends PassEntity> entities) {
+        return entities.stream().map(PassEntity::getId).toList();
     }
 
     private void deleteDepositsInRepoIfNeeded(Grant testGrant) throws IOException {
@@ -161,24 +240,6 @@ public class DeploymentTestDataService {
         return Objects.equals(repoKey, dspaceKey);
     }
 
-    private void deleteObject(PassEntity entity) {
-        try {
-            if (Objects.nonNull(entity)) {
-                passClient.deleteObject(entity);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private void deleteFile(File file) {
-        try {
-            passClient.deleteFile(file);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private Grant createTestGrantData() throws IOException {
         LOG.warn("Creating Test Grant Data");
         Journal testJournal = new Journal();
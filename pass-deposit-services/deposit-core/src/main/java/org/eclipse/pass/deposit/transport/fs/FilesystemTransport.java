@@ -22,13 +22,10 @@ import static org.eclipse.pass.deposit.transport.fs.FilesystemTransportHints.OVE
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.pass.deposit.assembler.PackageStream;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction.CriticalResult;
@@ -116,8 +113,8 @@ public class FilesystemTransport implements Transport {
             File outputFile = new File(baseDir, filename);
 
             if (!outputFile.exists() || overwrite) {
-                try (InputStream in = packageStream.open(); OutputStream out = new FileOutputStream(outputFile)) {
-                    IOUtils.copy(in, out);
+                try (FileOutputStream out = new FileOutputStream(outputFile)) {
+                    packageStream.writeTo(out);
                 } catch (Exception e) {
                     transportException.set(e);
                 }
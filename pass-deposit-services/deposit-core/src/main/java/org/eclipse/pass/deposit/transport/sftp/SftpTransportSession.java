@@ -24,14 +24,12 @@ import static org.eclipse.pass.deposit.transport.sftp.SftpTransport.SFTP_BASE_DI
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Map;
 import java.util.regex.Pattern;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.config.hosts.HostConfigEntry;
@@ -90,13 +88,11 @@ class SftpTransportSession implements TransportSession {
         throws IOException {
         try (SftpClient sftpClient =
                  DefaultSftpClientFactory.INSTANCE.createSftpClient(clientSession).singleSessionInstance()) {
-            try (InputStream inputStream = packageStream.open()) {
-                String baseDir = getBaseDir();
-                createBaseDirIfNeeded(baseDir, sftpClient);
-                try (OutputStream outputStream = sftpClient.write(baseDir + File.separator + fileName)) {
-                    IOUtils.copy(inputStream, outputStream);
-                    return new SftpTransportResponse(true);
-                }
+            String baseDir = getBaseDir();
+            createBaseDirIfNeeded(baseDir, sftpClient);
+            try (OutputStream outputStream = sftpClient.write(baseDir + File.separator + fileName)) {
+                packageStream.writeTo(outputStream);
+                return new SftpTransportResponse(true);
             }
         }
     }
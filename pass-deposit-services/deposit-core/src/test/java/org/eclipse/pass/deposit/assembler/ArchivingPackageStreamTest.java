@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+class ArchivingPackageStreamTest {
+
+    private static final Map<String, Object> OPTIONS = Map.of(PackageOptions.Archive.KEY,
+        PackageOptions.Archive.OPTS.TAR);
+
+    private final RecordingPackageProvider packageProvider = new RecordingPackageProvider();
+
+    @Test
+    void testWriteToWritesPackageOnCallingThread() throws IOException {
+        ArchivingPackageStream packageStream = packageStream(List.of(resource("a.pdf", 100_000),
+            resource("b.pdf", 50_000)));
+
+        TrackingOutputStream out = new TrackingOutputStream();
+        long written = packageStream.writeTo(out);
+
+        assertSame(Thread.currentThread(), packageProvider.thread);
+        assertFalse(out.closed);
+        assertEquals(out.size(), written);
+
+        byte[] pulled;
+        try (InputStream in = packageStream.open()) {
+            pulled = in.readAllBytes();
+        }
+
+        Map<String, byte[]> pushedEntries = entries(out.toByteArray());
+        Map<String, byte[]> pulledEntries = entries(pulled);
+        assertEquals(List.of("a.pdf", "b.pdf"), List.copyOf(pushedEntries.keySet()));
+        assertEquals(pulledEntries.keySet(), pushedEntries.keySet());
+        pushedEntries.forEach((name, content) -> assertArrayEquals(pulledEntries.get(name), content));
+    }
+
+    @Test
+    void testWriteToReportsDestinationErrors() {
+        ArchivingPackageStream packageStream = packageStream(List.of(resource("a.pdf", 100_000)));
+
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Expected");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Expected");
+            }
+        };
+
+        IOException e = assertThrows(IOException.class, () -> packageStream.writeTo(out));
+        assertEquals("Expected", e.getMessage());
+        assertNull(packageProvider.finished);
+    }
+
+    private ArchivingPackageStream packageStream(List<DepositFileResource> custodialContent) {
+        return new ArchivingPackageStream(new DepositSubmission(), custodialContent, new MetadataBuilderImpl(),
+            new DefaultResourceBuilderFactory(), OPTIONS, packageProvider);
+    }
+
+    private static DepositFileResource resource(String name, int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+
+        DepositFile file = new DepositFile();
+        file.setName(name);
+        file.setLocation(name);
+        return new DepositFileResource(file, new ByteArrayResource(bytes, name) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        });
+    }
+
+    private static Map<String, byte[]> entries(byte[] tar) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TarArchiveInputStream in = new TarArchiveInputStream(new ByteArrayInputStream(tar))) {
+            for (TarArchiveEntry entry; (entry = in.getNextEntry()) != null; ) {
+                entries.put(entry.getName(), in.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static class TrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class RecordingPackageProvider implements PackageProvider {
+        private Thread thread;
+        private List<PackageStream.Resource> finished;
+
+        @Override
+        public void start(DepositSubmission submission, List<DepositFileResource> custodialResources,
+                          Map<String, Object> packageOptions) {
+            thread = Thread.currentThread();
+            finished = null;
+        }
+
+        @Override
+        public String packagePath(DepositFileResource custodialResource) {
+            return custodialResource.getDepositFile().getName();
+        }
+
+        @Override
+        public List<SupplementalResource> finish(DepositSubmission submission,
+                                                 List<PackageStream.Resource> packageResources) {
+            finished = packageResources;
+            return List.of();
+        }
+    }
+}
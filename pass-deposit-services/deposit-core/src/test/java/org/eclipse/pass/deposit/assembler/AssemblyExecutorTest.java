@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class AssemblyExecutorTest {
+
+    @Test
+    void testConcurrencyAndQueueLimits() throws InterruptedException {
+        AssemblyExecutor executor = new AssemblyExecutor(2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger finished = new AtomicInteger();
+
+        Runnable task = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.incrementAndGet();
+        };
+
+        try {
+            executor.execute(task);
+            executor.execute(task);
+            executor.execute(task);
+
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertEquals(2, executor.getActiveCount());
+            assertEquals(1, executor.getQueuedCount());
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(task));
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            release.countDown();
+            executor.close();
+        }
+
+        assertEquals(3, finished.get());
+        assertEquals(3, executor.getCompletedCount());
+    }
+
+    @Test
+    void testWritesOnTheCallingThreadShareTheLimit() throws Exception {
+        AssemblyExecutor executor = new AssemblyExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch called = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        Thread caller = new Thread(() -> {
+            try {
+                executor.callOnCallingThread(() -> {
+                    called.countDown();
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        caller.start();
+
+        try {
+            // The caller waits for the package being written by the executor
+            assertFalse(called.await(200, TimeUnit.MILLISECONDS));
+            assertEquals(1, executor.getActiveCount());
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(called.await(10, TimeUnit.SECONDS));
+        caller.join(10_000);
+        assertEquals(0, executor.getActiveCount());
+
+        executor.close();
+        assertThrows(RejectedExecutionException.class, () -> executor.callOnCallingThread(() -> null));
+    }
+
+    @Test
+    void testCloseInterruptsAfterGracePeriod() throws InterruptedException {
+        AssemblyExecutor executor = new AssemblyExecutor(1, 1);
+        executor.setShutdownGracePeriod(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.close();
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AssemblyExecutor(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AssemblyExecutor(1, 0));
+    }
+}
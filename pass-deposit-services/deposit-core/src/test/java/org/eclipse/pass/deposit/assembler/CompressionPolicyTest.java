@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.tika.mime.MediaType;
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class CompressionPolicyTest {
+
+    private static final CompressionPolicy ADAPTIVE = new CompressionPolicy(PackageOptions.Compression.POLICY.ADAPTIVE,
+        6);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testMediaTypesAreClassified() {
+        assertEquals(Boolean.FALSE, CompressionPolicy.classify(MediaType.application("pdf")));
+        assertEquals(Boolean.FALSE, CompressionPolicy.classify(MediaType.image("jpeg")));
+        assertEquals(Boolean.FALSE, CompressionPolicy.classify(MediaType.parse(
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document")));
+        assertEquals(Boolean.TRUE, CompressionPolicy.classify(MediaType.parse("text/plain; charset=UTF-8")));
+        assertEquals(Boolean.TRUE, CompressionPolicy.classify(MediaType.parse("application/jats+xml")));
+        assertNull(CompressionPolicy.classify(MediaType.OCTET_STREAM));
+
+        assertFalse(ADAPTIVE.needsSample(MediaType.application("pdf")));
+        assertTrue(ADAPTIVE.needsSample(MediaType.OCTET_STREAM));
+        assertFalse(CompressionPolicy.of(Map.of()).needsSample(MediaType.OCTET_STREAM));
+    }
+
+    @Test
+    void testUnknownContentIsSampled() throws IOException {
+        assertTrue(CompressionPolicy.entropy(random(4096), 4096) > CompressionPolicy.ENTROPY_THRESHOLD);
+        assertTrue(CompressionPolicy.entropy(text(4096), 4096) < CompressionPolicy.ENTROPY_THRESHOLD);
+
+        InputStream random = new BufferedInputStream(new ByteArrayInputStream(random(10_000)));
+        assertEquals(Deflater.NO_COMPRESSION, ADAPTIVE.level(MediaType.OCTET_STREAM, random));
+        assertEquals(10_000, random.readAllBytes().length);
+
+        assertEquals(6, ADAPTIVE.level(MediaType.OCTET_STREAM, new ByteArrayInputStream(text(10_000))));
+        assertEquals(6, ADAPTIVE.level(MediaType.OCTET_STREAM, new ByteArrayInputStream(random(100))));
+        assertEquals(Deflater.NO_COMPRESSION, ADAPTIVE.level(MediaType.application("pdf"), null));
+    }
+
+    @Test
+    void testPolicyIsReadFromOptions() {
+        CompressionPolicy policy = CompressionPolicy.of(Map.of(PackageOptions.Compression.POLICY_KEY, "adaptive",
+            PackageOptions.Compression.LEVEL_KEY, "1"));
+        assertTrue(policy.isAdaptive());
+        assertEquals(1, policy.getLevel());
+
+        CompressionPolicy defaults = CompressionPolicy.of(Map.of());
+        assertFalse(defaults.isAdaptive());
+        assertEquals(Deflater.DEFAULT_COMPRESSION, defaults.getLevel());
+    }
+
+    @Test
+    void testZipEntriesAreStoredOrDeflated() throws IOException {
+        Path data = dir.resolve("data.bin");
+        Files.write(data, random(100_000));
+        byte[] text = text(100_000);
+
+        Map<String, Object> options = new HashMap<>();
+        options.put(PackageOptions.Archive.KEY, PackageOptions.Archive.OPTS.ZIP);
+        options.put(PackageOptions.Compression.POLICY_KEY, PackageOptions.Compression.POLICY.ADAPTIVE);
+
+        List<DepositFileResource> files = List.of(
+            resource("data.bin", new FileSystemResource(data.toFile())),
+            resource("article.txt", new BytesResource("article.txt", text)),
+            resource("article.pdf", new BytesResource("article.pdf", random(100_000))));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        ArchiveOutputStream<ArchiveEntry> archiveOut = new DefaultArchiveOutputStreamFactory(options)
+            .newInstance(options, zip);
+        new DefaultStreamWriterImpl(new DepositSubmission(), files, new DefaultResourceBuilderFactory(), options,
+            new FlatPackageProvider()).start(files, archiveOut);
+
+        Map<String, ZipArchiveEntry> entries = new HashMap<>();
+        try (ZipArchiveInputStream in = new ZipArchiveInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipArchiveEntry entry; (entry = in.getNextEntry()) != null; ) {
+                byte[] content = in.readAllBytes();
+                entries.put(entry.getName(), entry);
+
+                if (entry.getName().equals("data.bin")) {
+                    assertArrayEquals(Files.readAllBytes(data), content);
+                } else if (entry.getName().equals("article.txt")) {
+                    assertArrayEquals(text, content);
+                }
+            }
+        }
+
+        assertEquals(ZipEntry.STORED, entries.get("data.bin").getMethod());
+        assertEquals(ZipEntry.DEFLATED, entries.get("article.txt").getMethod());
+        assertTrue(entries.get("article.txt").getCompressedSize() < text.length / 2);
+        // Not a local file, so deflated without compression
+        assertEquals(ZipEntry.DEFLATED, entries.get("article.pdf").getMethod());
+        assertTrue(entries.get("article.pdf").getCompressedSize() > 100_000);
+    }
+
+    @Test
+    void testPrefetchedZipEntriesAreStored() throws IOException {
+        byte[] data = random(100_000);
+
+        Map<String, Object> options = new HashMap<>();
+        options.put(PackageOptions.Archive.KEY, PackageOptions.Archive.OPTS.ZIP);
+        options.put(PackageOptions.Compression.POLICY_KEY, PackageOptions.Compression.POLICY.ADAPTIVE);
+
+        List<DepositFileResource> files = List.of(
+            resource("data.bin", new BytesResource("data.bin", data)),
+            resource("article.pdf", new BytesResource("article.pdf", random(200_000))));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        ArchiveOutputStream<ArchiveEntry> archiveOut = new DefaultArchiveOutputStreamFactory(options)
+            .newInstance(options, zip);
+        DefaultStreamWriterImpl writer = new DefaultStreamWriterImpl(new DepositSubmission(), files,
+            new DefaultResourceBuilderFactory(), options, new FlatPackageProvider());
+
+        try (ResourcePrefetcher prefetcher = new ResourcePrefetcher(2)) {
+            // Spool the second file to a temporary file
+            prefetcher.setMemoryThreshold(150_000);
+            writer.setPrefetcher(prefetcher);
+            writer.start(files, archiveOut);
+        }
+
+        Map<String, ZipArchiveEntry> entries = new HashMap<>();
+        try (ZipArchiveInputStream in = new ZipArchiveInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipArchiveEntry entry; (entry = in.getNextEntry()) != null; ) {
+                byte[] content = in.readAllBytes();
+                entries.put(entry.getName(), entry);
+
+                if (entry.getName().equals("data.bin")) {
+                    assertArrayEquals(data, content);
+                }
+            }
+        }
+
+        assertEquals(ZipEntry.STORED, entries.get("data.bin").getMethod());
+        assertEquals(ZipEntry.STORED, entries.get("article.pdf").getMethod());
+        assertEquals(200_000, entries.get("article.pdf").getSize());
+    }
+
+    @Test
+    void testTarGzLevelIsAdjustedForEachEntry() throws IOException {
+        byte[] text = text(100_000);
+        byte[] random = random(100_000);
+
+        Map<String, Object> options = new HashMap<>();
+        options.put(PackageOptions.Archive.KEY, PackageOptions.Archive.OPTS.TAR);
+        options.put(PackageOptions.Compression.KEY, PackageOptions.Compression.OPTS.GZIP);
+        options.put(PackageOptions.Compression.POLICY_KEY, PackageOptions.Compression.POLICY.ADAPTIVE);
+
+        List<DepositFileResource> files = List.of(
+            resource("article.txt", new BytesResource("article.txt", text)),
+            resource("image.jpg", new BytesResource("image.jpg", random)));
+
+        ByteArrayOutputStream tgz = new ByteArrayOutputStream();
+        ArchiveOutputStream<ArchiveEntry> archiveOut = new DefaultArchiveOutputStreamFactory(options)
+            .newInstance(options, tgz);
+        assertTrue(archiveOut instanceof LevelAdjustable);
+        new DefaultStreamWriterImpl(new DepositSubmission(), files, new DefaultResourceBuilderFactory(), options,
+            new FlatPackageProvider()).start(files, archiveOut);
+
+        try (TarArchiveInputStream in = new TarArchiveInputStream(new GZIPInputStream(
+            new ByteArrayInputStream(tgz.toByteArray())))) {
+            assertEquals("article.txt", in.getNextEntry().getName());
+            assertArrayEquals(text, in.readAllBytes());
+            assertEquals("image.jpg", in.getNextEntry().getName());
+            assertArrayEquals(random, in.readAllBytes());
+        }
+    }
+
+    private static DepositFileResource resource(String name, Resource resource) {
+        DepositFile file = new DepositFile();
+        file.setName(name);
+        file.setLocation(name);
+        return new DepositFileResource(file, resource);
+    }
+
+    private static byte[] random(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] text(int size) {
+        String[] words = {"deposit", "submission", "manuscript", "repository", "package"};
+        Random random = new Random(size);
+        StringBuilder text = new StringBuilder(size + 16);
+
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+
+        return text.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static class BytesResource extends AbstractResource {
+        private final String name;
+        private final byte[] bytes;
+
+        private BytesResource(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public long contentLength() {
+            return bytes.length;
+        }
+
+        @Override
+        public String getFilename() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return name;
+        }
+    }
+
+    private static class FlatPackageProvider implements PackageProvider {
+        @Override
+        public void start(DepositSubmission submission, List<DepositFileResource> custodialResources,
+                          Map<String, Object> packageOptions) {
+            // no-op
+        }
+
+        @Override
+        public String packagePath(DepositFileResource custodialResource) {
+            return custodialResource.getDepositFile().getName();
+        }
+
+        @Override
+        public List<SupplementalResource> finish(DepositSubmission submission,
+                                                 List<PackageStream.Resource> packageResources) {
+            return List.of();
+        }
+    }
+}
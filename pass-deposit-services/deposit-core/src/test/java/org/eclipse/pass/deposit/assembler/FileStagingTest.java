@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.eclipse.pass.support.client.PassClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+
+class FileStagingTest {
+
+    @TempDir
+    Path dir;
+
+    private final PassClient passClient = mock(PassClient.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(passClient.downloadFile(anyString())).thenAnswer(
+            invocation -> content(invocation.getArgument(0, String.class)));
+    }
+
+    @Test
+    void testFileIsDownloadedOnceForAllDeposits() throws IOException {
+        FileStaging staging = new FileStaging(passClient, dir);
+
+        try (FileStaging.Stage stage = staging.open(submission("1", "2"))) {
+            for (int deposit = 0; deposit < 3; deposit++) {
+                Resource resource = staging.getResource("1", "one.pdf");
+                assertEquals("one.pdf", resource.getFilename());
+                assertArrayEquals(content("1").readAllBytes(), read(resource));
+                assertTrue(resource.isFile());
+                assertFalse(resource instanceof WritableResource);
+            }
+
+            assertArrayEquals(content("2").readAllBytes(), read(staging.getResource("2", "two.pdf")));
+        }
+
+        verify(passClient, times(1)).downloadFile("1");
+        verify(passClient, times(1)).downloadFile("2");
+        assertEquals(2, staging.getDownloads());
+        assertEquals(4, staging.getReads());
+    }
+
+    @Test
+    void testFilesAreDeletedWhenStageIsClosed() throws IOException {
+        FileStaging staging = new FileStaging(passClient, dir);
+        FileStaging.Stage first = staging.open(submission("1"));
+        FileStaging.Stage second = staging.open(submission("1"));
+        Resource resource = staging.getResource("1", "one.pdf");
+        read(resource);
+
+        first.close();
+        assertEquals(1, staging.size());
+        assertTrue(resource.getFile().exists());
+
+        second.close();
+        second.close();
+        assertEquals(0, staging.size());
+        assertNull(staging.getResource("1", "one.pdf"));
+        assertFalse(resource.isFile());
+        try (var files = Files.list(staging.getDirectory())) {
+            assertEquals(0, files.count());
+        }
+
+        // A view read after its stage is closed downloads the file
+        assertArrayEquals(content("1").readAllBytes(), read(resource));
+        verify(passClient, times(2)).downloadFile("1");
+    }
+
+    @Test
+    void testModifiedStagedCopyFailsVerification() throws IOException {
+        FileStaging staging = new FileStaging(passClient, dir);
+
+        try (FileStaging.Stage stage = staging.open(submission("1"))) {
+            Resource resource = staging.getResource("1", "one.pdf");
+            read(resource);
+
+            Path copy = resource.getFile().toPath();
+            assertTrue(copy.toFile().setWritable(true));
+            byte[] modified = Files.readAllBytes(copy);
+            modified[0] ^= 1;
+            Files.write(copy, modified);
+
+            IOException e = assertThrows(IOException.class, () -> read(resource));
+            assertTrue(e.getMessage().contains("checksum"));
+
+            Files.write(copy, new byte[] {1});
+            assertThrows(IOException.class, resource::getInputStream);
+        }
+    }
+
+    @Test
+    void testFilesNotInAnOpenStageAreNotStaged() throws IOException {
+        // Left by an instance which exited without closing its staging area
+        Path stale = Files.createDirectory(dir.resolve("pass-file-staging-1"));
+        Files.createFile(dir.resolve("pass-file-staging-1.lock"));
+        Files.createFile(stale.resolve("pass-file-stale"));
+        FileStaging staging = new FileStaging(passClient, dir);
+        FileStaging other = new FileStaging(passClient, dir);
+
+        try (var files = Files.list(dir)) {
+            // The directory and lock of each of the two instances
+            assertEquals(4, files.count());
+        }
+        assertFalse(Files.exists(stale));
+
+        try (FileStaging.Stage stage = staging.open(submission("1"))) {
+            assertNull(staging.getResource("2", "two.pdf"));
+            assertInstanceOf(Resource.class, staging.getResource("1", "one.pdf"));
+        }
+
+        staging.close();
+        other.close();
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static DepositSubmission submission(String... passFileIds) {
+        DepositSubmission submission = new DepositSubmission();
+        submission.setId("submission");
+        submission.setFiles(Arrays.stream(passFileIds).map(id -> {
+            DepositFile file = new DepositFile();
+            file.setPassFileId(id);
+            file.setName("file-" + id);
+            return file;
+        }).toList());
+        return submission;
+    }
+
+    private static InputStream content(String passFileId) {
+        return new ByteArrayInputStream(("content of PASS file " + passFileId).repeat(1000)
+            .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
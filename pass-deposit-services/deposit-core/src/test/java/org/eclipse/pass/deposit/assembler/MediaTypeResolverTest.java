@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.tika.mime.MediaType;
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+class MediaTypeResolverTest {
+
+    private final MediaTypeResolver resolver = MediaTypeResolver.getDefault();
+
+    @Test
+    void testPassMediaTypeIsTrusted() {
+        assertEquals(MediaType.parse("application/vnd.example"),
+            resolver.resolve(depositFile("manuscript.pdf", " application/vnd.example ")));
+    }
+
+    @Test
+    void testExtensionIsUsedWhenPassMediaTypeIsUnknown() {
+        assertEquals(MediaType.application("pdf"),
+            resolver.resolve(depositFile("manuscript.PDF", "application/octet-stream")));
+        assertEquals(MediaType.application("pdf"), resolver.resolve(depositFile("manuscript.pdf", null)));
+        assertEquals(MediaType.TEXT_PLAIN, resolver.resolve(named("bagit.txt")));
+    }
+
+    @Test
+    void testBytesAreSniffedWhenNothingElseIsKnown() throws Exception {
+        assertNull(resolver.resolve(depositFile("manuscript", null)));
+        assertNull(resolver.resolve(named("data.unknown-extension")));
+        assertNull(resolver.resolve(named("trailing.")));
+
+        byte[] pdf = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+        try (InputStream in = new ByteArrayInputStream(pdf)) {
+            assertEquals(MediaType.application("pdf"), resolver.detect(in));
+            assertEquals('%', in.read());
+        }
+    }
+
+    @Test
+    void testDepositFileNameIsUsedForExtension() {
+        assertEquals(MediaType.application("pdf"),
+            resolver.resolve(new DepositFileResource(depositFile("manuscript.pdf", null).getDepositFile(),
+                named("https://pass.example/file/1234"))));
+    }
+
+    private static DepositFileResource depositFile(String name, String mimeType) {
+        DepositFile depositFile = new DepositFile();
+        depositFile.setName(name);
+        depositFile.setMimeType(mimeType);
+        return new DepositFileResource(depositFile, named(name));
+    }
+
+    private static Resource named(String name) {
+        return new AbstractResource() {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.pass.deposit.assembler.PackageOptions.Checksum;
+import org.junit.jupiter.api.Test;
+
+class MultiDigestTest {
+
+    @Test
+    void testComputesEachAlgorithmInOnePass() throws Exception {
+        byte[] content = new byte[200_000];
+        new Random(1).nextBytes(content);
+
+        List<PackageStream.Checksum> checksums;
+
+        try (MultiDigest digest = new MultiDigest(List.of(Checksum.OPTS.SHA512, Checksum.OPTS.SHA256,
+            Checksum.OPTS.MD5, Checksum.OPTS.SHA256))) {
+            digest.update(content[0]);
+
+            for (int off = 1; off < content.length; off += 8192) {
+                digest.update(content, off, Math.min(8192, content.length - off));
+            }
+
+            checksums = digest.finish();
+        }
+
+        assertEquals(3, checksums.size());
+        assertChecksum(Checksum.OPTS.SHA512, "SHA-512", content, checksums.get(0));
+        assertChecksum(Checksum.OPTS.SHA256, "SHA-256", content, checksums.get(1));
+        assertChecksum(Checksum.OPTS.MD5, "MD5", content, checksums.get(2));
+    }
+
+    @Test
+    void testPooledDigestsAreReset() throws Exception {
+        byte[] content = "tag file".getBytes();
+
+        // An abandoned digest returns its partially updated instances to the pool
+        try (MultiDigest digest = new MultiDigest(List.of(Checksum.OPTS.SHA256))) {
+            digest.update(new byte[1000], 0, 1000);
+        }
+
+        List<PackageStream.Checksum> checksums = MultiDigest.digest(List.of(Checksum.OPTS.SHA256), content);
+        assertChecksum(Checksum.OPTS.SHA256, "SHA-256", content, checksums.get(0));
+    }
+
+    @Test
+    void testFinishedDigestRejectsUpdates() {
+        MultiDigest digest = new MultiDigest(List.of(Checksum.OPTS.SHA256));
+        digest.finish();
+
+        assertThrows(IllegalStateException.class, () -> digest.update(new byte[1], 0, 1));
+        assertThrows(IllegalStateException.class, digest::finish);
+        assertTrue(new MultiDigest(List.of()).finish().isEmpty());
+    }
+
+    private static void assertChecksum(Checksum.OPTS algorithm, String jcaName, byte[] content,
+                                       PackageStream.Checksum checksum) throws Exception {
+        byte[] expected = MessageDigest.getInstance(jcaName).digest(content);
+
+        assertEquals(algorithm, checksum.algorithm());
+        assertArrayEquals(expected, checksum.value());
+        assertEquals(Base64.getEncoder().encodeToString(expected), checksum.asBase64());
+    }
+}
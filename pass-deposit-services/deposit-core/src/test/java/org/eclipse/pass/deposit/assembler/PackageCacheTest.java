@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.eclipse.pass.deposit.model.DepositSubmission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PackageCacheTest {
+
+    private static final Map<String, Object> OPTIONS = Map.of(PackageOptions.Spec.KEY, "spec");
+
+    @TempDir
+    Path dir;
+
+    private final TestClock clock = new TestClock();
+
+    private final TestAssembler assembler = new TestAssembler();
+
+    @Test
+    void testRetryIsSentFromCache() throws IOException {
+        PackageCache cache = new PackageCache(dir, 1 << 20, Duration.ofHours(1), clock);
+        DepositSubmission submission = submission("1");
+
+        byte[] first = readAll(cache.assemble(assembler, submission, 1L, OPTIONS));
+        PackageStream retry = cache.assemble(assembler, submission, 1L, OPTIONS);
+
+        assertInstanceOf(PackageCache.CachedPackageStream.class, retry);
+        assertArrayEquals(first, readAll(retry));
+        assertEquals("package-1", retry.metadata().name());
+        assertEquals(1, assembler.assembled.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        Path copy = dir.resolve("copy");
+        try (FileChannel out = FileChannel.open(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertEquals(first.length, ((PackageCache.CachedPackageStream) retry).transferTo(out));
+        }
+        assertArrayEquals(first, Files.readAllBytes(copy));
+
+        // A new version of the submission is a different package
+        assertFalse(cache.assemble(assembler, submission, 2L, OPTIONS) instanceof PackageCache.CachedPackageStream);
+        assertEquals(2, assembler.assembled.get());
+    }
+
+    @Test
+    void testWrittenPackagesAreCached() throws IOException {
+        PackageCache cache = new PackageCache(dir, 1 << 20, Duration.ofHours(1), clock);
+        DepositSubmission submission = submission("1");
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        assertEquals(TestAssembler.SIZE, cache.assemble(assembler, submission, 1L, OPTIONS).writeTo(first));
+        assertEquals(1, cache.size());
+
+        PackageStream retry = cache.assemble(assembler, submission, 1L, OPTIONS);
+        assertInstanceOf(PackageCache.CachedPackageStream.class, retry);
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertEquals(TestAssembler.SIZE, retry.writeTo(second));
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        Path copy = dir.resolve("copy");
+        try (FileOutputStream out = new FileOutputStream(copy.toFile())) {
+            assertEquals(TestAssembler.SIZE, retry.writeTo(out));
+        }
+        assertArrayEquals(first.toByteArray(), Files.readAllBytes(copy));
+        assertEquals(1, assembler.assembled.get());
+
+        // A package that fails part way through is not cached
+        assembler.fail = true;
+        assertThrows(IOException.class, () -> cache.assemble(assembler, submission("2"), 1L, OPTIONS)
+            .writeTo(new ByteArrayOutputStream()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testIncompletePackagesAreNotCached() throws IOException {
+        PackageCache cache = new PackageCache(dir, 1 << 20, Duration.ofHours(1), clock);
+        DepositSubmission submission = submission("1");
+
+        try (InputStream in = cache.assemble(assembler, submission, 1L, OPTIONS).open()) {
+            in.read(new byte[10]);
+        }
+
+        assembler.fail = true;
+        assertThrows(IOException.class, () -> readAll(cache.assemble(assembler, submission, 1L, OPTIONS)));
+
+        assertEquals(0, cache.size());
+        try (var files = Files.list(cache.getDirectory())) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testPackagesAreEvicted() throws IOException {
+        PackageCache cache = new PackageCache(dir, 2 * TestAssembler.SIZE + 1, Duration.ofHours(1), clock);
+
+        readAll(cache.assemble(assembler, submission("1"), 1L, OPTIONS));
+        readAll(cache.assemble(assembler, submission("2"), 1L, OPTIONS));
+        // Use 1 so that 2 is least recently used
+        readAll(cache.assemble(assembler, submission("1"), 1L, OPTIONS));
+        readAll(cache.assemble(assembler, submission("3"), 1L, OPTIONS));
+
+        assertEquals(2, cache.size());
+        assertEquals(2 * TestAssembler.SIZE, cache.getBytes());
+        assertInstanceOf(PackageCache.CachedPackageStream.class,
+            cache.assemble(assembler, submission("1"), 1L, OPTIONS));
+        assertFalse(cache.assemble(assembler, submission("2"), 1L, OPTIONS)
+                        instanceof PackageCache.CachedPackageStream);
+
+        clock.now = clock.now.plus(Duration.ofHours(1));
+        assertFalse(cache.assemble(assembler, submission("1"), 1L, OPTIONS)
+                        instanceof PackageCache.CachedPackageStream);
+        assertEquals(0, cache.getBytes());
+
+        // Larger than the whole cache
+        PackageCache small = new PackageCache(dir.resolve("small"), TestAssembler.SIZE - 1, Duration.ofHours(1),
+            clock);
+        readAll(small.assemble(assembler, submission("1"), 1L, OPTIONS));
+        assertEquals(0, small.size());
+    }
+
+    @Test
+    void testPackagesEvictedBeforeTheyAreReadAreSent() throws IOException {
+        PackageCache cache = new PackageCache(dir, TestAssembler.SIZE + 1, Duration.ofHours(1), clock);
+        byte[] first = readAll(cache.assemble(assembler, submission("1"), 1L, OPTIONS));
+        byte[] second = readAll(cache.assemble(assembler, submission("2"), 1L, OPTIONS));
+        readAll(cache.assemble(assembler, submission("1"), 1L, OPTIONS));
+
+        // Evicted by another deposit, least recently used over max bytes, before the transport reads it
+        PackageStream retry = cache.assemble(assembler, submission("1"), 1L, OPTIONS);
+        assertInstanceOf(PackageCache.CachedPackageStream.class, retry);
+        readAll(cache.assemble(assembler, submission("2"), 1L, OPTIONS));
+        assertEquals(1, cache.size());
+        assertArrayEquals(first, readAll(retry));
+
+        // Evicted when it expires
+        retry = cache.assemble(assembler, submission("2"), 1L, OPTIONS);
+        assertInstanceOf(PackageCache.CachedPackageStream.class, retry);
+        clock.now = clock.now.plus(Duration.ofHours(1));
+        assertFalse(cache.assemble(assembler, submission("2"), 1L, OPTIONS)
+                        instanceof PackageCache.CachedPackageStream);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(TestAssembler.SIZE, retry.writeTo(out));
+        assertArrayEquals(second, out.toByteArray());
+
+        // A cached file which cannot be opened is assembled again
+        readAll(cache.assemble(assembler, submission("3"), 1L, OPTIONS));
+        int assembled = assembler.assembled.get();
+        try (var files = Files.list(cache.getDirectory())) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        PackageStream reassembled = cache.assemble(assembler, submission("3"), 1L, OPTIONS);
+        assertFalse(reassembled instanceof PackageCache.CachedPackageStream);
+        assertEquals(assembled + 1, assembler.assembled.get());
+        assertEquals(TestAssembler.SIZE, readAll(reassembled).length);
+    }
+
+    @Test
+    void testInstancesSharingADirectoryKeepTheirPackages() throws IOException {
+        // Left by an instance which exited without closing its cache
+        Path stale = Files.createDirectory(dir.resolve("pass-package-cache-1"));
+        Files.createFile(dir.resolve("pass-package-cache-1.lock"));
+        Files.write(stale.resolve("pass-package-old"), new byte[] {1});
+
+        PackageCache first = new PackageCache(dir, 1 << 20, Duration.ofHours(1), clock);
+        readAll(first.assemble(assembler, submission("1"), 1L, OPTIONS));
+        assertFalse(Files.exists(stale));
+
+        PackageCache second = new PackageCache(dir, 1 << 20, Duration.ofHours(1), clock);
+        assertNotEquals(first.getDirectory(), second.getDirectory());
+        assertInstanceOf(PackageCache.CachedPackageStream.class,
+            first.assemble(assembler, submission("1"), 1L, OPTIONS));
+
+        first.close();
+        assertFalse(Files.exists(first.getDirectory()));
+        assertTrue(Files.exists(second.getDirectory()));
+        second.close();
+
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testKeyDependsOnAssemblerOptionsAndFiles() {
+        DepositSubmission submission = submission("1");
+        String key = PackageCache.key(assembler, submission, 1L, OPTIONS);
+
+        assertEquals(key, PackageCache.key(assembler, submission("1"), 1L, Map.copyOf(OPTIONS)));
+        assertNotEquals(key, PackageCache.key(assembler, submission, 1L, Map.of()));
+        assertNotEquals(key, PackageCache.key(assembler, submission, null, OPTIONS));
+        assertNotEquals(key, PackageCache.key((s, o) -> null, submission, 1L, OPTIONS));
+
+        DepositFile file = new DepositFile();
+        file.setPassFileId("file-1");
+        submission.getFiles().add(file);
+        assertNotEquals(key, PackageCache.key(assembler, submission, 1L, OPTIONS));
+    }
+
+    private static DepositSubmission submission(String id) {
+        DepositSubmission submission = new DepositSubmission();
+        submission.setId(id);
+        submission.setFiles(new ArrayList<>());
+        return submission;
+    }
+
+    private static byte[] readAll(PackageStream packageStream) throws IOException {
+        try (InputStream in = packageStream.open()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static class TestAssembler implements Assembler {
+        static final int SIZE = 100_000;
+
+        private final AtomicInteger assembled = new AtomicInteger();
+        private boolean fail;
+
+        @Override
+        public PackageStream assemble(DepositSubmission submission, Map<String, Object> options) {
+            assembled.incrementAndGet();
+            byte[] content = new byte[SIZE];
+            new Random(submission.getId().hashCode()).nextBytes(content);
+
+            MetadataBuilder mdb = new MetadataBuilderImpl();
+            mdb.name("package-" + submission.getId());
+
+            return new SimplePackageStream(submission, null, mdb) {
+                @Override
+                public InputStream open() {
+                    return new FilterInputStream(new ByteArrayInputStream(content)) {
+                        private int read;
+
+                        @Override
+                        public int read(byte[] b, int off, int len) throws IOException {
+                            if (fail && read > SIZE / 2) {
+                                throw new IOException("Expected");
+                            }
+
+                            int n = super.read(b, off, len);
+                            read += Math.max(n, 0);
+                            return n;
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
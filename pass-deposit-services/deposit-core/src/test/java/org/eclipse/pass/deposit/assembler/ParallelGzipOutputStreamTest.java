@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ParallelGzipOutputStreamTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    @ParameterizedTest
+    @CsvSource({"1, 0", "1, 1", "4, 65535", "4, 65536", "4, 65537", "1, 300000", "4, 1000000"})
+    void testRoundTrip(int threads, int size) throws IOException {
+        byte[] content = content(size);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, threads, BLOCK_SIZE)) {
+            // Mix single byte and array writes which straddle blocks
+            int off = 0;
+            if (size > 0) {
+                out.write(content[off++]);
+            }
+            while (off < size) {
+                int n = Math.min(size - off, 10007);
+                out.write(content, off, n);
+                off += n;
+                out.flush();
+            }
+        }
+
+        assertArrayEquals(content, gunzip(compressed.toByteArray()));
+    }
+
+    @Test
+    void testSizeIsCloseToSingleThreadedCompression() throws IOException {
+        byte[] content = content(2 << 20);
+
+        ByteArrayOutputStream serial = new ByteArrayOutputStream();
+        try (GzipCompressorOutputStream out = new GzipCompressorOutputStream(serial)) {
+            out.write(content);
+        }
+
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(parallel, 4,
+            ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE)) {
+            out.write(content);
+        }
+
+        assertArrayEquals(content, gunzip(parallel.toByteArray()));
+        assertTrue(parallel.size() < serial.size() * 1.01, parallel.size() + " vs " + serial.size());
+    }
+
+    @Test
+    void testFactoryCompressesTarInParallel() throws IOException {
+        Map<String, Object> options = new HashMap<>();
+        options.put(PackageOptions.Archive.KEY, PackageOptions.Archive.OPTS.TAR);
+        options.put(PackageOptions.Compression.KEY, PackageOptions.Compression.OPTS.GZIP);
+        options.put(PackageOptions.Compression.THREADS_KEY, 4);
+        options.put(PackageOptions.Compression.BLOCK_SIZE_KEY, String.valueOf(BLOCK_SIZE));
+        byte[] content = content(500_000);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ArchiveOutputStream<ArchiveEntry> out = new DefaultArchiveOutputStreamFactory(options)
+            .newInstance(options, compressed)) {
+            TarArchiveEntry entry = new TarArchiveEntry("content.txt");
+            entry.setSize(content.length);
+            out.putArchiveEntry(entry);
+            out.write(content);
+            out.closeArchiveEntry();
+        }
+
+        try (TarArchiveInputStream in = new TarArchiveInputStream(new GZIPInputStream(
+            new ByteArrayInputStream(compressed.toByteArray())))) {
+            assertEquals("content.txt", in.getNextEntry().getName());
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testStreamsShareTheThreadsOfTheirExecutor() throws Exception {
+        ThreadPoolExecutor executor = ParallelGzipOutputStream.newExecutor(2);
+        byte[] content = content(1_000_000);
+
+        try {
+            // Streams asking for more threads than the executor has, and changing level between blocks
+            List<Future<byte[]>> results = new ArrayList<>();
+            ExecutorService writers = Executors.newFixedThreadPool(3);
+            try {
+                for (int i = 0; i < 3; i++) {
+                    results.add(writers.submit(() -> {
+                        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, 4, BLOCK_SIZE,
+                            Deflater.DEFAULT_COMPRESSION, executor)) {
+                            out.write(content, 0, content.length / 2);
+                            out.setLevel(Deflater.BEST_SPEED);
+                            out.write(content, content.length / 2, content.length - content.length / 2);
+                        }
+                        return compressed.toByteArray();
+                    }));
+                }
+
+                for (Future<byte[]> result : results) {
+                    assertArrayEquals(content, gunzip(result.get()));
+                }
+            } finally {
+                writers.shutdown();
+            }
+
+            assertTrue(executor.getLargestPoolSize() <= 2, "Pool size " + executor.getLargestPoolSize());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThrows(IOException.class, () -> {
+            try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream(), 2,
+                BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION, executor)) {
+                out.write(content);
+            }
+        });
+    }
+
+    @Test
+    void testWriteAfterCloseFails() throws IOException {
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream(), 2, BLOCK_SIZE);
+        out.close();
+        out.close();
+
+        assertThrows(IOException.class, () -> out.write(1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ParallelGzipOutputStream(new ByteArrayOutputStream(), 0, BLOCK_SIZE));
+    }
+
+    /**
+     * Compressible content: random words from a small vocabulary
+     */
+    private static byte[] content(int size) {
+        String[] words = {"deposit", "submission", "manuscript", "repository", "package", "pass", "file", "grant"};
+        Random random = new Random(size);
+        StringBuilder text = new StringBuilder(size + 16);
+
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(100)).append(' ');
+        }
+
+        return Arrays.copyOf(text.toString().getBytes(StandardCharsets.US_ASCII), size);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.deposit.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.pass.deposit.model.DepositFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.AbstractResource;
+
+class ResourcePrefetcherTest {
+
+    private final ResourcePrefetcher prefetcher = new ResourcePrefetcher(4);
+
+    @AfterEach
+    void closePrefetcher() {
+        prefetcher.close();
+    }
+
+    @Test
+    void testDownloadsConcurrently() throws IOException {
+        // Each download waits until all three have started
+        CountDownLatch started = new CountDownLatch(3);
+        List<TestResource> sources = List.of(new TestResource(1000, started), new TestResource(2000, started),
+            new TestResource(3000, started));
+
+        List<byte[]> read = new ArrayList<>();
+
+        try (ResourcePrefetcher.Session session = prefetcher.start(depositFiles(sources))) {
+            for (int i = 0; i < sources.size(); i++) {
+                DepositFileResource resource = session.take(i);
+                assertEquals(sources.get(i).content.length, resource.contentLength());
+
+                try (InputStream in = resource.getInputStream()) {
+                    read.add(in.readAllBytes());
+                }
+
+                session.done(i);
+            }
+        }
+
+        for (int i = 0; i < sources.size(); i++) {
+            assertArrayEquals(sources.get(i).content, read.get(i));
+            assertEquals(1, sources.get(i).opens.get());
+        }
+
+        assertEquals(0, prefetcher.getSpooledBytes());
+    }
+
+    @Test
+    void testBudgetsLimitSpooledBytes() throws IOException {
+        prefetcher.setDepositBudget(200_000);
+        prefetcher.setGlobalBudget(300_000);
+        prefetcher.setMemoryThreshold(50_000);
+
+        List<TestResource> sources = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            sources.add(new TestResource(150_000 + i, null));
+        }
+
+        try (ResourcePrefetcher.Session session = prefetcher.start(depositFiles(sources))) {
+            for (int i = 0; i < sources.size(); i++) {
+                // The budget may be exceeded by the chunk which found it empty
+                assertTrue(prefetcher.getSpooledBytes() <= 200_000 + 64 * 1024);
+
+                DepositFileResource resource = session.take(i);
+
+                try (InputStream in = resource.getInputStream()) {
+                    assertArrayEquals(sources.get(i).content, in.readAllBytes());
+                }
+
+                session.done(i);
+            }
+        }
+
+        assertEquals(0, prefetcher.getSpooledBytes());
+    }
+
+    @Test
+    void testLocalAndFailedFilesAreReadDirectly() throws IOException {
+        TestResource local = new TestResource(10, null);
+        local.file = true;
+        TestResource failing = new TestResource(10, null);
+        failing.fail = true;
+
+        List<DepositFileResource> files = depositFiles(List.of(local, failing));
+
+        try (ResourcePrefetcher.Session session = prefetcher.start(files)) {
+            assertSame(files.get(0), session.take(0));
+            assertEquals(0, local.opens.get());
+            assertSame(files.get(1), session.take(1));
+        }
+    }
+
+    @Test
+    void testComputesChecksumsWhileDownloading() throws Exception {
+        TestResource remote = new TestResource(100_000, null);
+        TestResource local = new TestResource(10, null);
+        local.file = true;
+
+        List<PackageOptions.Checksum.OPTS> algorithms =
+            List.of(PackageOptions.Checksum.OPTS.SHA256, PackageOptions.Checksum.OPTS.MD5);
+
+        try (ResourcePrefetcher.Session session = prefetcher.start(depositFiles(List.of(remote, local)),
+            algorithms)) {
+            session.take(0);
+            List<PackageStream.Checksum> checksums = session.checksums(0);
+
+            assertEquals(2, checksums.size());
+            assertEquals(PackageOptions.Checksum.OPTS.SHA256, checksums.get(0).algorithm());
+            assertEquals(hex("SHA-256", remote.content), checksums.get(0).asHex());
+            assertEquals(PackageOptions.Checksum.OPTS.MD5, checksums.get(1).algorithm());
+            assertEquals(hex("MD5", remote.content), checksums.get(1).asHex());
+
+            session.done(0);
+            assertNull(session.checksums(0));
+
+            session.take(1);
+            assertNull(session.checksums(1));
+        }
+    }
+
+    private static String hex(String algorithm, byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+
+    private static List<DepositFileResource> depositFiles(List<TestResource> sources) {
+        List<DepositFileResource> result = new ArrayList<>();
+
+        for (int i = 0; i < sources.size(); i++) {
+            DepositFile depositFile = new DepositFile();
+            depositFile.setName("file-" + i);
+            result.add(new DepositFileResource(depositFile, sources.get(i)));
+        }
+
+        return result;
+    }
+
+    private static class TestResource extends AbstractResource {
+        private final byte[] content;
+        private final CountDownLatch started;
+        private final AtomicInteger opens = new AtomicInteger();
+        private boolean file;
+        private boolean fail;
+
+        TestResource(int size, CountDownLatch started) {
+            this.content = new byte[size];
+            this.started = started;
+            new Random(size).nextBytes(content);
+        }
+
+        @Override
+        public boolean isFile() {
+            return file;
+        }
+
+        @Override
+        public String getDescription() {
+            return "test resource " + content.length;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            opens.incrementAndGet();
+
+            if (fail) {
+                throw new IOException("Expected");
+            }
+
+            if (started != null) {
+                started.countDown();
+
+                try {
+                    if (!started.await(10, TimeUnit.SECONDS)) {
+                        throw new IOException("Downloads were not concurrent");
+                    }
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            return new ByteArrayInputStream(content);
+        }
+    }
+}
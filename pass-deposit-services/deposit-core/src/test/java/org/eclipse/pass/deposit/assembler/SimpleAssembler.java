@@ -56,6 +56,6 @@ public class SimpleAssembler extends AbstractAssembler {
                                                      List<PackageStream.Resource> packageResources) {
                 return Collections.emptyList();
             }
-        });
+        }, getAssemblyExecutor());
     }
 }
@@ -341,6 +341,9 @@ public class BagItPackageVerifier implements PackageVerifier {
                 case SHA512:
                     md = MessageDigest.getInstance("SHA-512");
                     break;
+                case MD5:
+                    md = MessageDigest.getInstance("MD5");
+                    break;
                 default:
                     throw new RuntimeException("No MessageDigest implementation found for " + checksumAlgo.name());
 
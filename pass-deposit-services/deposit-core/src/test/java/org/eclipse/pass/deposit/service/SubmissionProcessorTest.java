@@ -20,24 +20,33 @@ import static org.eclipse.pass.deposit.DepositMessagingTestUtil.randomId;
 import static org.eclipse.pass.deposit.service.SubmissionProcessor.CriFunc.critical;
 import static org.eclipse.pass.deposit.service.SubmissionProcessor.CriFunc.postCondition;
 import static org.eclipse.pass.deposit.service.SubmissionProcessor.getLookupKeys;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -48,6 +57,7 @@ import java.util.function.Predicate;
 
 import org.eclipse.pass.deposit.DepositServiceErrorHandler;
 import org.eclipse.pass.deposit.DepositServiceRuntimeException;
+import org.eclipse.pass.deposit.assembler.FileStaging;
 import org.eclipse.pass.deposit.builder.DepositSubmissionModelBuilder;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction;
 import org.eclipse.pass.deposit.cri.CriticalRepositoryInteraction.CriticalResult;
@@ -64,8 +74,10 @@ import org.eclipse.pass.support.client.model.Repository;
 import org.eclipse.pass.support.client.model.Submission;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
+import org.springframework.core.io.Resource;
 import org.springframework.test.util.ReflectionTestUtils;
 
 /**
@@ -188,6 +200,95 @@ public class SubmissionProcessorTest {
         }
     }
 
+    /**
+     * A Submission going to more than one Repository downloads each of its PASS files once, shared by the deposits to
+     * all of the Repositories, and the staged files are deleted once the deposits are finished.
+     *
+     * @param dir the directory the files are staged in
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void submissionAcceptStagesFilesForAllRepositories(@TempDir Path dir) throws Exception {
+        // GIVEN
+        List<Repository> repositories = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Repository repository = mock(Repository.class);
+            when(repository.getName()).thenReturn("repo-" + i + "-name");
+            repositories.add(repository);
+        }
+
+        Submission submission = new Submission();
+        submission.setId("test-submision-id");
+        submission.setRepositories(repositories);
+        submission.setAggregatedDepositStatus(AggregatedDepositStatus.IN_PROGRESS);
+
+        List<DepositFile> depositFiles = new ArrayList<>();
+        for (String id : List.of("file-1", "file-2")) {
+            DepositFile depositFile = new DepositFile();
+            depositFile.setPassFileId(id);
+            depositFile.setName(id + ".pdf");
+            depositFiles.add(depositFile);
+        }
+        DepositSubmission depositSubmission = new DepositSubmission();
+        depositSubmission.setId(submission.getId());
+        depositSubmission.setFiles(depositFiles);
+
+        CriticalResult<DepositSubmission, Submission> criResult = mock(CriticalResult.class);
+        when(criResult.success()).thenReturn(true);
+        when(criResult.resource()).thenReturn(Optional.of(submission));
+        when(criResult.result()).thenReturn(Optional.of(depositSubmission));
+        when(cri.performCritical(any(), any(), any(), any(BiPredicate.class), any())).thenReturn(criResult);
+
+        for (Repository repo : repositories) {
+            when(passClient.getObject(repo)).thenReturn(repo);
+            when(packagerRegistry.get(repo.getName())).thenReturn(mock(Packager.class));
+        }
+        when(passClient.downloadFile(anyString())).thenAnswer(
+            invocation -> new ByteArrayInputStream(invocation.getArgument(0, String.class).getBytes(UTF_8)));
+
+        FileStaging staging = new FileStaging(passClient, dir);
+        submissionProcessor.setFileStaging(staging);
+
+        // Each DepositTask reads every file of the submission, as the Assembler of its Packager would
+        List<Integer> stagedSizes = new ArrayList<>();
+        try (MockedConstruction<DepositTask> mockDepositTask = mockConstruction(DepositTask.class,
+            (mock, context) -> doAnswer(invocation -> {
+                for (DepositFile depositFile : depositFiles) {
+                    Resource resource = staging.getResource(depositFile.getPassFileId(), depositFile.getName());
+                    try (InputStream in = resource.getInputStream()) {
+                        assertEquals(depositFile.getPassFileId(), new String(in.readAllBytes(), UTF_8));
+                    }
+                }
+                stagedSizes.add(staging.size());
+                return null;
+            }).when(mock).executeDeposit())) {
+
+            // WHEN
+            submissionProcessor.accept(submission);
+
+            // THEN
+            assertEquals(repositories.size(), mockDepositTask.constructed().size());
+        }
+
+        // Each file was downloaded once and read by the deposit to every Repository
+        verify(passClient).downloadFile("file-1");
+        verify(passClient).downloadFile("file-2");
+        assertEquals(2, staging.getDownloads());
+        assertEquals(depositFiles.size() * repositories.size(), staging.getReads());
+        assertEquals(List.of(2, 2, 2), stagedSizes);
+
+        // The stage was closed after the deposits finished
+        assertEquals(0, staging.size());
+        assertNull(staging.getResource("file-1", "file-1.pdf"));
+        try (var files = Files.list(staging.getDirectory())) {
+            assertEquals(0, files.count());
+        }
+        verify(depositServiceErrorHandler, never()).handleError(any());
+
+        staging.close();
+    }
+
     /**
      * Insures that the DepositTaskHelper does not process any [Submission, Deposit, Repository] tuples where the
      * Repository has an IntegrationType of "web-link".
@@ -24,7 +24,9 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.eclipse.pass.support.client.PassClientSelector;
 import org.eclipse.pass.support.client.RSQL;
@@ -77,7 +79,7 @@ public class SubmissionStatusUpdaterIT extends AbstractSubmissionIT {
         submission.setSubmitted(true);
         submission.setSubmittedDate(ZonedDateTime.now());
         passClient.updateObject(submission);
-        when(statusService.calculateSubmissionStatus(any(Submission.class))).thenReturn(SubmissionStatus.COMPLETE);
+        mockCalculatedStatus(SubmissionStatus.COMPLETE);
         Mockito.clearInvocations(passClient);
 
         // WHEN
@@ -99,7 +101,7 @@ public class SubmissionStatusUpdaterIT extends AbstractSubmissionIT {
         submission.setSubmitted(true);
         submission.setSubmittedDate(ZonedDateTime.now());
         passClient.updateObject(submission);
-        when(statusService.calculateSubmissionStatus(any(Submission.class))).thenReturn(SubmissionStatus.SUBMITTED);
+        mockCalculatedStatus(SubmissionStatus.SUBMITTED);
         Mockito.clearInvocations(passClient);
 
         // WHEN
@@ -116,7 +118,7 @@ public class SubmissionStatusUpdaterIT extends AbstractSubmissionIT {
         submission.setSubmitted(true);
         submission.setSubmittedDate(ZonedDateTime.now());
         passClient.updateObject(submission);
-        when(statusService.calculateSubmissionStatus(any(Submission.class))).thenReturn(SubmissionStatus.SUBMITTED);
+        mockCalculatedStatus(SubmissionStatus.SUBMITTED);
         Mockito.clearInvocations(passClient);
 
         // WHEN
@@ -157,4 +159,11 @@ public class SubmissionStatusUpdaterIT extends AbstractSubmissionIT {
         // THEN
         verify(passClient, times(0)).updateObject(any());
     }
+
+    private void mockCalculatedStatus(SubmissionStatus status) {
+        when(statusService.calculateSubmissionStatuses(any())).thenAnswer(invocation -> {
+            Collection<Submission> submissions = invocation.getArgument(0);
+            return submissions.stream().collect(Collectors.toMap(Submission::getId, s -> status));
+        });
+    }
 }
@@ -24,6 +24,7 @@ import static org.eclipse.pass.deposit.transport.sftp.SftpTransport.SFTP_BASE_DI
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -97,6 +98,7 @@ public class SftpTest {
         when(stream.metadata()).thenReturn(streamMetadata);
         when(streamMetadata.name()).thenReturn(testFileName);
         when(stream.open()).thenReturn(content);
+        when(stream.writeTo(any())).thenCallRealMethod();
         RepositoryConnectivityService connectivityService = mock(RepositoryConnectivityService.class);
 
         SftpTransport sftpTransport = new SftpTransport(connectivityService);
@@ -51,6 +51,11 @@ public class DepositFile {
      */
     private String passFileId;
 
+    /**
+     * The media type of the file as recorded by PASS, may be {@code null}
+     */
+    private String mimeType;
+
     /**
      * @return {@link #type}
      */
@@ -121,6 +126,20 @@ public class DepositFile {
         this.location = location;
     }
 
+    /**
+     * @return {@link #mimeType}
+     */
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @param mimeType {@link #mimeType}
+     */
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -160,6 +179,7 @@ public class DepositFile {
                ", name='" + name + '\'' +
                ", label='" + label + '\'' +
                ", location='" + location + '\'' +
+               ", mimeType='" + mimeType + '\'' +
                '}';
     }
 
@@ -33,9 +33,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientQuery;
 import org.eclipse.pass.support.client.PassClientResult;
-import org.eclipse.pass.support.client.PassClientSelector;
-import org.eclipse.pass.support.client.RSQL;
+import org.eclipse.pass.support.client.RSQLTemplate;
 import org.eclipse.pass.support.client.model.AwardStatus;
 import org.eclipse.pass.support.client.model.Funder;
 import org.eclipse.pass.support.client.model.Grant;
@@ -63,6 +63,14 @@ public abstract class AbstractDefaultPassUpdater implements PassUpdater {
     private static final String START_LO = "startLo";
     private static final String END_HI = "endHi";
 
+    private static final PassClientQuery<Funder> FUNDER_BY_LOCAL_KEY_QUERY =
+        new PassClientQuery<>(Funder.class, RSQLTemplate.equals("localKey"), null, "policy");
+    private static final PassClientQuery<User> USER_BY_LOCATOR_ID_QUERY =
+        new PassClientQuery<>(User.class, RSQLTemplate.hasMember("locatorIds"));
+    private static final PassClientQuery<Grant> GRANT_BY_LOCAL_KEY_QUERY =
+        new PassClientQuery<>(Grant.class, RSQLTemplate.equals("localKey"), null,
+            "primaryFunder", "directFunder", "pi", "coPis");
+
     @Getter
     private final PassUpdateStatistics statistics = new PassUpdateStatistics();
 
@@ -577,10 +585,7 @@ public abstract class AbstractDefaultPassUpdater implements PassUpdater {
         String fullLocalKey = GrantDataUtils.buildLocalKey(getDomain(), FUNDER_ID_TYPE, baseLocalKey);
         systemFunder.setLocalKey(fullLocalKey);
 
-        PassClientSelector<Funder> selector = new PassClientSelector<>(Funder.class);
-        selector.setFilter(RSQL.equals("localKey", fullLocalKey));
-        selector.setInclude("policy");
-        PassClientResult<Funder> result = passClient.selectObjects(selector);
+        PassClientResult<Funder> result = passClient.selectObjects(FUNDER_BY_LOCAL_KEY_QUERY.select(fullLocalKey));
 
         if (!result.getObjects().isEmpty()) {
             Funder storedFunder = getSingleObject(result, fullLocalKey);
@@ -635,9 +640,7 @@ public abstract class AbstractDefaultPassUpdater implements PassUpdater {
 
     private User lookupPassUser(String locatorId) {
         try {
-            PassClientSelector<User> selector = new PassClientSelector<>(User.class);
-            selector.setFilter(RSQL.hasMember("locatorIds", locatorId));
-            PassClientResult<User> result = passClient.selectObjects(selector);
+            PassClientResult<User> result = passClient.selectObjects(USER_BY_LOCATOR_ID_QUERY.select(locatorId));
             return result.getObjects().isEmpty() ? null : getSingleObject(result, locatorId);
         } catch (IOException | GrantDataException e) {
             throw new RuntimeException(e);
@@ -657,10 +660,7 @@ public abstract class AbstractDefaultPassUpdater implements PassUpdater {
         systemGrant.setLocalKey(fullLocalKey);
 
         LOG.debug("Looking for grant with localKey {}", fullLocalKey);
-        PassClientSelector<Grant> selector = new PassClientSelector<>(Grant.class);
-        selector.setFilter(RSQL.equals("localKey", fullLocalKey));
-        selector.setInclude("primaryFunder", "directFunder", "pi", "coPis");
-        PassClientResult<Grant> result = passClient.selectObjects(selector);
+        PassClientResult<Grant> result = passClient.selectObjects(GRANT_BY_LOCAL_KEY_QUERY.select(fullLocalKey));
 
         if (!result.getObjects().isEmpty()) {
             LOG.debug("Found grant with localKey {}", fullLocalKey);
@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.pass.support.client.PassClient;
 import org.eclipse.pass.support.client.PassClientSelector;
 import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.sync.PassEntityReplica;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,7 @@ public class BatchJournalFinder implements JournalFinder {
     private final Map<String, Set<String>> nlmtaMap = new HashMap<>();
     private final Map<String, Set<String>> nameMap = new HashMap<>();
     private final Set<String> foundUris = new HashSet<>();
+    private final PassEntityReplica<Journal> replica;
 
     private void load(PassClient client) throws IOException {
         LOG.info("Loading existing journals from PASS");
@@ -52,18 +54,31 @@ public class BatchJournalFinder implements JournalFinder {
 
         PassClientSelector<Journal> sel = new PassClientSelector<>(Journal.class);
         client.streamObjects(sel).forEach(j -> {
-
             count.incrementAndGet();
+            load(j);
+        });
 
-            j.getIssns().forEach(issn -> {
-                update(issnMap, issn, j.getId());
-            });
+        LOG.info("Loaded " + count.get() + " existing journals");
+    }
 
-            update(nlmtaMap, j.getNlmta(), j.getId());
-            update(nameMap, j.getJournalName(), j.getId());
+    private void load(PassEntityReplica<Journal> replica) throws IOException {
+        LOG.info("Loading existing journals from replica");
+
+        replica.sync();
+        replica.forEach(this::load);
+
+        LOG.info("Loaded " + replica.size() + " existing journals");
+    }
+
+    // Only the ISSNs, NLMTA, name and id of each journal are kept and they are rarely shared between journals, so
+    // journals are decoded without a StringPool
+    private void load(Journal j) {
+        j.getIssns().forEach(issn -> {
+            update(issnMap, issn, j.getId());
         });
 
-        LOG.info("Loaded " + count.get() + " existing journals");
+        update(nlmtaMap, j.getNlmta(), j.getId());
+        update(nameMap, j.getJournalName(), j.getId());
     }
 
     private static void update(Map<String, Set<String>> map, String key, String value) {
@@ -82,6 +97,7 @@ public class BatchJournalFinder implements JournalFinder {
      * @throws IOException on error
      */
     public BatchJournalFinder(PassClient client) throws IOException {
+        this.replica = null;
 
         LOG.info("Analyzing journals in PASS");
 
@@ -92,6 +108,25 @@ public class BatchJournalFinder implements JournalFinder {
         LOG.info("Found {} existing NAMES", nameMap.size());
     }
 
+    /**
+     * Analyze the journals in a local replica of PASS, which is synced first, instead of scanning PASS.
+     * Journals stored by the loader are written through to the replica.
+     *
+     * @param replica the local replica of journals in PASS
+     * @throws IOException on error
+     */
+    public BatchJournalFinder(PassEntityReplica<Journal> replica) throws IOException {
+        this.replica = replica;
+
+        LOG.info("Analyzing journals in replica");
+
+        load(replica);
+
+        LOG.info("Found {} existing ISSNs", issnMap.size());
+        LOG.info("Found {} existing NLMTAs", nlmtaMap.size());
+        LOG.info("Found {} existing NAMES", nameMap.size());
+    }
+
     /**
      * @param nlmta the NLMTA supplied in out incoming journal data
      * @param name  the journal name
@@ -236,4 +271,17 @@ public class BatchJournalFinder implements JournalFinder {
 
         foundUris.add(uri);
     }
+
+    @Override
+    public synchronized void stored(Journal j) {
+        if (replica == null) {
+            return;
+        }
+
+        try {
+            replica.put(j);
+        } catch (IOException e) {
+            LOG.warn("Could not store journal " + j.getId() + " in replica", e);
+        }
+    }
 }
@@ -41,4 +41,12 @@ public interface JournalFinder {
      * @param j the Journal to add
      */
     void add(Journal j);
+
+    /**
+     * Called after a journal has been created or updated in the repository.
+     *
+     * @param j the Journal as stored
+     */
+    default void stored(Journal j) {
+    }
 }
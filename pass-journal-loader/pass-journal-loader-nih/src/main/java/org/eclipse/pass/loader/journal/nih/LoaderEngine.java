@@ -96,6 +96,7 @@ public class LoaderEngine implements AutoCloseable {
                 try {
                     client.createObject(j);
                     finder.add(j);
+                    finder.stored(j);
 
                     LOG.info("Loaded journal {} at {}", j.getJournalName(), j.getId());
                     numCreated.incrementAndGet();
@@ -145,6 +146,7 @@ public class LoaderEngine implements AutoCloseable {
                 if (!dryRun) {
                     if (update) {
                         client.updateObject(toUpdate);
+                        finder.stored(toUpdate);
 
                         numUpdated.incrementAndGet();
                         LOG.info("Updated journal {} ID {}", toUpdate.getJournalName(), toUpdate.getId());
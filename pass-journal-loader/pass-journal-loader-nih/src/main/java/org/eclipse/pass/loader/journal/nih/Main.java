@@ -18,11 +18,16 @@ package org.eclipse.pass.loader.journal.nih;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.model.Journal;
+import org.eclipse.pass.support.client.sync.PassEntityReplica;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,9 +55,13 @@ public class Main {
 
         PassClient client = PassClient.newInstance();
 
-        final JournalFinder finder = new BatchJournalFinder(client);
+        final PassEntityReplica<Journal> replica = openReplica(client, System.getProperty("replicaDir", null),
+                System.getProperty("replicaRebuild", null) != null);
 
-        try (final LoaderEngine loader = new LoaderEngine(client, finder)) {
+        final JournalFinder finder = replica == null ? new BatchJournalFinder(client)
+                : new BatchJournalFinder(replica);
+
+        try (replica; final LoaderEngine loader = new LoaderEngine(client, finder)) {
 
             if (System.getProperty("dryRun", null) != null) {
                 loader.setDryRun(true);
@@ -82,4 +91,41 @@ public class Main {
         }
         LOG.info("done!");
     }
+
+    /**
+     * Optionally keep a local replica of the journals in PASS so they are not all fetched on every run.
+     * <p>
+     * A replica set with -DreplicaDir only fetches the journals created in PASS since the previous run. Journals
+     * changed or deleted in PASS by anything other than this loader are not seen until the replica is rebuilt, which
+     * fetches every journal again. Run the loader with -DreplicaRebuild periodically, for example weekly, to do so.
+     * </p>
+     *
+     * @param client the PassClient to use
+     * @param replicaDir directory of the replica, may be null or empty
+     * @param rebuild whether to discard the replica and fetch every journal again
+     * @return the replica or null if there is no replica directory
+     * @throws IOException on error
+     */
+    static PassEntityReplica<Journal> openReplica(PassClient client, String replicaDir, boolean rebuild)
+            throws IOException {
+        if (StringUtils.isEmpty(replicaDir)) {
+            return null;
+        }
+
+        PassEntityReplica<Journal> replica = new PassEntityReplica<>(client, Path.of(replicaDir), Journal.class,
+                Map.of());
+
+        if (rebuild) {
+            LOG.info("Rebuilding replica of journals in {}", replicaDir);
+
+            try {
+                replica.rebuild();
+            } catch (IOException | RuntimeException e) {
+                replica.close();
+                throw e;
+            }
+        }
+
+        return replica;
+    }
 }
@@ -20,25 +20,39 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.eclipse.pass.support.client.PassClient;
+import org.eclipse.pass.support.client.PassClientResult;
+import org.eclipse.pass.support.client.PassClientSelector;
 import org.eclipse.pass.support.client.model.Journal;
 import org.eclipse.pass.support.client.model.PassEntity;
 import org.eclipse.pass.support.client.model.PmcParticipation;
+import org.eclipse.pass.support.client.sync.PassEntityReplica;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 /**
  * @author apb@jhu.edu
  */
 public class BatchJournalFinderTest {
+    private static final Pattern GTE = Pattern.compile("id>='(.*)'");
+
     private PassClient client;
     private BatchJournalFinder toTest;
     private Journal journal1;
@@ -186,6 +200,64 @@ public class BatchJournalFinderTest {
         assertEquals(journal5.getId(), found);
     }
 
+    @Test
+    public void replicaTest(@TempDir Path replicaDir) throws Exception {
+        List<Journal> journals = new ArrayList<>(List.of(journal1, journal2, journal3));
+        when(client.selectObjects(any())).thenAnswer(invocation -> {
+            PassClientSelector<?> selector = invocation.getArgument(0);
+            Matcher matcher = GTE.matcher(selector.getFilter() == null ? "" : selector.getFilter());
+            String start = matcher.matches() ? matcher.group(1) : "";
+
+            return new PassClientResult<>(journals.stream().filter(j -> j.getId().compareTo(start) >= 0)
+                    .skip(selector.getOffset()).limit(selector.getLimit()).collect(Collectors.toList()), -1);
+        });
+
+        assertNull(Main.openReplica(client, null, false));
+        assertNull(Main.openReplica(client, "", true));
+
+        try (PassEntityReplica<Journal> replica = Main.openReplica(client, replicaDir.toString(), false)) {
+            BatchJournalFinder finder = new BatchJournalFinder(replica);
+            assertEquals(journal1.getId(), finder.find(null, null, Arrays.asList("0000-0001", "0000-0002")));
+
+            // Stored journals are written through to the replica
+            finder.stored(journal4);
+            assertEquals(4, replica.size());
+        }
+
+        // Only journals created since the last run are fetched
+        Journal journal6 = new Journal();
+        journal6.setId("test:6");
+        journal6.setJournalName("Journal Six");
+        journal6.setIssns(Arrays.asList("0000-0007", "0000-0008"));
+        journals.add(journal6);
+        clearInvocations(client);
+
+        try (PassEntityReplica<Journal> replica = Main.openReplica(client, replicaDir.toString(), false)) {
+            BatchJournalFinder finder = new BatchJournalFinder(replica);
+            assertEquals(5, replica.size());
+            assertEquals(journal4.getId(), finder.find(journal4.getNlmta(), null, journal4.getIssns()));
+            assertEquals(journal6.getId(), finder.find(null, journal6.getJournalName(), journal6.getIssns()));
+        }
+
+        verify(client, never()).streamObjects(any());
+        verify(client, times(1)).selectObjects(any());
+
+        // A journal deleted from PASS by another process is only dropped when the replica is rebuilt
+        journals.remove(journal1);
+
+        try (PassEntityReplica<Journal> replica = Main.openReplica(client, replicaDir.toString(), false)) {
+            BatchJournalFinder finder = new BatchJournalFinder(replica);
+            assertEquals(journal1.getId(), finder.find(null, null, journal1.getIssns()));
+        }
+
+        try (PassEntityReplica<Journal> replica = Main.openReplica(client, replicaDir.toString(), true)) {
+            BatchJournalFinder finder = new BatchJournalFinder(replica);
+            assertEquals(3, replica.size());
+            assertNull(finder.find(null, null, journal1.getIssns()));
+            assertEquals(journal6.getId(), finder.find(null, journal6.getJournalName(), journal6.getIssns()));
+        }
+    }
+
     @Test
     public void newStyleIssnTest() throws Exception {
         // two elements match -